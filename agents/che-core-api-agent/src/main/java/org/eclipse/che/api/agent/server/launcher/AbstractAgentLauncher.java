@@ -11,12 +11,13 @@
 package org.eclipse.che.api.agent.server.launcher;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.api.agent.server.exception.AgentStartException;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
+import org.eclipse.che.api.core.executor.ThreadPoolConfig;
 import org.eclipse.che.api.core.model.machine.Command;
 import org.eclipse.che.api.core.util.AbstractLineConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
@@ -25,7 +26,6 @@ import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.InstanceProcess;
-import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,7 +33,9 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.lang.String.format;
@@ -49,24 +51,40 @@ import static java.lang.String.format;
  * @author Anatolii Bazko
  */
 public abstract class AbstractAgentLauncher implements AgentLauncher {
-    private static final Logger          LOG      = LoggerFactory.getLogger(AbstractAgentLauncher.class);
-    private static final ExecutorService executor =
-            Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("AgentLauncher-%d")
-                                                                    .setUncaughtExceptionHandler(
-                                                                            LoggingUncaughtExceptionHandler.getInstance())
-                                                                    .setDaemon(true)
-                                                                    .build());
+    private static final Logger LOG = LoggerFactory.getLogger(AbstractAgentLauncher.class);
+
+    /**
+     * The default number of threads which run agent processes, note that a thread is busy while
+     * the agent process is running, so it limits the number of agents running simultaneously.
+     * May be changed with {@code che.executor.agent_launcher.core_size} and {@code che.executor.agent_launcher.max_size}.
+     */
+    private static final int DEFAULT_LAUNCHING_THREADS = 200;
+
+    /**
+     * The default number of agents which wait for a thread when all the threads are busy,
+     * an agent fails to start if it doesn't get a thread during its start timeout.
+     * May be changed with {@code che.executor.agent_launcher.queue_capacity}.
+     */
+    private static final int DEFAULT_QUEUE_CAPACITY = 100;
 
     private final AgentLaunchingChecker agentLaunchingChecker;
     private final long                  agentPingDelayMs;
     private final long                  agentMaxStartTimeMs;
+    private final ExecutorService       executor;
 
     public AbstractAgentLauncher(long agentMaxStartTimeMs,
                                  long agentPingDelayMs,
-                                 AgentLaunchingChecker agentLaunchingChecker) {
+                                 AgentLaunchingChecker agentLaunchingChecker,
+                                 ExecutorServiceRegistry executorRegistry) {
         this.agentPingDelayMs = agentPingDelayMs;
         this.agentMaxStartTimeMs = agentMaxStartTimeMs;
         this.agentLaunchingChecker = agentLaunchingChecker;
+        // the pool is shared by all the launchers, threads are not released until agents stop,
+        // so tasks are queued only when all the threads are busy
+        this.executor = executorRegistry.getOrCreate("agent_launcher",
+                                                     ThreadPoolConfig.fixed(DEFAULT_LAUNCHING_THREADS, DEFAULT_QUEUE_CAPACITY)
+                                                                     .withThreadNameFormat("AgentLauncher-%d")
+                                                                     .withDaemon(true));
     }
 
     @Override
@@ -122,19 +140,33 @@ public abstract class AbstractAgentLauncher implements AgentLauncher {
         InstanceProcess process = machine.createProcess(command, null);
 
         CountDownLatch countDownLatch = new CountDownLatch(1);
-        executor.execute(ThreadLocalPropagateContext.wrap(() -> {
-            try {
-                countDownLatch.countDown();
-                process.start(lineConsumer);
-            } catch (ConflictException | MachineException e) {
+        // either the task takes the process and starts it, or the launcher gives up waiting for a thread
+        AtomicBoolean taken = new AtomicBoolean();
+        try {
+            executor.execute(ThreadLocalPropagateContext.wrap(() -> {
+                if (!taken.compareAndSet(false, true)) {
+                    return;
+                }
                 try {
-                    machine.getLogger().writeLine(format("[ERROR] %s", e.getMessage()));
-                } catch (IOException ignored) {
+                    countDownLatch.countDown();
+                    process.start(lineConsumer);
+                } catch (ConflictException | MachineException e) {
+                    try {
+                        machine.getLogger().writeLine(format("[ERROR] %s", e.getMessage()));
+                    } catch (IOException ignored) {
+                    }
                 }
-            }
-        }));
+            }));
+        } catch (RejectedExecutionException x) {
+            throw new ServerException(format("Agent '%s' can't be launched, too many agents are being launched. " +
+                                             "Try again later", agent.getName()));
+        }
         try {
             // ensure that code inside of task submitted to executor is called before end of this method
+            if (!countDownLatch.await(agentMaxStartTimeMs, TimeUnit.MILLISECONDS) && taken.compareAndSet(false, true)) {
+                throw new ServerException(format("Agent '%s' can't be launched, too many agents are running. " +
+                                                 "Try again later", agent.getName()));
+            }
             countDownLatch.await();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
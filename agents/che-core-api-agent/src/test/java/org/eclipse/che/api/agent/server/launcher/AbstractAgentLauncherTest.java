@@ -13,6 +13,7 @@ package org.eclipse.che.api.agent.server.launcher;
 import org.eclipse.che.api.agent.server.exception.AgentStartException;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
@@ -27,12 +28,17 @@ import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
 
+import static java.util.Collections.emptyMap;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -259,6 +265,31 @@ public class AbstractAgentLauncherTest {
         verify(machine).createProcess(eq(new CommandImpl(agentId, agentScript, "agent")), eq(null));
     }
 
+    @Test(expectedExceptions = ServerException.class,
+          expectedExceptionsMessageRegExp = "Agent '.*' can't be launched, too many agents are running. Try again later")
+    public void shouldNotWaitForFreeThreadLongerThanAgentMaxStartTime() throws Exception {
+        // given
+        Map<String, String> properties = new HashMap<>();
+        properties.put("che.executor.agent_launcher.core_size", "1");
+        properties.put("che.executor.agent_launcher.max_size", "1");
+        properties.put("che.executor.agent_launcher.queue_capacity", "1");
+        launcher = new TestAgentLauncher(200, 100, agentChecker, properties);
+        CountDownLatch agentStopped = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            agentStopped.await();
+            return null;
+        }).when(process).start(any(LineConsumer.class));
+        when(machine.createProcess(any(), any())).thenReturn(process);
+        launcher.start(machine, agent, LineConsumer.DEV_NULL);
+
+        // when
+        try {
+            launcher.start(machine, agent, LineConsumer.DEV_NULL);
+        } finally {
+            agentStopped.countDown();
+        }
+    }
+
     @Test(expectedExceptions = AgentStartException.class, expectedExceptionsMessageRegExp = "Fail launching agent .*\\. Workspace ID:.*")
     public void shouldLogAgentStartLogsIfTimeoutReached() throws Exception {
         // given
@@ -326,7 +357,14 @@ public class AbstractAgentLauncherTest {
         public TestAgentLauncher(long agentMaxStartTimeMs,
                                  long agentPingDelayMs,
                                  AgentLaunchingChecker agentLaunchingChecker) {
-            super(agentMaxStartTimeMs, agentPingDelayMs, agentLaunchingChecker);
+            this(agentMaxStartTimeMs, agentPingDelayMs, agentLaunchingChecker, emptyMap());
+        }
+
+        public TestAgentLauncher(long agentMaxStartTimeMs,
+                                 long agentPingDelayMs,
+                                 AgentLaunchingChecker agentLaunchingChecker,
+                                 Map<String, String> executorProperties) {
+            super(agentMaxStartTimeMs, agentPingDelayMs, agentLaunchingChecker, new ExecutorServiceRegistry(executorProperties));
         }
 
         @Override
@@ -16,6 +16,7 @@ import org.eclipse.che.api.agent.server.launcher.ProcessIsLaunchedChecker;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.agent.shared.model.impl.AgentImpl;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
 import org.eclipse.che.api.machine.server.spi.Instance;
 
 import javax.inject.Inject;
@@ -34,8 +35,9 @@ public class ExecAgentLauncher extends AbstractAgentLauncher {
     @Inject
     public ExecAgentLauncher(@Named("che.agent.dev.max_start_time_ms") long agentMaxStartTimeMs,
                              @Named("che.agent.dev.ping_delay_ms") long agentPingDelayMs,
-                             @Named("machine.exec_agent.run_command") String runCommand) {
-        super(agentMaxStartTimeMs, agentPingDelayMs, new ProcessIsLaunchedChecker("che-exec-agent"));
+                             @Named("machine.exec_agent.run_command") String runCommand,
+                             ExecutorServiceRegistry executorRegistry) {
+        super(agentMaxStartTimeMs, agentPingDelayMs, new ProcessIsLaunchedChecker("che-exec-agent"), executorRegistry);
         this.runCommand = runCommand;
     }
 
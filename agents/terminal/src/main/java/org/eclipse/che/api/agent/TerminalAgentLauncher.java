@@ -16,6 +16,7 @@ import org.eclipse.che.api.agent.server.launcher.ProcessIsLaunchedChecker;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.agent.shared.model.impl.AgentImpl;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
 import org.eclipse.che.api.machine.server.spi.Instance;
 
 import javax.inject.Inject;
@@ -34,8 +35,9 @@ public class TerminalAgentLauncher extends AbstractAgentLauncher {
     @Inject
     public TerminalAgentLauncher(@Named("che.agent.dev.max_start_time_ms") long agentMaxStartTimeMs,
                              @Named("che.agent.dev.ping_delay_ms") long agentPingDelayMs,
-                             @Named("machine.terminal_agent.run_command") String runCommand) {
-        super(agentMaxStartTimeMs, agentPingDelayMs, new ProcessIsLaunchedChecker("che-websocket-terminal"));
+                             @Named("machine.terminal_agent.run_command") String runCommand,
+                             ExecutorServiceRegistry executorRegistry) {
+        super(agentMaxStartTimeMs, agentPingDelayMs, new ProcessIsLaunchedChecker("che-websocket-terminal"), executorRegistry);
         this.runCommand = runCommand;
     }
 
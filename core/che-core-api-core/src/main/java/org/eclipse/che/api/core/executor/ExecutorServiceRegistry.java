@@ -0,0 +1,261 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.executor;
+
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Binding;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.name.Names;
+
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Creates and keeps thread pools of the server subsystems, so all of them
+ * are bounded, configurable in the same way and observable over JMX.
+ *
+ * <p>Each pool is identified by its name and configured with defaults provided by a subsystem,
+ * which may be overridden with the following configuration properties:
+ * <ul>
+ * <li>{@code che.executor.<name>.core_size} - the number of threads kept in the pool even if they are idle</li>
+ * <li>{@code che.executor.<name>.max_size} - the maximum number of threads</li>
+ * <li>{@code che.executor.<name>.queue_capacity} - the number of tasks which may wait for a thread,
+ * 0 means that a task is rejected if there is no thread to run it</li>
+ * <li>{@code che.executor.<name>.keep_alive_sec} - the time idle threads above core size are kept</li>
+ * <li>{@code che.executor.<name>.rejection_policy} - one of {@link ThreadPoolConfig.RejectionPolicy}</li>
+ * </ul>
+ *
+ * <p>Scheduled pools are created with {@link #getOrCreateScheduled(String, ThreadPoolConfig)}, they have
+ * exactly {@code core_size} threads and {@code queue_capacity} limits the number of scheduled tasks.
+ *
+ * <p>Statistics of each pool are exported as {@code org.eclipse.che:type=ThreadPool,name=<name>} MXBean.
+ */
+@Singleton
+public class ExecutorServiceRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExecutorServiceRegistry.class);
+
+    private static final String PROPERTY_PREFIX = "che.executor.";
+
+    private final Function<String, String>                   properties;
+    private final ConcurrentHashMap<String, ExecutorService> executors;
+
+    @Inject
+    public ExecutorServiceRegistry(Injector injector) {
+        this(name -> {
+            Binding<String> binding = injector.getExistingBinding(Key.get(String.class, Names.named(name)));
+            return binding == null ? null : binding.getProvider().get();
+        });
+    }
+
+    public ExecutorServiceRegistry(Map<String, String> properties) {
+        this(properties::get);
+    }
+
+    private ExecutorServiceRegistry(Function<String, String> properties) {
+        this.properties = properties;
+        this.executors = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the pool registered with the given name or creates a new one
+     * using the given defaults and configuration properties.
+     *
+     * @param name
+     *         the name of the pool, e.g. 'workspace'
+     * @param defaults
+     *         the configuration used when there is no corresponding configuration property
+     * @return the pool registered with the given name
+     * @throws NullPointerException
+     *         when either {@code name} or {@code defaults} is null
+     */
+    public ExecutorService getOrCreate(String name, ThreadPoolConfig defaults) {
+        requireNonNull(name, "Required non-null pool name");
+        requireNonNull(defaults, "Required non-null pool configuration");
+        return get(name, ExecutorService.class, () -> create(name, defaults));
+    }
+
+    /**
+     * Returns the scheduled pool registered with the given name or creates a new one
+     * using the given defaults and configuration properties.
+     *
+     * @param name
+     *         the name of the pool, e.g. 'project_tree_tracker'
+     * @param defaults
+     *         the configuration used when there is no corresponding configuration property
+     * @return the scheduled pool registered with the given name
+     * @throws NullPointerException
+     *         when either {@code name} or {@code defaults} is null
+     * @throws IllegalStateException
+     *         when a pool which isn't a scheduled one is registered with the given name
+     */
+    public ScheduledExecutorService getOrCreateScheduled(String name, ThreadPoolConfig defaults) {
+        requireNonNull(name, "Required non-null pool name");
+        requireNonNull(defaults, "Required non-null pool configuration");
+        return get(name, ScheduledExecutorService.class, () -> createScheduled(name, defaults));
+    }
+
+    /** Returns statistics of all the registered pools. */
+    public List<ThreadPoolStatsMXBean> getStats() {
+        final List<ThreadPoolStatsMXBean> stats = new ArrayList<>(executors.size());
+        for (ExecutorService executor : executors.values()) {
+            stats.add((ThreadPoolStatsMXBean)executor);
+        }
+        return stats;
+    }
+
+    /**
+     * Unregisters pools from JMX and shuts down the pools which are not terminated by their owners.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executors.forEach((name, executor) -> {
+            unregisterMBean(name);
+            if (!executor.isShutdown()) {
+                executor.shutdown();
+            }
+        });
+        executors.clear();
+    }
+
+    private <T extends ExecutorService> T get(String name, Class<T> type, Supplier<T> factory) {
+        final ExecutorService executor = executors.computeIfAbsent(name, n -> factory.get());
+        if (!type.isInstance(executor)) {
+            throw new IllegalStateException(format("Pool '%s' is not an instance of %s", name, type.getSimpleName()));
+        }
+        return type.cast(executor);
+    }
+
+    private MonitoredThreadPoolExecutor create(String name, ThreadPoolConfig defaults) {
+        final ThreadPoolConfig config = configure(name, defaults);
+        final MonitoredThreadPoolExecutor executor = new MonitoredThreadPoolExecutor(name, config, threadFactory(name, config));
+        registerMBean(name, executor);
+        LOG.debug("Created thread pool '{}' with configuration {}", name, config);
+        return executor;
+    }
+
+    private MonitoredScheduledThreadPoolExecutor createScheduled(String name, ThreadPoolConfig defaults) {
+        final ThreadPoolConfig config = configure(name, defaults);
+        final MonitoredScheduledThreadPoolExecutor executor =
+                new MonitoredScheduledThreadPoolExecutor(name, config, threadFactory(name, config));
+        registerMBean(name, executor);
+        LOG.debug("Created scheduled thread pool '{}' with configuration {}", name, config);
+        return executor;
+    }
+
+    private ThreadPoolConfig configure(String name, ThreadPoolConfig defaults) {
+        final ThreadPoolConfig config = new ThreadPoolConfig(defaults);
+        final Integer coreSize = intProperty(name, "core_size");
+        if (coreSize != null && coreSize >= 0) {
+            config.withCoreSize(coreSize);
+        }
+        final Integer maxSize = intProperty(name, "max_size");
+        if (maxSize != null && maxSize > 0) {
+            config.withMaxSize(maxSize);
+        }
+        if (config.getMaxSize() < config.getCoreSize()) {
+            config.withMaxSize(config.getCoreSize());
+        }
+        final Integer queueCapacity = intProperty(name, "queue_capacity");
+        if (queueCapacity != null && queueCapacity >= 0) {
+            config.withQueueCapacity(queueCapacity);
+        }
+        final String keepAlive = property(name, "keep_alive_sec");
+        final Long keepAliveSec = keepAlive == null ? null : Longs.tryParse(keepAlive);
+        if (keepAliveSec != null && keepAliveSec >= 0) {
+            config.withKeepAliveSec(keepAliveSec);
+        }
+        final String rejectionPolicy = property(name, "rejection_policy");
+        if (rejectionPolicy != null) {
+            try {
+                config.withRejectionPolicy(ThreadPoolConfig.RejectionPolicy.valueOf(rejectionPolicy.toUpperCase()));
+            } catch (IllegalArgumentException x) {
+                LOG.warn("Rejection policy '{}' of the pool '{}' is not supported, '{}' is used",
+                         rejectionPolicy,
+                         name,
+                         config.getRejectionPolicy());
+            }
+        }
+
+        return config;
+    }
+
+    private static ThreadFactory threadFactory(String name, ThreadPoolConfig config) {
+        final String nameFormat = config.getThreadNameFormat() != null ? config.getThreadNameFormat() : name + "-%d";
+        return new ThreadFactoryBuilder().setNameFormat(nameFormat)
+                                         .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                                         .setDaemon(config.isDaemon())
+                                         .build();
+    }
+
+    private String property(String poolName, String property) {
+        final String value = properties.apply(PROPERTY_PREFIX + poolName + '.' + property);
+        return value == null || value.isEmpty() || "NULL".equals(value) ? null : value;
+    }
+
+    private Integer intProperty(String poolName, String property) {
+        final String value = property(poolName, property);
+        return value == null ? null : Ints.tryParse(value);
+    }
+
+    private static void registerMBean(String name, ThreadPoolStatsMXBean executor) {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            final ObjectName objectName = objectName(name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(executor, objectName);
+        } catch (JMException x) {
+            LOG.warn(format("Couldn't export statistics of the pool '%s'", name), x);
+        }
+    }
+
+    private static void unregisterMBean(String name) {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            final ObjectName objectName = objectName(name);
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException x) {
+            LOG.warn(format("Couldn't unregister statistics of the pool '%s'", name), x);
+        }
+    }
+
+    private static ObjectName objectName(String name) throws JMException {
+        return new ObjectName("org.eclipse.che:type=ThreadPool,name=" + ObjectName.quote(name));
+    }
+}
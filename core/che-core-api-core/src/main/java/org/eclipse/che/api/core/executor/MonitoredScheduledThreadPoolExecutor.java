@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.executor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * {@link ScheduledThreadPoolExecutor} which bounds the number of scheduled tasks, counts rejected tasks
+ * and measures how late tasks are started and how long they are executed.
+ *
+ * <p>The pool has exactly {@link ThreadPoolConfig#getCoreSize() core size} threads, a task scheduled
+ * when there are already {@link ThreadPoolConfig#getQueueCapacity() queue capacity} tasks waiting
+ * is rejected with {@link RejectedExecutionException} regardless of the configured rejection policy,
+ * the policy is applied only to tasks submitted after shutdown.
+ */
+public class MonitoredScheduledThreadPoolExecutor extends ScheduledThreadPoolExecutor implements ThreadPoolStatsMXBean {
+
+    private final String              name;
+    private final int                 queueCapacity;
+    private final LongAdder           rejected;
+    private final LongAdder           timedTasks;
+    private final LongAdder           queueWaitNanos;
+    private final LongAdder           executionNanos;
+    private final AtomicLong          maxLatencyNanos;
+    private final ThreadLocal<long[]> started;
+
+    public MonitoredScheduledThreadPoolExecutor(String name, ThreadPoolConfig config, ThreadFactory threadFactory) {
+        super(Math.max(1, config.getCoreSize()), threadFactory, config.getRejectionPolicy().newHandler());
+        this.name = name;
+        this.queueCapacity = config.getQueueCapacity();
+        this.rejected = new LongAdder();
+        this.timedTasks = new LongAdder();
+        this.queueWaitNanos = new LongAdder();
+        this.executionNanos = new LongAdder();
+        this.maxLatencyNanos = new AtomicLong();
+        this.started = new ThreadLocal<>();
+        setRemoveOnCancelPolicy(true);
+        setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /** Returns the name of the pool this executor is registered with. */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getQueuedCount() {
+        return getQueue().size();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public double getAverageQueueWaitMillis() {
+        return averageMillis(queueWaitNanos);
+    }
+
+    @Override
+    public double getAverageExecutionMillis() {
+        return averageMillis(executionNanos);
+    }
+
+    @Override
+    public long getMaxLatencyMillis() {
+        return NANOSECONDS.toMillis(maxLatencyNanos.get());
+    }
+
+    @Override
+    protected <V> RunnableScheduledFuture<V> decorateTask(Runnable runnable, RunnableScheduledFuture<V> task) {
+        checkCapacity();
+        return task;
+    }
+
+    @Override
+    protected <V> RunnableScheduledFuture<V> decorateTask(Callable<V> callable, RunnableScheduledFuture<V> task) {
+        checkCapacity();
+        return task;
+    }
+
+    @Override
+    protected void beforeExecute(Thread t, Runnable r) {
+        super.beforeExecute(t, r);
+        // delay of a task which is started late is negative
+        final long lateness = r instanceof Delayed ? Math.max(0, -((Delayed)r).getDelay(NANOSECONDS)) : 0;
+        started.set(new long[] {System.nanoTime(), lateness});
+    }
+
+    @Override
+    protected void afterExecute(Runnable r, Throwable t) {
+        super.afterExecute(r, t);
+        final long[] start = started.get();
+        if (start != null) {
+            started.remove();
+            final long execution = System.nanoTime() - start[0];
+            queueWaitNanos.add(start[1]);
+            executionNanos.add(execution);
+            timedTasks.increment();
+            maxLatencyNanos.accumulateAndGet(start[1] + execution, Math::max);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MonitoredScheduledThreadPoolExecutor{" +
+               "name='" + name + '\'' +
+               ", active=" + getActiveCount() +
+               ", poolSize=" + getPoolSize() +
+               ", queued=" + getQueuedCount() +
+               ", rejected=" + getRejectedCount() +
+               ", completed=" + getCompletedTaskCount() +
+               '}';
+    }
+
+    private void checkCapacity() {
+        if (queueCapacity > 0 && getQueue().size() >= queueCapacity && !isShutdown()) {
+            rejected.increment();
+            throw new RejectedExecutionException(format("Pool '%s' has %d scheduled tasks", name, queueCapacity));
+        }
+    }
+
+    private double averageMillis(LongAdder totalNanos) {
+        long tasks = timedTasks.sum();
+        return tasks == 0 ? 0 : totalNanos.sum() / 1_000_000D / tasks;
+    }
+}
@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.executor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * {@link ThreadPoolExecutor} which counts rejected tasks and measures
+ * how long tasks wait in the queue and how long they are executed.
+ */
+public class MonitoredThreadPoolExecutor extends ThreadPoolExecutor implements ThreadPoolStatsMXBean {
+
+    /** Queues larger than this value are not preallocated. */
+    private static final int MAX_ARRAY_QUEUE_CAPACITY = 10_000;
+
+    private final String                           name;
+    private final CountingRejectedExecutionHandler rejectionHandler;
+    private final LongAdder                        timedTasks;
+    private final LongAdder                        queueWaitNanos;
+    private final LongAdder                        executionNanos;
+    private final AtomicLong                       maxLatencyNanos;
+
+    public MonitoredThreadPoolExecutor(String name, ThreadPoolConfig config, ThreadFactory threadFactory) {
+        super(config.getCoreSize(),
+              config.getMaxSize(),
+              config.getKeepAliveSec(),
+              SECONDS,
+              newQueue(config.getQueueCapacity()),
+              threadFactory,
+              new CountingRejectedExecutionHandler(config.getRejectionPolicy().newHandler()));
+        this.name = name;
+        this.rejectionHandler = (CountingRejectedExecutionHandler)getRejectedExecutionHandler();
+        this.timedTasks = new LongAdder();
+        this.queueWaitNanos = new LongAdder();
+        this.executionNanos = new LongAdder();
+        this.maxLatencyNanos = new AtomicLong();
+    }
+
+    /** Returns the name of the pool this executor is registered with. */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        super.execute(new TimedTask(requireNonNull(command, "Required non-null task")));
+    }
+
+    @Override
+    public int getQueuedCount() {
+        return getQueue().size();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejectionHandler.rejected.sum();
+    }
+
+    @Override
+    public double getAverageQueueWaitMillis() {
+        return averageMillis(queueWaitNanos);
+    }
+
+    @Override
+    public double getAverageExecutionMillis() {
+        return averageMillis(executionNanos);
+    }
+
+    @Override
+    public long getMaxLatencyMillis() {
+        return NANOSECONDS.toMillis(maxLatencyNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return "MonitoredThreadPoolExecutor{" +
+               "name='" + name + '\'' +
+               ", active=" + getActiveCount() +
+               ", poolSize=" + getPoolSize() +
+               ", queued=" + getQueuedCount() +
+               ", rejected=" + getRejectedCount() +
+               ", completed=" + getCompletedTaskCount() +
+               '}';
+    }
+
+    private double averageMillis(LongAdder totalNanos) {
+        long tasks = timedTasks.sum();
+        return tasks == 0 ? 0 : totalNanos.sum() / 1_000_000D / tasks;
+    }
+
+    private static BlockingQueue<Runnable> newQueue(int capacity) {
+        if (capacity <= 0) {
+            return new SynchronousQueue<>();
+        }
+        if (capacity <= MAX_ARRAY_QUEUE_CAPACITY) {
+            return new ArrayBlockingQueue<>(capacity);
+        }
+        return new LinkedBlockingQueue<>(capacity);
+    }
+
+    private class TimedTask implements Runnable {
+        private final Runnable task;
+        private final long     submittedAt;
+
+        TimedTask(Runnable task) {
+            this.task = task;
+            this.submittedAt = System.nanoTime();
+        }
+
+        @Override
+        public void run() {
+            final long startedAt = System.nanoTime();
+            try {
+                task.run();
+            } finally {
+                final long finishedAt = System.nanoTime();
+                queueWaitNanos.add(startedAt - submittedAt);
+                executionNanos.add(finishedAt - startedAt);
+                timedTasks.increment();
+                maxLatencyNanos.accumulateAndGet(finishedAt - submittedAt, Math::max);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
+
+    private static class CountingRejectedExecutionHandler implements RejectedExecutionHandler {
+        private final RejectedExecutionHandler delegate;
+        private final LongAdder                rejected;
+
+        CountingRejectedExecutionHandler(RejectedExecutionHandler delegate) {
+            this.delegate = delegate;
+            this.rejected = new LongAdder();
+        }
+
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            rejected.increment();
+            delegate.rejectedExecution(r, executor);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.executor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Default configuration of a thread pool created by {@link ExecutorServiceRegistry}.
+ * Each value may be overridden with configuration property
+ * {@code che.executor.<pool name>.<property>}, see {@link ExecutorServiceRegistry}.
+ */
+public class ThreadPoolConfig {
+
+    /** Defines what happens with a task when both the pool and its queue are saturated. */
+    public enum RejectionPolicy {
+        /** Throws {@link java.util.concurrent.RejectedExecutionException}. */
+        ABORT,
+        /** Runs the task in the thread which submits it. */
+        CALLER_RUNS,
+        /** Silently drops the task. */
+        DISCARD,
+        /** Drops the oldest queued task and retries submission. */
+        DISCARD_OLDEST;
+
+        RejectedExecutionHandler newHandler() {
+            switch (this) {
+                case CALLER_RUNS:
+                    return new ThreadPoolExecutor.CallerRunsPolicy();
+                case DISCARD:
+                    return new ThreadPoolExecutor.DiscardPolicy();
+                case DISCARD_OLDEST:
+                    return new ThreadPoolExecutor.DiscardOldestPolicy();
+                default:
+                    return new ThreadPoolExecutor.AbortPolicy();
+            }
+        }
+    }
+
+    /**
+     * Pool with exactly {@code size} threads and a queue of {@code queueCapacity} tasks.
+     */
+    public static ThreadPoolConfig fixed(int size, int queueCapacity) {
+        return new ThreadPoolConfig(size, size, queueCapacity);
+    }
+
+    /**
+     * Pool which creates threads on demand up to {@code maxSize}
+     * and terminates them when they are idle, tasks are never queued.
+     */
+    public static ThreadPoolConfig elastic(int maxSize) {
+        return new ThreadPoolConfig(0, maxSize, 0);
+    }
+
+    private int             coreSize;
+    private int             maxSize;
+    private int             queueCapacity;
+    private long            keepAliveSec;
+    private RejectionPolicy rejectionPolicy;
+    private boolean         daemon;
+    private String          threadNameFormat;
+
+    private ThreadPoolConfig(int coreSize, int maxSize, int queueCapacity) {
+        this.coreSize = coreSize;
+        this.maxSize = maxSize;
+        this.queueCapacity = queueCapacity;
+        this.keepAliveSec = 60;
+        this.rejectionPolicy = RejectionPolicy.ABORT;
+    }
+
+    ThreadPoolConfig(ThreadPoolConfig config) {
+        this(config.coreSize, config.maxSize, config.queueCapacity);
+        this.keepAliveSec = config.keepAliveSec;
+        this.rejectionPolicy = config.rejectionPolicy;
+        this.daemon = config.daemon;
+        this.threadNameFormat = config.threadNameFormat;
+    }
+
+    public int getCoreSize() {
+        return coreSize;
+    }
+
+    public ThreadPoolConfig withCoreSize(int coreSize) {
+        this.coreSize = coreSize;
+        return this;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public ThreadPoolConfig withMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    /** Returns the capacity of the tasks queue, 0 means that tasks are passed to threads directly. */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public ThreadPoolConfig withQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    public long getKeepAliveSec() {
+        return keepAliveSec;
+    }
+
+    public ThreadPoolConfig withKeepAliveSec(long keepAliveSec) {
+        this.keepAliveSec = keepAliveSec;
+        return this;
+    }
+
+    public RejectionPolicy getRejectionPolicy() {
+        return rejectionPolicy;
+    }
+
+    public ThreadPoolConfig withRejectionPolicy(RejectionPolicy rejectionPolicy) {
+        this.rejectionPolicy = rejectionPolicy;
+        return this;
+    }
+
+    public boolean isDaemon() {
+        return daemon;
+    }
+
+    public ThreadPoolConfig withDaemon(boolean daemon) {
+        this.daemon = daemon;
+        return this;
+    }
+
+    /** Returns the format of thread names, e.g. 'WorkspaceSharedPool-%d', or null if the default one is used. */
+    public String getThreadNameFormat() {
+        return threadNameFormat;
+    }
+
+    public ThreadPoolConfig withThreadNameFormat(String threadNameFormat) {
+        this.threadNameFormat = threadNameFormat;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "ThreadPoolConfig{" +
+               "coreSize=" + coreSize +
+               ", maxSize=" + maxSize +
+               ", queueCapacity=" + queueCapacity +
+               ", keepAliveSec=" + keepAliveSec +
+               ", rejectionPolicy=" + rejectionPolicy +
+               ", daemon=" + daemon +
+               ", threadNameFormat='" + threadNameFormat + '\'' +
+               '}';
+    }
+}
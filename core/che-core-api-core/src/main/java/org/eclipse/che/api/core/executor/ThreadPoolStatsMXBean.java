@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.executor;
+
+/**
+ * Saturation statistics of a thread pool managed by {@link ExecutorServiceRegistry},
+ * exported over JMX as {@code org.eclipse.che:type=ThreadPool,name=<pool name>}.
+ */
+public interface ThreadPoolStatsMXBean {
+
+    /** Returns the number of threads which are executing tasks. */
+    int getActiveCount();
+
+    /** Returns the current number of threads in the pool. */
+    int getPoolSize();
+
+    /** Returns the largest number of threads that have ever simultaneously been in the pool. */
+    int getLargestPoolSize();
+
+    /** Returns the maximum allowed number of threads. */
+    int getMaximumPoolSize();
+
+    /** Returns the number of tasks waiting in the queue. */
+    int getQueuedCount();
+
+    /** Returns the number of tasks rejected because the pool and its queue were saturated. */
+    long getRejectedCount();
+
+    /** Returns the number of completed tasks. */
+    long getCompletedTaskCount();
+
+    /** Returns the average time tasks spent in the queue before execution. */
+    double getAverageQueueWaitMillis();
+
+    /** Returns the average time of task execution. */
+    double getAverageExecutionMillis();
+
+    /** Returns the maximum latency(queue wait plus execution) of a single task. */
+    long getMaxLatencyMillis();
+}
@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Handler corresponding to processing long running JSON RPC requests.
+ * The handler returns a promise of the result instead of the result
+ * itself, so it doesn't hold the requests of the endpoint which are
+ * received after this one, the response is transmitted when the
+ * promise is completed.
+ */
+public interface AsyncRequestHandler extends RequestHandler {
+    CompletableFuture<JsonRpcResult> handleAsync(String endpointId, JsonRpcParams params) throws JsonRpcException;
+
+    @Override
+    default JsonRpcResult handle(String endpointId, JsonRpcParams params) throws JsonRpcException {
+        try {
+            return handleAsync(endpointId, params).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof JsonRpcException) {
+                throw (JsonRpcException)e.getCause();
+            }
+            throw e;
+        }
+    }
+}
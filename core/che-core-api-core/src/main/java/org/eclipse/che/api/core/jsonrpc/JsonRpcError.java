@@ -15,8 +15,8 @@ import com.google.gson.JsonParser;
 import com.google.inject.assistedinject.Assisted;
 import com.google.inject.assistedinject.AssistedInject;
 
-import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static org.eclipse.che.api.core.jsonrpc.JsonRpcUtils.parse;
 
 /**
  * Represents JSON RPC error object. Can be constructed out of
@@ -36,19 +36,15 @@ public class JsonRpcError {
 
     @AssistedInject
     public JsonRpcError(@Assisted("message") String message, JsonParser jsonParser) {
-        checkNotNull(message, "Message must not be null");
-        checkArgument(!message.isEmpty(), "Message must not be empty");
-
-        this.code = getCode(message, jsonParser);
-        this.message = getMessage(message, jsonParser);
+        this(parse(message, jsonParser).getAsJsonObject());
     }
 
-    private static String getMessage(String message, JsonParser jsonParser) {
-        return jsonParser.parse(message).getAsJsonObject().get("message").getAsString();
-    }
+    /** Creates error out of an already parsed json. */
+    public JsonRpcError(JsonObject error) {
+        checkNotNull(error, "Json object must not be null");
 
-    private static int getCode(String message, JsonParser jsonParser) {
-        return jsonParser.parse(message).getAsJsonObject().get("code").getAsInt();
+        this.code = error.get("code").getAsInt();
+        this.message = error.get("message").getAsString();
     }
 
     public JsonObject toJsonObject() {
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.inject.assistedinject.Assisted;
 
 import java.util.List;
@@ -28,6 +30,16 @@ public interface JsonRpcFactory {
      */
     JsonRpcRequest createRequest(@Assisted("message") String message);
 
+    /**
+     * Create a JSON RPC request instance from an already parsed json
+     *
+     * @param jsonObject
+     *         parsed json
+     *
+     * @return JSON RPC request
+     */
+    JsonRpcRequest createRequest(@Assisted("jsonObject") JsonObject jsonObject);
+
     /**
      * Create a JSON RPC request instance by passing corresponding values
      *
@@ -64,6 +76,16 @@ public interface JsonRpcFactory {
      */
     JsonRpcResponse createResponse(@Assisted("message") String message);
 
+    /**
+     * Create a JSON RPC response instance from an already parsed json
+     *
+     * @param jsonObject
+     *         parsed json
+     *
+     * @return JSON RPC response
+     */
+    JsonRpcResponse createResponse(@Assisted("jsonObject") JsonObject jsonObject);
+
     /**
      * Create a JSON RPC response instance by passing corresponding values
      *
@@ -177,6 +199,17 @@ public interface JsonRpcFactory {
      */
     JsonRpcParams createParams(@Assisted("message") String message);
 
+    /**
+     * Create a JSON RPC params instance from an already parsed json. Params
+     * can be either a list of objects or a single object.
+     *
+     * @param jsonElement
+     *         parsed json
+     *
+     * @return JSON RPC params
+     */
+    JsonRpcParams createParams(@Assisted("jsonElement") JsonElement jsonElement);
+
     /**
      * Create a JSON RPC params instance by passing corresponding values.
      * Params should be represented by a single object.
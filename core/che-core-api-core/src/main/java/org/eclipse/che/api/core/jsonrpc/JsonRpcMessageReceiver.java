@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc;
 
+import com.google.gson.JsonElement;
+
 import org.eclipse.che.api.core.jsonrpc.JsonRpcEntityQualifier.JsonRpcEntityType;
 import org.eclipse.che.api.core.websocket.WebSocketMessageReceiver;
 import org.slf4j.Logger;
@@ -17,16 +19,16 @@ import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.List;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
-import static org.eclipse.che.api.core.jsonrpc.JsonRpcList.isArray;
 
 /**
  * Receives and process messages coming from web socket service. Basically
  * it validates, qualifies and transforms a raw web socket message to a JSON
- * RPC known structure and pass it further to appropriate dispatchers. In case
+ * RPC known structure and pass it further to appropriate dispatchers. The
+ * message is parsed once, requests and responses are created out of the parsed
+ * json and their params and results are bound to the DTOs lazily. In case
  * of any {@link JsonRpcException} happens during request/response processing
  * this class is also responsible for an error transmission.
  */
@@ -65,38 +67,36 @@ public class JsonRpcMessageReceiver implements WebSocketMessageReceiver {
 
         LOG.debug("Receiving message: " + message + ", from endpoint: " + endpointId);
         try {
-            entityValidator.validate(message);
+            JsonElement json = entityValidator.parse(message);
 
-            if (isArray(message)) {
+            if (json.isJsonArray()) {
                 LOG.debug("Message is an array, processing an array");
 
-                JsonRpcList list = jsonRpcFactory.createList(message);
-                List<String> messages = list.toStringifiedList();
-                for (String listMessage : messages) {
+                for (JsonElement listMessage : json.getAsJsonArray()) {
                     processObject(endpointId, listMessage);
                 }
             } else {
                 LOG.debug("Message is not an array");
 
-                processObject(endpointId, message);
+                processObject(endpointId, json);
             }
         } catch (JsonRpcException e) {
             errorTransmitter.transmit(endpointId, e);
         }
     }
 
-    private void processObject(String endpointId, String message) throws JsonRpcException {
-        LOG.debug("Processing end object: " + message);
+    private void processObject(String endpointId, JsonElement message) throws JsonRpcException {
+        LOG.debug("Processing end object: {}", message);
 
         JsonRpcEntityType type = entityQualifier.qualify(message);
 
         switch (type) {
             case REQUEST:
-                JsonRpcRequest request = jsonRpcFactory.createRequest(message);
+                JsonRpcRequest request = jsonRpcFactory.createRequest(message.getAsJsonObject());
                 requestDispatcher.dispatch(endpointId, request);
                 break;
             case RESPONSE:
-                JsonRpcResponse response = jsonRpcFactory.createResponse(message);
+                JsonRpcResponse response = jsonRpcFactory.createResponse(message.getAsJsonObject());
                 responseDispatcher.dispatch(endpointId, response);
                 break;
             case UNDEFINED:
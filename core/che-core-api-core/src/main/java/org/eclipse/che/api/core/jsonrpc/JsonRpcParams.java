@@ -25,14 +25,15 @@ import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static org.eclipse.che.api.core.jsonrpc.JsonRpcUtils.parse;
 
 /**
  * Represents JSON RPC params object. Can be constructed out of
  * stringified json object or by passing specific parameters.
  * Use {@link JsonRpcFactory#createParams(Object)},
- * {@link JsonRpcFactory#createParamsList(List)} or
+ * {@link JsonRpcFactory#createParamsList(List)},
+ * {@link JsonRpcFactory#createParams(JsonElement)} or
  * {@link JsonRpcFactory#createParams(String)} to get an instance.
  */
 public class JsonRpcParams {
@@ -43,16 +44,19 @@ public class JsonRpcParams {
 
     @AssistedInject
     public JsonRpcParams(@Assisted("message") String message, JsonParser jsonParser) {
-        checkNotNull(message, "Message must not be null");
-        checkArgument(!message.isEmpty(), "Message must not be empty");
+        this(parse(message, jsonParser));
+    }
+
+    @AssistedInject
+    public JsonRpcParams(@Assisted("jsonElement") JsonElement jsonElement) {
+        checkNotNull(jsonElement, "Json element must not be null");
 
-        JsonElement jsonElement = jsonParser.parse(message);
         if (jsonElement.isJsonArray()) {
-            JsonArray jsonArray = jsonParser.parse(message).getAsJsonArray();
+            JsonArray jsonArray = jsonElement.getAsJsonArray();
             paramsList = new ArrayList<>(jsonArray.size());
             jsonArray.forEach(it -> paramsList.add(it));
         } else {
-            params = jsonParser.parse(message);
+            params = jsonElement;
         }
     }
 
@@ -90,9 +94,11 @@ public class JsonRpcParams {
     }
 
     public <T> T getAs(Class<T> type) {
-        checkNotNull(params, "Type must not be null");
+        checkNotNull(type, "Type must not be null");
+        checkNotNull(params != null ? params : paramsList, "Params must not be null");
 
-        return JsonRpcUtils.getAs(params, type);
+        // a DTO in the compact form is an array of the values of its fields
+        return JsonRpcUtils.getAs(params != null ? params : toJsonElement(), type);
     }
 
     public <T> List<T> getAsListOf(Class<T> type) {
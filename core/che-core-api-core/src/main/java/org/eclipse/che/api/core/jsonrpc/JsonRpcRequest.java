@@ -17,12 +17,14 @@ import com.google.inject.assistedinject.AssistedInject;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static org.eclipse.che.api.core.jsonrpc.JsonRpcUtils.parse;
 
 /**
  * Represents JSON RPC request object. Can be constructed out of
  * stringified json object or by passing specific parameters.
  * Use {@link JsonRpcFactory#createRequest(String, String, JsonRpcParams)}
- * {@link JsonRpcFactory#createRequest(String)} or
+ * {@link JsonRpcFactory#createRequest(String)},
+ * {@link JsonRpcFactory#createRequest(JsonObject)} or
  * {@link JsonRpcFactory#createRequest(String, JsonRpcParams)} to get an instance.
  */
 public class JsonRpcRequest {
@@ -32,10 +34,12 @@ public class JsonRpcRequest {
 
     @AssistedInject
     public JsonRpcRequest(@Assisted("message") String message, JsonParser jsonParser, JsonRpcFactory jsonRpcFactory) {
-        checkNotNull(message, "Message must not be null");
-        checkArgument(!message.isEmpty(), "Message must not be empty");
+        this(parse(message, jsonParser).getAsJsonObject(), jsonRpcFactory);
+    }
 
-        JsonObject jsonObject = jsonParser.parse(message).getAsJsonObject();
+    @AssistedInject
+    public JsonRpcRequest(@Assisted("jsonObject") JsonObject jsonObject, JsonRpcFactory jsonRpcFactory) {
+        checkNotNull(jsonObject, "Json object must not be null");
 
         method = jsonObject.get("method").getAsString();
 
@@ -46,7 +50,7 @@ public class JsonRpcRequest {
         }
 
         if (jsonObject.has("params")) {
-            params = jsonRpcFactory.createParams(jsonObject.get("params").toString());
+            params = jsonRpcFactory.createParams(jsonObject.get("params"));
         } else {
             params = null;
         }
@@ -17,11 +17,13 @@ import com.google.inject.assistedinject.AssistedInject;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static org.eclipse.che.api.core.jsonrpc.JsonRpcUtils.parse;
 
 /**
  * Represents JSON RPC response object. Can be constructed out of
  * stringified json object or by passing specific parameters.
- * Use {@link JsonRpcFactory#createResponse(String)} or
+ * Use {@link JsonRpcFactory#createResponse(String)},
+ * {@link JsonRpcFactory#createResponse(JsonObject)} or
  * {@link JsonRpcFactory#createResponse(String, JsonRpcResult, JsonRpcError)}
  * to get an instance of this entity.
  */
@@ -32,21 +34,23 @@ public class JsonRpcResponse {
 
     @AssistedInject
     public JsonRpcResponse(@Assisted("message") String message, JsonParser jsonParser) {
-        checkNotNull(message, "Message must not be null");
-        checkArgument(!message.isEmpty(), "Message must not be empty");
+        this(parse(message, jsonParser).getAsJsonObject());
+    }
 
-        JsonObject response = jsonParser.parse(message).getAsJsonObject();
+    @AssistedInject
+    public JsonRpcResponse(@Assisted("jsonObject") JsonObject response) {
+        checkNotNull(response, "Json object must not be null");
 
         this.id = response.has("id")
                   ? response.get("id").getAsString()
                   : null;
 
         this.result = response.has("result")
-                      ? new JsonRpcResult(response.get("result").toString(), jsonParser)
+                      ? new JsonRpcResult(response.get("result"))
                       : null;
 
         this.error = response.has("error")
-                     ? new JsonRpcError(response.get("error").toString(), jsonParser)
+                     ? new JsonRpcError(response.get("error").getAsJsonObject())
                      : null;
     }
 
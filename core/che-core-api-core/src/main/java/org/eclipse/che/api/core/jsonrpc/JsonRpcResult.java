@@ -24,8 +24,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static org.eclipse.che.api.core.jsonrpc.JsonRpcUtils.parse;
 
 /**
  * Represents JSON RPC result object. Can be constructed out of
@@ -43,16 +43,19 @@ public class JsonRpcResult {
 
     @AssistedInject
     public JsonRpcResult(@Assisted("message") String message, JsonParser jsonParser) {
-        checkNotNull(message, "Message must not be null");
-        checkArgument(!message.isEmpty(), "Message must not be empty");
+        this(parse(message, jsonParser));
+    }
+
+    /** Creates result out of an already parsed json. */
+    public JsonRpcResult(JsonElement result) {
+        checkNotNull(result, "Json element must not be null");
 
-        JsonElement result = jsonParser.parse(message);
         if (result.isJsonArray()) {
             JsonArray jsonArray = result.getAsJsonArray();
             this.resultList = new ArrayList<>(jsonArray.size());
             jsonArray.forEach(it -> this.resultList.add(it));
         } else {
-            this.result = jsonParser.parse(message);
+            this.result = result;
         }
     }
 
@@ -11,17 +11,29 @@
 package org.eclipse.che.api.core.jsonrpc;
 
 import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
 
 import org.eclipse.che.dto.server.DtoFactory;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
 /**
  * Simple utility class
  */
 class JsonRpcUtils {
 
+    /** Parses a non empty message, used by constructors which delegate to the ones taking parsed json. */
+    static JsonElement parse(String message, JsonParser jsonParser) {
+        checkNotNull(message, "Message must not be null");
+        checkArgument(!message.isEmpty(), "Message must not be empty");
+
+        return jsonParser.parse(message);
+    }
+
     @SuppressWarnings("unchecked")
     static <T> T cast(Object object) {
         return (T) object;
@@ -37,7 +49,8 @@ class JsonRpcUtils {
         } else if (type.equals(Void.class)) {
             return null;
         } else {
-            return DtoFactory.getInstance().createDtoFromJson(element.toString(), type);
+            // the parsed json is bound to the DTO directly, without serializing it to a string and parsing it again
+            return DtoFactory.getInstance().createDtoFromJson(element, type);
         }
     }
 
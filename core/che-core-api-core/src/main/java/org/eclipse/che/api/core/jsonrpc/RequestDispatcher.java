@@ -16,6 +16,7 @@ import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.concurrent.CompletionException;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -24,6 +25,15 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * Dispatches incoming JSON RPC requests and notifications. If during
  * dispatching happens any kind of error related to JSON RPC it throws
  * appropriate exception {@link JsonRpcException}.
+ *
+ * <p>Handlers are resolved on the calling thread, but they are executed
+ * by {@link RequestProcessor}, so errors of the handlers are transmitted
+ * to the endpoint by {@link JsonRpcErrorTransmitter}. Requests rejected by the
+ * processor are answered with an error, rejected notifications are dropped.
+ *
+ * <p>An {@link AsyncRequestHandler} is started on the pool of the processor, but
+ * the thread is released as soon as the handler returns its promise, the response
+ * is transmitted when the promise is completed.
  */
 @Singleton
 public class RequestDispatcher {
@@ -32,12 +42,20 @@ public class RequestDispatcher {
     private final RequestHandlerRegistry      registry;
     private final JsonRpcFactory              factory;
     private final WebSocketMessageTransmitter transmitter;
+    private final JsonRpcErrorTransmitter     errorTransmitter;
+    private final RequestProcessor            processor;
 
     @Inject
-    public RequestDispatcher(RequestHandlerRegistry registry, WebSocketMessageTransmitter transmitter, JsonRpcFactory factory) {
+    public RequestDispatcher(RequestHandlerRegistry registry,
+                             WebSocketMessageTransmitter transmitter,
+                             JsonRpcFactory factory,
+                             JsonRpcErrorTransmitter errorTransmitter,
+                             RequestProcessor processor) {
         this.registry = registry;
         this.transmitter = transmitter;
         this.factory = factory;
+        this.errorTransmitter = errorTransmitter;
+        this.processor = processor;
     }
 
     public void dispatch(String endpointId, JsonRpcRequest request) throws JsonRpcException {
@@ -56,17 +74,59 @@ public class RequestDispatcher {
             String id = request.getId();
             RequestHandler handler = registry.getRequestHandler(method);
             checkHandler(method, handler, id);
-            JsonRpcResult result = handler.handle(endpointId, params);
-            JsonRpcResponse response = factory.createResponse(id, result, null);
-
-            LOG.debug("Transmitting back a response: {}", response);
-            transmitter.transmit(endpointId, response.toString());
+            processor.execute(endpointId,
+                              method,
+                              () -> handleRequest(endpointId, id, handler, params),
+                              () -> transmitError(endpointId, id, new JsonRpcException(-32000, "Server is too busy, try again later", id)));
         } else {
             LOG.debug("Request has no ID -> it is a notification");
 
             NotificationHandler handler = registry.getNotificationHandler(method);
             checkHandler(method, handler, null);
+            processor.execute(endpointId, method, () -> handleNotification(endpointId, handler, params), () -> {});
+        }
+    }
+
+    private void handleRequest(String endpointId, String id, RequestHandler handler, JsonRpcParams params) {
+        try {
+            if (handler instanceof AsyncRequestHandler) {
+                // the handler starts on the pool, the response is transmitted when its promise is settled
+                ((AsyncRequestHandler)handler).handleAsync(endpointId, params).whenComplete((result, error) -> {
+                    if (error == null) {
+                        transmitResponse(endpointId, id, result);
+                    } else {
+                        transmitError(endpointId, id, error instanceof CompletionException ? error.getCause() : error);
+                    }
+                });
+            } else {
+                transmitResponse(endpointId, id, handler.handle(endpointId, params));
+            }
+        } catch (JsonRpcException | RuntimeException e) {
+            transmitError(endpointId, id, e);
+        }
+    }
+
+    private void handleNotification(String endpointId, NotificationHandler handler, JsonRpcParams params) {
+        try {
             handler.handle(endpointId, params);
+        } catch (JsonRpcException | RuntimeException e) {
+            transmitError(endpointId, null, e);
+        }
+    }
+
+    private void transmitResponse(String endpointId, String id, JsonRpcResult result) {
+        JsonRpcResponse response = factory.createResponse(id, result, null);
+
+        LOG.debug("Transmitting back a response: {}", response);
+        transmitter.transmit(endpointId, response.toString());
+    }
+
+    private void transmitError(String endpointId, String id, Throwable error) {
+        if (error instanceof JsonRpcException) {
+            errorTransmitter.transmit(endpointId, (JsonRpcException)error);
+        } else {
+            LOG.error(error.getMessage(), error);
+            errorTransmitter.transmit(endpointId, new JsonRpcException(-32603, String.valueOf(error.getMessage()), id));
         }
     }
 
@@ -0,0 +1,344 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc;
+
+import com.google.common.base.Splitter;
+
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
+import org.eclipse.che.api.core.executor.ThreadPoolConfig;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Strings.isNullOrEmpty;
+import static java.util.Collections.emptyList;
+
+/**
+ * Executes handlers of incoming JSON RPC requests and notifications.
+ *
+ * <p>Each endpoint has its own mailbox, the handlers of the requests received from
+ * an endpoint are executed one by one in the order the requests are received, but
+ * not on the thread which receives messages, so a slow handler doesn't block the
+ * following messages of the endpoint from being received and doesn't block other
+ * endpoints. Methods which names start with one of the configured prefixes don't
+ * depend on the order and are executed concurrently. All the handlers are executed
+ * by the 'jsonrpc_processor' pool of {@link ExecutorServiceRegistry}.
+ *
+ * <p>Both the pool queue and the mailboxes are bounded, a request which can't be queued
+ * is rejected, instead of its handler the rejection handler is executed which is
+ * expected to answer the request with a JSON RPC error.
+ *
+ * <p>If the size of the pool is not positive, handlers are executed on the thread
+ * which receives messages.
+ *
+ * <p>Time which requests spend in the mailboxes and time of their execution are
+ * metered per method, see {@link #getMetrics()}.
+ */
+@Singleton
+public class RequestProcessor {
+    private static final Logger LOG = LoggerFactory.getLogger(RequestProcessor.class);
+
+    /** Maximum number of tasks of an endpoint executed in a row, before the thread is given to other endpoints. */
+    private static final int MAX_TASKS_IN_A_ROW = 16;
+
+    /** Maximum number of tasks waiting for a thread of the pool. */
+    private static final int QUEUE_CAPACITY = 1000;
+
+    /** Maximum number of tasks waiting in the mailbox of an endpoint. */
+    private static final int MAX_MAILBOX_SIZE = 1000;
+
+    private final ExecutorService              executor;
+    private final List<String>                 concurrentMethodPrefixes;
+    private final Map<String, Mailbox>         mailboxes = new ConcurrentHashMap<>();
+    private final Map<String, MethodMetrics>   metrics   = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxPoolSize
+     *         maximum number of threads which execute handlers, handlers are executed
+     *         on the receiving thread if it is not positive
+     * @param concurrentMethods
+     *         comma separated prefixes of the methods which may be executed concurrently
+     *         with other methods of the same endpoint
+     * @param executorRegistry
+     *         registry which provides the pool executing handlers
+     */
+    @Inject
+    public RequestProcessor(@Named("che.core.jsonrpc.processor_max_pool_size") int maxPoolSize,
+                            @Nullable @Named("che.core.jsonrpc.processor_concurrent_methods") String concurrentMethods,
+                            ExecutorServiceRegistry executorRegistry) {
+        this.concurrentMethodPrefixes = isNullOrEmpty(concurrentMethods)
+                                        ? emptyList()
+                                        : Splitter.on(',').trimResults().omitEmptyStrings().splitToList(concurrentMethods);
+        if (maxPoolSize > 0) {
+            this.executor = executorRegistry.getOrCreate("jsonrpc_processor",
+                                                         ThreadPoolConfig.fixed(maxPoolSize, QUEUE_CAPACITY)
+                                                                         .withThreadNameFormat("JsonRpcProcessor-%d")
+                                                                         .withDaemon(true));
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Executes the handler of a request received from the endpoint.
+     *
+     * @param endpointId
+     *         endpoint the request is received from
+     * @param method
+     *         method of the request
+     * @param handler
+     *         handler of the request
+     * @param rejectionHandler
+     *         handler executed instead of the request handler when the request is rejected
+     *         because there are too many requests waiting for execution
+     */
+    public void execute(String endpointId, String method, Runnable handler, Runnable rejectionHandler) {
+        checkNotNull(endpointId, "Endpoint ID must not be null");
+        checkArgument(!endpointId.isEmpty(), "Endpoint ID must not be empty");
+        checkNotNull(method, "Method name must not be null");
+        checkNotNull(handler, "Handler must not be null");
+        checkNotNull(rejectionHandler, "Rejection handler must not be null");
+
+        MeteredTask task = new MeteredTask(method, handler, rejectionHandler);
+        if (executor == null) {
+            task.run();
+        } else if (isConcurrent(method)) {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException x) {
+                task.reject();
+            }
+        } else {
+            submit(endpointId, task);
+        }
+    }
+
+    /** Returns metrics of all the methods executed so far mapped by the method names. */
+    public Map<String, MethodMetrics> getMetrics() {
+        return new HashMap<>(metrics);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean isConcurrent(String method) {
+        for (String prefix : concurrentMethodPrefixes) {
+            if (method.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void submit(String endpointId, MeteredTask task) {
+        boolean[] queued = new boolean[1];
+        boolean[] start = new boolean[1];
+        mailboxes.compute(endpointId, (id, mailbox) -> {
+            if (mailbox == null) {
+                mailbox = new Mailbox(id);
+            }
+            if (mailbox.tasks.size() < MAX_MAILBOX_SIZE) {
+                mailbox.tasks.add(task);
+                queued[0] = true;
+            }
+            if (!mailbox.running) {
+                mailbox.running = true;
+                start[0] = true;
+            }
+            return mailbox;
+        });
+        if (!queued[0]) {
+            task.reject();
+        }
+        if (start[0]) {
+            try {
+                executor.execute(() -> drain(endpointId));
+            } catch (RejectedExecutionException x) {
+                // the mailbox is marked as running, so all its tasks are rejected
+                for (MeteredTask next = poll(endpointId); next != null; next = poll(endpointId)) {
+                    next.reject();
+                }
+            }
+        }
+    }
+
+    private void drain(String endpointId) {
+        for (; ; ) {
+            for (int i = 0; i < MAX_TASKS_IN_A_ROW; i++) {
+                Runnable task = poll(endpointId);
+                if (task == null) {
+                    return;
+                }
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    LOG.error(e.getMessage(), e);
+                }
+            }
+            // let other endpoints run, the rest of the tasks is executed later in the same order
+            try {
+                executor.execute(() -> drain(endpointId));
+                return;
+            } catch (RejectedExecutionException x) {
+                // the pool is saturated, tasks of the endpoint are already accepted so keep executing them
+            }
+        }
+    }
+
+    /** Returns the next task of the endpoint, the mailbox is removed when it is empty. */
+    private MeteredTask poll(String endpointId) {
+        MeteredTask[] next = new MeteredTask[1];
+        mailboxes.computeIfPresent(endpointId, (id, mailbox) -> {
+            next[0] = mailbox.tasks.poll();
+            if (next[0] == null) {
+                mailbox.running = false;
+                return null;
+            }
+            return mailbox;
+        });
+        return next[0];
+    }
+
+    /** Tasks of an endpoint, guarded by the lock of the mailboxes map entry. */
+    private static class Mailbox {
+        private final String          endpointId;
+        private final Queue<MeteredTask> tasks = new ArrayDeque<>();
+        private       boolean         running;
+
+        private Mailbox(String endpointId) {
+            this.endpointId = endpointId;
+        }
+
+        @Override
+        public String toString() {
+            return "Mailbox{endpointId='" + endpointId + "', size=" + tasks.size() + '}';
+        }
+    }
+
+    private class MeteredTask implements Runnable {
+        private final String   method;
+        private final Runnable handler;
+        private final Runnable rejectionHandler;
+        private final long     submitted;
+
+        private MeteredTask(String method, Runnable handler, Runnable rejectionHandler) {
+            this.method = method;
+            this.handler = handler;
+            this.rejectionHandler = rejectionHandler;
+            this.submitted = System.nanoTime();
+        }
+
+        private void reject() {
+            LOG.warn("Request of method '{}' is rejected, too many requests are waiting for execution", method);
+            metrics.computeIfAbsent(method, m -> new MethodMetrics()).rejected.increment();
+            try {
+                rejectionHandler.run();
+            } catch (RuntimeException e) {
+                LOG.error(e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void run() {
+            long started = System.nanoTime();
+            try {
+                handler.run();
+            } finally {
+                long finished = System.nanoTime();
+                metrics.computeIfAbsent(method, m -> new MethodMetrics()).record(started - submitted, finished - started);
+                LOG.debug("Method '{}' waited {} ms and was executed in {} ms",
+                          method,
+                          TimeUnit.NANOSECONDS.toMillis(started - submitted),
+                          TimeUnit.NANOSECONDS.toMillis(finished - started));
+            }
+        }
+    }
+
+    /** Queue and execution time of the requests of a single method. */
+    public static class MethodMetrics {
+        private final LongAdder  count              = new LongAdder();
+        private final LongAdder  rejected           = new LongAdder();
+        private final LongAdder  queueTimeNanos     = new LongAdder();
+        private final LongAdder  executionTimeNanos = new LongAdder();
+        private final AtomicLong maxQueueTimeNanos  = new AtomicLong();
+        private final AtomicLong maxExecutionNanos  = new AtomicLong();
+
+        private void record(long queueTime, long executionTime) {
+            count.increment();
+            queueTimeNanos.add(queueTime);
+            executionTimeNanos.add(executionTime);
+            maxQueueTimeNanos.accumulateAndGet(queueTime, Math::max);
+            maxExecutionNanos.accumulateAndGet(executionTime, Math::max);
+        }
+
+        /** Returns the number of the executed requests. */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /** Returns the number of the rejected requests. */
+        public long getRejectedCount() {
+            return rejected.sum();
+        }
+
+        /** Returns the total time the requests waited for execution, in milliseconds. */
+        public long getQueueTime() {
+            return TimeUnit.NANOSECONDS.toMillis(queueTimeNanos.sum());
+        }
+
+        /** Returns the longest time a request waited for execution, in milliseconds. */
+        public long getMaxQueueTime() {
+            return TimeUnit.NANOSECONDS.toMillis(maxQueueTimeNanos.get());
+        }
+
+        /** Returns the total time of execution of the requests, in milliseconds. */
+        public long getExecutionTime() {
+            return TimeUnit.NANOSECONDS.toMillis(executionTimeNanos.sum());
+        }
+
+        /** Returns the longest time of execution of a request, in milliseconds. */
+        public long getMaxExecutionTime() {
+            return TimeUnit.NANOSECONDS.toMillis(maxExecutionNanos.get());
+        }
+
+        @Override
+        public String toString() {
+            return "MethodMetrics{count=" + getCount() +
+                   ", rejected=" + getRejectedCount() +
+                   ", queueTime=" + getQueueTime() +
+                   ", maxQueueTime=" + getMaxQueueTime() +
+                   ", executionTime=" + getExecutionTime() +
+                   ", maxExecutionTime=" + getMaxExecutionTime() + '}';
+        }
+    }
+}
@@ -13,11 +13,13 @@ package org.eclipse.che.api.core.jsonrpc.reception;
 import org.eclipse.che.api.core.jsonrpc.JsonRpcFactory;
 import org.eclipse.che.api.core.jsonrpc.RequestHandler;
 import org.eclipse.che.api.core.jsonrpc.RequestHandlerOneToOne;
+import org.eclipse.che.api.core.jsonrpc.RequestHandlerOneToPromise;
 import org.eclipse.che.api.core.jsonrpc.RequestHandlerRegistry;
 import org.eclipse.che.api.core.jsonrpc.transmission.EndpointIdConfigurator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -65,4 +67,22 @@ public class FunctionConfiguratorOneToOne<P, R> {
         RequestHandler handler = new RequestHandlerOneToOne<>(pClass, function, factory);
         registry.register(method, handler);
     }
+
+    /**
+     * Define a long running function to be applied, the response is
+     * transmitted when the returned promise is completed, while the
+     * following requests of the endpoint are processed.
+     *
+     * @param function
+     *         function which returns a promise of the result
+     */
+    public void withPromise(BiFunction<String, P, CompletableFuture<R>> function) {
+        checkNotNull(function, "Request function must not be null");
+
+        LOG.debug("Configuring incoming request promise function for method: {}, params object class: {}, result object class: {}",
+                  method, pClass, rClass);
+
+        RequestHandler handler = new RequestHandlerOneToPromise<>(pClass, function, factory);
+        registry.register(method, handler);
+    }
 }
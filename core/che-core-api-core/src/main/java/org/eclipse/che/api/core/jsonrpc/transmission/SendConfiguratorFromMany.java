@@ -16,6 +16,8 @@ import org.eclipse.che.api.core.jsonrpc.JsonRpcPromise;
 import org.eclipse.che.api.core.jsonrpc.JsonRpcRequest;
 import org.eclipse.che.api.core.jsonrpc.ResponseDispatcher;
 import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.JsonSerializable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -167,7 +169,7 @@ public class SendConfiguratorFromMany<P> {
     }
 
     private void transmitNotification() {
-        JsonRpcParams params = factory.createParamsList(pListValue);
+        JsonRpcParams params = createParams();
         JsonRpcRequest request = factory.createRequest(method, params);
         transmitter.transmit(endpointId, request.toString());
     }
@@ -176,9 +178,17 @@ public class SendConfiguratorFromMany<P> {
         Integer id = MethodNameConfigurator.id.incrementAndGet();
         String requestId = id.toString();
 
-        JsonRpcParams params = factory.createParamsList(pListValue);
+        JsonRpcParams params = createParams();
         JsonRpcRequest request = factory.createRequest(requestId, method, params);
         transmitter.transmit(endpointId, request.toString());
         return requestId;
     }
+
+    /** DTOs are sent in the compact form to the endpoints which have agreed on it. */
+    private JsonRpcParams createParams() {
+        if (pListValue.get(0) instanceof JsonSerializable && transmitter.isCompactJsonAccepted(endpointId)) {
+            return factory.createParams(DtoFactory.getInstance().toCompactJsonElement(pListValue));
+        }
+        return factory.createParamsList(pListValue);
+    }
 }
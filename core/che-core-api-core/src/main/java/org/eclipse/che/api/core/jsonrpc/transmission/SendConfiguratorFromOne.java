@@ -16,6 +16,8 @@ import org.eclipse.che.api.core.jsonrpc.JsonRpcPromise;
 import org.eclipse.che.api.core.jsonrpc.JsonRpcRequest;
 import org.eclipse.che.api.core.jsonrpc.ResponseDispatcher;
 import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.JsonSerializable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -186,17 +188,25 @@ public class SendConfiguratorFromOne<P> {
         Integer id = MethodNameConfigurator.id.incrementAndGet();
         String requestId = id.toString();
 
-        JsonRpcParams params = factory.createParams(pValue);
+        JsonRpcParams params = createParams();
         JsonRpcRequest request = factory.createRequest(requestId, method, params);
         transmitter.transmit(endpointId, request.toString());
         return requestId;
     }
 
     private void transmitNotification() {
-        JsonRpcParams params = factory.createParams(pValue);
+        JsonRpcParams params = createParams();
         JsonRpcRequest request = factory.createRequest(method, params);
         if (endpointId != null) {
             transmitter.transmit(endpointId, request.toString());
         }
     }
+
+    /** DTOs are sent in the compact form to the endpoints which have agreed on it. */
+    private JsonRpcParams createParams() {
+        if (pValue instanceof JsonSerializable && transmitter.isCompactJsonAccepted(endpointId)) {
+            return factory.createParams(DtoFactory.getInstance().toCompactJsonElement(pValue));
+        }
+        return factory.createParams(pValue);
+    }
 }
@@ -43,4 +43,16 @@ public interface WebSocketMessageTransmitter {
      *         plain text message
      */
     void transmit(String message);
+
+    /**
+     * Tells whether the endpoint has agreed to receive DTOs in the compact form, see
+     * {@link org.eclipse.che.dto.server.DtoFactory#toCompactJson(Object)}. Endpoints
+     * which haven't agreed on it receive plain JSON.
+     *
+     * @param endpointId
+     *         identifier of an endpoint known to an transmitter implementation
+     */
+    default boolean isCompactJsonAccepted(String endpointId) {
+        return false;
+    }
 }
@@ -60,6 +60,11 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
         }
     }
 
+    @Override
+    public boolean isCompactJsonAccepted(String endpointId) {
+        return registry.isCompactJsonAccepted(endpointId);
+    }
+
     @Override
     public synchronized void transmit(String message) {
         LOG.debug("Broadcasting a web socket transmission: ", message);
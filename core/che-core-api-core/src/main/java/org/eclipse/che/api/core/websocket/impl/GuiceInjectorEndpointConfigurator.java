@@ -12,11 +12,19 @@ package org.eclipse.che.api.core.websocket.impl;
 
 import com.google.inject.Injector;
 
+import org.eclipse.che.commons.env.EnvironmentContext;
+
 import javax.inject.Inject;
+import javax.websocket.HandshakeResponse;
+import javax.websocket.server.HandshakeRequest;
 import javax.websocket.server.ServerEndpointConfig;
 
+import static org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry.SUBJECT_PROPERTY;
+
 /**
- * Allows inject Guice instances on WEB SOCKET endpoint creation.
+ * Allows inject Guice instances on WEB SOCKET endpoint creation,
+ * remembers the subject who opens a session in the {@link WebSocketSessionRegistry#SUBJECT_PROPERTY}
+ * user property of the session.
  *
  * @author Dmitry Kuleshov
  */
@@ -27,4 +35,10 @@ public class GuiceInjectorEndpointConfigurator extends ServerEndpointConfig.Conf
     public <T> T getEndpointInstance(Class<T> endpointClass) {
         return injector.getInstance(endpointClass);
     }
+
+    @Override
+    public void modifyHandshake(ServerEndpointConfig sec, HandshakeRequest request, HandshakeResponse response) {
+        super.modifyHandshake(sec, request, response);
+        sec.getUserProperties().put(SUBJECT_PROPERTY, EnvironmentContext.getCurrent().getSubject());
+    }
 }
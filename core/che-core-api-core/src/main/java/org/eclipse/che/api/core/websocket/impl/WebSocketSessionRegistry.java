@@ -10,11 +10,13 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
+import org.eclipse.che.commons.subject.Subject;
 import org.slf4j.Logger;
 
 import javax.inject.Singleton;
 import javax.websocket.Session;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -32,6 +34,16 @@ import static org.slf4j.LoggerFactory.getLogger;
 public class WebSocketSessionRegistry {
     private static final Logger LOG = getLogger(WebSocketSessionRegistry.class);
 
+    /**
+     * Query parameter of the web socket URL, an endpoint which opens the session with the
+     * {@code compact} value agrees to receive DTOs in the compact form.
+     */
+    public static final String DTO_FORMAT_PARAMETER = "dto-format";
+    public static final String COMPACT_DTO_FORMAT   = "compact";
+
+    /** User property of the web socket session which keeps the subject who opened the session. */
+    public static final String SUBJECT_PROPERTY = "che.subject";
+
     private final Map<String, Session> sessionsMap = new ConcurrentHashMap<>();
 
     public void add(String endpointId, Session session) {
@@ -50,6 +62,28 @@ public class WebSocketSessionRegistry {
         return Optional.ofNullable(sessionsMap.get(endpointId));
     }
 
+    public boolean isCompactJsonAccepted(String endpointId) {
+        final Session session = sessionsMap.get(endpointId);
+        if (session == null) {
+            return false;
+        }
+        final List<String> formats = session.getRequestParameterMap().get(DTO_FORMAT_PARAMETER);
+        return formats != null && formats.contains(COMPACT_DTO_FORMAT);
+    }
+
+    /**
+     * Returns the subject who opened the session of the endpoint,
+     * or {@link Subject#ANONYMOUS} when the endpoint has no session or the subject is unknown.
+     */
+    public Subject getSubject(String endpointId) {
+        final Session session = sessionsMap.get(endpointId);
+        if (session == null) {
+            return Subject.ANONYMOUS;
+        }
+        final Object subject = session.getUserProperties().get(SUBJECT_PROPERTY);
+        return subject instanceof Subject ? (Subject)subject : Subject.ANONYMOUS;
+    }
+
     public Set<Session> getSessions() {
         return sessionsMap.values().stream().collect(toSet());
     }
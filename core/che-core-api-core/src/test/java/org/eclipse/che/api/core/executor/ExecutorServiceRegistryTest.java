@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.executor;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Tests {@link ExecutorServiceRegistry}.
+ */
+public class ExecutorServiceRegistryTest {
+
+    private ExecutorServiceRegistry registry;
+
+    @BeforeMethod
+    public void setUp() {
+        registry = new ExecutorServiceRegistry(ImmutableMap.of("che.executor.test.max_size", "3",
+                                                               "che.executor.test.queue_capacity", "1",
+                                                               "che.executor.test.rejection_policy", "abort",
+                                                               "che.executor.invalid.max_size", "not a number"));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    public void returnsTheSamePoolForTheSameName() {
+        assertSame(registry.getOrCreate("test", ThreadPoolConfig.fixed(1, 1)),
+                   registry.getOrCreate("test", ThreadPoolConfig.fixed(2, 2)));
+    }
+
+    @Test
+    public void overridesDefaultsWithConfigurationProperties() {
+        MonitoredThreadPoolExecutor executor =
+                (MonitoredThreadPoolExecutor)registry.getOrCreate("test", ThreadPoolConfig.fixed(1, 100)
+                                                                                          .withRejectionPolicy(
+                                                                                                  ThreadPoolConfig.RejectionPolicy.DISCARD));
+
+        assertEquals(executor.getCorePoolSize(), 1);
+        assertEquals(executor.getMaximumPoolSize(), 3);
+        assertEquals(executor.getQueue().remainingCapacity(), 1);
+    }
+
+    @Test
+    public void usesDefaultsWhenPropertiesAreInvalid() {
+        MonitoredThreadPoolExecutor executor =
+                (MonitoredThreadPoolExecutor)registry.getOrCreate("invalid", ThreadPoolConfig.fixed(2, 10));
+
+        assertEquals(executor.getMaximumPoolSize(), 2);
+        assertEquals(executor.getQueue().remainingCapacity(), 10);
+    }
+
+    @Test
+    public void countsRejectedTasksWhenPoolIsSaturated() throws Exception {
+        MonitoredThreadPoolExecutor executor =
+                (MonitoredThreadPoolExecutor)registry.getOrCreate("test", ThreadPoolConfig.fixed(1, 1));
+        CountDownLatch release = new CountDownLatch(1);
+        int rejected = 0;
+
+        for (int i = 0; i < 5; i++) {
+            try {
+                executor.execute(() -> awaitQuietly(release));
+            } catch (RejectedExecutionException x) {
+                rejected++;
+            }
+        }
+        release.countDown();
+
+        // 3 threads and 1 queued task
+        assertEquals(rejected, 1);
+        assertEquals(executor.getRejectedCount(), 1);
+    }
+
+    @Test
+    public void measuresTasksLatency() throws Exception {
+        MonitoredThreadPoolExecutor executor =
+                (MonitoredThreadPoolExecutor)registry.getOrCreate("latency", ThreadPoolConfig.fixed(1, 10));
+
+        executor.submit(() -> sleepQuietly(50)).get();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(executor.getCompletedTaskCount(), 1);
+        assertTrue(executor.getAverageExecutionMillis() >= 50, "Average execution time " + executor.getAverageExecutionMillis());
+        assertTrue(executor.getMaxLatencyMillis() >= 50, "Max latency " + executor.getMaxLatencyMillis());
+    }
+
+    @Test
+    public void exportsPoolStatisticsOverJmx() throws Exception {
+        registry.getOrCreate("jmx", ThreadPoolConfig.elastic(1));
+        ObjectName name = new ObjectName("org.eclipse.che:type=ThreadPool,name=" + ObjectName.quote("jmx"));
+
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+        assertEquals(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "RejectedCount"), 0L);
+
+        registry.shutdown();
+
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+
+    @Test
+    public void rejectsTasksWhenElasticPoolHasNoFreeThreads() {
+        registry = new ExecutorServiceRegistry(ImmutableMap.of());
+        MonitoredThreadPoolExecutor executor =
+                (MonitoredThreadPoolExecutor)registry.getOrCreate("elastic", ThreadPoolConfig.elastic(1));
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> awaitQuietly(release));
+
+        try {
+            executor.execute(() -> {});
+            fail("Task must be rejected");
+        } catch (RejectedExecutionException ignored) {
+        } finally {
+            release.countDown();
+        }
+        assertEquals(executor.getRejectedCount(), 1);
+    }
+
+    @Test
+    public void rejectsScheduledTasksOverQueueCapacity() {
+        MonitoredScheduledThreadPoolExecutor executor =
+                (MonitoredScheduledThreadPoolExecutor)registry.getOrCreateScheduled("scheduled", ThreadPoolConfig.fixed(1, 2));
+        executor.schedule(() -> {}, 1, TimeUnit.HOURS);
+        executor.schedule(() -> {}, 1, TimeUnit.HOURS);
+
+        try {
+            executor.schedule(() -> {}, 1, TimeUnit.HOURS);
+            fail("Task must be rejected");
+        } catch (RejectedExecutionException ignored) {
+        }
+        assertEquals(executor.getRejectedCount(), 1);
+        assertEquals(executor.getQueuedCount(), 2);
+    }
+
+    @Test
+    public void measuresScheduledTasksExecution() throws Exception {
+        MonitoredScheduledThreadPoolExecutor executor =
+                (MonitoredScheduledThreadPoolExecutor)registry.getOrCreateScheduled("scheduled", ThreadPoolConfig.fixed(1, 10));
+
+        executor.schedule(() -> sleepQuietly(50), 10, TimeUnit.MILLISECONDS).get();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(executor.getCompletedTaskCount(), 1);
+        assertTrue(executor.getAverageExecutionMillis() >= 50, "Average execution time " + executor.getAverageExecutionMillis());
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void failsToGetScheduledPoolRegisteredAsRegularPool() {
+        registry.getOrCreate("test", ThreadPoolConfig.fixed(1, 1));
+
+        registry.getOrCreateScheduled("test", ThreadPoolConfig.fixed(1, 1));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException x) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException x) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.assistedinject.FactoryModuleBuilder;
+
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.api.core.rest.shared.dto.LinkParameter;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+/**
+ * Compares decoding of incoming JSON RPC messages done by {@link JsonRpcMessageReceiver}
+ * with the previous decoding, which parsed each message several times.
+ *
+ * <p>Run it with the {@link #main(String[])} method from the test classpath of the module.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class JsonRpcDecodingBenchmark {
+    private static final int BATCH_SIZE = 20;
+
+    private JsonParser             jsonParser;
+    private JsonRpcEntityValidator validator;
+    private JsonRpcEntityQualifier qualifier;
+    private JsonRpcFactory         factory;
+
+    private String request;
+    private String batch;
+
+    @Setup
+    public void setUp() {
+        jsonParser = new JsonParser();
+        validator = new JsonRpcEntityValidator(jsonParser);
+        qualifier = new JsonRpcEntityQualifier(jsonParser);
+        factory = Guice.createInjector(new AbstractModule() {
+            @Override
+            protected void configure() {
+                install(new FactoryModuleBuilder().build(JsonRpcFactory.class));
+                bind(JsonParser.class).toInstance(jsonParser);
+            }
+        }).getInstance(JsonRpcFactory.class);
+
+        Link link = newDto(Link.class).withHref("http://localhost:8080/api/project/file/console-java-simple/src/Main.java")
+                                      .withRel("get content")
+                                      .withMethod("GET")
+                                      .withProduces("text/plain")
+                                      .withParameters(singletonList(newDto(LinkParameter.class).withName("charset")
+                                                                                               .withDefaultValue("UTF-8")
+                                                                                               .withRequired(false)));
+        JsonObject message = new JsonObject();
+        message.addProperty("jsonrpc", "2.0");
+        message.addProperty("id", "42");
+        message.addProperty("method", "event:file-changed");
+        message.add("params", DtoFactory.getInstance().toJsonElement(link));
+        request = message.toString();
+
+        JsonArray messages = new JsonArray();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            messages.add(message);
+        }
+        batch = messages.toString();
+    }
+
+    @Benchmark
+    public void singlePassRequest(Blackhole blackhole) throws Exception {
+        decode(request, blackhole);
+    }
+
+    @Benchmark
+    public void singlePassBatch(Blackhole blackhole) throws Exception {
+        decode(batch, blackhole);
+    }
+
+    @Benchmark
+    public void previousRequest(Blackhole blackhole) {
+        decodePreviously(request, blackhole);
+    }
+
+    @Benchmark
+    public void previousBatch(Blackhole blackhole) {
+        decodePreviously(batch, blackhole);
+    }
+
+    /** Decodes the message as {@link JsonRpcMessageReceiver} does and binds params of the requests to the DTOs. */
+    private void decode(String message, Blackhole blackhole) throws JsonRpcException {
+        JsonElement json = validator.parse(message);
+        if (json.isJsonArray()) {
+            for (JsonElement element : json.getAsJsonArray()) {
+                decodeObject(element, blackhole);
+            }
+        } else {
+            decodeObject(json, blackhole);
+        }
+    }
+
+    private void decodeObject(JsonElement element, Blackhole blackhole) {
+        if (qualifier.qualify(element) == JsonRpcEntityQualifier.JsonRpcEntityType.REQUEST) {
+            JsonRpcRequest request = factory.createRequest(element.getAsJsonObject());
+            blackhole.consume(request.getParams().getAs(Link.class));
+        }
+    }
+
+    /**
+     * Decodes the message as it was done before the single pass decoding: the message is parsed to be validated,
+     * to check whether it is an array, to be qualified and to be turned into a request, each element of a batch
+     * is serialized to be parsed again and params are serialized to be bound to the DTO.
+     */
+    private void decodePreviously(String message, Blackhole blackhole) {
+        jsonParser.parse(message);
+        List<String> objects = new ArrayList<>();
+        if (jsonParser.parse(message).isJsonArray()) {
+            jsonParser.parse(message).getAsJsonArray().forEach(it -> objects.add(it.toString()));
+        } else {
+            objects.add(message);
+        }
+        for (String object : objects) {
+            if (jsonParser.parse(object).getAsJsonObject().has("method")) {
+                JsonObject request = jsonParser.parse(object).getAsJsonObject();
+                String params = request.get("params").toString();
+                JsonElement paramsElement = jsonParser.parse(params);
+                blackhole.consume(DtoFactory.getInstance().createDtoFromJson(paramsElement.toString(), Link.class));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JsonRpcDecodingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
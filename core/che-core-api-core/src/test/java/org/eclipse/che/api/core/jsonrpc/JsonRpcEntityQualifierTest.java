@@ -85,4 +85,11 @@ public class JsonRpcEntityQualifierTest {
 
         assertEquals(JsonRpcEntityType.UNDEFINED, type);
     }
+
+    @Test
+    public void shouldQualifyUndefinedWhenMessageIsNotObject() {
+        JsonRpcEntityType type = qualifier.qualify(new JsonParser().parse("\"value\""));
+
+        assertEquals(JsonRpcEntityType.UNDEFINED, type);
+    }
 }
@@ -10,8 +10,9 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc;
 
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
 import org.eclipse.che.api.core.websocket.WebSocketMessageTransmitter;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -19,9 +20,19 @@ import org.testng.annotations.BeforeTest;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Collections.emptyMap;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
 /**
  * Tests for {@link RequestDispatcher}
@@ -39,8 +50,10 @@ public class RequestDispatcherTest {
     JsonRpcFactory              jsonRpcFactory;
     @Mock
     WebSocketMessageTransmitter transmitter;
-    @InjectMocks
-    RequestDispatcher           requestDispatcher;
+    @Mock
+    JsonRpcErrorTransmitter     errorTransmitter;
+
+    RequestDispatcher requestDispatcher;
 
     @Mock
     JsonRpcRequest      request;
@@ -54,9 +67,17 @@ public class RequestDispatcherTest {
     NotificationHandler notificationHandler;
     @Mock
     JsonRpcResult       result;
+    @Mock
+    AsyncRequestHandler asyncRequestHandler;
 
     @BeforeMethod
     public void setUp() throws Exception {
+        requestDispatcher = new RequestDispatcher(requestHandlerRegistry,
+                                                  transmitter,
+                                                  jsonRpcFactory,
+                                                  errorTransmitter,
+                                                  new RequestProcessor(0, "", new ExecutorServiceRegistry(emptyMap())));
+
         when(request.hasId()).thenReturn(true);
         when(request.getId()).thenReturn(REQUEST_ID);
         when(request.getMethod()).thenReturn(METHOD_NAME);
@@ -137,4 +158,92 @@ public class RequestDispatcherTest {
 
         requestDispatcher.dispatch(ENDPOINT_ID, request);
     }
+
+    @Test
+    public void shouldTransmitErrorIfRequestHandlerFails() throws Exception {
+        JsonRpcException error = new JsonRpcException(-32602, "Invalid params", REQUEST_ID);
+        when(requestHandler.handle(ENDPOINT_ID, params)).thenThrow(error);
+
+        requestDispatcher.dispatch(ENDPOINT_ID, request);
+
+        verify(errorTransmitter).transmit(ENDPOINT_ID, error);
+        verify(transmitter, never()).transmit(ENDPOINT_ID, STRINGIFIED_RESPONSE);
+    }
+
+    @Test
+    public void shouldTransmitErrorIfRequestIsRejected() throws Exception {
+        RequestProcessor processor = mock(RequestProcessor.class);
+        doAnswer(invocation -> {
+            ((Runnable)invocation.getArguments()[3]).run();
+            return null;
+        }).when(processor).execute(anyString(), anyString(), any(), any());
+        requestDispatcher = new RequestDispatcher(requestHandlerRegistry, transmitter, jsonRpcFactory, errorTransmitter, processor);
+
+        requestDispatcher.dispatch(ENDPOINT_ID, request);
+
+        ArgumentCaptor<JsonRpcException> errorCaptor = ArgumentCaptor.forClass(JsonRpcException.class);
+        verify(errorTransmitter).transmit(eq(ENDPOINT_ID), errorCaptor.capture());
+        assertEquals(errorCaptor.getValue().getCode(), -32000);
+        assertEquals(errorCaptor.getValue().getId(), REQUEST_ID);
+        verify(requestHandler, never()).handle(ENDPOINT_ID, params);
+    }
+
+    @Test
+    public void shouldTransmitResponseWhenPromiseOfAsyncHandlerIsCompleted() throws Exception {
+        CompletableFuture<JsonRpcResult> promise = new CompletableFuture<>();
+        when(asyncRequestHandler.handleAsync(ENDPOINT_ID, params)).thenReturn(promise);
+        when(requestHandlerRegistry.getRequestHandler("method")).thenReturn(asyncRequestHandler);
+
+        requestDispatcher.dispatch(ENDPOINT_ID, request);
+
+        verify(transmitter, never()).transmit(ENDPOINT_ID, STRINGIFIED_RESPONSE);
+
+        promise.complete(result);
+
+        verify(transmitter).transmit(ENDPOINT_ID, STRINGIFIED_RESPONSE);
+    }
+
+    @Test
+    public void shouldTransmitErrorWhenPromiseOfAsyncHandlerIsFailed() throws Exception {
+        CompletableFuture<JsonRpcResult> promise = new CompletableFuture<>();
+        when(asyncRequestHandler.handleAsync(ENDPOINT_ID, params)).thenReturn(promise);
+        when(requestHandlerRegistry.getRequestHandler("method")).thenReturn(asyncRequestHandler);
+        JsonRpcException error = new JsonRpcException(-32000, "Failed", REQUEST_ID);
+
+        requestDispatcher.dispatch(ENDPOINT_ID, request);
+        promise.completeExceptionally(error);
+
+        verify(errorTransmitter).transmit(ENDPOINT_ID, error);
+    }
+
+    @Test
+    public void shouldNotHoldPoolThreadWhilePromiseOfAsyncHandlerIsPending() throws Exception {
+        requestDispatcher = new RequestDispatcher(requestHandlerRegistry,
+                                                  transmitter,
+                                                  jsonRpcFactory,
+                                                  errorTransmitter,
+                                                  new RequestProcessor(1, "", new ExecutorServiceRegistry(emptyMap())));
+        CompletableFuture<JsonRpcResult> promise = new CompletableFuture<>();
+        when(asyncRequestHandler.handleAsync(ENDPOINT_ID, params)).thenReturn(promise);
+        when(requestHandlerRegistry.getRequestHandler("async")).thenReturn(asyncRequestHandler);
+        JsonRpcRequest asyncRequest = mock(JsonRpcRequest.class);
+        when(asyncRequest.hasId()).thenReturn(true);
+        when(asyncRequest.getId()).thenReturn("asyncRequestId");
+        when(asyncRequest.getMethod()).thenReturn("async");
+        when(asyncRequest.getParams()).thenReturn(params);
+        JsonRpcResponse asyncResponse = mock(JsonRpcResponse.class);
+        when(asyncResponse.toString()).thenReturn("asyncResponse");
+        when(jsonRpcFactory.createResponse("asyncRequestId", result, null)).thenReturn(asyncResponse);
+
+        requestDispatcher.dispatch(ENDPOINT_ID, asyncRequest);
+        requestDispatcher.dispatch(ENDPOINT_ID, request);
+
+        // the only thread of the pool handles the next request while the promise is pending
+        verify(transmitter, timeout(10_000)).transmit(ENDPOINT_ID, STRINGIFIED_RESPONSE);
+        verify(transmitter, never()).transmit(ENDPOINT_ID, "asyncResponse");
+
+        promise.complete(result);
+
+        verify(transmitter, timeout(10_000)).transmit(ENDPOINT_ID, "asyncResponse");
+    }
 }
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc;
+
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link RequestProcessor}
+ */
+public class RequestProcessorTest {
+    static final String ENDPOINT_ID = "endpointId";
+    static final String METHOD_NAME = "method";
+
+    RequestProcessor processor;
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        if (processor != null) {
+            processor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldExecuteHandlerOnCallingThreadIfPoolIsDisabled() throws Exception {
+        processor = new RequestProcessor(0, "", new ExecutorServiceRegistry(emptyMap()));
+        Thread[] executor = new Thread[1];
+
+        processor.execute(ENDPOINT_ID, METHOD_NAME, () -> executor[0] = Thread.currentThread(), () -> {});
+
+        assertEquals(executor[0], Thread.currentThread());
+    }
+
+    @Test
+    public void shouldExecuteHandlersOfEndpointInOrder() throws Exception {
+        processor = new RequestProcessor(4, "", new ExecutorServiceRegistry(emptyMap()));
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(100);
+
+        for (int i = 0; i < 100; i++) {
+            int number = i;
+            processor.execute(ENDPOINT_ID, METHOD_NAME, () -> {
+                executed.add(number);
+                done.countDown();
+            }, () -> {});
+        }
+
+        assertTrue(done.await(10, SECONDS));
+        assertEquals(executed, IntStream.range(0, 100).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldNotBlockEndpointBySlowHandlerOfAnotherEndpoint() throws Exception {
+        processor = new RequestProcessor(2, "", new ExecutorServiceRegistry(emptyMap()));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch executed = new CountDownLatch(1);
+
+        processor.execute(ENDPOINT_ID, METHOD_NAME, () -> await(release), () -> {});
+        processor.execute("anotherEndpointId", METHOD_NAME, executed::countDown, () -> {});
+
+        assertTrue(executed.await(10, SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    public void shouldExecuteConcurrentMethodsOutOfOrder() throws Exception {
+        processor = new RequestProcessor(2, "concurrent:", new ExecutorServiceRegistry(emptyMap()));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch executed = new CountDownLatch(1);
+
+        processor.execute(ENDPOINT_ID, METHOD_NAME, () -> await(release), () -> {});
+        processor.execute(ENDPOINT_ID, "concurrent:method", executed::countDown, () -> {});
+
+        assertTrue(executed.await(10, SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    public void shouldMeterExecutedMethods() throws Exception {
+        processor = new RequestProcessor(0, "", new ExecutorServiceRegistry(emptyMap()));
+
+        processor.execute(ENDPOINT_ID, METHOD_NAME, () -> {}, () -> {});
+        processor.execute(ENDPOINT_ID, METHOD_NAME, () -> {}, () -> {});
+
+        assertEquals(processor.getMetrics().get(METHOD_NAME).getCount(), 2);
+    }
+
+    @Test
+    public void shouldRejectRequestsWhenPoolQueueIsFull() throws Exception {
+        processor = new RequestProcessor(1, "", new ExecutorServiceRegistry(singletonMap("che.executor.jsonrpc_processor.queue_capacity",
+                                                                                         "1")));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+
+        // occupies the only thread of the pool
+        processor.execute(ENDPOINT_ID, METHOD_NAME, () -> {
+            started.countDown();
+            await(release);
+        }, rejected::incrementAndGet);
+        assertTrue(started.await(10, SECONDS));
+        // occupies the only place in the queue
+        processor.execute("endpoint2", METHOD_NAME, () -> {}, rejected::incrementAndGet);
+        processor.execute("endpoint3", METHOD_NAME, () -> {}, rejected::incrementAndGet);
+
+        assertEquals(rejected.get(), 1);
+        assertEquals(processor.getMetrics().get(METHOD_NAME).getRejectedCount(), 1);
+        release.countDown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
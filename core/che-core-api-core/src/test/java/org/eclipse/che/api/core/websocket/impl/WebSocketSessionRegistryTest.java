@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.websocket.impl;
 
+import org.eclipse.che.commons.subject.Subject;
+import org.eclipse.che.commons.subject.SubjectImpl;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -20,7 +22,11 @@ import javax.websocket.Session;
 
 import java.util.Optional;
 
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 import static org.testng.Assert.*;
 
 /**
@@ -74,6 +80,42 @@ public class WebSocketSessionRegistryTest {
         assertTrue(registry.getSessions().isEmpty());
     }
 
+    @Test
+    public void shouldAcceptCompactJsonIfSessionIsOpenedWithCompactDtoFormat() {
+        when(session.getRequestParameterMap()).thenReturn(singletonMap(WebSocketSessionRegistry.DTO_FORMAT_PARAMETER,
+                                                                       singletonList(WebSocketSessionRegistry.COMPACT_DTO_FORMAT)));
+        registry.add("0", session);
+
+        assertTrue(registry.isCompactJsonAccepted("0"));
+    }
+
+    @Test
+    public void shouldNotAcceptCompactJsonIfSessionIsOpenedWithoutDtoFormat() {
+        when(session.getRequestParameterMap()).thenReturn(emptyMap());
+        registry.add("0", session);
+
+        assertFalse(registry.isCompactJsonAccepted("0"));
+        assertFalse(registry.isCompactJsonAccepted("1"));
+    }
+
+    @Test
+    public void shouldReturnSubjectWhoOpenedSession() {
+        final Subject subject = new SubjectImpl("name", "id", "token", false);
+        when(session.getUserProperties()).thenReturn(singletonMap(WebSocketSessionRegistry.SUBJECT_PROPERTY, subject));
+        registry.add("0", session);
+
+        assertEquals(registry.getSubject("0"), subject);
+    }
+
+    @Test
+    public void shouldReturnAnonymousSubjectIfEndpointHasNoSessionOrSubject() {
+        when(session.getUserProperties()).thenReturn(emptyMap());
+        registry.add("0", session);
+
+        assertEquals(registry.getSubject("0"), Subject.ANONYMOUS);
+        assertEquals(registry.getSubject("1"), Subject.ANONYMOUS);
+    }
+
     @Test
     public void shouldGetAllSessions() {
         registry.add("0", session);
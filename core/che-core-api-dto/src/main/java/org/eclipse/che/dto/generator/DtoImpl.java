@@ -56,6 +56,19 @@ abstract class DtoImpl {
         return compactJson;
     }
 
+    /**
+     * Tests whether or not getters of the DTO interface are annotated with {@link SerializationIndex},
+     * such DTOs may be serialized to the compact form on the server side.
+     */
+    protected boolean hasSerializationIndexes() {
+        for (Method method : dtoInterface.getMethods()) {
+            if (isDtoGetter(method) && method.isAnnotationPresent(SerializationIndex.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public Class<?> getDtoInterface() {
         return dtoInterface;
     }
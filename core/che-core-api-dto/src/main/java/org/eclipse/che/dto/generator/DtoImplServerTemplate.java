@@ -11,6 +11,7 @@
 
 package org.eclipse.che.dto.generator;
 
+import org.eclipse.che.dto.server.DtoTypeAdapter;
 import org.eclipse.che.dto.server.JsonArrayImpl;
 import org.eclipse.che.dto.server.JsonSerializable;
 import org.eclipse.che.dto.server.JsonStringMapImpl;
@@ -22,14 +23,22 @@ import org.eclipse.che.dto.shared.JsonStringMap;
 import org.eclipse.che.dto.shared.SerializationIndex;
 import com.google.common.base.Preconditions;
 import com.google.common.primitives.Primitives;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
 
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -40,6 +49,10 @@ public class DtoImplServerTemplate extends DtoImpl {
     private static final String JSON_ARRAY_IMPL   = JsonArrayImpl.class.getCanonicalName();
     private static final String JSON_MAP_IMPL     = JsonStringMapImpl.class.getCanonicalName();
     private static final String SERVER_DTO_MARKER = "  @" + DTOImpl.class.getCanonicalName() + "(\"server\")\n";
+    private static final String JSON_ADAPTER      = JsonAdapter.class.getCanonicalName();
+    private static final String TYPE_ADAPTER      = TypeAdapter.class.getCanonicalName();
+    private static final String TYPE_TOKEN        = TypeToken.class.getCanonicalName();
+    private static final String DTO_TYPE_ADAPTER  = DtoTypeAdapter.class.getCanonicalName();
 
     DtoImplServerTemplate(DtoTemplate template, Class<?> superInterface) {
         super(template, superInterface);
@@ -77,6 +90,8 @@ public class DtoImplServerTemplate extends DtoImpl {
         emitCopyConstructor(methods, builder);
         // Delegation DTO methods.
         emitDelegateMethods(builder);
+        // Streaming Gson adapter
+        emitTypeAdapter(builder);
         // "builder" method, it is method that set field and return "this" instance
         emitWithMethods(getters, dtoInterfaceName, builder);
         // Implement withXXX methods that are declared directly in this DTO even if there are no any getter for the fields.
@@ -315,6 +330,360 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("    }\n");
     }
 
+    /**
+     * Emits a Gson type adapter which writes the fields straight to a JsonWriter and reads them straight from a JsonReader,
+     * instead of the reflective adapter of Gson, and the factory which provides the adapter to Gson through the
+     * {@link JsonAdapter} annotation of the implementation class.
+     *
+     * <p>Adapters of DTOs which getters are annotated with {@link SerializationIndex} may also write the DTO in the compact
+     * form, as an array of the field values ordered by their indexes, and read the DTO from both forms.
+     */
+    private void emitTypeAdapter(StringBuilder builder) {
+        final String implClassName = getImplClassName();
+        final List<SerializedField> fields = getSerializedFields(getDtoInterface());
+        final Map<Integer, SerializedField> indexedFields = hasSerializationIndexes() ? getIndexedFields(fields) : null;
+        // adapters of the types which are not handled by the generated code, mapped by the type names
+        final Map<String, String> adapters = new LinkedHashMap<>();
+        final StringBuilder write = new StringBuilder();
+        final StringBuilder read = new StringBuilder();
+        for (SerializedField field : fields) {
+            write.append("        out.name(\"").append(escape(field.jsonName)).append("\");\n");
+            emitWriteValue(field.type, "value." + field.javaName, "        ", 0, write);
+            read.append("              case \"").append(escape(field.jsonName)).append("\": {\n");
+            emitReadField(field.type, "result." + field.javaName, "                ", adapters, read);
+            read.append("                break;\n");
+            read.append("              }\n");
+        }
+        final StringBuilder writeCompact = new StringBuilder();
+        final StringBuilder readCompact = new StringBuilder();
+        if (indexedFields != null) {
+            final int maxIndex = indexedFields.isEmpty() ? 0 : Collections.max(indexedFields.keySet());
+            for (int index = 1; index <= maxIndex; index++) {
+                SerializedField field = indexedFields.get(index);
+                if (field == null) {
+                    writeCompact.append("          out.nullValue();\n");
+                    continue;
+                }
+                emitWriteValue(field.type, "value." + field.javaName, "          ", 0, writeCompact);
+                readCompact.append("                case ").append(index).append(": {\n");
+                emitReadField(field.type, "result." + field.javaName, "                  ", adapters, readCompact);
+                readCompact.append("                  break;\n");
+                readCompact.append("                }\n");
+            }
+        }
+
+        builder.append("    public static class GsonTypeAdapterFactory implements com.google.gson.TypeAdapterFactory {\n");
+        if (indexedFields != null) {
+            builder.append("      private final boolean compact;\n\n");
+            builder.append("      public GsonTypeAdapterFactory() {\n");
+            builder.append("        this(false);\n");
+            builder.append("      }\n\n");
+            builder.append("      public GsonTypeAdapterFactory(boolean compact) {\n");
+            builder.append("        this.compact = compact;\n");
+            builder.append("      }\n\n");
+        }
+        builder.append("      @Override\n");
+        builder.append("      public <T> ").append(TYPE_ADAPTER).append("<T> create(Gson gson, ").append(TYPE_TOKEN).append("<T> type) {\n");
+        builder.append("        if (type.getRawType() != ").append(implClassName).append(".class) {\n");
+        builder.append("          return null;\n");
+        builder.append("        }\n");
+        builder.append("        return (").append(TYPE_ADAPTER).append("<T>)new GsonTypeAdapter(gson")
+               .append(indexedFields != null ? ", compact" : "").append(");\n");
+        builder.append("      }\n");
+        builder.append("    }\n\n");
+
+        builder.append("    static class GsonTypeAdapter extends ").append(DTO_TYPE_ADAPTER).append("<").append(implClassName).append("> {\n");
+        if (indexedFields != null) {
+            builder.append("      private final boolean compact;\n");
+        }
+        for (Map.Entry<String, String> adapter : adapters.entrySet()) {
+            builder.append("      private final ").append(TYPE_ADAPTER).append("<").append(adapter.getKey()).append("> ")
+                   .append(adapter.getValue()).append(";\n");
+        }
+        builder.append("\n");
+        if (indexedFields != null) {
+            builder.append("      GsonTypeAdapter(Gson gson, boolean compact) {\n");
+            builder.append("        super(gson);\n");
+            builder.append("        this.compact = compact;\n");
+        } else {
+            builder.append("      GsonTypeAdapter(Gson gson) {\n");
+            builder.append("        super(gson);\n");
+        }
+        for (Map.Entry<String, String> adapter : adapters.entrySet()) {
+            builder.append("        ").append(adapter.getValue()).append(" = gson.getAdapter(").append(getTypeLiteral(adapter.getKey()))
+                   .append(");\n");
+        }
+        builder.append("      }\n\n");
+
+        builder.append("      @Override\n");
+        builder.append("      public void write(com.google.gson.stream.JsonWriter out, ").append(implClassName)
+               .append(" value) throws java.io.IOException {\n");
+        builder.append("        if (value == null) {\n");
+        builder.append("          out.nullValue();\n");
+        builder.append("          return;\n");
+        builder.append("        }\n");
+        if (indexedFields != null) {
+            builder.append("        if (compact) {\n");
+            builder.append("          out.beginArray();\n");
+            builder.append(writeCompact);
+            builder.append("          out.endArray();\n");
+            builder.append("          return;\n");
+            builder.append("        }\n");
+        }
+        builder.append("        out.beginObject();\n");
+        builder.append(write);
+        builder.append("        out.endObject();\n");
+        builder.append("      }\n\n");
+
+        builder.append("      @Override\n");
+        builder.append("      public ").append(implClassName).append(" read(com.google.gson.stream.JsonReader in) throws java.io.IOException {\n");
+        builder.append("        if (readNull(in)) {\n");
+        builder.append("          return null;\n");
+        builder.append("        }\n");
+        builder.append("        ").append(implClassName).append(" result = new ").append(implClassName).append("();\n");
+        builder.append("        try {\n");
+        if (indexedFields != null) {
+            builder.append("          if (in.peek() == com.google.gson.stream.JsonToken.BEGIN_ARRAY) {\n");
+            builder.append("            in.beginArray();\n");
+            builder.append("            for (int index = 1; in.hasNext(); index++) {\n");
+            builder.append("              switch (index) {\n");
+            builder.append(readCompact);
+            builder.append("                default:\n");
+            builder.append("                  in.skipValue();\n");
+            builder.append("              }\n");
+            builder.append("            }\n");
+            builder.append("            in.endArray();\n");
+            builder.append("            return result;\n");
+            builder.append("          }\n");
+        }
+        builder.append("          in.beginObject();\n");
+        builder.append("          while (in.hasNext()) {\n");
+        builder.append("            switch (in.nextName()) {\n");
+        builder.append(read);
+        builder.append("              default:\n");
+        builder.append("                in.skipValue();\n");
+        builder.append("            }\n");
+        builder.append("          }\n");
+        builder.append("          in.endObject();\n");
+        builder.append("        } catch (IllegalStateException e) {\n");
+        builder.append("          throw new com.google.gson.JsonSyntaxException(e);\n");
+        builder.append("        }\n");
+        builder.append("        return result;\n");
+        builder.append("      }\n");
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Returns the serialized fields mapped by their serialization indexes, each field must have
+     * a unique positive index specified by the {@link SerializationIndex} annotation of its getter.
+     */
+    private Map<Integer, SerializedField> getIndexedFields(List<SerializedField> fields) {
+        final Map<String, Integer> indexes = new HashMap<>();
+        for (Method method : getDtoInterface().getMethods()) {
+            SerializationIndex serializationIndex = method.getAnnotation(SerializationIndex.class);
+            if (serializationIndex != null && isDtoGetter(method)) {
+                indexes.putIfAbsent(getJavaFieldName(method.getName()), serializationIndex.value());
+            }
+        }
+        final Map<Integer, SerializedField> indexedFields = new HashMap<>();
+        for (SerializedField field : fields) {
+            Integer index = indexes.get(field.javaName);
+            Preconditions.checkState(index != null, "Serialization index is not specified for %s in %s",
+                                     field.javaName, getDtoInterface().getSimpleName());
+            Preconditions.checkState(index > 0, "Serialization index must be positive for %s in %s",
+                                     field.javaName, getDtoInterface().getSimpleName());
+            Preconditions.checkState(indexedFields.put(index, field) == null, "Duplicate serialization index for %s in %s",
+                                     field.javaName, getDtoInterface().getSimpleName());
+        }
+        return indexedFields;
+    }
+
+    /** Emits statements which write the value of the given type, null lists and maps are written as empty ones. */
+    private void emitWriteValue(Type type, String value, String i, int depth, StringBuilder builder) {
+        Class<?> rawClass = getRawClass(type);
+        if (rawClass == String.class) {
+            builder.append(i).append("writeString(out, ").append(value).append(");\n");
+        } else if (rawClass == int.class || rawClass == long.class || rawClass == boolean.class) {
+            builder.append(i).append("out.value(").append(value).append(");\n");
+        } else if (rawClass == Integer.class || rawClass == Long.class) {
+            builder.append(i).append("writeNumber(out, ").append(value).append(");\n");
+        } else if (rawClass == Boolean.class) {
+            builder.append(i).append("writeBoolean(out, ").append(value).append(");\n");
+        } else if (isStreamedList(type)) {
+            Type itemType = ((ParameterizedType)type).getActualTypeArguments()[0];
+            String item = "item" + depth;
+            builder.append(i).append("out.beginArray();\n");
+            builder.append(i).append("if (").append(value).append(" != null) {\n");
+            builder.append(i).append("  for (").append(getImplName(itemType, false)).append(" ").append(item).append(" : ")
+                   .append(value).append(") {\n");
+            emitWriteValue(itemType, item, i + "    ", depth + 1, builder);
+            builder.append(i).append("  }\n");
+            builder.append(i).append("}\n");
+            builder.append(i).append("out.endArray();\n");
+        } else if (isStreamedMap(type)) {
+            Type valueType = ((ParameterizedType)type).getActualTypeArguments()[1];
+            String entry = "entry" + depth;
+            builder.append(i).append("out.beginObject();\n");
+            builder.append(i).append("if (").append(value).append(" != null) {\n");
+            builder.append(i).append("  for (java.util.Map.Entry<String, ").append(getImplName(valueType, false)).append("> ")
+                   .append(entry).append(" : ").append(value).append(".entrySet()) {\n");
+            builder.append(i).append("    out.name(String.valueOf(").append(entry).append(".getKey()));\n");
+            emitWriteValue(valueType, entry + ".getValue()", i + "    ", depth + 1, builder);
+            builder.append(i).append("  }\n");
+            builder.append(i).append("}\n");
+            builder.append(i).append("out.endObject();\n");
+        } else {
+            builder.append(i).append("writeValue(out, ").append(value).append(");\n");
+        }
+    }
+
+    /** Emits statements which read a value of the given type into the target, null values of primitive fields are ignored. */
+    private void emitReadField(Type type, String target, String i, Map<String, String> adapters, StringBuilder builder) {
+        Class<?> rawClass = getRawClass(type);
+        if (rawClass.isPrimitive()) {
+            builder.append(i).append(Primitives.wrap(rawClass).getCanonicalName()).append(" v = ")
+                   .append(getReadExpression(type, adapters)).append(";\n");
+            builder.append(i).append("if (v != null) {\n");
+            builder.append(i).append("  ").append(target).append(" = v;\n");
+            builder.append(i).append("}\n");
+        } else if (isStreamedList(type) || isStreamedMap(type)) {
+            emitReadCollection(type, "v0", i, 0, adapters, builder);
+            builder.append(i).append(target).append(" = v0;\n");
+        } else {
+            builder.append(i).append(target).append(" = ").append(getReadExpression(type, adapters)).append(";\n");
+        }
+    }
+
+    /** Emits statements which declare the variable and read a list or a map into it. */
+    private void emitReadCollection(Type type, String var, String i, int depth, Map<String, String> adapters, StringBuilder builder) {
+        Type[] typeArguments = ((ParameterizedType)type).getActualTypeArguments();
+        boolean list = isStreamedList(type);
+        Type itemType = list ? typeArguments[0] : typeArguments[1];
+        String item = var + "_";
+        builder.append(i).append(getImplName(type, false)).append(" ").append(var).append(" = null;\n");
+        builder.append(i).append("if (!readNull(in)) {\n");
+        if (list) {
+            builder.append(i).append("  ").append(var).append(" = new java.util.ArrayList<>();\n");
+            builder.append(i).append("  in.beginArray();\n");
+        } else {
+            builder.append(i).append("  ").append(var).append(" = new java.util.LinkedHashMap<>();\n");
+            builder.append(i).append("  in.beginObject();\n");
+        }
+        builder.append(i).append("  while (in.hasNext()) {\n");
+        if (!list) {
+            builder.append(i).append("    String key").append(depth).append(" = in.nextName();\n");
+        }
+        String itemValue;
+        if (isStreamedList(itemType) || isStreamedMap(itemType)) {
+            emitReadCollection(itemType, item, i + "    ", depth + 1, adapters, builder);
+            itemValue = item;
+        } else {
+            itemValue = getReadExpression(itemType, adapters);
+        }
+        if (list) {
+            builder.append(i).append("    ").append(var).append(".add(").append(itemValue).append(");\n");
+        } else {
+            builder.append(i).append("    if (").append(var).append(".put(key").append(depth).append(", ").append(itemValue)
+                   .append(") != null) {\n");
+            builder.append(i).append("      throw new com.google.gson.JsonSyntaxException(\"duplicate key: \" + key").append(depth)
+                   .append(");\n");
+            builder.append(i).append("    }\n");
+        }
+        builder.append(i).append("  }\n");
+        builder.append(i).append(list ? "  in.endArray();\n" : "  in.endObject();\n");
+        builder.append(i).append("}\n");
+    }
+
+    /** Returns an expression which reads a value of the given type, it is neither a list nor a map handled by the generated code. */
+    private String getReadExpression(Type type, Map<String, String> adapters) {
+        Class<?> rawClass = getRawClass(type);
+        if (rawClass == String.class) {
+            return "readString(in)";
+        } else if (rawClass == int.class || rawClass == Integer.class) {
+            return "readInteger(in)";
+        } else if (rawClass == long.class || rawClass == Long.class) {
+            return "readLong(in)";
+        } else if (rawClass == boolean.class || rawClass == Boolean.class) {
+            return "readBoolean(in)";
+        }
+        String typeName = rawClass.isPrimitive() ? rawClass.getCanonicalName() : getImplName(type, false);
+        String adapter = adapters.get(typeName);
+        if (adapter == null) {
+            adapters.put(typeName, adapter = "adapter" + adapters.size());
+        }
+        return adapter + ".read(in)";
+    }
+
+    /** Returns an expression of the type literal which may be passed to Gson to get the adapter of the given type. */
+    private static String getTypeLiteral(String typeName) {
+        if (typeName.indexOf('<') == -1) {
+            return typeName + ".class";
+        }
+        return "new " + TYPE_TOKEN + "<" + typeName + ">() {}";
+    }
+
+    private static boolean isStreamedList(Type type) {
+        return type instanceof ParameterizedType && isList(getRawClass(type));
+    }
+
+    /** Maps with string keys are handled by the generated code, others are handled by Gson. */
+    private static boolean isStreamedMap(Type type) {
+        return type instanceof ParameterizedType
+               && isMap(getRawClass(type))
+               && ((ParameterizedType)type).getActualTypeArguments()[0] == String.class;
+    }
+
+    private static String escape(String s) {
+        return s.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * Returns the fields serialized by the reflective adapter of Gson for the implementation of the given DTO:
+     * the fields of the implementation class followed by the fields of its super classes.
+     */
+    private List<SerializedField> getSerializedFields(Class<?> dto) {
+        final List<SerializedField> fields = new ArrayList<>();
+        for (Class<?> type = dto; type != null; type = getSuperDtoInterface(type)) {
+            final Class<?> existingImpl = type == dto ? null : getEnclosingTemplate().getDtoImplementation(type);
+            if (existingImpl != null) {
+                // implemented in a dependency, its fields are known from the compiled class
+                for (Class<?> impl = existingImpl; impl != null && impl != Object.class; impl = impl.getSuperclass()) {
+                    for (Field field : impl.getDeclaredFields()) {
+                        if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())) {
+                            continue;
+                        }
+                        SerializedName serializedName = field.getAnnotation(SerializedName.class);
+                        fields.add(new SerializedField(field.getName(),
+                                                       serializedName == null ? field.getName() : serializedName.value(),
+                                                       field.getGenericType()));
+                    }
+                }
+                break;
+            }
+            final Set<String> superGetterNames = getSuperGetterNames(type);
+            for (Method getter : getDtoGetters(type)) {
+                if (!superGetterNames.contains(getter.getName())) {
+                    fields.add(new SerializedField(getJavaFieldName(getter.getName()),
+                                                   getJsonFieldName(getter),
+                                                   getter.getGenericReturnType()));
+                }
+            }
+        }
+        return fields;
+    }
+
+    private static class SerializedField {
+        final String javaName;
+        final String jsonName;
+        final Type   type;
+
+        SerializedField(String javaName, String jsonName, Type type) {
+            this.javaName = javaName;
+            this.jsonName = jsonName;
+            this.type = type;
+        }
+    }
+
     private void emitDeserializerShortcut(StringBuilder builder) {
         builder.append("    public static ");
         builder.append(getImplClassName());
@@ -333,6 +702,7 @@ public class DtoImplServerTemplate extends DtoImpl {
 
     private void emitPreamble(Class<?> dtoInterface, StringBuilder builder) {
         builder.append(SERVER_DTO_MARKER);
+        builder.append("  @").append(JSON_ADAPTER).append("(").append(getImplClassName()).append(".GsonTypeAdapterFactory.class)\n");
         builder.append("  public static class ");
         builder.append(getImplClassName());
 
@@ -251,6 +251,12 @@ public class DtoTemplate {
                 builder.append("        public ").append(dtoInterface).append(" clone(").append(dtoInterface).append(" origin) {\n")
                        .append("            return new ").append(dto.getImplClassName()).append("(origin);\n");
                 builder.append("        }\n");
+                if (dto.hasSerializationIndexes()) {
+                    builder.append("\n");
+                    builder.append("        public com.google.gson.TypeAdapterFactory getCompactTypeAdapterFactory() {\n")
+                           .append("            return new ").append(dto.getImplClassName()).append(".GsonTypeAdapterFactory(true);\n");
+                    builder.append("        }\n");
+                }
                 builder.append("    });\n");
             }
             builder.append("  }\n\n");
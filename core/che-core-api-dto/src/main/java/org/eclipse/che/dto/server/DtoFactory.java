@@ -100,6 +100,13 @@ public final class DtoFactory {
             .registerTypeAdapterFactory(new NullAsEmptyTAF<>(Collection.class, Collections.emptyList()))
             .registerTypeAdapterFactory(new NullAsEmptyTAF<>(Map.class, Collections.emptyMap()))
             .registerTypeAdapterFactory(new DtoInterfaceTAF()).create();
+    // Writes the DTOs which support the compact form as arrays, see DtoProvider#getCompactTypeAdapterFactory.
+    // Factories registered on the builder precede the @JsonAdapter annotations of the implementation classes.
+    private final Gson compactDtoGson = new GsonBuilder()
+            .registerTypeAdapterFactory(new CompactDtoTAF())
+            .registerTypeAdapterFactory(new NullAsEmptyTAF<>(Collection.class, Collections.emptyList()))
+            .registerTypeAdapterFactory(new NullAsEmptyTAF<>(Map.class, Collections.emptyMap()))
+            .registerTypeAdapterFactory(new DtoInterfaceTAF()).create();
 
     /**
      * Created deep copy of DTO object.
@@ -167,6 +174,39 @@ public final class DtoFactory {
         throw new IllegalArgumentException("JsonSerializable instance required. ");
     }
 
+    /**
+     * Serializes the object to JSON in which DTOs which support the compact form are written as arrays of
+     * the values of their fields ordered by {@link org.eclipse.che.dto.shared.SerializationIndex}, instead of
+     * objects with the field names, other DTOs are written as usual. Both forms are accepted when DTOs are
+     * created from JSON.
+     *
+     * @param object
+     *         DTO, list or map of DTOs
+     * @see #isCompactJsonSupported(Class)
+     */
+    public String toCompactJson(Object object) {
+        return compactDtoGson.toJson(object);
+    }
+
+    /**
+     * Same as {@link #toCompactJson(Object)} but returns the parsed JSON.
+     */
+    public JsonElement toCompactJsonElement(Object object) {
+        return compactDtoGson.toJsonTree(object);
+    }
+
+    /**
+     * Tests whether or not the DTO may be serialized to the compact form, see {@link #toCompactJson(Object)}.
+     *
+     * @param dtoInterface
+     *         DTO interface
+     * @throws IllegalArgumentException
+     *         if can't provide any implementation for specified interface
+     */
+    public boolean isCompactJsonSupported(Class<?> dtoInterface) {
+        return getDtoProvider(dtoInterface).getCompactTypeAdapterFactory() != null;
+    }
+
     /**
      * Creates new instance of class which implements specified DTO interface.
      *
@@ -441,6 +481,26 @@ public final class DtoFactory {
         }
     }
 
+    /**
+     * Provides the compact adapters of the DTO implementations which support the compact form,
+     * operations on DTO interfaces are delegated to the implementation classes.
+     */
+    private class CompactDtoTAF implements TypeAdapterFactory {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            DtoProvider<?> prov = dtoInterface2Providers.get(type.getRawType());
+            if (prov != null) {
+                return (TypeAdapter<T>)gson.getAdapter(prov.getImplClass());
+            }
+            prov = dtoImpl2Providers.get(type.getRawType());
+            if (prov != null && prov.getCompactTypeAdapterFactory() != null) {
+                return prov.getCompactTypeAdapterFactory().create(gson, type);
+            }
+            return null;
+        }
+    }
+
     /**
      * Wraps Gson's default List/Map adapter factories serialize null List/Map fields as empty instead.
      * 
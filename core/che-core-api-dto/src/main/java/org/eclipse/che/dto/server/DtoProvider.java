@@ -11,6 +11,7 @@
 package org.eclipse.che.dto.server;
 
 import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapterFactory;
 
 /**
  * Provides implementation of DTO interface.
@@ -27,4 +28,13 @@ public interface DtoProvider<DTO> {
     DTO newInstance();
 
     DTO clone(DTO origin);
+
+    /**
+     * Returns the factory of the adapter which writes the DTO in the compact form, as an array of the values
+     * of its fields ordered by {@link org.eclipse.che.dto.shared.SerializationIndex}, or {@code null} if the
+     * DTO doesn't support the compact form.
+     */
+    default TypeAdapterFactory getCompactTypeAdapterFactory() {
+        return null;
+    }
 }
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Base class of the type adapters generated for the server implementations of DTO interfaces.
+ *
+ * <p>The generated adapters write fields of DTOs straight to a {@link JsonWriter} and read them
+ * straight from a {@link JsonReader}, strings, integers and booleans are handled by the adapters
+ * themselves, other values are handled by the adapters of the {@link Gson} the adapter is created by.
+ * The produced JSON is the same as the one produced by the reflective serialization of Gson:
+ * null fields are omitted, except lists and maps which are written as empty ones, and unknown
+ * fields are skipped when DTOs are read.
+ *
+ * @param <T>
+ *         type of the DTO implementation
+ */
+public abstract class DtoTypeAdapter<T> extends TypeAdapter<T> {
+    private final Gson                           gson;
+    private final Map<Class<?>, TypeAdapter<?>> runtimeAdapters = new ConcurrentHashMap<>();
+
+    protected DtoTypeAdapter(Gson gson) {
+        this.gson = gson;
+    }
+
+    protected Gson getGson() {
+        return gson;
+    }
+
+    /**
+     * Writes the value with the adapter of its runtime type, as Gson does
+     * for the fields of reflectively serialized objects.
+     */
+    @SuppressWarnings("unchecked")
+    protected void writeValue(JsonWriter out, Object value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        TypeAdapter<Object> adapter = (TypeAdapter<Object>)runtimeAdapters.get(value.getClass());
+        if (adapter == null) {
+            adapter = (TypeAdapter<Object>)gson.getAdapter(value.getClass());
+            runtimeAdapters.putIfAbsent(value.getClass(), adapter);
+        }
+        adapter.write(out, value);
+    }
+
+    protected static void writeString(JsonWriter out, String value) throws IOException {
+        out.value(value);
+    }
+
+    protected static void writeNumber(JsonWriter out, Number value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+        } else {
+            out.value(value.longValue());
+        }
+    }
+
+    protected static void writeBoolean(JsonWriter out, Boolean value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+        } else {
+            out.value(value.booleanValue());
+        }
+    }
+
+    protected static String readString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    protected static Integer readInteger(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    protected static Long readLong(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        try {
+            return in.nextLong();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    protected static Boolean readBoolean(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+        return in.nextBoolean();
+    }
+
+    /** Returns true and consumes the value if the next value is null. */
+    protected static boolean readNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return true;
+        }
+        return false;
+    }
+}
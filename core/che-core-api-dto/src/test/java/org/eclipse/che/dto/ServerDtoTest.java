@@ -22,6 +22,7 @@ import org.eclipse.che.dto.definitions.DTOHierarchy;
 import org.eclipse.che.dto.definitions.DtoWithAny;
 import org.eclipse.che.dto.definitions.DtoWithDelegate;
 import org.eclipse.che.dto.definitions.DtoWithFieldNames;
+import org.eclipse.che.dto.definitions.IndexedDto;
 import org.eclipse.che.dto.definitions.SimpleDto;
 import org.eclipse.che.dto.definitions.DTOHierarchy.GrandchildDto;
 import org.eclipse.che.dto.definitions.model.Model;
@@ -38,6 +39,7 @@ import java.util.Map;
 
 import static java.util.Arrays.asList;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -341,6 +343,80 @@ public class ServerDtoTest {
         assertEquals(complicatedDto.getArrayOfArrayOfEnum().get(0).get(2), ComplicatedDto.SimpleEnum.THREE);
     }
 
+    @Test
+    public void shouldSkipUnknownFieldsWhenDeserializing() throws Exception {
+        SimpleDto dto = dtoFactory.createDtoFromJson("{\"unknown\":{\"a\":[1,{}]},\"id\":\"2\",\"name\":\"name\"}", SimpleDto.class);
+
+        checkSimpleDto(dto, "name", 2, null);
+    }
+
+    @Test
+    public void shouldSerializeNullListsAndMapsAsEmptyAndSkipOtherNullFields() throws Exception {
+        JsonObject json = new JsonParser().parse(dtoFactory.toJson(dtoFactory.createDto(ComplicatedDto.class))).getAsJsonObject();
+
+        assertEquals(json.get("strings"), new JsonArray());
+        assertEquals(json.get("simpleDtos"), new JsonArray());
+        assertEquals(json.get("map"), new JsonObject());
+        assertFalse(json.has("simpleEnum"));
+    }
+
+    @Test
+    public void shouldKeepNullElementsOfListsAndWriteNullNestedListsAsEmpty() throws Exception {
+        List<List<ComplicatedDto.SimpleEnum>> arrayOfArrayOfEnum = new ArrayList<>();
+        arrayOfArrayOfEnum.add(asList(ComplicatedDto.SimpleEnum.ONE, null));
+        arrayOfArrayOfEnum.add(null);
+        ComplicatedDto dto = dtoFactory.createDto(ComplicatedDto.class)
+                                       .withStrings(asList("a", null))
+                                       .withArrayOfArrayOfEnum(arrayOfArrayOfEnum);
+
+        ComplicatedDto copy = dtoFactory.createDtoFromJson(dtoFactory.toJson(dto), ComplicatedDto.class);
+
+        assertEquals(copy.getStrings(), asList("a", null));
+        assertEquals(copy.getArrayOfArrayOfEnum().get(0), asList(ComplicatedDto.SimpleEnum.ONE, null));
+        assertEquals(copy.getArrayOfArrayOfEnum().get(1), new ArrayList<>());
+    }
+
+    @Test
+    public void shouldSerializeDtoWithSerializationIndexesToCompactJson() throws Exception {
+        IndexedDto dto = dtoFactory.createDto(IndexedDto.class)
+                                   .withName("parent")
+                                   .withId(42)
+                                   .withTags(asList("a", "b"))
+                                   .withSimpleDto(dtoFactory.createDto(SimpleDto.class).withId(1).withName("simple"))
+                                   .withChild(dtoFactory.createDto(IndexedDto.class).withName("child"));
+
+        JsonParser jsonParser = new JsonParser();
+        assertEquals(jsonParser.parse(dtoFactory.toCompactJson(dto)),
+                     jsonParser.parse("[\"parent\",null,42,[\"a\",\"b\"],{\"id\":1,\"name\":\"simple\"},[\"child\",null,0,[],null,null]]"));
+        assertEquals(jsonParser.parse(dtoFactory.toJson(dto)),
+                     jsonParser.parse("{\"name\":\"parent\",\"id\":42,\"tags\":[\"a\",\"b\"],\"simpleDto\":{\"id\":1,\"name\":\"simple\"}," +
+                                      "\"child\":{\"name\":\"child\",\"id\":0,\"tags\":[]}}"));
+    }
+
+    @Test
+    public void shouldCreateDtoFromBothCompactAndPlainJson() throws Exception {
+        IndexedDto dto = dtoFactory.createDto(IndexedDto.class)
+                                   .withName("parent")
+                                   .withId(42)
+                                   .withTags(asList("a", "b"))
+                                   .withChild(dtoFactory.createDto(IndexedDto.class).withName("child"));
+
+        assertEquals(dtoFactory.createDtoFromJson(dtoFactory.toCompactJson(dto), IndexedDto.class), dto);
+        assertEquals(dtoFactory.createDtoFromJson(dtoFactory.toJson(dto), IndexedDto.class), dto);
+        // values of unknown indexes are skipped
+        assertEquals(dtoFactory.createDtoFromJson("[\"name\",true,7,[],null,null,{\"unknown\":1}]", IndexedDto.class),
+                     dtoFactory.createDto(IndexedDto.class).withName("name").withId(7));
+    }
+
+    @Test
+    public void shouldWriteDtoWithoutSerializationIndexesAsPlainJsonInCompactForm() throws Exception {
+        SimpleDto dto = dtoFactory.createDto(SimpleDto.class).withId(1).withName("simple");
+
+        assertTrue(dtoFactory.isCompactJsonSupported(IndexedDto.class));
+        assertFalse(dtoFactory.isCompactJsonSupported(SimpleDto.class));
+        assertEquals(dtoFactory.toCompactJson(dto), dtoFactory.toJson(dto));
+    }
+
     private void checkSimpleDto(SimpleDto dto, String expectedName, int expectedId, String expectedDefault) {
         assertEquals(dto.getName(), expectedName);
         assertEquals(dto.getId(), expectedId);
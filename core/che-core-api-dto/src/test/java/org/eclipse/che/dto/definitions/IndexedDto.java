@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.definitions;
+
+import org.eclipse.che.dto.shared.DTO;
+import org.eclipse.che.dto.shared.SerializationIndex;
+
+import java.util.List;
+
+/**
+ * DTO for testing that the {@link org.eclipse.che.dto.generator.DtoGenerator}
+ * correctly generates server implementations which support the compact form.
+ */
+@DTO
+public interface IndexedDto {
+    @SerializationIndex(1)
+    String getName();
+
+    IndexedDto withName(String name);
+
+    @SerializationIndex(3)
+    int getId();
+
+    IndexedDto withId(int id);
+
+    @SerializationIndex(4)
+    List<String> getTags();
+
+    IndexedDto withTags(List<String> tags);
+
+    @SerializationIndex(5)
+    SimpleDto getSimpleDto();
+
+    IndexedDto withSimpleDto(SimpleDto simpleDto);
+
+    @SerializationIndex(6)
+    IndexedDto getChild();
+
+    IndexedDto withChild(IndexedDto child);
+}
@@ -22,6 +22,7 @@ import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.LinkedList;
 
 /**
@@ -80,18 +81,39 @@ public class TarUtils {
     }
 
     public static void tarFiles(File tar, long modTime, File... files) throws IOException {
-        try (TarArchiveOutputStream tarOut = new TarArchiveOutputStream(new BufferedOutputStream(new FileOutputStream(tar)))) {
-            tarOut.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
-            for (File f : files) {
-                if (f.isDirectory()) {
-                    addDirectoryEntry(tarOut, f.getName(), f, modTime);
-                    final String parentPath = f.getParentFile().getAbsolutePath();
-                    addDirectoryRecursively(tarOut, parentPath, f, modTime, IoUtil.ANY_FILTER);
-                } else if (f.isFile()) {
-                    addFileEntry(tarOut, f.getName(), f, modTime);
-                }
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tar))) {
+            tarFiles(out, modTime, files);
+        }
+    }
+
+    /**
+     * Writes tar archive of {@code files} to {@code out}. Archive is written while files are read,
+     * so it is never kept in memory or on disk as a whole. Stream {@code out} is not closed.
+     *
+     * @param out
+     *         stream to write tar archive to
+     * @param modTime
+     *         modification time that applied to all entries in archive instead modification time provided by method {@link
+     *         File#lastModified()}. This parameter should be {@code -1} if don't need to set any specified time
+     * @param files
+     *         files and directories to add to archive
+     * @throws IOException
+     *         if i/o error occurs
+     */
+    public static void tarFiles(OutputStream out, long modTime, File... files) throws IOException {
+        final TarArchiveOutputStream tarOut = new TarArchiveOutputStream(out);
+        tarOut.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+        for (File f : files) {
+            if (f.isDirectory()) {
+                addDirectoryEntry(tarOut, f.getName(), f, modTime);
+                final String parentPath = f.getParentFile().getAbsolutePath();
+                addDirectoryRecursively(tarOut, parentPath, f, modTime, IoUtil.ANY_FILTER);
+            } else if (f.isFile()) {
+                addFileEntry(tarOut, f.getName(), f, modTime);
             }
         }
+        tarOut.finish();
+        tarOut.flush();
     }
 
     public static void tarFiles(File tar, File... files) throws IOException {
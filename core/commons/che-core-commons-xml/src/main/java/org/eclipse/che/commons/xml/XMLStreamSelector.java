@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.commons.xml;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static java.util.Objects.requireNonNull;
+import static javax.xml.stream.XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES;
+import static javax.xml.stream.XMLInputFactory.SUPPORT_DTD;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.DTD;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.SPACE;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+/**
+ * Read only alternative to {@link XMLTree} for the clients which only need
+ * text of a few elements, e.g. coordinates of a maven project.
+ * <p>
+ * Elements are selected by simple absolute paths such as {@code /project/parent/artifactId},
+ * which are the same as the corresponding xpath expressions used with {@link XMLTree}.
+ * The document is read in a single pass with {@link XMLStreamReader}, neither DOM nor
+ * the positions of elements are built and subtrees which can't contain selected
+ * elements are skipped.
+ * <p>
+ * The text of a selected element is the same as the one returned by {@link Element#getText()},
+ * i.e. the text of the element itself without the text of its children and CDATA sections.
+ *
+ * <pre>
+ *     For example:
+ *
+ *     Map&lt;String, List&lt;String&gt;&gt; text = XMLStreamSelector.selectText(pom, asList("/project/artifactId",
+ *                                                                                "/project/modules/module"));
+ *     List&lt;String&gt; modules = text.get("/project/modules/module");
+ * </pre>
+ * <p>
+ * As well as {@link XMLTree} the selector disallows using of {@code DOCTYPE} definition.
+ */
+public final class XMLStreamSelector {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY  = XMLInputFactory.newFactory();
+    private static final Pattern         SIMPLE_PATH        = Pattern.compile("(/[^/\\[\\]@*()|=.\\s][^/\\[\\]@*()|=\\s]*)+");
+    private static final String          REPORT_CDATA_EVENT = "http://java.sun.com/xml/stream/properties/report-cdata-event";
+    /** Marks the elements which are not selected but may contain selected elements. */
+    private static final StringBuilder   NOT_SELECTED       = new StringBuilder(0);
+
+    static {
+        // Disable DTD support at all to avoid: XML Entity Expansion injection, XML External Entity Injection
+        XML_INPUT_FACTORY.setProperty(SUPPORT_DTD, false);
+        // Disable usage of external entities to avoid: XML External Entity Injection
+        XML_INPUT_FACTORY.setProperty(IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        // Report CDATA sections separately from the text, as Element#getText() doesn't include them
+        if (XML_INPUT_FACTORY.isPropertySupported(REPORT_CDATA_EVENT)) {
+            XML_INPUT_FACTORY.setProperty(REPORT_CDATA_EVENT, true);
+        }
+    }
+
+    /**
+     * Selects text of the elements from the document.
+     * Doesn't close the stream.
+     *
+     * @param is
+     *         stream of the document
+     * @param paths
+     *         absolute paths of the elements
+     * @return text of the elements found by each path in the document order,
+     * the list is empty when no element is found by the path
+     * @throws XMLTreeException
+     *         when the document is not well-formed or contains {@code DOCTYPE} definition,
+     *         or when any of the paths is not a simple absolute path
+     */
+    public static Map<String, List<String>> selectText(InputStream is, Collection<String> paths) {
+        requireNonNull(is, "Required not null input stream");
+        requireNonNull(paths, "Required not null paths");
+        final Map<String, List<String>> result = new LinkedHashMap<>();
+        final Set<String> ancestors = new HashSet<>();
+        for (String path : paths) {
+            checkPath(path);
+            result.put(path, new ArrayList<>());
+            for (int i = path.lastIndexOf('/'); i > 0; i = path.lastIndexOf('/', i - 1)) {
+                ancestors.add(path.substring(0, i));
+            }
+        }
+        if (result.isEmpty()) {
+            return result;
+        }
+        try {
+            final XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(is);
+            try {
+                select(reader, result, ancestors);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException xmlEx) {
+            throw XMLTreeException.wrap(xmlEx);
+        }
+        return result;
+    }
+
+    /**
+     * Selects text of the elements from the document.
+     *
+     * @see #selectText(InputStream, Collection)
+     */
+    public static Map<String, List<String>> selectText(byte[] xml, Collection<String> paths) {
+        requireNonNull(xml, "Required not null bytes");
+        return selectText(new ByteArrayInputStream(xml), paths);
+    }
+
+    private static void select(XMLStreamReader reader,
+                               Map<String, List<String>> result,
+                               Set<String> ancestors) throws XMLStreamException {
+        // paths of the elements from the root to the current element
+        final Deque<String> paths = new ArrayDeque<>();
+        // text of the current element if it is selected
+        final Deque<StringBuilder> texts = new ArrayDeque<>();
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case START_ELEMENT:
+                    final String parent = paths.isEmpty() ? "" : paths.peek();
+                    final String path = parent + '/' + qualifiedName(reader);
+                    final boolean selected = result.containsKey(path);
+                    if (!selected && !ancestors.contains(path)) {
+                        skipElement(reader);
+                        if (paths.isEmpty()) {
+                            return;
+                        }
+                        break;
+                    }
+                    paths.push(path);
+                    texts.push(selected ? new StringBuilder() : NOT_SELECTED);
+                    break;
+                case CHARACTERS:
+                case SPACE:
+                    if (!texts.isEmpty() && texts.peek() != NOT_SELECTED) {
+                        texts.peek().append(reader.getText());
+                    }
+                    break;
+                case END_ELEMENT:
+                    final StringBuilder text = texts.pop();
+                    final String endPath = paths.pop();
+                    if (text != NOT_SELECTED) {
+                        result.get(endPath).add(text.toString());
+                    }
+                    if (paths.isEmpty()) {
+                        // the rest of the document may contain only comments and processing instructions
+                        return;
+                    }
+                    break;
+                case DTD:
+                    throw new XMLTreeException("DOCTYPE declaration is not allowed");
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Should be invoked on START_ELEMENT event,
+     * moves the reader to the END_ELEMENT event of the same element.
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth != 0) {
+            final int event = reader.next();
+            if (event == START_ELEMENT) {
+                depth++;
+            } else if (event == END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /** Returns the name of the element as it is written in the document, i.e. with prefix if any. */
+    private static String qualifiedName(XMLStreamReader reader) {
+        final String prefix = reader.getPrefix();
+        return prefix == null || prefix.isEmpty() ? reader.getLocalName() : prefix + ':' + reader.getLocalName();
+    }
+
+    private static void checkPath(String path) {
+        requireNonNull(path, "Required not null path");
+        if (!SIMPLE_PATH.matcher(path).matches()) {
+            throw new XMLTreeException("Path '" + path + "' is not a simple absolute path to an element");
+        }
+    }
+
+    private XMLStreamSelector() {
+    }
+}
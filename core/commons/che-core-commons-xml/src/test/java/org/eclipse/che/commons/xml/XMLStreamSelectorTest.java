@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.commons.xml;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.file.Files.readAllBytes;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.commons.xml.XMLTreeUtil.UTF_8;
+import static org.testng.Assert.assertEquals;
+
+public class XMLStreamSelectorTest {
+
+    private static final String XML_CONTENT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                                              "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n" +
+                                              "    <parent>\n" +
+                                              "        <artifactId>test-parent</artifactId>\n" +
+                                              "        <version>test-parent-version</version>\n" +
+                                              "    </parent>\n" +
+                                              "    <!-- comment -->\n" +
+                                              "    <artifactId>test-artifact</artifactId>\n" +
+                                              "    <name>Test <![CDATA[cdata]]> name<!-- comment --> text</name>\n" +
+                                              "    <modules>\n" +
+                                              "        <module>first</module>\n" +
+                                              "        <module>second</module>\n" +
+                                              "    </modules>\n" +
+                                              "    <build>\n" +
+                                              "        <artifactId>not-a-project-artifact</artifactId>\n" +
+                                              "    </build>\n" +
+                                              "</project>\n";
+
+    @Test
+    public void shouldSelectTextOfElements() {
+        final Map<String, List<String>> text = XMLStreamSelector.selectText(XML_CONTENT.getBytes(UTF_8),
+                                                                            asList("/project/artifactId",
+                                                                                   "/project/parent/version",
+                                                                                   "/project/modules/module",
+                                                                                   "/project/packaging"));
+
+        assertEquals(text.get("/project/artifactId"), singletonList("test-artifact"));
+        assertEquals(text.get("/project/parent/version"), singletonList("test-parent-version"));
+        assertEquals(text.get("/project/modules/module"), asList("first", "second"));
+        assertEquals(text.get("/project/packaging"), emptyList());
+    }
+
+    @Test
+    public void shouldSelectTextOfElementWithoutTextOfChildrenLikeElementDoes() {
+        final String xml = "<root>text<child>child text</child> after <![CDATA[cdata]]>child</root>";
+
+        final Map<String, List<String>> text = XMLStreamSelector.selectText(new ByteArrayInputStream(xml.getBytes(UTF_8)),
+                                                                            singletonList("/root"));
+
+        assertEquals(text.get("/root"), singletonList(XMLTree.from(xml).getSingleElement("/root").getText()));
+    }
+
+    @Test
+    public void shouldSelectTextOfElementsWithPrefixes() {
+        final String xml = "<p:root xmlns:p=\"urn:test\"><p:child>text</p:child></p:root>";
+
+        final Map<String, List<String>> text = XMLStreamSelector.selectText(xml.getBytes(UTF_8), singletonList("/p:root/p:child"));
+
+        assertEquals(text.get("/p:root/p:child"), singletonList("text"));
+    }
+
+    @Test(dataProvider = "custom-xml-files")
+    public void shouldSelectTheSameTextAsXMLTree(String file, List<String> paths) throws Exception {
+        final byte[] xml = readAllBytes(testFile(file));
+        final XMLTree tree = XMLTree.from(xml);
+
+        final Map<String, List<String>> text = XMLStreamSelector.selectText(xml, paths);
+
+        for (String path : paths) {
+            final List<String> expected = new ArrayList<>();
+            for (Element element : tree.getElements(path)) {
+                expected.add(element.getText());
+            }
+            assertEquals(text.get(path), expected, path);
+        }
+    }
+
+    @DataProvider(name = "custom-xml-files")
+    public Object[][] getCustomXMLFiles() {
+        final List<String> pomPaths = asList("/project/groupId",
+                                             "/project/artifactId",
+                                             "/project/version",
+                                             "/project/packaging",
+                                             "/project/parent/artifactId",
+                                             "/project/modules/module",
+                                             "/project/dependencies/dependency/artifactId",
+                                             "/project/build/plugins/plugin/configuration");
+        return new Object[][] {
+                {"nuxeo-pom.xml", pomPaths},
+                {"petclinic-pom.xml", pomPaths},
+                {"book.xml", asList("/catalog/book/title", "/catalog/book/description")}
+        };
+    }
+
+    @Test(expectedExceptions = XMLTreeException.class)
+    public void shouldNotSelectTextFromDocumentWithDoctype() {
+        XMLStreamSelector.selectText("<!DOCTYPE root><root/>".getBytes(UTF_8), singletonList("/root"));
+    }
+
+    @Test(expectedExceptions = XMLTreeException.class)
+    public void shouldNotSelectTextFromMalformedDocument() {
+        XMLStreamSelector.selectText("<root><child></root>".getBytes(UTF_8), singletonList("/root/child"));
+    }
+
+    @Test(expectedExceptions = XMLTreeException.class)
+    public void shouldNotAcceptXPathExpressions() {
+        XMLStreamSelector.selectText(XML_CONTENT.getBytes(UTF_8), singletonList("/project/modules/module[1]"));
+    }
+
+    private static Path testFile(String name) throws Exception {
+        return Paths.get(Thread.currentThread().getContextClassLoader().getResource("test-xml-files/" + name).toURI());
+    }
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.commons.xml;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.Files.readAllBytes;
+import static java.util.Arrays.asList;
+
+/**
+ * Compares reading of maven project coordinates from the large real-world poms
+ * with {@link XMLTree} and with {@link XMLStreamSelector}.
+ *
+ * <p>Run it with the {@link #main(String[])} method from the test classpath of the module,
+ * the GC profiler reports the amount of memory allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class XMLTreeBenchmark {
+    private static final List<String> PATHS = asList("/project/groupId",
+                                                     "/project/artifactId",
+                                                     "/project/version",
+                                                     "/project/packaging",
+                                                     "/project/parent/groupId",
+                                                     "/project/parent/artifactId",
+                                                     "/project/parent/version",
+                                                     "/project/modules/module");
+
+    @Param({"nuxeo-pom.xml", "petclinic-pom.xml"})
+    private String file;
+
+    private byte[] xml;
+
+    @Setup
+    public void setUp() throws Exception {
+        xml = readAllBytes(Paths.get(Thread.currentThread().getContextClassLoader().getResource("test-xml-files/" + file).toURI()));
+    }
+
+    @Benchmark
+    public List<List<String>> tree() {
+        final XMLTree tree = XMLTree.from(xml);
+        final List<List<String>> text = new ArrayList<>(PATHS.size());
+        for (String path : PATHS) {
+            text.add(tree.getText(path));
+        }
+        return text;
+    }
+
+    @Benchmark
+    public Map<String, List<String>> stream() {
+        return XMLStreamSelector.selectText(xml, PATHS);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(XMLTreeBenchmark.class.getSimpleName())
+                                       .addProfiler(GCProfiler.class)
+                                       .build()).run();
+    }
+}
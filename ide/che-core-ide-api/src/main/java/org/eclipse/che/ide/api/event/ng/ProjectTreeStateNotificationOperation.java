@@ -29,6 +29,7 @@ import org.eclipse.che.ide.util.loging.Log;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.List;
 
 import static org.eclipse.che.ide.api.resources.ResourceDelta.ADDED;
 import static org.eclipse.che.ide.api.resources.ResourceDelta.REMOVED;
@@ -37,7 +38,8 @@ import static org.eclipse.che.ide.api.resources.ResourceDelta.UPDATED;
 /**
  * Receives project tree status notifications from server side. There are three type of notifications
  * for files and directories in a project tree: creation, removal, modification. Each notification is
- * processed and passed further to an instance of workspace {@link Container}.
+ * processed and passed further to an instance of workspace {@link Container}. Notifications about
+ * several items of the same directory may be received in a single batch, which is synchronized at once.
  *
  * @author Dmitry Kuleshov
  */
@@ -57,13 +59,46 @@ public class ProjectTreeStateNotificationOperation implements JsonRpcRequestBiOp
                     .paramsAsDto(ProjectTreeStateUpdateDto.class)
                     .noResult()
                     .withOperation(this);
+
+        configurator.newConfiguration()
+                    .methodName("event:project-tree-state-changed-batch")
+                    .paramsAsListOfDto(ProjectTreeStateUpdateDto.class)
+                    .noResult()
+                    .withOperation(this::applyBatch);
     }
 
     @Override
     public void apply(String endpointId, ProjectTreeStateUpdateDto params) throws JsonRpcException {
         final String path = params.getPath();
         final FileWatcherEventType type = params.getType();
+        final int status = getStatus(type);
+
+        Log.debug(getClass(), "Received request\npath: " + path + "\ntype:" + type + "\nstatus:" + status);
+
+        if (path == null || path.isEmpty()) {
+            appContext.getWorkspaceRoot().synchronize();
+        } else {
+            appContext.getWorkspaceRoot().synchronize(new ExternalResourceDelta(Path.valueOf(path), Path.valueOf(path), status));
+        }
+    }
+
+    private void applyBatch(String endpointId, List<ProjectTreeStateUpdateDto> params) throws JsonRpcException {
+        Log.debug(getClass(), "Received batch request of " + params.size() + " changes");
 
+        final ExternalResourceDelta[] deltas = new ExternalResourceDelta[params.size()];
+        for (int i = 0; i < deltas.length; i++) {
+            final String path = params.get(i).getPath();
+            if (path == null || path.isEmpty()) {
+                appContext.getWorkspaceRoot().synchronize();
+                return;
+            }
+            deltas[i] = new ExternalResourceDelta(Path.valueOf(path), Path.valueOf(path), getStatus(params.get(i).getType()));
+        }
+
+        appContext.getWorkspaceRoot().synchronize(deltas);
+    }
+
+    private int getStatus(FileWatcherEventType type) {
         final int status;
 
         switch (type) {
@@ -89,12 +124,6 @@ public class ProjectTreeStateNotificationOperation implements JsonRpcRequestBiOp
             }
         }
 
-        Log.debug(getClass(), "Received request\npath: " + path + "\ntype:" + type + "\nstatus:" + status);
-
-        if (path == null || path.isEmpty()) {
-            appContext.getWorkspaceRoot().synchronize();
-        } else {
-            appContext.getWorkspaceRoot().synchronize(new ExternalResourceDelta(Path.valueOf(path), Path.valueOf(path), status));
-        }
+        return status;
     }
 }
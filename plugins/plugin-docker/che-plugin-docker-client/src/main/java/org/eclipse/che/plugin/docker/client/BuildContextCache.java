@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Funnels;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.commons.lang.TarUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Keeps tar archives of recently used docker build contexts, addressed by hash of the context files.
+ *
+ * <p>Builds of the same recipe, e.g. on each start of a workspace, send identical contexts,
+ * so the archive is written once and then sent from the cache.
+ * Archives are written with zero modification time of entries, so an archive depends on the content only.
+ * Small files, e.g. a Dockerfile written for each build, are hashed by content. Larger files are hashed
+ * by path, size and modification time, so they are not read until the archive is written.
+ * Up to {@code che.docker.build_context_cache.max_entries} least recently used archives are kept,
+ * 0 disables caching.
+ */
+@Singleton
+public class BuildContextCache {
+    private static final Logger LOG = LoggerFactory.getLogger(BuildContextCache.class);
+
+    private static final long MAX_CONTENT_HASHED_FILE_SIZE = 64 * 1024;
+
+    private final int                         maxEntries;
+    private final LinkedHashMap<String, File> entries;
+    private final AtomicLong                  hits;
+    private final AtomicLong                  misses;
+
+    private File cacheDir;
+
+    @Inject
+    public BuildContextCache(@Named("che.docker.build_context_cache.max_entries") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.entries = new LinkedHashMap<String, File>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, File> eldest) {
+                if (size() > BuildContextCache.this.maxEntries) {
+                    deleteQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Writes tar archive of build context {@code files} to {@code output}.
+     * Archive is taken from the cache if context with the same content was written before,
+     * otherwise it is written to {@code output} and to the cache simultaneously.
+     *
+     * @param output
+     *         stream to write archive to, is not closed by this method
+     * @param files
+     *         files and directories of build context
+     * @throws IOException
+     *         when any i/o error occurs
+     */
+    public void writeContext(OutputStream output, File... files) throws IOException {
+        if (maxEntries <= 0) {
+            TarUtils.tarFiles(output, 0, files);
+            return;
+        }
+        final String key = computeKey(files);
+        try (InputStream cached = openCached(key)) {
+            if (cached != null) {
+                hits.incrementAndGet();
+                LOG.debug("Build context {} is found in cache", key);
+                ByteStreams.copy(cached, output);
+                output.flush();
+                return;
+            }
+        }
+        misses.incrementAndGet();
+        final File tmp = Files.createTempFile(getCacheDir().toPath(), null, ".tmp").toFile();
+        boolean written = false;
+        try (OutputStream cacheOutput = new BufferedOutputStream(new FileOutputStream(tmp))) {
+            TarUtils.tarFiles(new TeeOutputStream(output, cacheOutput), 0, files);
+            written = true;
+        } finally {
+            if (written) {
+                put(key, tmp);
+            } else {
+                deleteQuietly(tmp);
+            }
+        }
+    }
+
+    /** Returns number of builds which context was sent from the cache. */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /** Returns number of builds which context was not found in the cache. */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Computes hash of build context from names and executable flag of all the files of the context,
+     * and either content of a file or its path, size and modification time if the file is large.
+     */
+    @VisibleForTesting
+    static String computeKey(File... files) throws IOException {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        final File[] sorted = files.clone();
+        Arrays.sort(sorted, Comparator.comparing(File::getName));
+        for (File file : sorted) {
+            hash(hasher, file.getName(), file);
+        }
+        return hasher.hash().toString();
+    }
+
+    @PreDestroy
+    @VisibleForTesting
+    synchronized void clear() {
+        entries.clear();
+        if (cacheDir != null) {
+            IoUtil.deleteRecursive(cacheDir);
+            cacheDir = null;
+        }
+    }
+
+    private static void hash(Hasher hasher, String name, File file) throws IOException {
+        if (file.isDirectory()) {
+            hasher.putString(name, UTF_8).putByte((byte)'d');
+            final File[] children = file.listFiles();
+            if (children != null) {
+                Arrays.sort(children, Comparator.comparing(File::getName));
+                for (File child : children) {
+                    hash(hasher, name + '/' + child.getName(), child);
+                }
+            }
+        } else if (file.isFile()) {
+            final long length = file.length();
+            hasher.putString(name, UTF_8)
+                  .putByte((byte)(file.canExecute() ? 'x' : 'f'))
+                  .putLong(length);
+            if (length <= MAX_CONTENT_HASHED_FILE_SIZE) {
+                Files.copy(file.toPath(), Funnels.asOutputStream(hasher));
+            } else {
+                hasher.putString(file.getAbsolutePath(), UTF_8).putLong(file.lastModified());
+            }
+        }
+    }
+
+    /**
+     * Opens the cached archive. It is opened under the lock, so it can't be evicted and deleted
+     * by a concurrent {@link #put(String, File)} before it is opened, an opened archive stays readable.
+     */
+    private synchronized InputStream openCached(String key) {
+        final File cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        try {
+            return new FileInputStream(cached);
+        } catch (FileNotFoundException e) {
+            entries.remove(key);
+            return null;
+        }
+    }
+
+    private synchronized void put(String key, File tmp) throws IOException {
+        final File target = new File(getCacheDir(), key + ".tar");
+        Files.move(tmp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        entries.put(key, target);
+    }
+
+    private synchronized File getCacheDir() throws IOException {
+        if (cacheDir == null || !cacheDir.isDirectory()) {
+            cacheDir = Files.createTempDirectory("docker-build-context-cache").toFile();
+        }
+        return cacheDir;
+    }
+
+    private static void deleteQuietly(File file) {
+        if (!file.delete() && file.exists()) {
+            LOG.warn("Can't remove cached build context {}", file);
+        }
+    }
+
+    /** Writes data to both streams. */
+    private static class TeeOutputStream extends OutputStream {
+        private final OutputStream output;
+        private final OutputStream copy;
+
+        TeeOutputStream(OutputStream output, OutputStream copy) {
+            this.output = output;
+            this.copy = copy;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            output.write(b);
+            copy.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            output.write(b, off, len);
+            copy.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            output.flush();
+            copy.flush();
+        }
+    }
+}
@@ -11,6 +11,7 @@
 package org.eclipse.che.plugin.docker.client;
 
 import com.google.common.io.CharStreams;
+import com.google.common.io.CountingOutputStream;
 import com.google.common.reflect.TypeToken;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.FieldNamingPolicy;
@@ -20,7 +21,6 @@ import com.google.gson.JsonParseException;
 
 import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.commons.annotation.Nullable;
-import org.eclipse.che.commons.lang.TarUtils;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.ws.rs.ExtMediaType;
 import org.eclipse.che.plugin.docker.client.connection.CloseConnectionInputStream;
@@ -53,12 +53,14 @@ import org.eclipse.che.plugin.docker.client.json.Version;
 import org.eclipse.che.plugin.docker.client.json.network.ConnectContainer;
 import org.eclipse.che.plugin.docker.client.json.network.DisconnectContainer;
 import org.eclipse.che.plugin.docker.client.json.network.Network;
+import org.eclipse.che.plugin.docker.client.json.stats.ContainerStats;
 import org.eclipse.che.plugin.docker.client.params.AttachContainerParams;
 import org.eclipse.che.plugin.docker.client.params.BuildImageParams;
 import org.eclipse.che.plugin.docker.client.params.CommitParams;
 import org.eclipse.che.plugin.docker.client.params.CreateContainerParams;
 import org.eclipse.che.plugin.docker.client.params.CreateExecParams;
 import org.eclipse.che.plugin.docker.client.params.GetContainerLogsParams;
+import org.eclipse.che.plugin.docker.client.params.GetContainerStatsParams;
 import org.eclipse.che.plugin.docker.client.params.GetEventsParams;
 import org.eclipse.che.plugin.docker.client.params.GetExecInfoParams;
 import org.eclipse.che.plugin.docker.client.params.GetResourceParams;
@@ -90,11 +92,13 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.ws.rs.core.MediaType;
 import java.io.BufferedInputStream;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
@@ -106,6 +110,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static com.google.common.net.UrlEscapers.urlPathSegmentEscaper;
@@ -137,6 +142,7 @@ public class DockerConnector {
     private final DockerRegistryAuthResolver authResolver;
     private final ExecutorService            executor;
     private final DockerConnectionFactory    connectionFactory;
+    private final BuildContextCache          buildContextCache;
 
     protected final String apiVersionPathPrefix;
 
@@ -144,10 +150,12 @@ public class DockerConnector {
     public DockerConnector(DockerConnectorConfiguration connectorConfiguration,
                            DockerConnectionFactory connectionFactory,
                            DockerRegistryAuthResolver authResolver,
-                           DockerApiVersionPathPrefixProvider dockerApiVersionPathPrefixProvider) {
+                           DockerApiVersionPathPrefixProvider dockerApiVersionPathPrefixProvider,
+                           BuildContextCache buildContextCache) {
         this.dockerDaemonUri = connectorConfiguration.getDockerDaemonUri();
         this.connectionFactory = connectionFactory;
         this.authResolver = authResolver;
+        this.buildContextCache = buildContextCache;
         this.apiVersionPathPrefix = dockerApiVersionPathPrefixProvider.get();
         executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
                                                          .setUncaughtExceptionHandler(
@@ -633,6 +641,91 @@ public class DockerConnector {
         }
     }
 
+    /**
+     * Gets a single resource usage sample of the container.
+     *
+     * <p>Docker daemon needs two subsequent measurements to calculate CPU usage,
+     * so this call may take up to few seconds to complete.
+     *
+     * @return resource usage statistics of the container
+     * @throws ContainerNotFoundException
+     *          when container is not found by docker (docker api returns 404)
+     * @throws IOException
+     *          when a problem occurs with docker api calls
+     */
+    public ContainerStats getContainerStats(final GetContainerStatsParams params) throws IOException {
+        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
+                                                            .method("GET")
+                                                            .path(apiVersionPathPrefix + "/containers/" + params.getContainer() +
+                                                                  "/stats")
+                                                            .query("stream", 0)) {
+            final DockerResponse response = connection.request();
+            final int status = response.getStatus();
+            if (status == NOT_FOUND.getStatusCode()) {
+                throw new ContainerNotFoundException(readAndCloseQuietly(response.getInputStream()));
+            }
+            if (OK.getStatusCode() != status) {
+                throw getDockerException(response);
+            }
+            return parseResponseStreamAndClose(response.getInputStream(), ContainerStats.class);
+        }
+    }
+
+    /**
+     * Streams resource usage statistics of the container.
+     * Docker daemon sends new sample approximately once per second until container is stopped
+     * or connection is closed, so this method blocks until one of these happens.
+     *
+     * @param statsProcessor
+     *         processor of all received resource usage samples
+     * @throws ContainerNotFoundException
+     *          when container is not found by docker (docker api returns 404)
+     * @throws IOException
+     *          when a problem occurs with docker api calls
+     */
+    public void getContainerStats(final GetContainerStatsParams params,
+                                  MessageProcessor<ContainerStats> statsProcessor) throws IOException {
+        getContainerStats(params, statsProcessor, stream -> {});
+    }
+
+    /**
+     * Streams resource usage statistics of the container, the same as
+     * {@link #getContainerStats(GetContainerStatsParams, MessageProcessor)}.
+     *
+     * @param statsProcessor
+     *         processor of all received resource usage samples
+     * @param streamConsumer
+     *         receives the opened stats stream before the first sample is read, closing it from
+     *         another thread stops streaming, in this case this method throws {@link IOException}
+     * @throws ContainerNotFoundException
+     *          when container is not found by docker (docker api returns 404)
+     * @throws IOException
+     *          when a problem occurs with docker api calls
+     */
+    public void getContainerStats(final GetContainerStatsParams params,
+                                  MessageProcessor<ContainerStats> statsProcessor,
+                                  Consumer<Closeable> streamConsumer) throws IOException {
+        try (DockerConnection connection = connectionFactory.openConnection(dockerDaemonUri)
+                                                            .method("GET")
+                                                            .path(apiVersionPathPrefix + "/containers/" + params.getContainer() +
+                                                                  "/stats")
+                                                            .query("stream", 1)) {
+            final DockerResponse response = connection.request();
+            final int status = response.getStatus();
+            if (status == NOT_FOUND.getStatusCode()) {
+                throw new ContainerNotFoundException(readAndCloseQuietly(response.getInputStream()));
+            }
+            if (OK.getStatusCode() != status) {
+                throw getDockerException(response);
+            }
+
+            try (InputStream responseStream = response.getInputStream()) {
+                streamConsumer.accept(responseStream);
+                new MessagePumper<>(new JsonMessageReader<>(responseStream, ContainerStats.class), statsProcessor).start();
+            }
+        }
+    }
+
     /**
      * Gets files from the specified container.
      *
@@ -757,24 +850,28 @@ public class DockerConnector {
                               progressMonitor);
         }
 
-        // build context is set of files
-        final File tar = Files.createTempFile(null, ".tar").toFile();
-        try {
-            File[] files = new File[params.getFiles().size()];
-            files = params.getFiles().toArray(files);
-            createTarArchive(tar, files);
-            try (InputStream tarInput = new FileInputStream(tar)) {
-                DockerConnection dockerConnection = connectionFactory.openConnection(dockerDaemonUri)
-                                                                     .header("Content-Type", "application/x-compressed-tar")
-                                                                     .header("Content-Length", tar.length())
-                                                                     .entity(tarInput);
-                return buildImage(dockerConnection,
-                                  params,
-                                  progressMonitor);
-            }
-        } finally {
-            FileCleaner.addFile(tar);
-        }
+        // build context is set of files, it is streamed to docker while the archive is being written
+        final File[] files = params.getFiles().toArray(new File[params.getFiles().size()]);
+        DockerConnection dockerConnection = connectionFactory.openConnection(dockerDaemonUri)
+                                                             .header("Content-Type", "application/x-compressed-tar")
+                                                             .chunkedEntity(output -> writeBuildContext(output,
+                                                                                                        files,
+                                                                                                        progressMonitor));
+        return buildImage(dockerConnection,
+                          params,
+                          progressMonitor);
+    }
+
+    private void writeBuildContext(OutputStream output, File[] files, ProgressMonitor progressMonitor) throws IOException {
+        final long start = System.currentTimeMillis();
+        final CountingOutputStream countingOutput = new CountingOutputStream(output);
+        buildContextCache.writeContext(countingOutput, files);
+        final long size = countingOutput.getCount();
+        final long uploadTime = System.currentTimeMillis() - start;
+        LOG.debug("Build context of {} bytes uploaded to docker in {} ms", size, uploadTime);
+        final ProgressStatus progressStatus = new ProgressStatus();
+        progressStatus.setStream(String.format("Build context of %d bytes sent to docker daemon in %d ms", size, uploadTime));
+        progressMonitor.updateProgress(progressStatus);
     }
 
     private String buildImage(final DockerConnection dockerConnection,
@@ -1350,10 +1447,6 @@ public class DockerConnector {
         }
     }
 
-    private void createTarArchive(File tar, File... files) throws IOException {
-        TarUtils.tarFiles(tar, 0, files);
-    }
-
     /**
      * Adds given parameter to query if it set (not null).
      *
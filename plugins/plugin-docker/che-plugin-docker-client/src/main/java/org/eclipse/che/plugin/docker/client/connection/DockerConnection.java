@@ -91,6 +91,15 @@ public abstract class DockerConnection implements Closeable {
         return this;
     }
 
+    /**
+     * Sets entity which is written by {@code entityWriter} directly to the connection
+     * using chunked transfer encoding, so its length doesn't have to be known before the request is sent.
+     */
+    public DockerConnection chunkedEntity(EntityWriter entityWriter) {
+        this.entity = new ChunkedEntity(entityWriter);
+        return this;
+    }
+
     public DockerResponse request() throws IOException {
         return request(method, path, query.toString(), headers, entity);
     }
@@ -111,6 +120,11 @@ public abstract class DockerConnection implements Closeable {
         }
 
         abstract void writeTo(OutputStream output) throws IOException;
+
+        /** Returns true if entity length is unknown and entity must be sent using chunked transfer encoding. */
+        boolean isChunked() {
+            return false;
+        }
     }
 
     static class StreamEntity extends Entity<InputStream> {
@@ -141,6 +155,23 @@ public abstract class DockerConnection implements Closeable {
         }
     }
 
+    static class ChunkedEntity extends Entity<EntityWriter> {
+        ChunkedEntity(EntityWriter entity) {
+            super(entity);
+        }
+
+        @Override
+        public void writeTo(OutputStream output) throws IOException {
+            entity.writeTo(output);
+            output.flush();
+        }
+
+        @Override
+        boolean isChunked() {
+            return true;
+        }
+    }
+
     static class BytesEntity extends Entity<byte[]> {
         BytesEntity(byte[] entity) {
             super(entity);
@@ -152,4 +183,10 @@ public abstract class DockerConnection implements Closeable {
             output.flush();
         }
     }
+
+    /** Writes request entity to the connection. */
+    @FunctionalInterface
+    public interface EntityWriter {
+        void writeTo(OutputStream output) throws IOException;
+    }
 }
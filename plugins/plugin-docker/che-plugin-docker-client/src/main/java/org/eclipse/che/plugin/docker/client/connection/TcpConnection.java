@@ -28,6 +28,8 @@ import java.util.List;
  * @author Alexander Garagatyi
  */
 public class TcpConnection extends DockerConnection {
+    private static final int CHUNK_SIZE = 8192;
+
     private final URI                baseUri;
     private final DockerCertificates certificates;
     private final int                connectionTimeout;
@@ -75,9 +77,18 @@ public class TcpConnection extends DockerConnection {
         connection.setRequestProperty("Host", host);
         if (entity != null) {
             connection.setDoOutput(true);
-            try (OutputStream output = connection.getOutputStream()) {
+            if (entity.isChunked()) {
+                connection.setChunkedStreamingMode(CHUNK_SIZE);
+            }
+            final OutputStream output = connection.getOutputStream();
+            try {
                 entity.writeTo(output);
+            } catch (IOException | RuntimeException e) {
+                // closing of the output would complete the request with the entity written so far, abort it instead
+                connection.disconnect();
+                throw e;
             }
+            output.close();
         }
         return new TcpDockerResponse(connection);
     }
@@ -23,6 +23,7 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.net.ConnectException;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
@@ -35,6 +36,8 @@ import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
  * @author Alexander Garagatyi
  */
 public class UnixSocketConnection extends DockerConnection {
+    private static final int CHUNK_SIZE = 8192;
+
     private final String dockerSocketPath;
 
     private int fd = -1;
@@ -48,9 +51,24 @@ public class UnixSocketConnection extends DockerConnection {
             throws IOException {
         fd = connect();
         final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
-        writeHttpHeaders(output, method, path, query, headers);
-        if (entity != null) {
-            entity.writeTo(output);
+        try {
+            if (entity != null && entity.isChunked()) {
+                final List<Pair<String, ?>> chunkedHeaders = new ArrayList<>(headers);
+                chunkedHeaders.add(Pair.of("Transfer-Encoding", "chunked"));
+                writeHttpHeaders(output, method, path, query, chunkedHeaders);
+                final ChunkedOutputStream chunkedOutput = new ChunkedOutputStream(output, CHUNK_SIZE);
+                entity.writeTo(chunkedOutput);
+                chunkedOutput.close();
+            } else {
+                writeHttpHeaders(output, method, path, query, headers);
+                if (entity != null) {
+                    entity.writeTo(output);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // abort the request, docker must not take the entity written so far for the complete one
+            close();
+            throw e;
         }
         return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
     }
@@ -60,6 +78,7 @@ public class UnixSocketConnection extends DockerConnection {
     public void close() {
         if (fd != -1) {
             getCLibrary().close(fd);
+            fd = -1;
         }
     }
 
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.json.stats;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Block IO counter of a single device and operation, e.g. {@code Read} or {@code Write}.
+ */
+public class BlkioStatEntry {
+    @SerializedName("major")
+    private int    major;
+    @SerializedName("minor")
+    private int    minor;
+    @SerializedName("op")
+    private String op;
+    @SerializedName("value")
+    private long   value;
+
+    public int getMajor() {
+        return major;
+    }
+
+    public void setMajor(int major) {
+        this.major = major;
+    }
+
+    public BlkioStatEntry withMajor(int major) {
+        this.major = major;
+        return this;
+    }
+
+    public int getMinor() {
+        return minor;
+    }
+
+    public void setMinor(int minor) {
+        this.minor = minor;
+    }
+
+    public BlkioStatEntry withMinor(int minor) {
+        this.minor = minor;
+        return this;
+    }
+
+    public String getOp() {
+        return op;
+    }
+
+    public void setOp(String op) {
+        this.op = op;
+    }
+
+    public BlkioStatEntry withOp(String op) {
+        this.op = op;
+        return this;
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    public void setValue(long value) {
+        this.value = value;
+    }
+
+    public BlkioStatEntry withValue(long value) {
+        this.value = value;
+        return this;
+    }
+}
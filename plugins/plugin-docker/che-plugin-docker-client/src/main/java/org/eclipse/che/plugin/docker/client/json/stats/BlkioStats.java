@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.json.stats;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+/**
+ * Block IO statistics of a container.
+ */
+public class BlkioStats {
+    @SerializedName("io_service_bytes_recursive")
+    private List<BlkioStatEntry> ioServiceBytesRecursive;
+
+    public List<BlkioStatEntry> getIoServiceBytesRecursive() {
+        return ioServiceBytesRecursive;
+    }
+
+    public void setIoServiceBytesRecursive(List<BlkioStatEntry> ioServiceBytesRecursive) {
+        this.ioServiceBytesRecursive = ioServiceBytesRecursive;
+    }
+
+    public BlkioStats withIoServiceBytesRecursive(List<BlkioStatEntry> ioServiceBytesRecursive) {
+        this.ioServiceBytesRecursive = ioServiceBytesRecursive;
+        return this;
+    }
+}
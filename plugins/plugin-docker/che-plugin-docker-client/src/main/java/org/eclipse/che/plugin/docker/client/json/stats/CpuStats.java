@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.json.stats;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * CPU usage statistics of a container.
+ */
+public class CpuStats {
+    @SerializedName("cpu_usage")
+    private CpuUsage cpuUsage;
+    @SerializedName("system_cpu_usage")
+    private long     systemCpuUsage;
+    @SerializedName("online_cpus")
+    private int      onlineCpus;
+
+    public CpuUsage getCpuUsage() {
+        return cpuUsage;
+    }
+
+    public void setCpuUsage(CpuUsage cpuUsage) {
+        this.cpuUsage = cpuUsage;
+    }
+
+    public CpuStats withCpuUsage(CpuUsage cpuUsage) {
+        this.cpuUsage = cpuUsage;
+        return this;
+    }
+
+    public long getSystemCpuUsage() {
+        return systemCpuUsage;
+    }
+
+    public void setSystemCpuUsage(long systemCpuUsage) {
+        this.systemCpuUsage = systemCpuUsage;
+    }
+
+    public CpuStats withSystemCpuUsage(long systemCpuUsage) {
+        this.systemCpuUsage = systemCpuUsage;
+        return this;
+    }
+
+    public int getOnlineCpus() {
+        return onlineCpus;
+    }
+
+    public void setOnlineCpus(int onlineCpus) {
+        this.onlineCpus = onlineCpus;
+    }
+
+    public CpuStats withOnlineCpus(int onlineCpus) {
+        this.onlineCpus = onlineCpus;
+        return this;
+    }
+}
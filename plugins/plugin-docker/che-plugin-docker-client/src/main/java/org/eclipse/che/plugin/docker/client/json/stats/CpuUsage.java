@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.json.stats;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Cumulative CPU time consumed by a container, in nanoseconds.
+ */
+public class CpuUsage {
+    @SerializedName("total_usage")
+    private long   totalUsage;
+    @SerializedName("percpu_usage")
+    private long[] percpuUsage;
+    @SerializedName("usage_in_kernelmode")
+    private long   usageInKernelmode;
+    @SerializedName("usage_in_usermode")
+    private long   usageInUsermode;
+
+    public long getTotalUsage() {
+        return totalUsage;
+    }
+
+    public void setTotalUsage(long totalUsage) {
+        this.totalUsage = totalUsage;
+    }
+
+    public CpuUsage withTotalUsage(long totalUsage) {
+        this.totalUsage = totalUsage;
+        return this;
+    }
+
+    public long[] getPercpuUsage() {
+        return percpuUsage;
+    }
+
+    public void setPercpuUsage(long[] percpuUsage) {
+        this.percpuUsage = percpuUsage;
+    }
+
+    public CpuUsage withPercpuUsage(long[] percpuUsage) {
+        this.percpuUsage = percpuUsage;
+        return this;
+    }
+
+    public long getUsageInKernelmode() {
+        return usageInKernelmode;
+    }
+
+    public void setUsageInKernelmode(long usageInKernelmode) {
+        this.usageInKernelmode = usageInKernelmode;
+    }
+
+    public CpuUsage withUsageInKernelmode(long usageInKernelmode) {
+        this.usageInKernelmode = usageInKernelmode;
+        return this;
+    }
+
+    public long getUsageInUsermode() {
+        return usageInUsermode;
+    }
+
+    public void setUsageInUsermode(long usageInUsermode) {
+        this.usageInUsermode = usageInUsermode;
+    }
+
+    public CpuUsage withUsageInUsermode(long usageInUsermode) {
+        this.usageInUsermode = usageInUsermode;
+        return this;
+    }
+}
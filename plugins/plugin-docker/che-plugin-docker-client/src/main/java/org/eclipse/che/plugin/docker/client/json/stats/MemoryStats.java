@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.json.stats;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Memory usage statistics of a container, in bytes.
+ */
+public class MemoryStats {
+    @SerializedName("usage")
+    private long usage;
+    @SerializedName("max_usage")
+    private long maxUsage;
+    @SerializedName("limit")
+    private long limit;
+    @SerializedName("failcnt")
+    private long failcnt;
+
+    public long getUsage() {
+        return usage;
+    }
+
+    public void setUsage(long usage) {
+        this.usage = usage;
+    }
+
+    public MemoryStats withUsage(long usage) {
+        this.usage = usage;
+        return this;
+    }
+
+    public long getMaxUsage() {
+        return maxUsage;
+    }
+
+    public void setMaxUsage(long maxUsage) {
+        this.maxUsage = maxUsage;
+    }
+
+    public MemoryStats withMaxUsage(long maxUsage) {
+        this.maxUsage = maxUsage;
+        return this;
+    }
+
+    public long getLimit() {
+        return limit;
+    }
+
+    public void setLimit(long limit) {
+        this.limit = limit;
+    }
+
+    public MemoryStats withLimit(long limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    public long getFailcnt() {
+        return failcnt;
+    }
+
+    public void setFailcnt(long failcnt) {
+        this.failcnt = failcnt;
+    }
+
+    public MemoryStats withFailcnt(long failcnt) {
+        this.failcnt = failcnt;
+        return this;
+    }
+}
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.json.stats;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Cumulative traffic statistics of a container network interface.
+ */
+public class NetworkStats {
+    @SerializedName("rx_bytes")
+    private long rxBytes;
+    @SerializedName("rx_packets")
+    private long rxPackets;
+    @SerializedName("rx_errors")
+    private long rxErrors;
+    @SerializedName("rx_dropped")
+    private long rxDropped;
+    @SerializedName("tx_bytes")
+    private long txBytes;
+    @SerializedName("tx_packets")
+    private long txPackets;
+    @SerializedName("tx_errors")
+    private long txErrors;
+    @SerializedName("tx_dropped")
+    private long txDropped;
+
+    public long getRxBytes() {
+        return rxBytes;
+    }
+
+    public void setRxBytes(long rxBytes) {
+        this.rxBytes = rxBytes;
+    }
+
+    public NetworkStats withRxBytes(long rxBytes) {
+        this.rxBytes = rxBytes;
+        return this;
+    }
+
+    public long getRxPackets() {
+        return rxPackets;
+    }
+
+    public void setRxPackets(long rxPackets) {
+        this.rxPackets = rxPackets;
+    }
+
+    public NetworkStats withRxPackets(long rxPackets) {
+        this.rxPackets = rxPackets;
+        return this;
+    }
+
+    public long getRxErrors() {
+        return rxErrors;
+    }
+
+    public void setRxErrors(long rxErrors) {
+        this.rxErrors = rxErrors;
+    }
+
+    public NetworkStats withRxErrors(long rxErrors) {
+        this.rxErrors = rxErrors;
+        return this;
+    }
+
+    public long getRxDropped() {
+        return rxDropped;
+    }
+
+    public void setRxDropped(long rxDropped) {
+        this.rxDropped = rxDropped;
+    }
+
+    public NetworkStats withRxDropped(long rxDropped) {
+        this.rxDropped = rxDropped;
+        return this;
+    }
+
+    public long getTxBytes() {
+        return txBytes;
+    }
+
+    public void setTxBytes(long txBytes) {
+        this.txBytes = txBytes;
+    }
+
+    public NetworkStats withTxBytes(long txBytes) {
+        this.txBytes = txBytes;
+        return this;
+    }
+
+    public long getTxPackets() {
+        return txPackets;
+    }
+
+    public void setTxPackets(long txPackets) {
+        this.txPackets = txPackets;
+    }
+
+    public NetworkStats withTxPackets(long txPackets) {
+        this.txPackets = txPackets;
+        return this;
+    }
+
+    public long getTxErrors() {
+        return txErrors;
+    }
+
+    public void setTxErrors(long txErrors) {
+        this.txErrors = txErrors;
+    }
+
+    public NetworkStats withTxErrors(long txErrors) {
+        this.txErrors = txErrors;
+        return this;
+    }
+
+    public long getTxDropped() {
+        return txDropped;
+    }
+
+    public void setTxDropped(long txDropped) {
+        this.txDropped = txDropped;
+    }
+
+    public NetworkStats withTxDropped(long txDropped) {
+        this.txDropped = txDropped;
+        return this;
+    }
+}
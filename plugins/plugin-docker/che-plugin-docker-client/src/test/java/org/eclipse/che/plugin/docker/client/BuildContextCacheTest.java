@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import com.google.common.base.Strings;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.file.Files;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests {@link BuildContextCache}.
+ */
+public class BuildContextCacheTest {
+
+    private File              contextDir;
+    private BuildContextCache cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        contextDir = Files.createTempDirectory("context").toFile();
+        cache = new BuildContextCache(1);
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        cache.clear();
+        Files.walk(contextDir.toPath())
+             .sorted((a, b) -> b.compareTo(a))
+             .forEach(path -> path.toFile().delete());
+    }
+
+    @Test
+    public void shouldSendTheSameArchiveFromCacheForTheSameContext() throws Exception {
+        File dockerfile = writeFile("first/Dockerfile", "FROM eclipse/ubuntu_jdk8");
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+
+        cache.writeContext(first, dockerfile);
+        cache.writeContext(second, writeFile("second/Dockerfile", "FROM eclipse/ubuntu_jdk8"));
+
+        assertEquals(second.toByteArray(), first.toByteArray());
+        assertEquals(cache.getMisses(), 1);
+        assertEquals(cache.getHits(), 1);
+    }
+
+    @Test
+    public void shouldNotSendCachedArchiveIfContextContentChanged() throws Exception {
+        cache.writeContext(new ByteArrayOutputStream(), writeFile("first/Dockerfile", "FROM eclipse/ubuntu_jdk8"));
+        cache.writeContext(new ByteArrayOutputStream(), writeFile("second/Dockerfile", "FROM eclipse/centos_jdk8"));
+
+        assertEquals(cache.getMisses(), 2);
+        assertEquals(cache.getHits(), 0);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedArchive() throws Exception {
+        File first = writeFile("first/Dockerfile", "FROM eclipse/ubuntu_jdk8");
+        File second = writeFile("second/Dockerfile", "FROM eclipse/centos_jdk8");
+
+        cache.writeContext(new ByteArrayOutputStream(), first);
+        cache.writeContext(new ByteArrayOutputStream(), second);
+        cache.writeContext(new ByteArrayOutputStream(), first);
+
+        assertEquals(cache.getMisses(), 3);
+    }
+
+    @Test
+    public void shouldNotCacheArchivesIfCacheIsDisabled() throws Exception {
+        cache = new BuildContextCache(0);
+        File dockerfile = writeFile("Dockerfile", "FROM eclipse/ubuntu_jdk8");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        cache.writeContext(output, dockerfile);
+        cache.writeContext(output, dockerfile);
+
+        assertEquals(cache.getMisses(), 0);
+        assertEquals(cache.getHits(), 0);
+    }
+
+    @Test
+    public void shouldComputeDifferentKeysForDifferentFileNames() throws Exception {
+        String first = BuildContextCache.computeKey(writeFile("first/Dockerfile", "FROM eclipse/ubuntu_jdk8"));
+        String second = BuildContextCache.computeKey(writeFile("second/Dockerfile.ubuntu", "FROM eclipse/ubuntu_jdk8"));
+
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    public void shouldComputeKeyOfLargeFileFromItsModificationTime() throws Exception {
+        File large = writeFile("context/app.jar", Strings.repeat("a", 128 * 1024));
+        String first = BuildContextCache.computeKey(large);
+
+        assertTrue(large.setLastModified(large.lastModified() - 10_000));
+
+        assertNotEquals(BuildContextCache.computeKey(large), first);
+    }
+
+    @Test
+    public void shouldComputeDifferentKeysForLargeFilesWithTheSameContentAtDifferentPaths() throws Exception {
+        File first = writeFile("first/app.jar", Strings.repeat("a", 128 * 1024));
+        File second = writeFile("second/app.jar", Strings.repeat("a", 128 * 1024));
+        assertTrue(second.setLastModified(first.lastModified()));
+
+        assertNotEquals(BuildContextCache.computeKey(first), BuildContextCache.computeKey(second));
+    }
+
+    private File writeFile(String path, String content) throws Exception {
+        File file = new File(contextDir, path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(UTF_8));
+        return file;
+    }
+}
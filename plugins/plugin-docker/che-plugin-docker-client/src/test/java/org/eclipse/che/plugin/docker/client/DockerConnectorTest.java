@@ -45,6 +45,7 @@ import org.eclipse.che.plugin.docker.client.json.Filters;
 import org.eclipse.che.plugin.docker.client.json.Image;
 import org.eclipse.che.plugin.docker.client.json.ImageInfo;
 import org.eclipse.che.plugin.docker.client.json.NetworkCreated;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
 import org.eclipse.che.plugin.docker.client.json.SystemInfo;
 import org.eclipse.che.plugin.docker.client.json.Version;
 import org.eclipse.che.plugin.docker.client.json.network.ConnectContainer;
@@ -56,12 +57,14 @@ import org.eclipse.che.plugin.docker.client.json.network.IpamConfig;
 import org.eclipse.che.plugin.docker.client.json.network.Network;
 import org.eclipse.che.plugin.docker.client.json.network.NewIpamConfig;
 import org.eclipse.che.plugin.docker.client.json.network.NewNetwork;
+import org.eclipse.che.plugin.docker.client.json.stats.ContainerStats;
 import org.eclipse.che.plugin.docker.client.params.AttachContainerParams;
 import org.eclipse.che.plugin.docker.client.params.BuildImageParams;
 import org.eclipse.che.plugin.docker.client.params.CommitParams;
 import org.eclipse.che.plugin.docker.client.params.CreateContainerParams;
 import org.eclipse.che.plugin.docker.client.params.CreateExecParams;
 import org.eclipse.che.plugin.docker.client.params.GetContainerLogsParams;
+import org.eclipse.che.plugin.docker.client.params.GetContainerStatsParams;
 import org.eclipse.che.plugin.docker.client.params.GetEventsParams;
 import org.eclipse.che.plugin.docker.client.params.GetExecInfoParams;
 import org.eclipse.che.plugin.docker.client.params.GetResourceParams;
@@ -97,10 +100,12 @@ import org.testng.annotations.Test;
 
 import javax.ws.rs.core.MediaType;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URLEncoder;
@@ -118,6 +123,7 @@ import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -126,6 +132,7 @@ import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 /**
  * @author Anton Korneta
@@ -190,6 +197,8 @@ public class DockerConnectorTest {
     private DockerRegistryAuthResolver         authManager;
     @Mock
     private DockerApiVersionPathPrefixProvider dockerApiVersionPathPrefixProvider;
+    @Mock
+    private BuildContextCache                  buildContextCache;
 
     @Captor
     private ArgumentCaptor<Object> captor;
@@ -212,7 +221,8 @@ public class DockerConnectorTest {
         dockerConnector = spy(new DockerConnector(dockerConnectorConfiguration,
                                                   dockerConnectionFactory,
                                                   authManager,
-                                                  dockerApiVersionPathPrefixProvider));
+                                                  dockerApiVersionPathPrefixProvider,
+                                                  buildContextCache));
 
         inputStream = spy(new ByteArrayInputStream(ERROR_MESSAGE.getBytes()));
         when(dockerResponse.getInputStream()).thenReturn(inputStream);
@@ -244,7 +254,8 @@ public class DockerConnectorTest {
         dockerConnector = spy(new DockerConnector(dockerConnectorConfiguration,
                                                   dockerConnectionFactory,
                                                   authManager,
-                                                  dockerApiVersionPathPrefixProvider));
+                                                  dockerApiVersionPathPrefixProvider,
+                                                  buildContextCache));
         SystemInfo systemInfo = mock(SystemInfo.class);
         doReturn(systemInfo).when(dockerConnector).parseResponseStreamAndClose(inputStream, SystemInfo.class);
 
@@ -899,6 +910,51 @@ public class DockerConnectorTest {
         verify(dockerResponse).getStatus();
     }
 
+    @Test
+    public void shouldBeAbleToGetContainerStats() throws IOException {
+        GetContainerStatsParams getContainerStatsParams = GetContainerStatsParams.create(CONTAINER);
+
+        ContainerStats containerStats = mock(ContainerStats.class);
+
+        doReturn(containerStats).when(dockerConnector).parseResponseStreamAndClose(inputStream, ContainerStats.class);
+
+        ContainerStats returnedContainerStats = dockerConnector.getContainerStats(getContainerStatsParams);
+
+        verify(dockerConnectionFactory).openConnection(any(URI.class));
+        verify(dockerConnection).method(REQUEST_METHOD_GET);
+        verify(dockerConnection).path("/containers/" + getContainerStatsParams.getContainer() + "/stats");
+        verify(dockerConnection).query("stream", 0);
+        verify(dockerConnection).request();
+        verify(dockerResponse).getStatus();
+        verify(dockerResponse).getInputStream();
+
+        assertEquals(returnedContainerStats, containerStats);
+    }
+
+    @Test(expectedExceptions = ContainerNotFoundException.class)
+    public void shouldThrowContainerNotFoundExceptionOnGettingStatsOfMissingContainer() throws IOException {
+        when(dockerResponse.getStatus()).thenReturn(RESPONSE_NOT_FOUND_CODE);
+
+        dockerConnector.getContainerStats(GetContainerStatsParams.create(CONTAINER));
+    }
+
+    @Test
+    public void shouldBeAbleToStreamContainerStats() throws IOException {
+        String stats = "{\"read\":\"2017-05-01T10:00:00Z\",\"memory_stats\":{\"usage\":100,\"limit\":1000}}" +
+                       "{\"read\":\"2017-05-01T10:00:01Z\",\"memory_stats\":{\"usage\":200,\"limit\":1000}}";
+        when(dockerResponse.getInputStream()).thenReturn(new ByteArrayInputStream(stats.getBytes()));
+        List<ContainerStats> received = new ArrayList<>();
+
+        dockerConnector.getContainerStats(GetContainerStatsParams.create(CONTAINER), received::add);
+
+        verify(dockerConnection).path("/containers/" + CONTAINER + "/stats");
+        verify(dockerConnection).query("stream", 1);
+        assertEquals(received.size(), 2);
+        assertEquals(received.get(0).getMemoryStats().getUsage(), 100L);
+        assertEquals(received.get(1).getMemoryStats().getUsage(), 200L);
+        assertEquals(received.get(1).getMemoryStats().getLimit(), 1000L);
+    }
+
     @Test
     public void shouldBeAbleToGetResourcesFromContainer() throws IOException {
         GetResourceParams getResourceParams = GetResourceParams.create(CONTAINER, PATH_TO_FILE);
@@ -1015,8 +1071,8 @@ public class DockerConnectorTest {
         verify(dockerConnection).path("/build");
 
         verify(dockerConnection).header("Content-Type", "application/x-compressed-tar");
-        verify(dockerConnection).header(eq("Content-Length"), anyInt());
-        verify(dockerConnection).entity(any(InputStream.class));
+        verify(dockerConnection, never()).header(eq("Content-Length"), anyInt());
+        verify(dockerConnection).chunkedEntity(any(DockerConnection.EntityWriter.class));
         verify(dockerConnection, never()).header(eq("remote"), anyString());
 
         verify(dockerConnection).header(eq("X-Registry-Config"), any(byte[].class));
@@ -1054,7 +1110,7 @@ public class DockerConnectorTest {
         verify(dockerConnection).query(eq("remote"), eq(remote));
         verify(dockerConnection, never()).header("Content-Type", "application/x-compressed-tar");
         verify(dockerConnection, never()).header(eq("Content-Length"), anyInt());
-        verify(dockerConnection, never()).entity(any(InputStream.class));
+        verify(dockerConnection, never()).chunkedEntity(any(DockerConnection.EntityWriter.class));
 
         verify(dockerConnection).header(eq("X-Registry-Config"), any(byte[].class));
         verify(dockerConnection).request();
@@ -1117,8 +1173,8 @@ public class DockerConnectorTest {
         verify(dockerConnection).path("/build");
 
         verify(dockerConnection).header("Content-Type", "application/x-compressed-tar");
-        verify(dockerConnection).header(eq("Content-Length"), anyInt());
-        verify(dockerConnection).entity(any(InputStream.class));
+        verify(dockerConnection, never()).header(eq("Content-Length"), anyInt());
+        verify(dockerConnection).chunkedEntity(any(DockerConnection.EntityWriter.class));
 
         verify(dockerConnection).header(eq("X-Registry-Config"), any(byte[].class));
         verify(dockerConnection).request();
@@ -1142,6 +1198,29 @@ public class DockerConnectorTest {
         assertEquals(returnedImageId, imageId);
     }
 
+    @Test
+    public void shouldStreamBuildContextThroughCacheAndReportItsSize() throws IOException, InterruptedException {
+        BuildImageParams buildImageParams = BuildImageParams.create(dockerfile);
+        doReturn(new ByteArrayInputStream("{\"stream\":\"Successfully built 37a7da3b7edc\"}".getBytes()))
+                .when(dockerResponse).getInputStream();
+        doAnswer(invocation -> {
+            ((OutputStream)invocation.getArguments()[0]).write(STREAM_DATA_BYTES);
+            return null;
+        }).when(buildContextCache).writeContext(any(OutputStream.class), eq(dockerfile));
+
+        dockerConnector.buildImage(buildImageParams, progressMonitor);
+
+        ArgumentCaptor<DockerConnection.EntityWriter> entityWriterCaptor = ArgumentCaptor.forClass(DockerConnection.EntityWriter.class);
+        verify(dockerConnection).chunkedEntity(entityWriterCaptor.capture());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        entityWriterCaptor.getValue().writeTo(output);
+
+        assertEquals(output.toByteArray(), STREAM_DATA_BYTES);
+        ArgumentCaptor<ProgressStatus> progressCaptor = ArgumentCaptor.forClass(ProgressStatus.class);
+        verify(progressMonitor).updateProgress(progressCaptor.capture());
+        assertTrue(progressCaptor.getValue().getStream().startsWith("Build context of " + STREAM_DATA_BYTES.length + " bytes"));
+    }
+
     @Test(expectedExceptions = DockerException.class, expectedExceptionsMessageRegExp = EXCEPTION_ERROR_MESSAGE)
     public void shouldThrowDockerExceptionWhileBuildingImageIfResponseCodeIsNotSuccess() throws IOException, InterruptedException {
         AuthConfigs authConfigs = DtoFactory.newDto(AuthConfigs.class);
@@ -24,6 +24,7 @@ import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.MachineRuntimeInfoImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.InstanceProcess;
+import org.eclipse.che.api.machine.server.spi.InstanceSnapshot;
 import org.eclipse.che.api.machine.server.spi.impl.AbstractInstance;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.lang.NameGenerator;
@@ -41,6 +42,7 @@ import org.eclipse.che.plugin.docker.client.params.RemoveContainerParams;
 import org.eclipse.che.plugin.docker.client.params.RemoveImageParams;
 import org.eclipse.che.plugin.docker.client.params.StartExecParams;
 import org.eclipse.che.plugin.docker.machine.node.DockerNode;
+import org.eclipse.che.plugin.docker.machine.stats.DockerInstanceStatsCollector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,8 +50,10 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
@@ -100,6 +104,7 @@ public class DockerInstance extends AbstractInstance {
     private final DockerNode                                  node;
     private final DockerInstanceStopDetector                  dockerInstanceStopDetector;
     private final DockerInstanceProcessesCleaner              processesCleaner;
+    private final DockerInstanceStatsCollector                statsCollector;
     private final ConcurrentHashMap<Integer, InstanceProcess> machineProcesses;
     private final boolean                                     snapshotUseRegistry;
     private final MachineRuntimeInfoImpl                      machineRuntime;
@@ -116,6 +121,7 @@ public class DockerInstance extends AbstractInstance {
                           @Assisted LineConsumer outputConsumer,
                           DockerInstanceStopDetector dockerInstanceStopDetector,
                           DockerInstanceProcessesCleaner processesCleaner,
+                          DockerInstanceStatsCollector statsCollector,
                           @Named("che.docker.registry_for_snapshots") boolean snapshotUseRegistry) throws MachineException {
         super(machine);
         this.dockerMachineFactory = dockerMachineFactory;
@@ -130,8 +136,10 @@ public class DockerInstance extends AbstractInstance {
         this.processesCleaner = processesCleaner;
         this.machineProcesses = new ConcurrentHashMap<>();
         processesCleaner.trackProcesses(this);
+        this.statsCollector = statsCollector;
         this.snapshotUseRegistry = snapshotUseRegistry;
         this.machineRuntime = doGetRuntime();
+        statsCollector.startCollection(container, getId(), getWorkspaceId());
     }
 
     @Override
@@ -201,36 +209,28 @@ public class DockerInstance extends AbstractInstance {
 
     @Override
     public MachineSource saveToSnapshot() throws MachineException {
+        return commitSnapshot().publish(outputConsumer);
+    }
+
+    /**
+     * Commits container into a local image, which is pushed to the registry on publishing
+     * if {@code che.docker.registry_for_snapshots} is enabled.
+     */
+    @Override
+    public InstanceSnapshot commitSnapshot() throws MachineException {
         try {
-            String image = generateRepository();
-            if(!snapshotUseRegistry) {
-                commitContainer(image, LATEST_TAG);
-                return new DockerMachineSource(image).withTag(LATEST_TAG);
+            final String repository = generateRepository();
+            if (!snapshotUseRegistry) {
+                commitContainer(repository, LATEST_TAG);
+                return new DockerInstanceSnapshot(repository, null);
             }
-
-            PushParams pushParams = PushParams.create(image)
-                                              .withRegistry(registry)
-                                              .withTag(LATEST_TAG);
-
-            final String fullRepo = pushParams.getFullRepo();
-            commitContainer(fullRepo, LATEST_TAG);
-            //TODO fix this workaround. Docker image is not visible after commit when using swarm
-            Thread.sleep(2000);
-            final ProgressLineFormatterImpl lineFormatter = new ProgressLineFormatterImpl();
-            final String digest = docker.push(pushParams,
-                                              progressMonitor -> {
-                                                  try {
-                                                      outputConsumer.writeLine(lineFormatter.format(progressMonitor));
-                                                  } catch (IOException ignored) {
-                                                  }
-                                              });
-            docker.removeImage(RemoveImageParams.create(fullRepo).withForce(false));
-            return new DockerMachineSource(image).withRegistry(registry).withDigest(digest).withTag(LATEST_TAG);
+            final PushParams pushParams = PushParams.create(repository)
+                                                    .withRegistry(registry)
+                                                    .withTag(LATEST_TAG);
+            commitContainer(pushParams.getFullRepo(), LATEST_TAG);
+            return new DockerInstanceSnapshot(repository, pushParams);
         } catch (IOException ioEx) {
             throw new MachineException(ioEx);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new MachineException(e.getLocalizedMessage(), e);
         }
     }
 
@@ -247,6 +247,69 @@ public class DockerInstance extends AbstractInstance {
                                   .withComment(comment));
     }
 
+    /** Container committed into a local image, which is pushed to the registry if needed. */
+    private class DockerInstanceSnapshot implements InstanceSnapshot {
+        private final String     repository;
+        private final PushParams pushParams;
+
+        DockerInstanceSnapshot(String repository, @Nullable PushParams pushParams) {
+            this.repository = repository;
+            this.pushParams = pushParams;
+        }
+
+        @Override
+        public MachineSource publish(LineConsumer output) throws MachineException {
+            if (pushParams == null) {
+                return new DockerMachineSource(repository).withTag(LATEST_TAG);
+            }
+            try {
+                //TODO fix this workaround. Docker image is not visible after commit when using swarm
+                Thread.sleep(2000);
+                final ProgressLineFormatterImpl lineFormatter = new ProgressLineFormatterImpl();
+                final Set<String> pushedLayers = new HashSet<>();
+                final Set<String> existingLayers = new HashSet<>();
+                final String digest = docker.push(pushParams,
+                                                  progressStatus -> {
+                                                      if (progressStatus.getId() != null) {
+                                                          if ("Pushed".equals(progressStatus.getStatus())) {
+                                                              pushedLayers.add(progressStatus.getId());
+                                                          } else if ("Layer already exists".equals(progressStatus.getStatus())) {
+                                                              existingLayers.add(progressStatus.getId());
+                                                          }
+                                                      }
+                                                      writeLineQuietly(output, lineFormatter.format(progressStatus));
+                                                  });
+                writeLineQuietly(output, format("[DOCKER] Snapshot pushed, layers uploaded: %d, layers already in registry: %d",
+                                                pushedLayers.size(),
+                                                existingLayers.size()));
+                docker.removeImage(RemoveImageParams.create(pushParams.getFullRepo()).withForce(false));
+                return new DockerMachineSource(repository).withRegistry(registry).withDigest(digest).withTag(LATEST_TAG);
+            } catch (IOException ioEx) {
+                throw new MachineException(ioEx);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MachineException(e.getLocalizedMessage(), e);
+            }
+        }
+
+        @Override
+        public void discard() {
+            final String image = pushParams == null ? repository : pushParams.getFullRepo();
+            try {
+                docker.removeImage(RemoveImageParams.create(image + ':' + LATEST_TAG).withForce(false));
+            } catch (IOException e) {
+                LOG.error(format("Failed to remove committed snapshot image '%s'. Cause: %s", image, e.getLocalizedMessage()));
+            }
+        }
+
+        private void writeLineQuietly(LineConsumer output, String line) {
+            try {
+                output.writeLine(line);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
     private String generateRepository() {
         if (registryNamespace != null) {
             return registryNamespace + '/' + MACHINE_SNAPSHOT_PREFIX + NameGenerator.generate(null, 16);
@@ -263,6 +326,7 @@ public class DockerInstance extends AbstractInstance {
         machineProcesses.clear();
         processesCleaner.untrackProcesses(getId());
         dockerInstanceStopDetector.stopDetection(container);
+        statsCollector.stopCollection(getId());
         try {
             if (getConfig().isDev()) {
                 node.unbindWorkspace();
@@ -33,6 +33,9 @@ public class DockerMachineModule extends AbstractModule {
     protected void configure() {
         bind(org.eclipse.che.plugin.docker.machine.cleaner.DockerAbandonedResourcesCleaner.class);
         bind(org.eclipse.che.plugin.docker.machine.cleaner.RemoveWorkspaceFilesAfterRemoveWorkspaceEventSubscriber.class);
+        bind(org.eclipse.che.plugin.docker.machine.stats.MachineResourceUsageService.class);
+        bind(org.eclipse.che.plugin.docker.machine.stats.MachineResourceUsageJsonRpcMessenger.class).asEagerSingleton();
+        bind(org.eclipse.che.plugin.docker.machine.pull.ImagePrePuller.class);
 
         @SuppressWarnings("unused") Multibinder<String> devMachineEnvVars =
                 Multibinder.newSetBinder(binder(),
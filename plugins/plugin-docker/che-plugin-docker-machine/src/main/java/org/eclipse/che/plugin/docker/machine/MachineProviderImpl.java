@@ -56,6 +56,7 @@ import org.eclipse.che.plugin.docker.client.json.ContainerInfo;
 import org.eclipse.che.plugin.docker.client.json.HostConfig;
 import org.eclipse.che.plugin.docker.client.json.ImageConfig;
 import org.eclipse.che.plugin.docker.client.json.PortBinding;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
 import org.eclipse.che.plugin.docker.client.json.Volume;
 import org.eclipse.che.plugin.docker.client.json.container.NetworkingConfig;
 import org.eclipse.che.plugin.docker.client.json.network.ConnectContainer;
@@ -73,6 +74,7 @@ import org.eclipse.che.plugin.docker.client.params.TagParams;
 import org.eclipse.che.plugin.docker.client.params.network.ConnectContainerToNetworkParams;
 import org.eclipse.che.plugin.docker.client.params.network.CreateNetworkParams;
 import org.eclipse.che.plugin.docker.machine.node.DockerNode;
+import org.eclipse.che.plugin.docker.machine.pull.ImagePrePuller;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
@@ -144,6 +146,7 @@ public class MachineProviderImpl implements MachineInstanceProvider {
     private final UserSpecificDockerRegistryCredentialsProvider dockerCredentials;
     private final ExecutorService                               executor;
     private final DockerInstanceStopDetector                    dockerInstanceStopDetector;
+    private final ImagePrePuller                                imagePrePuller;
     private final RequestTransmitter                            transmitter;
     private final JsonRpcEndpointToMachineNameHolder            jsonRpcEndpointToMachineNameHolder;
     private final boolean                                       doForcePullOnBuild;
@@ -174,6 +177,7 @@ public class MachineProviderImpl implements MachineInstanceProvider {
                                UserSpecificDockerRegistryCredentialsProvider dockerCredentials,
                                DockerMachineFactory dockerMachineFactory,
                                DockerInstanceStopDetector dockerInstanceStopDetector,
+                               ImagePrePuller imagePrePuller,
                                RequestTransmitter transmitter,
                                JsonRpcEndpointToMachineNameHolder jsonRpcEndpointToMachineNameHolder,
                                @Named("machine.docker.dev_machine.machine_servers") Set<ServerConf> devMachineServers,
@@ -202,6 +206,7 @@ public class MachineProviderImpl implements MachineInstanceProvider {
         this.dockerCredentials = dockerCredentials;
         this.dockerMachineFactory = dockerMachineFactory;
         this.dockerInstanceStopDetector = dockerInstanceStopDetector;
+        this.imagePrePuller = imagePrePuller;
         this.transmitter = transmitter;
         this.doForcePullOnBuild = doForcePullOnBuild;
         this.privilegedMode = privilegedMode;
@@ -524,7 +529,21 @@ public class MachineProviderImpl implements MachineInstanceProvider {
                                                                                     LATEST_TAG))
                                                   .withRegistry(dockerMachineSource.getRegistry())
                                                   .withAuthConfigs(dockerCredentials.getCredentials());
-                docker.pull(pullParams, progressMonitor);
+                final String location = dockerMachineSource.getLocation();
+                try {
+                    if (!isSnapshot) {
+                        ProgressStatus cacheStatus = new ProgressStatus();
+                        cacheStatus.setStatus(imagePrePuller.beforeStartPull(location) ?
+                                              format("Image '%s' is found in local cache, checking for updates", location) :
+                                              format("Image '%s' is not found in local cache, pulling it", location));
+                        progressMonitor.updateProgress(cacheStatus);
+                    }
+                    docker.pull(pullParams, progressMonitor);
+                } finally {
+                    if (!isSnapshot) {
+                        imagePrePuller.afterStartPull(location);
+                    }
+                }
             }
 
             String fullNameOfPulledImage = dockerMachineSource.getLocation(false);
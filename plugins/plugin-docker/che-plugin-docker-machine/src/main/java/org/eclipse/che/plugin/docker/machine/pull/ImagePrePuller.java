@@ -0,0 +1,372 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine.pull;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
+import org.eclipse.che.api.core.executor.ThreadPoolConfig;
+import org.eclipse.che.api.core.model.workspace.Environment;
+import org.eclipse.che.api.core.model.workspace.EnvironmentRecipe;
+import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
+import org.eclipse.che.api.machine.server.exception.MachineException;
+import org.eclipse.che.api.machine.server.model.impl.MachineSourceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
+import org.eclipse.che.api.workspace.server.spi.StackDao;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.commons.schedule.ScheduleRate;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.ProgressLineFormatterImpl;
+import org.eclipse.che.plugin.docker.client.UserSpecificDockerRegistryCredentialsProvider;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
+import org.eclipse.che.plugin.docker.client.exception.ImageNotFoundException;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.eclipse.che.plugin.docker.machine.DockerMachineSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.google.common.base.MoreObjects.firstNonNull;
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.plugin.docker.machine.DockerInstance.LATEST_TAG;
+import static org.eclipse.che.plugin.docker.machine.MachineProviderImpl.SNAPSHOT_LOCATION_PATTERN;
+
+/**
+ * Pulls images of the most frequently started machines in background,
+ * so workspace start doesn't have to wait for the image download.
+ *
+ * <p>Images are ranked by number of recent workspace starts (with exponential decay),
+ * then by number of workspaces that use them and then by presence in stacks.
+ * The top {@code che.docker.prepull.images_count} images which are missing on the docker node are
+ * pulled using at most {@code che.docker.prepull.parallel_pulls} concurrent pulls.
+ * Background pulls are postponed while images for workspace starts are pulled,
+ * to not compete with them for the network bandwidth, and resumed once the last of those pulls ends.
+ * An image is pulled with the docker registry credentials of the user who started it most recently,
+ * as pulls are performed in background, out of the context of any user.
+ *
+ * <p>Also tracks whether images needed by workspace starts are found in the local docker cache.
+ */
+@Singleton
+public class ImagePrePuller implements Runnable {
+    private static final Logger LOG = LoggerFactory.getLogger(ImagePrePuller.class);
+
+    private static final long START_SCORE_HALF_LIFE_MS = TimeUnit.DAYS.toMillis(1);
+    private static final int  MAX_ITEMS_TO_RANK        = 1_000;
+
+    private final DockerConnector                               docker;
+    private final UserSpecificDockerRegistryCredentialsProvider dockerCredentials;
+    private final StackDao                                      stackDao;
+    private final WorkspaceDao                                  workspaceDao;
+    private final int                                           imagesCount;
+    private final ExecutorService                               executor;
+    private final Map<String, StartsScore>                      startScores;
+    private final Map<String, AuthConfigs>                      startCredentials;
+    private final Map<String, ImagePullStatus>                  pullStatuses;
+    private final Lock                                          startPullsLock;
+    private final Condition                                     noStartPulls;
+    private final AtomicLong                                    cacheHits;
+    private final AtomicLong                                    cacheMisses;
+
+    private int activeStartPulls;
+
+    @Inject
+    public ImagePrePuller(DockerConnectorProvider dockerConnectorProvider,
+                          UserSpecificDockerRegistryCredentialsProvider dockerCredentials,
+                          StackDao stackDao,
+                          WorkspaceDao workspaceDao,
+                          @Named("che.docker.prepull.images_count") int imagesCount,
+                          @Named("che.docker.prepull.parallel_pulls") int parallelPulls,
+                          ExecutorServiceRegistry executorRegistry) {
+        this.docker = dockerConnectorProvider.get();
+        this.dockerCredentials = dockerCredentials;
+        this.stackDao = stackDao;
+        this.workspaceDao = workspaceDao;
+        this.imagesCount = imagesCount;
+        this.startScores = new ConcurrentHashMap<>();
+        this.startCredentials = new ConcurrentHashMap<>();
+        this.pullStatuses = new ConcurrentHashMap<>();
+        this.startPullsLock = new ReentrantLock();
+        this.noStartPulls = startPullsLock.newCondition();
+        this.cacheHits = new AtomicLong();
+        this.cacheMisses = new AtomicLong();
+        // at most images_count pulls are queued, images which are being pulled are not queued again
+        this.executor = executorRegistry.getOrCreate("docker_prepull",
+                                                     ThreadPoolConfig.fixed(Math.max(1, parallelPulls), Math.max(1, imagesCount))
+                                                                     .withThreadNameFormat("ImagePrePuller-%d")
+                                                                     .withDaemon(true));
+    }
+
+    @ScheduleRate(periodParameterName = "che.docker.prepull.period_min",
+                  initialDelay = 1L,
+                  unit = TimeUnit.MINUTES)
+    @Override
+    public void run() {
+        if (imagesCount <= 0) {
+            return;
+        }
+        for (String image : rankImages()) {
+            if (pullStatuses.containsKey(image) && pullStatuses.get(image).isInProgress()) {
+                continue;
+            }
+            if (isCached(image)) {
+                pullStatuses.put(image, ImagePullStatus.cached(image));
+                continue;
+            }
+            pullStatuses.put(image, ImagePullStatus.queued(image));
+            try {
+                executor.execute(() -> prePull(image));
+            } catch (RejectedExecutionException e) {
+                pullStatuses.remove(image);
+                LOG.debug("Pre-pulling of image '{}' is postponed, too many images are queued for pre-pulling", image);
+            }
+        }
+    }
+
+    /**
+     * Must be called before pulling of the image needed by a workspace start, in the context of the user who starts it.
+     * Records start of the image and credentials of the user for ranking and pulling, postpones background pulls
+     * until {@link #afterStartPull(String)} is called.
+     *
+     * @param image
+     *         location of the image e.g. {@code eclipse/ubuntu_jdk8:latest}
+     * @return true if image is found in local docker cache, false otherwise
+     */
+    public boolean beforeStartPull(String image) {
+        if (isSnapshot(image)) {
+            return false;
+        }
+        startPullsLock.lock();
+        try {
+            activeStartPulls++;
+        } finally {
+            startPullsLock.unlock();
+        }
+        final String key = normalize(image);
+        startScores.computeIfAbsent(key, k -> new StartsScore()).increment(System.currentTimeMillis());
+        final AuthConfigs credentials = dockerCredentials.getCredentials();
+        if (credentials != null) {
+            startCredentials.put(key, credentials);
+        }
+        final boolean cached = isCached(key);
+        if (cached) {
+            cacheHits.incrementAndGet();
+        } else {
+            cacheMisses.incrementAndGet();
+        }
+        LOG.debug("Image '{}' needed by workspace start is {} local docker cache",
+                  key, cached ? "found in" : "missing in");
+        return cached;
+    }
+
+    /**
+     * Must be called after pulling of the image needed by a workspace start, successful or not.
+     *
+     * @param image
+     *         location of the image, the same as passed to {@link #beforeStartPull(String)}
+     */
+    public void afterStartPull(String image) {
+        if (isSnapshot(image)) {
+            return;
+        }
+        startPullsLock.lock();
+        try {
+            if (--activeStartPulls == 0) {
+                noStartPulls.signalAll();
+            }
+        } finally {
+            startPullsLock.unlock();
+        }
+    }
+
+    /** Returns number of workspace starts which found their images in local docker cache. */
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    /** Returns number of workspace starts which had to download their images. */
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    /** Returns statuses of background pulls. */
+    public List<ImagePullStatus> getPullStatuses() {
+        return new ArrayList<>(pullStatuses.values());
+    }
+
+    /**
+     * Returns up to {@code che.docker.prepull.images_count} images ordered by rank, the highest first.
+     */
+    @VisibleForTesting
+    List<String> rankImages() {
+        final Map<String, Integer> workspacesUsage = new HashMap<>();
+        try {
+            for (WorkspaceImpl workspace : workspaceDao.getWorkspaces(false, 0, MAX_ITEMS_TO_RANK)) {
+                for (String image : getImages(workspace.getConfig())) {
+                    workspacesUsage.merge(image, 1, Integer::sum);
+                }
+            }
+        } catch (ServerException e) {
+            LOG.warn("Failed to get workspaces to rank images for pre-pulling. Cause: {}", e.getLocalizedMessage());
+        }
+        final Map<String, Boolean> stackImages = new HashMap<>();
+        try {
+            for (StackImpl stack : stackDao.searchStacks(null, null, 0, MAX_ITEMS_TO_RANK)) {
+                for (String image : getImages(stack.getWorkspaceConfig())) {
+                    stackImages.put(image, true);
+                }
+            }
+        } catch (ServerException e) {
+            LOG.warn("Failed to get stacks to rank images for pre-pulling. Cause: {}", e.getLocalizedMessage());
+        }
+
+        final long now = System.currentTimeMillis();
+        final Map<String, Double> starts = new HashMap<>();
+        startScores.forEach((image, score) -> starts.put(image, score.get(now)));
+
+        final Set<String> candidates = new HashSet<>(starts.keySet());
+        candidates.addAll(workspacesUsage.keySet());
+        candidates.addAll(stackImages.keySet());
+        return candidates.stream()
+                         .sorted(Comparator.<String>comparingDouble(image -> starts.getOrDefault(image, 0D))
+                                         .thenComparingInt(image -> workspacesUsage.getOrDefault(image, 0))
+                                         .thenComparing(image -> stackImages.getOrDefault(image, false))
+                                         .reversed()
+                                         .thenComparing(Comparator.naturalOrder()))
+                         .limit(imagesCount)
+                         .collect(toList());
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void prePull(String image) {
+        try {
+            awaitNoStartPulls();
+            final ImagePullStatus status = pullStatuses.get(image);
+            status.setState(ImagePullStatus.State.PULLING);
+            final DockerMachineSource source = new DockerMachineSource(new MachineSourceImpl("image").setLocation(image));
+            final ProgressLineFormatterImpl lineFormatter = new ProgressLineFormatterImpl();
+            docker.pull(PullParams.create(source.getRepository())
+                                  .withRegistry(source.getRegistry())
+                                  .withTag(firstNonNull(source.getTag(), LATEST_TAG))
+                                  .withAuthConfigs(startCredentials.get(image)),
+                        progressStatus -> {
+                            final String line = lineFormatter.format(progressStatus);
+                            status.setProgress(line);
+                            LOG.debug("Pre-pulling image '{}': {}", image, line);
+                        });
+            status.setState(ImagePullStatus.State.PULLED);
+            LOG.info("Image '{}' has been pre-pulled", image);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pullStatuses.remove(image);
+        } catch (IOException | MachineException | RuntimeException e) {
+            pullStatuses.get(image).setState(ImagePullStatus.State.FAILED);
+            LOG.warn("Failed to pre-pull image '{}'. Cause: {}", image, e.getLocalizedMessage());
+        }
+    }
+
+    private void awaitNoStartPulls() throws InterruptedException {
+        startPullsLock.lock();
+        try {
+            while (activeStartPulls > 0) {
+                noStartPulls.await();
+            }
+        } finally {
+            startPullsLock.unlock();
+        }
+    }
+
+    private boolean isCached(String image) {
+        try {
+            docker.inspectImage(image);
+            return true;
+        } catch (ImageNotFoundException e) {
+            return false;
+        } catch (IOException e) {
+            LOG.debug(e.getLocalizedMessage(), e);
+            return false;
+        }
+    }
+
+    private static List<String> getImages(WorkspaceConfig config) {
+        if (config == null || config.getEnvironments() == null) {
+            return Collections.emptyList();
+        }
+        return config.getEnvironments()
+                     .values()
+                     .stream()
+                     .map(Environment::getRecipe)
+                     .filter(recipe -> recipe != null && "dockerimage".equals(recipe.getType()))
+                     .map(EnvironmentRecipe::getLocation)
+                     .filter(location -> location != null && !isSnapshot(location))
+                     .map(ImagePrePuller::normalize)
+                     .collect(toList());
+    }
+
+    private static boolean isSnapshot(String image) {
+        return SNAPSHOT_LOCATION_PATTERN.matcher(image).matches();
+    }
+
+    /** Adds default tag to the image location if tag and digest are missing. */
+    private static String normalize(String image) {
+        try {
+            final DockerMachineSource source = new DockerMachineSource(new MachineSourceImpl("image").setLocation(image));
+            if (source.getTag() == null && source.getDigest() == null) {
+                source.setTag(LATEST_TAG);
+            }
+            return source.getLocation();
+        } catch (MachineException e) {
+            return image;
+        }
+    }
+
+    /** Number of recent starts of an image which exponentially decays over time. */
+    private static class StartsScore {
+        private double score;
+        private long   updated;
+
+        synchronized void increment(long now) {
+            score = get(now) + 1;
+            updated = now;
+        }
+
+        synchronized double get(long now) {
+            return score * Math.pow(0.5, (double)(now - updated) / START_SCORE_HALF_LIFE_MS);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine.pull;
+
+/**
+ * Describes state of background pull of an image by {@link ImagePrePuller}.
+ */
+public class ImagePullStatus {
+
+    public enum State {
+        /** Image is already present on the docker node. */
+        CACHED,
+        /** Image is waiting for a free pull slot. */
+        QUEUED,
+        /** Image is being pulled. */
+        PULLING,
+        /** Image has been pulled successfully. */
+        PULLED,
+        /** Image pull failed. */
+        FAILED
+    }
+
+    private final String image;
+
+    private volatile State  state;
+    private volatile String progress;
+
+    static ImagePullStatus cached(String image) {
+        return new ImagePullStatus(image, State.CACHED);
+    }
+
+    static ImagePullStatus queued(String image) {
+        return new ImagePullStatus(image, State.QUEUED);
+    }
+
+    private ImagePullStatus(String image, State state) {
+        this.image = image;
+        this.state = state;
+    }
+
+    public String getImage() {
+        return image;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /** Returns the last progress line reported by docker, or null if pull is not started yet. */
+    public String getProgress() {
+        return progress;
+    }
+
+    /** Returns true if image is queued for pulling or is being pulled. */
+    public boolean isInProgress() {
+        return state == State.QUEUED || state == State.PULLING;
+    }
+
+    void setState(State state) {
+        this.state = state;
+    }
+
+    void setProgress(String progress) {
+        this.progress = progress;
+    }
+
+    @Override
+    public String toString() {
+        return "ImagePullStatus{" +
+               "image='" + image + '\'' +
+               ", state=" + state +
+               ", progress='" + progress + '\'' +
+               '}';
+    }
+}
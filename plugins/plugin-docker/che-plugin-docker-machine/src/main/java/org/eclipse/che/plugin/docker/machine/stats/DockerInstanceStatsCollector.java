@@ -0,0 +1,282 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine.stats;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
+import org.eclipse.che.api.core.executor.ThreadPoolConfig;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.machine.shared.dto.MachineResourceUsageDto;
+import org.eclipse.che.api.machine.shared.dto.event.MachineResourceUsageEvent;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.MessageProcessor;
+import org.eclipse.che.plugin.docker.client.exception.ContainerNotFoundException;
+import org.eclipse.che.plugin.docker.client.json.stats.ContainerStats;
+import org.eclipse.che.plugin.docker.client.params.GetContainerStatsParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+/**
+ * Collects resource usage statistics of running docker machines.
+ *
+ * <p>Subscribes to docker stats stream of each tracked container, downsamples
+ * raw stats into samples of {@code che.docker.stats.interval_sec} interval and keeps
+ * them in memory for {@code che.docker.stats.retention_min} minutes.
+ * Each new sample is published as {@link MachineResourceUsageEvent}.
+ */
+@Singleton
+public class DockerInstanceStatsCollector {
+    private static final Logger LOG = LoggerFactory.getLogger(DockerInstanceStatsCollector.class);
+
+    private static final long RECONNECT_DELAY_MS     = 5_000;
+    private static final int  MAX_RECONNECT_ATTEMPTS = 3;
+    /** Each collected machine holds a thread which reads its stats stream. */
+    private static final int  MAX_COLLECTED_MACHINES = 200;
+
+    private final EventService                       eventService;
+    private final DockerConnector                    dockerConnector;
+    private final boolean                            enabled;
+    private final long                               intervalMs;
+    private final int                                capacity;
+    private final ExecutorService                    executor;
+    private final Map<String, MachineStatsCollector> collectors;
+
+    @Inject
+    public DockerInstanceStatsCollector(EventService eventService,
+                                        DockerConnectorProvider dockerConnectorProvider,
+                                        @Named("che.docker.stats.enabled") boolean enabled,
+                                        @Named("che.docker.stats.interval_sec") int intervalSec,
+                                        @Named("che.docker.stats.retention_min") int retentionMin,
+                                        ExecutorServiceRegistry executorRegistry) {
+        if (intervalSec <= 0) {
+            throw new IllegalArgumentException(format("Stats interval must be positive, but was %s", intervalSec));
+        }
+        this.eventService = eventService;
+        this.dockerConnector = dockerConnectorProvider.get();
+        this.enabled = enabled;
+        this.intervalMs = TimeUnit.SECONDS.toMillis(intervalSec);
+        this.capacity = (int)Math.max(1, TimeUnit.MINUTES.toSeconds(retentionMin) / intervalSec);
+        this.collectors = new ConcurrentHashMap<>();
+        this.executor = executorRegistry.getOrCreate("docker_stats",
+                                                     ThreadPoolConfig.elastic(MAX_COLLECTED_MACHINES)
+                                                                     .withThreadNameFormat("DockerInstanceStatsCollector-%d")
+                                                                     .withDaemon(true));
+    }
+
+    /**
+     * Starts collection of resource usage statistics of the container.
+     * Does nothing if statistics collection is disabled.
+     *
+     * @param containerId
+     *         id of a container to collect statistics of
+     * @param machineId
+     *         id of a machine which container implements
+     * @param workspaceId
+     *         id of a workspace that owns machine
+     */
+    public void startCollection(String containerId, String machineId, String workspaceId) {
+        if (!enabled) {
+            return;
+        }
+        final MachineStatsCollector collector = new MachineStatsCollector(containerId, machineId, workspaceId);
+        final MachineStatsCollector previous = collectors.put(machineId, collector);
+        if (previous != null) {
+            previous.stop();
+        }
+        try {
+            executor.execute(collector);
+        } catch (RejectedExecutionException e) {
+            collectors.remove(machineId, collector);
+            LOG.warn("Resource usage of machine '{}' is not collected, statistics of too many machines is collected already",
+                     machineId);
+        }
+    }
+
+    /**
+     * Stops collection of resource usage statistics of the machine and drops collected samples.
+     *
+     * @param machineId
+     *         id of a machine to stop collection for
+     */
+    public void stopCollection(String machineId) {
+        final MachineStatsCollector collector = collectors.remove(machineId);
+        if (collector != null) {
+            collector.stop();
+        }
+    }
+
+    /**
+     * Returns resource usage samples of the machine taken after given timestamp, oldest first.
+     *
+     * @param machineId
+     *         id of a machine
+     * @param sinceTimestamp
+     *         timestamp in milliseconds, use 0 to get all the collected samples
+     * @throws NotFoundException
+     *         if statistics of the machine is not collected
+     */
+    public List<MachineResourceUsageDto> getUsage(String machineId, long sinceTimestamp) throws NotFoundException {
+        final MachineStatsCollector collector = collectors.get(machineId);
+        if (collector == null) {
+            throw new NotFoundException(format("Resource usage of machine '%s' is not collected", machineId));
+        }
+        return collector.timeSeries.getSince(sinceTimestamp);
+    }
+
+    /**
+     * Returns id of the workspace which owns the machine.
+     *
+     * @param machineId
+     *         id of a machine
+     * @throws NotFoundException
+     *         if statistics of the machine is not collected
+     */
+    public String getWorkspaceId(String machineId) throws NotFoundException {
+        final MachineStatsCollector collector = collectors.get(machineId);
+        if (collector == null) {
+            throw new NotFoundException(format("Resource usage of machine '%s' is not collected", machineId));
+        }
+        return collector.workspaceId;
+    }
+
+    /**
+     * Returns the latest resource usage sample of each machine which statistics is collected.
+     *
+     * @param workspaceId
+     *         id of a workspace to get machines usage of, if null machines of all the workspaces are included
+     */
+    public List<MachineResourceUsageEvent> getLatestUsage(String workspaceId) {
+        return collectors.values()
+                         .stream()
+                         .filter(collector -> workspaceId == null || workspaceId.equals(collector.workspaceId))
+                         .filter(collector -> collector.timeSeries.getLatest() != null)
+                         .map(collector -> newDto(MachineResourceUsageEvent.class).withMachineId(collector.machineId)
+                                                                                  .withWorkspaceId(collector.workspaceId)
+                                                                                  .withUsage(collector.timeSeries.getLatest()))
+                         .collect(toList());
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        collectors.values().forEach(MachineStatsCollector::stop);
+        collectors.clear();
+        executor.shutdownNow();
+    }
+
+    private class MachineStatsCollector implements Runnable, MessageProcessor<ContainerStats> {
+        private final String                  containerId;
+        private final String                  machineId;
+        private final String                  workspaceId;
+        private final ResourceUsageSampler    sampler;
+        private final ResourceUsageTimeSeries timeSeries;
+
+        private volatile boolean   stopped;
+        private volatile int       failedAttempts;
+        private volatile Closeable stream;
+
+        MachineStatsCollector(String containerId, String machineId, String workspaceId) {
+            this.containerId = containerId;
+            this.machineId = machineId;
+            this.workspaceId = workspaceId;
+            this.sampler = new ResourceUsageSampler(intervalMs);
+            this.timeSeries = new ResourceUsageTimeSeries(capacity);
+        }
+
+        @Override
+        public void run() {
+            // stats stream is closed by docker when container stops,
+            // so reconnect only if stream was interrupted by connection problem
+            while (!stopped) {
+                try {
+                    dockerConnector.getContainerStats(GetContainerStatsParams.create(containerId), this, this::onStreamOpened);
+                    return;
+                } catch (ContainerNotFoundException e) {
+                    return;
+                } catch (IOException e) {
+                    if (stopped) {
+                        // stream is closed by stop()
+                        return;
+                    }
+                    LOG.debug(format("Stats stream of container '%s' interrupted. Error: %s", containerId, e.getLocalizedMessage()), e);
+                    if (++failedAttempts >= MAX_RECONNECT_ATTEMPTS) {
+                        LOG.warn("Resource usage collection of container '{}' stopped after {} failed attempts to read stats",
+                                 containerId,
+                                 failedAttempts);
+                        return;
+                    }
+                }
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        /** Stops collection, the stats stream is closed so the collecting thread doesn't wait for the next sample. */
+        void stop() {
+            stopped = true;
+            closeStream();
+        }
+
+        private void onStreamOpened(Closeable stream) {
+            this.stream = stream;
+            if (stopped) {
+                closeStream();
+            }
+        }
+
+        private void closeStream() {
+            final Closeable stream = this.stream;
+            if (stream != null) {
+                try {
+                    stream.close();
+                } catch (IOException e) {
+                    LOG.debug(format("Failed to close stats stream of container '%s'", containerId), e);
+                }
+            }
+        }
+
+        @Override
+        public void process(ContainerStats stats) {
+            if (stopped) {
+                return;
+            }
+            failedAttempts = 0;
+            final MachineResourceUsageDto sample = sampler.accept(stats, System.currentTimeMillis());
+            if (sample != null) {
+                timeSeries.add(sample);
+                eventService.publish(newDto(MachineResourceUsageEvent.class).withMachineId(machineId)
+                                                                            .withWorkspaceId(workspaceId)
+                                                                            .withUsage(sample));
+            }
+        }
+    }
+}
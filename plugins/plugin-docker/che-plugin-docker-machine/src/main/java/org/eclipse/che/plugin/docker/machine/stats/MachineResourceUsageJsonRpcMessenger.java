@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine.stats;
+
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.jsonrpc.RequestHandlerConfigurator;
+import org.eclipse.che.api.core.jsonrpc.RequestTransmitter;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry;
+import org.eclipse.che.api.machine.shared.dto.MachineResourceUsageDto;
+import org.eclipse.che.api.machine.shared.dto.event.MachineResourceUsageEvent;
+import org.eclipse.che.api.workspace.server.WorkspaceManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.collect.Sets.newConcurrentHashSet;
+import static java.lang.String.format;
+import static java.util.Collections.emptyList;
+
+/**
+ * Sends machines resource usage samples to JSON-RPC endpoints subscribed to workspaces,
+ * and answers on resource usage time series requests.
+ * As well as {@link MachineResourceUsageService}, allows only the workspaces which
+ * the subject who opened the web socket session of the endpoint can read.
+ */
+@Singleton
+public class MachineResourceUsageJsonRpcMessenger implements EventSubscriber<MachineResourceUsageEvent> {
+    private final RequestTransmitter           transmitter;
+    private final EventService                 eventService;
+    private final DockerInstanceStatsCollector statsCollector;
+    private final WorkspaceManager             workspaceManager;
+    private final WebSocketSessionRegistry     sessionRegistry;
+
+    private final Map<String, Set<String>> endpointIds = new ConcurrentHashMap<>();
+
+    @Inject
+    public MachineResourceUsageJsonRpcMessenger(RequestTransmitter transmitter,
+                                                EventService eventService,
+                                                DockerInstanceStatsCollector statsCollector,
+                                                WorkspaceManager workspaceManager,
+                                                WebSocketSessionRegistry sessionRegistry) {
+        this.transmitter = transmitter;
+        this.eventService = eventService;
+        this.statsCollector = statsCollector;
+        this.workspaceManager = workspaceManager;
+        this.sessionRegistry = sessionRegistry;
+    }
+
+    @Override
+    public void onEvent(MachineResourceUsageEvent event) {
+        String id = event.getWorkspaceId();
+        endpointIds.entrySet()
+                   .stream()
+                   .filter(it -> it.getValue().contains(id))
+                   .map(Map.Entry::getKey)
+                   .forEach(it -> transmitter.transmitOneToNone(it, "event:machine-stats:changed", event));
+    }
+
+    @Inject
+    private void configureSubscribeHandler(RequestHandlerConfigurator configurator) {
+        configurator.newConfiguration()
+                    .methodName("event:machine-stats:subscribe")
+                    .paramsAsString()
+                    .noResult()
+                    .withConsumer((endpointId, workspaceId) -> {
+                        checkCanRead(endpointId, workspaceId);
+                        endpointIds.putIfAbsent(endpointId, newConcurrentHashSet());
+                        endpointIds.get(endpointId).add(workspaceId);
+                    });
+    }
+
+    @Inject
+    private void configureUnSubscribeHandler(RequestHandlerConfigurator configurator) {
+        configurator.newConfiguration()
+                    .methodName("event:machine-stats:un-subscribe")
+                    .paramsAsString()
+                    .noResult()
+                    .withConsumer((endpointId, workspaceId) -> {
+                        Set<String> workspaceIds = endpointIds.get(endpointId);
+                        if (workspaceIds != null) {
+                            workspaceIds.remove(workspaceId);
+
+                            if (workspaceIds.isEmpty()) {
+                                endpointIds.remove(endpointId);
+                            }
+                        }
+                    });
+    }
+
+    @Inject
+    private void configureGetUsageHandler(RequestHandlerConfigurator configurator) {
+        configurator.newConfiguration()
+                    .methodName("machine-stats:get")
+                    .paramsAsString()
+                    .resultAsListOfDto(MachineResourceUsageDto.class)
+                    .withFunction((endpointId, machineId) -> {
+                        try {
+                            checkCanRead(endpointId, statsCollector.getWorkspaceId(machineId));
+                            return statsCollector.getUsage(machineId, 0);
+                        } catch (NotFoundException e) {
+                            return emptyList();
+                        }
+                    });
+    }
+
+    private void checkCanRead(String endpointId, String workspaceId) {
+        final String userId = sessionRegistry.getSubject(endpointId).getUserId();
+        final boolean canRead;
+        try {
+            canRead = workspaceManager.getWorkspaces(userId, false)
+                                      .stream()
+                                      .anyMatch(workspace -> workspace.getId().equals(workspaceId));
+        } catch (ServerException e) {
+            throw new IllegalStateException(e.getLocalizedMessage(), e);
+        }
+        if (!canRead) {
+            throw new SecurityException(format("The user is not allowed to read resource usage of workspace '%s'", workspaceId));
+        }
+    }
+
+    @PostConstruct
+    private void subscribe() {
+        eventService.subscribe(this);
+    }
+
+    @PreDestroy
+    private void unsubscribe() {
+        eventService.unsubscribe(this);
+    }
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine.stats;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.rest.Service;
+import org.eclipse.che.api.machine.shared.dto.MachineResourceUsageDto;
+import org.eclipse.che.api.machine.shared.dto.event.MachineResourceUsageEvent;
+import org.eclipse.che.api.workspace.server.WorkspaceManager;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.commons.env.EnvironmentContext;
+
+import javax.inject.Inject;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import java.util.List;
+import java.util.Set;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+
+/**
+ * REST API for resource usage statistics of running machines.
+ * Only statistics of machines of the workspaces which the current user can read are available.
+ */
+@Api(value = "/machine/stats", description = "Machines resource usage REST API")
+@Path("/machine/stats")
+public class MachineResourceUsageService extends Service {
+
+    private final DockerInstanceStatsCollector statsCollector;
+    private final WorkspaceManager             workspaceManager;
+
+    @Inject
+    public MachineResourceUsageService(DockerInstanceStatsCollector statsCollector, WorkspaceManager workspaceManager) {
+        this.statsCollector = statsCollector;
+        this.workspaceManager = workspaceManager;
+    }
+
+    @GET
+    @Produces(APPLICATION_JSON)
+    @ApiOperation(value = "Get the latest resource usage sample of each running machine",
+                  response = MachineResourceUsageEvent.class,
+                  responseContainer = "List")
+    @ApiResponses({@ApiResponse(code = 200, message = "The response contains the latest samples"),
+                   @ApiResponse(code = 403, message = "The user is not allowed to read the workspace"),
+                   @ApiResponse(code = 500, message = "Internal server error occurred")})
+    public List<MachineResourceUsageEvent> getLatestUsage(@ApiParam("Workspace id to filter machines by")
+                                                          @QueryParam("workspace") String workspaceId) throws ForbiddenException,
+                                                                                                              ServerException {
+        final Set<String> readableWorkspaces = getReadableWorkspaces();
+        if (workspaceId != null) {
+            checkCanRead(workspaceId, readableWorkspaces);
+            return statsCollector.getLatestUsage(workspaceId);
+        }
+        return statsCollector.getLatestUsage(null)
+                             .stream()
+                             .filter(usage -> readableWorkspaces.contains(usage.getWorkspaceId()))
+                             .collect(toList());
+    }
+
+    @GET
+    @Path("/{machineId}")
+    @Produces(APPLICATION_JSON)
+    @ApiOperation(value = "Get resource usage time series of the machine",
+                  response = MachineResourceUsageDto.class,
+                  responseContainer = "List")
+    @ApiResponses({@ApiResponse(code = 200, message = "The response contains samples, oldest first"),
+                   @ApiResponse(code = 403, message = "The user is not allowed to read the workspace of the machine"),
+                   @ApiResponse(code = 404, message = "Resource usage of the machine is not collected"),
+                   @ApiResponse(code = 500, message = "Internal server error occurred")})
+    public List<MachineResourceUsageDto> getUsage(@ApiParam("Machine id")
+                                                  @PathParam("machineId") String machineId,
+                                                  @ApiParam("Timestamp in milliseconds, only samples taken after it are returned")
+                                                  @QueryParam("since") @DefaultValue("0") long sinceTimestamp)
+            throws NotFoundException, ForbiddenException, ServerException {
+        checkCanRead(statsCollector.getWorkspaceId(machineId), getReadableWorkspaces());
+        return statsCollector.getUsage(machineId, sinceTimestamp);
+    }
+
+    private Set<String> getReadableWorkspaces() throws ServerException {
+        return workspaceManager.getWorkspaces(EnvironmentContext.getCurrent().getSubject().getUserId(), false)
+                               .stream()
+                               .map(WorkspaceImpl::getId)
+                               .collect(toSet());
+    }
+
+    private static void checkCanRead(String workspaceId, Set<String> readableWorkspaces) throws ForbiddenException {
+        if (!readableWorkspaces.contains(workspaceId)) {
+            throw new ForbiddenException(format("The user is not allowed to read resource usage of workspace '%s'", workspaceId));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine.stats;
+
+import org.eclipse.che.api.machine.shared.dto.MachineResourceUsageDto;
+import org.eclipse.che.plugin.docker.client.json.stats.BlkioStatEntry;
+import org.eclipse.che.plugin.docker.client.json.stats.BlkioStats;
+import org.eclipse.che.plugin.docker.client.json.stats.ContainerStats;
+import org.eclipse.che.plugin.docker.client.json.stats.CpuStats;
+import org.eclipse.che.plugin.docker.client.json.stats.NetworkStats;
+
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+/**
+ * Downsamples raw docker stats stream into samples of fixed interval.
+ *
+ * <p>CPU and memory usage are averaged over the interval,
+ * block IO and network counters are taken from the last raw sample of the interval.
+ *
+ * <p>This class is not thread safe, each stats stream should use its own instance.
+ */
+class ResourceUsageSampler {
+    private final long intervalMs;
+
+    private long   intervalStart = -1;
+    private int    count;
+    private double cpuPercentSum;
+    private long   memoryUsageSum;
+    private long   memoryLimit;
+    private long   blockRead;
+    private long   blockWrite;
+    private long   networkRx;
+    private long   networkTx;
+
+    ResourceUsageSampler(long intervalMs) {
+        this.intervalMs = intervalMs;
+    }
+
+    /**
+     * Accounts raw stats in the current interval.
+     *
+     * @param stats
+     *         raw stats received from docker
+     * @param timestamp
+     *         time of receiving of raw stats in milliseconds
+     * @return aggregated sample if the current interval is over, null otherwise
+     */
+    MachineResourceUsageDto accept(ContainerStats stats, long timestamp) {
+        if (intervalStart < 0) {
+            intervalStart = timestamp;
+        }
+        count++;
+        cpuPercentSum += cpuPercent(stats);
+        if (stats.getMemoryStats() != null) {
+            memoryUsageSum += stats.getMemoryStats().getUsage();
+            memoryLimit = stats.getMemoryStats().getLimit();
+        }
+        accountBlockIo(stats.getBlkioStats());
+        accountNetwork(stats);
+
+        if (timestamp - intervalStart < intervalMs) {
+            return null;
+        }
+        final MachineResourceUsageDto sample = newDto(MachineResourceUsageDto.class).withTimestamp(timestamp)
+                                                                                     .withCpuPercent(cpuPercentSum / count)
+                                                                                     .withMemoryUsage(memoryUsageSum / count)
+                                                                                     .withMemoryLimit(memoryLimit)
+                                                                                     .withBlockRead(blockRead)
+                                                                                     .withBlockWrite(blockWrite)
+                                                                                     .withNetworkRx(networkRx)
+                                                                                     .withNetworkTx(networkTx);
+        intervalStart = timestamp;
+        count = 0;
+        cpuPercentSum = 0;
+        memoryUsageSum = 0;
+        return sample;
+    }
+
+    /**
+     * Calculates CPU usage in percents of a single core the same way as docker CLI does,
+     * using difference between current and previous CPU counters.
+     */
+    static double cpuPercent(ContainerStats stats) {
+        final CpuStats current = stats.getCpuStats();
+        final CpuStats previous = stats.getPrecpuStats();
+        if (current == null || previous == null || current.getCpuUsage() == null || previous.getCpuUsage() == null) {
+            return 0;
+        }
+        final long cpuDelta = current.getCpuUsage().getTotalUsage() - previous.getCpuUsage().getTotalUsage();
+        final long systemDelta = current.getSystemCpuUsage() - previous.getSystemCpuUsage();
+        if (cpuDelta <= 0 || systemDelta <= 0) {
+            return 0;
+        }
+        int cpus = current.getOnlineCpus();
+        if (cpus == 0 && current.getCpuUsage().getPercpuUsage() != null) {
+            cpus = current.getCpuUsage().getPercpuUsage().length;
+        }
+        return (double)cpuDelta / systemDelta * Math.max(cpus, 1) * 100;
+    }
+
+    private void accountBlockIo(BlkioStats blkioStats) {
+        if (blkioStats == null || blkioStats.getIoServiceBytesRecursive() == null) {
+            return;
+        }
+        long read = 0;
+        long write = 0;
+        for (BlkioStatEntry entry : blkioStats.getIoServiceBytesRecursive()) {
+            if ("Read".equalsIgnoreCase(entry.getOp())) {
+                read += entry.getValue();
+            } else if ("Write".equalsIgnoreCase(entry.getOp())) {
+                write += entry.getValue();
+            }
+        }
+        blockRead = read;
+        blockWrite = write;
+    }
+
+    private void accountNetwork(ContainerStats stats) {
+        long rx = 0;
+        long tx = 0;
+        if (stats.getNetworks() != null) {
+            for (NetworkStats networkStats : stats.getNetworks().values()) {
+                rx += networkStats.getRxBytes();
+                tx += networkStats.getTxBytes();
+            }
+        } else if (stats.getNetwork() != null) {
+            rx = stats.getNetwork().getRxBytes();
+            tx = stats.getNetwork().getTxBytes();
+        }
+        networkRx = rx;
+        networkTx = tx;
+    }
+}
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine.stats;
+
+import org.eclipse.che.api.machine.shared.dto.MachineResourceUsageDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed capacity time series of machine resource usage samples.
+ * When capacity is reached the oldest sample is overwritten by the newest one.
+ *
+ * <p>This class is thread safe.
+ */
+public class ResourceUsageTimeSeries {
+    private final MachineResourceUsageDto[] samples;
+
+    private int head;
+    private int size;
+
+    /**
+     * @param capacity
+     *         maximum number of samples to keep
+     * @throws IllegalArgumentException
+     *         if {@code capacity} is not positive
+     */
+    public ResourceUsageTimeSeries(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Time series capacity must be positive, but was " + capacity);
+        }
+        this.samples = new MachineResourceUsageDto[capacity];
+    }
+
+    /** Adds sample to the end of this time series, evicting the oldest sample if needed. */
+    public synchronized void add(MachineResourceUsageDto sample) {
+        samples[(head + size) % samples.length] = sample;
+        if (size == samples.length) {
+            head = (head + 1) % samples.length;
+        } else {
+            size++;
+        }
+    }
+
+    /** Returns the latest sample or null if this time series is empty. */
+    public synchronized MachineResourceUsageDto getLatest() {
+        if (size == 0) {
+            return null;
+        }
+        return samples[(head + size - 1) % samples.length];
+    }
+
+    /**
+     * Returns samples taken after given timestamp, oldest first.
+     *
+     * @param sinceTimestamp
+     *         timestamp in milliseconds, samples with timestamp less or equal to this one are skipped
+     */
+    public synchronized List<MachineResourceUsageDto> getSince(long sinceTimestamp) {
+        final List<MachineResourceUsageDto> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final MachineResourceUsageDto sample = samples[(head + i) % samples.length];
+            if (sample.getTimestamp() > sinceTimestamp) {
+                result.add(sample);
+            }
+        }
+        return result;
+    }
+
+    /** Returns all the samples of this time series, oldest first. */
+    public List<MachineResourceUsageDto> getAll() {
+        return getSince(Long.MIN_VALUE);
+    }
+
+    /** Returns number of samples in this time series. */
+    public synchronized int size() {
+        return size;
+    }
+}
@@ -26,11 +26,14 @@ import org.eclipse.che.plugin.docker.client.Exec;
 import org.eclipse.che.plugin.docker.client.LogMessage;
 import org.eclipse.che.plugin.docker.client.MessageProcessor;
 import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.ProgressStatus;
 import org.eclipse.che.plugin.docker.client.params.CommitParams;
 import org.eclipse.che.plugin.docker.client.params.CreateExecParams;
 import org.eclipse.che.plugin.docker.client.params.PushParams;
+import org.eclipse.che.plugin.docker.client.params.RemoveImageParams;
 import org.eclipse.che.plugin.docker.client.params.StartExecParams;
 import org.eclipse.che.plugin.docker.machine.node.DockerNode;
+import org.eclipse.che.plugin.docker.machine.stats.DockerInstanceStatsCollector;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -43,6 +46,7 @@ import static java.lang.String.format;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -202,6 +206,50 @@ public class DockerInstanceTest {
         dockerInstance.saveToSnapshot();
     }
 
+    @Test
+    public void shouldNotPushCommittedSnapshotUntilItIsPublished() throws Exception {
+        dockerInstance = getDockerInstance(getMachine(), REGISTRY, CONTAINER, IMAGE, true);
+
+        dockerInstance.commitSnapshot();
+
+        verify(dockerConnectorMock).commit(any(CommitParams.class));
+        verify(dockerConnectorMock, never()).push(any(PushParams.class), any(ProgressMonitor.class));
+    }
+
+    @Test
+    public void shouldReportLayersWhichAreAlreadyInRegistryOnSnapshotPublishing() throws Exception {
+        dockerInstance = getDockerInstance(getMachine(), REGISTRY, CONTAINER, IMAGE, true);
+        when(dockerConnectorMock.push(any(PushParams.class), any(ProgressMonitor.class))).thenAnswer(inv -> {
+            ProgressMonitor monitor = (ProgressMonitor)inv.getArguments()[1];
+            monitor.updateProgress(progressStatus("layer1", "Layer already exists"));
+            monitor.updateProgress(progressStatus("layer2", "Layer already exists"));
+            monitor.updateProgress(progressStatus("layer3", "Pushed"));
+            return "digest";
+        });
+        LineConsumer output = mock(LineConsumer.class);
+
+        dockerInstance.commitSnapshot().publish(output);
+
+        verify(output).writeLine("[DOCKER] Snapshot pushed, layers uploaded: 1, layers already in registry: 2");
+    }
+
+    @Test
+    public void shouldRemoveCommittedImageWhenSnapshotIsDiscarded() throws Exception {
+        dockerInstance = getDockerInstance(getMachine(), REGISTRY, CONTAINER, IMAGE, true);
+
+        dockerInstance.commitSnapshot().discard();
+
+        verify(dockerConnectorMock).removeImage(any(RemoveImageParams.class));
+        verify(dockerConnectorMock, never()).push(any(PushParams.class), any(ProgressMonitor.class));
+    }
+
+    private static ProgressStatus progressStatus(String id, String status) {
+        ProgressStatus progressStatus = new ProgressStatus();
+        progressStatus.setId(id);
+        progressStatus.setStatus(status);
+        return progressStatus;
+    }
+
     private DockerInstance getDockerInstance() throws MachineException {
         return getDockerInstance(getMachine(), REGISTRY, CONTAINER, IMAGE, false);
     }
@@ -224,6 +272,7 @@ public class DockerInstanceTest {
                                   outputConsumer,
                                   dockerInstanceStopDetectorMock,
                                   mock(DockerInstanceProcessesCleaner.class),
+                                  mock(DockerInstanceStatsCollector.class),
                                   snapshotUseRegistry);
     }
 
@@ -44,7 +44,9 @@ import org.eclipse.che.plugin.docker.client.params.RemoveImageParams;
 import org.eclipse.che.plugin.docker.client.params.StartContainerParams;
 import org.eclipse.che.plugin.docker.client.params.TagParams;
 import org.eclipse.che.plugin.docker.machine.node.DockerNode;
+import org.eclipse.che.plugin.docker.machine.pull.ImagePrePuller;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.AfterMethod;
@@ -78,6 +80,7 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
@@ -114,6 +117,9 @@ public class MachineProviderImplTest {
     @Mock
     private DockerInstanceStopDetector dockerInstanceStopDetector;
 
+    @Mock
+    private ImagePrePuller imagePrePuller;
+
     @Mock
     private RequestTransmitter transmitter;
 
@@ -273,6 +279,35 @@ public class MachineProviderImplTest {
         verify(dockerConnector, never()).removeImage(any(RemoveImageParams.class));
     }
 
+    @Test
+    public void shouldNotifyImagePrePullerAboutPullOfImageForWorkspaceStart() throws Exception {
+        CheServiceImpl machine = createService();
+        machine.setBuild(null);
+        machine.setImage("eclipse/ubuntu_jdk8:latest");
+
+        provider.startService(USER_NAME,
+                              WORKSPACE_ID,
+                              ENV_NAME,
+                              MACHINE_NAME,
+                              false,
+                              NETWORK_NAME,
+                              machine,
+                              LineConsumer.DEV_NULL);
+
+        InOrder inOrder = inOrder(imagePrePuller, dockerConnector);
+        inOrder.verify(imagePrePuller).beforeStartPull("eclipse/ubuntu_jdk8:latest");
+        inOrder.verify(dockerConnector).pull(any(PullParams.class), any(ProgressMonitor.class));
+        inOrder.verify(imagePrePuller).afterStartPull("eclipse/ubuntu_jdk8:latest");
+    }
+
+    @Test
+    public void shouldNotNotifyImagePrePullerAboutPullOfSnapshot() throws Exception {
+        createInstanceFromSnapshot(MACHINE_SNAPSHOT_PREFIX + "repo", "latest", "localhost:1234");
+
+        verify(imagePrePuller, never()).beforeStartPull(anyString());
+        verify(imagePrePuller, never()).afterStartPull(anyString());
+    }
+
     @Test
     public void shouldReTagBuiltImageWithPredictableOnInstanceCreationFromRecipe() throws Exception {
         // given
@@ -1757,6 +1792,7 @@ public class MachineProviderImplTest {
                                            credentialsReader,
                                            dockerMachineFactory,
                                            dockerInstanceStopDetector,
+                                           imagePrePuller,
                                            transmitter,
                                            jsonRpcEndpointToMachineNameHolder,
                                            devMachineServers,
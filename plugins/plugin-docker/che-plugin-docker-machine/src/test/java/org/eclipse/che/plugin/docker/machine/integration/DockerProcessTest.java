@@ -14,6 +14,7 @@ import org.eclipse.che.api.core.model.machine.Command;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
+import org.eclipse.che.plugin.docker.client.BuildContextCache;
 import org.eclipse.che.plugin.docker.client.DockerApiVersionPathPrefixProvider;
 import org.eclipse.che.plugin.docker.client.DockerConnector;
 import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
@@ -65,7 +66,8 @@ public class DockerProcessTest {
         docker = new DockerConnector(dockerConnectorConfiguration,
                                      new DockerConnectionFactory(dockerConnectorConfiguration),
                                      new DockerRegistryAuthResolver(null, null),
-                                     new DockerApiVersionPathPrefixProvider("1.18"));
+                                     new DockerApiVersionPathPrefixProvider("1.18"),
+                                     new BuildContextCache(0));
 
         final ContainerCreated containerCreated = docker.createContainer(
                 CreateContainerParams.create(new ContainerConfig().withImage("ubuntu")
@@ -105,7 +107,8 @@ public class DockerProcessTest {
             docker = new DockerConnector(dockerConnectorConfiguration,
                                          new DockerConnectionFactory(dockerConnectorConfiguration),
                                          new DockerRegistryAuthResolver(null, null),
-                                         new DockerApiVersionPathPrefixProvider(""));
+                                         new DockerApiVersionPathPrefixProvider(""),
+                                         new BuildContextCache(0));
         }
         Command command = new CommandImpl("tailf", "tail -f /dev/null", "mvn");
         final DockerProcess dockerProcess = new DockerProcess(dockerConnectorProvider,
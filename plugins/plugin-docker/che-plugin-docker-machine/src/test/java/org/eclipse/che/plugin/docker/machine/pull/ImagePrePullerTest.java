@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine.pull;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
+import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
+import org.eclipse.che.api.workspace.server.model.impl.EnvironmentRecipeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
+import org.eclipse.che.api.workspace.server.spi.StackDao;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.UserSpecificDockerRegistryCredentialsProvider;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
+import org.eclipse.che.plugin.docker.client.exception.ImageNotFoundException;
+import org.eclipse.che.plugin.docker.client.json.ImageInfo;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests {@link ImagePrePuller}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class ImagePrePullerTest {
+
+    @Mock
+    private DockerConnectorProvider                       dockerConnectorProvider;
+    @Mock
+    private DockerConnector                               docker;
+    @Mock
+    private UserSpecificDockerRegistryCredentialsProvider dockerCredentials;
+    @Mock
+    private StackDao                                      stackDao;
+    @Mock
+    private WorkspaceDao                                  workspaceDao;
+
+    private ImagePrePuller prePuller;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        when(dockerConnectorProvider.get()).thenReturn(docker);
+        when(workspaceDao.getWorkspaces(anyBoolean(), anyInt(), anyInt())).thenReturn(emptyList());
+        when(stackDao.searchStacks(any(), any(), anyInt(), anyInt())).thenReturn(emptyList());
+        prePuller = new ImagePrePuller(dockerConnectorProvider, dockerCredentials, stackDao, workspaceDao, 2, 1, new ExecutorServiceRegistry(emptyMap()));
+    }
+
+    @Test
+    public void shouldRankImagesByRecentStartsThenByWorkspacesThenByStacks() throws Exception {
+        StackImpl stack = mock(StackImpl.class);
+        when(stack.getWorkspaceConfig()).thenReturn(config("stack/image"));
+        when(stackDao.searchStacks(any(), any(), anyInt(), anyInt())).thenReturn(singletonList(stack));
+        WorkspaceImpl workspace1 = workspace("workspace/image");
+        WorkspaceImpl workspace2 = workspace("workspace/image");
+        when(workspaceDao.getWorkspaces(anyBoolean(), anyInt(), anyInt())).thenReturn(asList(workspace1, workspace2));
+
+        assertEquals(prePuller.rankImages(), asList("workspace/image:latest", "stack/image:latest"));
+
+        prePuller.beforeStartPull("started/image");
+        prePuller.afterStartPull("started/image");
+
+        assertEquals(prePuller.rankImages(), asList("started/image:latest", "workspace/image:latest"));
+    }
+
+    @Test
+    public void shouldIgnoreSnapshotsWhenRankingImages() throws Exception {
+        when(workspaceDao.getWorkspaces(anyBoolean(), anyInt(), anyInt()))
+                .thenReturn(singletonList(workspace("localhost:5000/machine_snapshot_abcdef")));
+
+        prePuller.beforeStartPull("machine_snapshot_123456");
+
+        assertTrue(prePuller.rankImages().isEmpty());
+    }
+
+    @Test
+    public void shouldCountCacheHitsAndMissesOfWorkspaceStarts() throws Exception {
+        when(docker.inspectImage("cached/image:latest")).thenReturn(mock(ImageInfo.class));
+        when(docker.inspectImage("missing/image:latest")).thenThrow(new ImageNotFoundException("not found"));
+
+        assertTrue(prePuller.beforeStartPull("cached/image"));
+        assertFalse(prePuller.beforeStartPull("missing/image"));
+
+        assertEquals(prePuller.getCacheHits(), 1);
+        assertEquals(prePuller.getCacheMisses(), 1);
+    }
+
+    @Test
+    public void shouldPullOnlyMissingImages() throws Exception {
+        when(workspaceDao.getWorkspaces(anyBoolean(), anyInt(), anyInt()))
+                .thenReturn(asList(workspace("cached/image"), workspace("missing/image")));
+        when(docker.inspectImage("cached/image:latest")).thenReturn(mock(ImageInfo.class));
+        when(docker.inspectImage("missing/image:latest")).thenThrow(new ImageNotFoundException("not found"));
+
+        prePuller.run();
+
+        verify(docker, timeout(1000)).pull(eq(PullParams.create("missing/image").withTag("latest")), any(ProgressMonitor.class));
+        verify(docker, never()).pull(eq(PullParams.create("cached/image").withTag("latest")), any(ProgressMonitor.class));
+    }
+
+    @Test
+    public void shouldPullImageWithCredentialsOfUserWhoStartedIt() throws Exception {
+        AuthConfigs credentials = mock(AuthConfigs.class);
+        when(dockerCredentials.getCredentials()).thenReturn(credentials);
+        when(docker.inspectImage("missing/image:latest")).thenThrow(new ImageNotFoundException("not found"));
+        prePuller.beforeStartPull("missing/image");
+        prePuller.afterStartPull("missing/image");
+
+        prePuller.run();
+
+        verify(docker, timeout(1000)).pull(eq(PullParams.create("missing/image")
+                                                        .withTag("latest")
+                                                        .withAuthConfigs(credentials)),
+                                           any(ProgressMonitor.class));
+    }
+
+    @Test
+    public void shouldPostponePullsUntilImagesOfWorkspaceStartsArePulled() throws Exception {
+        when(docker.inspectImage(anyString())).thenThrow(new ImageNotFoundException("not found"));
+        prePuller.beforeStartPull("started/image");
+
+        prePuller.run();
+
+        verify(docker, after(500).never()).pull(any(PullParams.class), any(ProgressMonitor.class));
+
+        prePuller.afterStartPull("started/image");
+
+        verify(docker, timeout(1000)).pull(eq(PullParams.create("started/image").withTag("latest")), any(ProgressMonitor.class));
+    }
+
+    @Test
+    public void shouldNotPullImagesIfImagesCountIsZero() throws Exception {
+        prePuller = new ImagePrePuller(dockerConnectorProvider, dockerCredentials, stackDao, workspaceDao, 0, 1, new ExecutorServiceRegistry(emptyMap()));
+        when(workspaceDao.getWorkspaces(anyBoolean(), anyInt(), anyInt())).thenReturn(singletonList(workspace("missing/image")));
+
+        prePuller.run();
+
+        verify(docker, never()).inspectImage(anyString());
+        verify(docker, never()).pull(any(PullParams.class), any(ProgressMonitor.class));
+    }
+
+    private static WorkspaceImpl workspace(String image) {
+        WorkspaceImpl workspace = mock(WorkspaceImpl.class);
+        when(workspace.getConfig()).thenReturn(config(image));
+        return workspace;
+    }
+
+    private static WorkspaceConfigImpl config(String image) {
+        return WorkspaceConfigImpl.builder()
+                                  .setEnvironments(ImmutableMap.of("default",
+                                                                   new EnvironmentImpl(new EnvironmentRecipeImpl("dockerimage",
+                                                                                                                 null,
+                                                                                                                 null,
+                                                                                                                 image),
+                                                                                       Collections.emptyMap())))
+                                  .build();
+    }
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine.stats;
+
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.machine.shared.dto.event.MachineResourceUsageEvent;
+import org.eclipse.che.api.workspace.server.WorkspaceManager;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.subject.SubjectImpl;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests {@link MachineResourceUsageService}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class MachineResourceUsageServiceTest {
+    private static final String USER_ID = "user123";
+
+    @Mock
+    private DockerInstanceStatsCollector statsCollector;
+    @Mock
+    private WorkspaceManager             workspaceManager;
+
+    private MachineResourceUsageService service;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        EnvironmentContext.getCurrent().setSubject(new SubjectImpl("user", USER_ID, "token", false));
+        WorkspaceImpl workspace = new WorkspaceImpl();
+        workspace.setId("workspace1");
+        when(workspaceManager.getWorkspaces(USER_ID, false)).thenReturn(singletonList(workspace));
+        service = new MachineResourceUsageService(statsCollector, workspaceManager);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        EnvironmentContext.reset();
+    }
+
+    @Test
+    public void shouldReturnUsageOfMachinesOfReadableWorkspacesOnly() throws Exception {
+        MachineResourceUsageEvent readable = newDto(MachineResourceUsageEvent.class).withWorkspaceId("workspace1");
+        MachineResourceUsageEvent notReadable = newDto(MachineResourceUsageEvent.class).withWorkspaceId("workspace2");
+        when(statsCollector.getLatestUsage(null)).thenReturn(asList(readable, notReadable));
+
+        List<MachineResourceUsageEvent> usage = service.getLatestUsage(null);
+
+        assertEquals(usage.size(), 1);
+        assertEquals(usage.get(0).getWorkspaceId(), "workspace1");
+    }
+
+    @Test(expectedExceptions = ForbiddenException.class)
+    public void shouldNotReturnLatestUsageOfWorkspaceWhichUserCanNotRead() throws Exception {
+        service.getLatestUsage("workspace2");
+    }
+
+    @Test
+    public void shouldReturnUsageOfMachineOfReadableWorkspace() throws Exception {
+        when(statsCollector.getWorkspaceId("machine1")).thenReturn("workspace1");
+
+        service.getUsage("machine1", 0);
+
+        verify(statsCollector).getUsage("machine1", 0);
+    }
+
+    @Test(expectedExceptions = ForbiddenException.class)
+    public void shouldNotReturnUsageOfMachineOfWorkspaceWhichUserCanNotRead() throws Exception {
+        when(statsCollector.getWorkspaceId("machine2")).thenReturn("workspace2");
+
+        service.getUsage("machine2", 0);
+    }
+}
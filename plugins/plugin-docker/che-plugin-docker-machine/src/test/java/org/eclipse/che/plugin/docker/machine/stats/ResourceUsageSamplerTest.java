@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine.stats;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.eclipse.che.api.machine.shared.dto.MachineResourceUsageDto;
+import org.eclipse.che.plugin.docker.client.json.stats.BlkioStatEntry;
+import org.eclipse.che.plugin.docker.client.json.stats.BlkioStats;
+import org.eclipse.che.plugin.docker.client.json.stats.ContainerStats;
+import org.eclipse.che.plugin.docker.client.json.stats.CpuStats;
+import org.eclipse.che.plugin.docker.client.json.stats.CpuUsage;
+import org.eclipse.che.plugin.docker.client.json.stats.MemoryStats;
+import org.eclipse.che.plugin.docker.client.json.stats.NetworkStats;
+import org.testng.annotations.Test;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Tests {@link ResourceUsageSampler}.
+ */
+public class ResourceUsageSamplerTest {
+
+    @Test
+    public void shouldCalculateCpuPercentFromCountersDelta() {
+        ContainerStats stats = stats(1_000, 1_500, 10_000, 12_000, 2, 0);
+
+        // 500 of 2000 system ticks on 2 cores
+        assertEquals(ResourceUsageSampler.cpuPercent(stats), 50.0);
+    }
+
+    @Test
+    public void shouldReturnZeroCpuPercentWhenPreviousCountersAreMissing() {
+        ContainerStats stats = stats(1_000, 1_500, 10_000, 12_000, 2, 0).withPrecpuStats(null);
+
+        assertEquals(ResourceUsageSampler.cpuPercent(stats), 0.0);
+    }
+
+    @Test
+    public void shouldAggregateRawStatsOverInterval() {
+        ResourceUsageSampler sampler = new ResourceUsageSampler(10_000);
+
+        assertNull(sampler.accept(stats(1_000, 1_500, 10_000, 12_000, 2, 100), 0));
+        assertNull(sampler.accept(stats(1_500, 2_500, 12_000, 14_000, 2, 300), 5_000));
+        MachineResourceUsageDto sample = sampler.accept(stats(2_500, 2_500, 14_000, 16_000, 2, 500), 10_000);
+
+        assertNotNull(sample);
+        assertEquals(sample.getTimestamp(), 10_000L);
+        assertEquals(sample.getCpuPercent(), 50.0);
+        assertEquals(sample.getMemoryUsage(), 300L);
+        assertEquals(sample.getMemoryLimit(), 1_000L);
+        assertEquals(sample.getBlockRead(), 10L);
+        assertEquals(sample.getBlockWrite(), 20L);
+        assertEquals(sample.getNetworkRx(), 3L);
+        assertEquals(sample.getNetworkTx(), 7L);
+    }
+
+    @Test
+    public void shouldStartNewIntervalAfterSampleIsProduced() {
+        ResourceUsageSampler sampler = new ResourceUsageSampler(10_000);
+        sampler.accept(stats(1_000, 1_500, 10_000, 12_000, 2, 100), 0);
+        sampler.accept(stats(1_000, 1_500, 10_000, 12_000, 2, 100), 10_000);
+
+        assertNull(sampler.accept(stats(1_000, 1_500, 10_000, 12_000, 2, 700), 15_000));
+        MachineResourceUsageDto sample = sampler.accept(stats(1_000, 1_500, 10_000, 12_000, 2, 900), 20_000);
+
+        assertNotNull(sample);
+        assertEquals(sample.getMemoryUsage(), 800L);
+    }
+
+    private static ContainerStats stats(long prevCpu, long cpu, long prevSystem, long system, int cpus, long memory) {
+        return new ContainerStats().withPrecpuStats(new CpuStats().withCpuUsage(new CpuUsage().withTotalUsage(prevCpu))
+                                                                  .withSystemCpuUsage(prevSystem))
+                                   .withCpuStats(new CpuStats().withCpuUsage(new CpuUsage().withTotalUsage(cpu))
+                                                               .withSystemCpuUsage(system)
+                                                               .withOnlineCpus(cpus))
+                                   .withMemoryStats(new MemoryStats().withUsage(memory).withLimit(1_000))
+                                   .withBlkioStats(new BlkioStats().withIoServiceBytesRecursive(
+                                           asList(new BlkioStatEntry().withOp("Read").withValue(10),
+                                                  new BlkioStatEntry().withOp("Write").withValue(20),
+                                                  new BlkioStatEntry().withOp("Total").withValue(30))))
+                                   .withNetworks(ImmutableMap.of("eth0", new NetworkStats().withRxBytes(1).withTxBytes(3),
+                                                                 "eth1", new NetworkStats().withRxBytes(2).withTxBytes(4)));
+    }
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine.stats;
+
+import org.eclipse.che.api.machine.shared.dto.MachineResourceUsageDto;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Tests {@link ResourceUsageTimeSeries}.
+ */
+public class ResourceUsageTimeSeriesTest {
+
+    @Test
+    public void shouldReturnSamplesInOrderOfAddition() {
+        ResourceUsageTimeSeries timeSeries = new ResourceUsageTimeSeries(5);
+
+        timeSeries.add(sample(1));
+        timeSeries.add(sample(2));
+        timeSeries.add(sample(3));
+
+        assertEquals(timestamps(timeSeries.getAll()), asList(1L, 2L, 3L));
+        assertEquals(timeSeries.getLatest().getTimestamp(), 3L);
+        assertEquals(timeSeries.size(), 3);
+    }
+
+    @Test
+    public void shouldEvictOldestSamplesWhenCapacityIsReached() {
+        ResourceUsageTimeSeries timeSeries = new ResourceUsageTimeSeries(3);
+
+        for (long i = 1; i <= 7; i++) {
+            timeSeries.add(sample(i));
+        }
+
+        assertEquals(timestamps(timeSeries.getAll()), asList(5L, 6L, 7L));
+        assertEquals(timeSeries.getLatest().getTimestamp(), 7L);
+        assertEquals(timeSeries.size(), 3);
+    }
+
+    @Test
+    public void shouldReturnOnlySamplesTakenAfterGivenTimestamp() {
+        ResourceUsageTimeSeries timeSeries = new ResourceUsageTimeSeries(4);
+        for (long i = 1; i <= 6; i++) {
+            timeSeries.add(sample(i * 10));
+        }
+
+        assertEquals(timestamps(timeSeries.getSince(40)), asList(50L, 60L));
+    }
+
+    @Test
+    public void shouldReturnNullAsLatestSampleOfEmptyTimeSeries() {
+        assertNull(new ResourceUsageTimeSeries(1).getLatest());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldNotCreateTimeSeriesWithNonPositiveCapacity() {
+        new ResourceUsageTimeSeries(0);
+    }
+
+    private static MachineResourceUsageDto sample(long timestamp) {
+        return newDto(MachineResourceUsageDto.class).withTimestamp(timestamp);
+    }
+
+    private static List<Long> timestamps(List<MachineResourceUsageDto> samples) {
+        return samples.stream().map(MachineResourceUsageDto::getTimestamp).collect(toList());
+    }
+}
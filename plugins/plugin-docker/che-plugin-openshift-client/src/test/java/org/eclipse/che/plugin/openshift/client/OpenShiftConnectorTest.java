@@ -16,6 +16,7 @@ import static org.testng.Assert.assertEquals;
 
 import java.io.IOException;
 
+import org.eclipse.che.plugin.docker.client.BuildContextCache;
 import org.eclipse.che.plugin.docker.client.DockerApiVersionPathPrefixProvider;
 import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 import org.eclipse.che.plugin.docker.client.DockerRegistryAuthResolver;
@@ -44,6 +45,8 @@ public class OpenShiftConnectorTest {
     @Mock
     private DockerApiVersionPathPrefixProvider dockerApiVersionPathPrefixProvider;
     @Mock
+    private BuildContextCache                  buildContextCache;
+    @Mock
     private CreateContainerParams              createContainerParams;
 
     private OpenShiftConnector                 openShiftConnector;
@@ -62,6 +65,7 @@ public class OpenShiftConnectorTest {
                                                     dockerConnectionFactory,
                                                     authManager,
                                                     dockerApiVersionPathPrefixProvider,
+                                                    buildContextCache,
                                                     CHE_DEFAULT_OPENSHIFT_PROJECT_NAME,
                                                     CHE_DEFAULT_OPENSHIFT_SERVICEACCOUNT,
                                                     OPENSHIFT_LIVENESS_PROBE_DELAY,
@@ -62,6 +62,7 @@ import org.eclipse.che.plugin.jdb.server.exceptions.DebuggerAbsentInformationExc
 import org.eclipse.che.plugin.jdb.server.expression.Evaluator;
 import org.eclipse.che.plugin.jdb.server.expression.ExpressionException;
 import org.eclipse.che.plugin.jdb.server.expression.ExpressionParser;
+import org.eclipse.che.plugin.jdb.server.expression.MemberCache;
 import org.eclipse.che.plugin.jdb.server.utils.JavaDebuggerUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -71,8 +72,11 @@ import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.locks.Lock;
@@ -116,6 +120,13 @@ public class JavaDebugger implements EventsHandler, Debugger {
     private ThreadReference thread;
     /** Current stack frame. Not <code>null</code> is thread suspended, e.g breakpoint reached. */
     private JdiStackFrame   stackFrame;
+    /**
+     * Variables of the current stack frame which have been already requested, mapped by their paths.
+     * Cleared together with the current stack frame, so values are read from the target VM once per suspend.
+     */
+    private final Map<List<String>, JdiVariable> resolvedVariables = new HashMap<>();
+    /** Members resolved by expressions, shared by all the evaluations in the target VM. */
+    private final MemberCache                    expressionMembers = new MemberCache();
     /** Lock for synchronization debug processes. */
     private Lock lock = new ReentrantLock();
 
@@ -206,6 +217,7 @@ public class JavaDebugger implements EventsHandler, Debugger {
     @Override
     public void disconnect() throws DebuggerException {
         vm.dispose();
+        expressionMembers.clear();
         LOG.debug("Close connection to {}:{}", host, port);
     }
 
@@ -228,27 +240,39 @@ public class JavaDebugger implements EventsHandler, Debugger {
             throw new DebuggerException(e.getMessage(), e);
         }
 
-        if (locations.isEmpty()) {
+        addBreakpoint(breakpoint, className, locations.isEmpty() ? null : locations.get(0), getBreakpointLocations());
+    }
+
+    /**
+     * Creates request for the breakpoint at the given location.
+     *
+     * @param location
+     *         first location of the line of breakpoint, {@code null} if there is no code at the line
+     * @param breakpointLocations
+     *         locations of the breakpoints which are already set, the location of the new breakpoint is added to this set
+     */
+    private void addBreakpoint(Breakpoint breakpoint,
+                               String className,
+                               com.sun.jdi.Location location,
+                               Set<com.sun.jdi.Location> breakpointLocations) throws DebuggerException {
+        final int lineNumber = breakpoint.getLocation().getLineNumber();
+        if (location == null) {
             throw new DebuggerException("Line " + lineNumber + " not found in class " + className);
         }
 
-        com.sun.jdi.Location location = locations.get(0);
         if (location.method() == null) {
             // Line is out of method.
             throw new DebuggerException("Invalid line " + lineNumber + " in class " + className);
         }
 
         // Ignore new breakpoint if already have breakpoint at the same location.
-        EventRequestManager requestManager = getEventManager();
-        for (BreakpointRequest breakpointRequest : requestManager.breakpointRequests()) {
-            if (location.equals(breakpointRequest.location())) {
-                LOG.debug("Breakpoint at {} already set", location);
-                return;
-            }
+        if (!breakpointLocations.add(location)) {
+            LOG.debug("Breakpoint at {} already set", location);
+            return;
         }
 
         try {
-            EventRequest breakPointRequest = requestManager.createBreakpointRequest(location);
+            EventRequest breakPointRequest = getEventManager().createBreakpointRequest(location);
             breakPointRequest.setSuspendPolicy(EventRequest.SUSPEND_ALL);
             String expression = breakpoint.getCondition();
             if (!(expression == null || expression.isEmpty())) {
@@ -257,6 +281,7 @@ public class JavaDebugger implements EventsHandler, Debugger {
             }
             breakPointRequest.setEnabled(true);
         } catch (NativeMethodException | IllegalThreadStateException | InvalidRequestStateException e) {
+            breakpointLocations.remove(location);
             throw new DebuggerException(e.getMessage(), e);
         }
 
@@ -269,6 +294,15 @@ public class JavaDebugger implements EventsHandler, Debugger {
         LOG.debug("Add breakpoint: {}", location);
     }
 
+    /** Returns locations of all the breakpoints which are set in the target VM. */
+    private Set<com.sun.jdi.Location> getBreakpointLocations() throws DebuggerException {
+        Set<com.sun.jdi.Location> locations = new HashSet<>();
+        for (BreakpointRequest breakpointRequest : getEventManager().breakpointRequests()) {
+            locations.add(breakpointRequest.location());
+        }
+        return locations;
+    }
+
     private String findFQN(Breakpoint breakpoint) throws DebuggerException {
         Location location = breakpoint.getLocation();
         final String parentFqn = location.getTarget();
@@ -448,37 +482,66 @@ public class JavaDebugger implements EventsHandler, Debugger {
      */
     @Override
     public SimpleValue getValue(VariablePath variablePath) throws DebuggerException {
+        return getValue(variablePath, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Get value of variable with specified path and the given range of its nested variables.
+     * Only the requested nested variables are read from the target VM, so big arrays may be read by pages.
+     *
+     * @see #getValue(VariablePath)
+     */
+    @Override
+    public SimpleValue getValue(VariablePath variablePath, int offset, int limit) throws DebuggerException {
         List<String> path = variablePath.getPath();
         if (path.size() == 0) {
             throw new IllegalArgumentException("Path to value may not be empty. ");
         }
-        JdiVariable variable;
-        int offset;
-        if ("this".equals(path.get(0)) || "static".equals(path.get(0))) {
-            if (path.size() < 2) {
-                throw new IllegalArgumentException("Name of field required. ");
+        lock.lock();
+        try {
+            JdiVariable variable = findVariable(path);
+            if (variable == null) {
+                return null;
             }
+            return toSimpleValue(path, variable, variable.getValue().getVariables(offset, limit));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private JdiVariable findVariable(List<String> path) throws DebuggerException {
+        JdiVariable variable = resolvedVariables.get(path);
+        if (variable != null) {
+            return variable;
+        }
+
+        boolean isField = "this".equals(path.get(0)) || "static".equals(path.get(0));
+        int rootLength = isField ? 2 : 1;
+        if (path.size() < rootLength) {
+            throw new IllegalArgumentException("Name of field required. ");
+        }
+        if (path.size() > rootLength) {
+            JdiVariable parent = findVariable(path.subList(0, path.size() - 1));
+            variable = parent == null ? null : parent.getValue().getVariableByName(path.get(path.size() - 1));
+        } else if (isField) {
             variable = getCurrentFrame().getFieldByName(path.get(1));
-            offset = 2;
         } else {
             try {
                 variable = getCurrentFrame().getLocalVariableByName(path.get(0));
             } catch (DebuggerAbsentInformationException e) {
                 return null;
             }
-            offset = 1;
-        }
-
-        for (int i = offset; variable != null && i < path.size(); i++) {
-            variable = variable.getValue().getVariableByName(path.get(i));
         }
 
-        if (variable == null) {
-            return null;
+        if (variable != null) {
+            resolvedVariables.put(new ArrayList<>(path), variable);
         }
+        return variable;
+    }
 
+    private SimpleValue toSimpleValue(List<String> path, JdiVariable variable, JdiVariable[] children) throws DebuggerException {
         List<Variable> variables = new ArrayList<>();
-        for (JdiVariable ch : variable.getValue().getVariables()) {
+        for (JdiVariable ch : children) {
             VariablePathDto chPath = newDto(VariablePathDto.class).withPath(new ArrayList<>(path));
             chPath.getPath().add(ch.getName());
             if (ch instanceof JdiField) {
@@ -531,6 +594,7 @@ public class JavaDebugger implements EventsHandler, Debugger {
     @Override
     public void handleEvents(com.sun.jdi.event.EventSet eventSet) throws DebuggerException {
         boolean resume = true;
+        List<com.sun.jdi.event.ClassPrepareEvent> classPrepareEvents = new ArrayList<>();
         try {
             for (com.sun.jdi.event.Event event : eventSet) {
                 LOG.debug("New event: {}", event);
@@ -551,9 +615,14 @@ public class JavaDebugger implements EventsHandler, Debugger {
                 } else if (event instanceof com.sun.jdi.event.VMDisconnectEvent) {
                     resume = processDisconnectEvent();
                 } else if (event instanceof com.sun.jdi.event.ClassPrepareEvent) {
-                    resume = processClassPrepareEvent((com.sun.jdi.event.ClassPrepareEvent)event);
+                    // classes prepared together are processed in bulk when the whole set is read
+                    classPrepareEvents.add((com.sun.jdi.event.ClassPrepareEvent)event);
                 }
             }
+            if (!classPrepareEvents.isEmpty()) {
+                setCurrentThread(classPrepareEvents.get(classPrepareEvents.size() - 1).thread());
+                processClassPrepareEvents(classPrepareEvents);
+            }
         } finally {
             if (resume) {
                 eventSet.resume();
@@ -607,18 +676,32 @@ public class JavaDebugger implements EventsHandler, Debugger {
         return true;
     }
 
-    private boolean processClassPrepareEvent(com.sun.jdi.event.ClassPrepareEvent event) throws DebuggerException {
-        setCurrentThread(event.thread());
-        final String className = event.referenceType().name();
-
-        // add deferred breakpoints
-        List<Breakpoint> breakpointsToAdd = deferredBreakpoints.get(className);
-        if (breakpointsToAdd != null) {
-
-            for (Breakpoint b : breakpointsToAdd) {
-                addBreakpoint(b);
+    /**
+     * Adds deferred breakpoints of the prepared classes. The classes prepared at the same time are processed together,
+     * so the breakpoints which are already set are read once, and lines of each class are read once for all
+     * the breakpoints of the class.
+     */
+    private void processClassPrepareEvents(List<com.sun.jdi.event.ClassPrepareEvent> events) throws DebuggerException {
+        Set<com.sun.jdi.Location> breakpointLocations = null;
+        for (com.sun.jdi.event.ClassPrepareEvent event : events) {
+            final ReferenceType clazz = event.referenceType();
+            final String className = clazz.name();
+
+            // add deferred breakpoints
+            List<Breakpoint> breakpointsToAdd = deferredBreakpoints.remove(className);
+            if (breakpointsToAdd != null) {
+                if (breakpointLocations == null) {
+                    breakpointLocations = getBreakpointLocations();
+                }
+                Map<Integer, com.sun.jdi.Location> lines = getFirstLocationsOfLines(clazz);
+                for (Breakpoint b : breakpointsToAdd) {
+                    try {
+                        addBreakpoint(b, className, lines.get(b.getLocation().getLineNumber()), breakpointLocations);
+                    } catch (DebuggerException e) {
+                        LOG.warn("Can't add deferred breakpoint {}. {}", b.getLocation(), e.getMessage());
+                    }
+                }
             }
-            deferredBreakpoints.remove(className);
 
             // All deferred breakpoints for className have been already added,
             // so no need to listen for an appropriate ClassPrepareRequests any more.
@@ -627,7 +710,22 @@ public class JavaDebugger implements EventsHandler, Debugger {
                 getEventManager().deleteEventRequest(request);
             }
         }
-        return true;
+    }
+
+    /**
+     * Reads all the lines of the class with a single request to the target VM, the first location of each line is the
+     * same as the first location returned by {@link ReferenceType#locationsOfLine(int)}.
+     */
+    private Map<Integer, com.sun.jdi.Location> getFirstLocationsOfLines(ReferenceType clazz) {
+        Map<Integer, com.sun.jdi.Location> lines = new HashMap<>();
+        try {
+            for (com.sun.jdi.Location location : clazz.allLineLocations()) {
+                lines.putIfAbsent(location.lineNumber(), location);
+            }
+        } catch (AbsentInformationException | ClassNotPreparedException e) {
+            LOG.debug(e.getMessage(), e);
+        }
+        return lines;
     }
 
     @Override
@@ -678,7 +776,7 @@ public class JavaDebugger implements EventsHandler, Debugger {
     private com.sun.jdi.Value evaluate(ExpressionParser parser) throws DebuggerException {
         final long startTime = System.currentTimeMillis();
         try {
-            return parser.evaluate(new Evaluator(vm, getCurrentThread()));
+            return parser.evaluate(new Evaluator(vm, getCurrentThread(), expressionMembers));
         } catch (ExpressionException e) {
             throw new DebuggerException(e.getMessage(), e);
         } finally {
@@ -709,12 +807,13 @@ public class JavaDebugger implements EventsHandler, Debugger {
     }
 
     private void setCurrentThread(ThreadReference t) {
-        stackFrame = null;
+        invalidateCurrentFrame();
         thread = t;
     }
 
     private void invalidateCurrentFrame() {
         stackFrame = null;
+        resolvedVariables.clear();
     }
 
     private void invalidateCurrentThread() {
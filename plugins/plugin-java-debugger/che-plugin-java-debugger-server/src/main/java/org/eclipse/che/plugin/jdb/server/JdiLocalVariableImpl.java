@@ -20,12 +20,19 @@ import org.eclipse.che.api.debugger.server.exceptions.DebuggerException;
 public class JdiLocalVariableImpl implements JdiLocalVariable {
     private final LocalVariable variable;
     private final StackFrame    stackFrame;
+    private       JdiValue      value;
 
     public JdiLocalVariableImpl(StackFrame stackFrame, LocalVariable variable) {
         this.stackFrame = stackFrame;
         this.variable = variable;
     }
 
+    /** Creates variable with the value which is already read from the target VM. */
+    JdiLocalVariableImpl(StackFrame stackFrame, LocalVariable variable, Value value) {
+        this(stackFrame, variable);
+        this.value = JdiValueImpl.of(value);
+    }
+
     @Override
     public String getName() {
         return variable.name();
@@ -43,11 +50,10 @@ public class JdiLocalVariableImpl implements JdiLocalVariable {
 
     @Override
     public JdiValue getValue() {
-        Value value = stackFrame.getValue(variable);
         if (value == null) {
-            return new JdiNullValue();
+            value = JdiValueImpl.of(stackFrame.getValue(variable));
         }
-        return new JdiValueImpl(value);
+        return value;
     }
 
     @Override
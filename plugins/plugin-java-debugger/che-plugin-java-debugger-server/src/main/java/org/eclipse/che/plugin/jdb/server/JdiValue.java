@@ -37,6 +37,21 @@ public interface JdiValue {
      */
     JdiVariable[] getVariables() throws DebuggerException;
 
+    /**
+     * Get range of nested variables. Only requested variables are read from the target VM,
+     * so big arrays may be read by pages.
+     *
+     * @param offset
+     *         index of the first variable
+     * @param limit
+     *         maximum number of variables to return
+     * @return nested variables in the specified range, empty array if offset is out of range
+     * @throws DebuggerException
+     *         if an error occurs
+     * @see #getVariables()
+     */
+    JdiVariable[] getVariables(int offset, int limit) throws DebuggerException;
+
     /**
      * Get nested variable by name.
      *
@@ -21,6 +21,7 @@ import org.eclipse.che.api.debugger.server.exceptions.DebuggerException;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 /** @author andrew00x */
 public class JdiValueImpl implements JdiValue {
@@ -34,6 +35,11 @@ public class JdiValueImpl implements JdiValue {
         this.value = value;
     }
 
+    /** Returns {@link JdiNullValue} if the given value is null. */
+    static JdiValue of(Value value) {
+        return value == null ? new JdiNullValue() : new JdiValueImpl(value);
+    }
+
     @Override
     public String getAsString() {
         return value.toString();
@@ -56,10 +62,12 @@ public class JdiValueImpl implements JdiValue {
                     ObjectReference object = (ObjectReference)value;
                     ReferenceType type = object.referenceType();
                     List<Field> fields = type.allFields();
+                    // values of all fields are read with a single request to the target VM
+                    Map<Field, Value> values = object.getValues(fields);
                     variables = new JdiVariable[fields.size()];
                     int i = 0;
                     for (Field f : fields) {
-                        variables[i++] = new JdiFieldImpl(f, object);
+                        variables[i++] = new JdiFieldImpl(f, object, values.get(f));
                     }
                     // See JdiFieldImpl#compareTo(JdiFieldImpl).
                     Arrays.sort(variables);
@@ -69,11 +77,44 @@ public class JdiValueImpl implements JdiValue {
         return variables;
     }
 
+    @Override
+    public JdiVariable[] getVariables(int offset, int limit) throws DebuggerException {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit may not be negative. ");
+        }
+        if (variables != null || !isArray()) {
+            // fields of an object are read all together, there are not so many of them
+            JdiVariable[] all = getVariables();
+            if (offset >= all.length) {
+                return new JdiVariable[0];
+            }
+            return Arrays.copyOfRange(all, offset, (int)Math.min(all.length, (long)offset + limit));
+        }
+
+        ArrayReference array = (ArrayReference)value;
+        int length = array.length();
+        if (offset >= length) {
+            return new JdiVariable[0];
+        }
+        int count = (int)Math.min(length - offset, (long)limit);
+        // the whole range is read with a single request to the target VM
+        List<Value> values = array.getValues(offset, count);
+        JdiVariable[] range = new JdiVariable[count];
+        for (int i = 0; i < count; i++) {
+            range[i] = new JdiArrayElementImpl(offset + i, values.get(i));
+        }
+        return range;
+    }
+
     @Override
     public JdiVariable getVariableByName(String name) throws DebuggerException {
         if (name == null) {
             throw new IllegalArgumentException("Variable name may not be null. ");
         }
+        if (variables == null && isArray()) {
+            // read the single element instead of the whole array
+            return getArrayElement(name);
+        }
         for (JdiVariable variable : getVariables()) {
             if (name.equals(variable.getName())) {
                 return variable;
@@ -82,6 +123,23 @@ public class JdiValueImpl implements JdiValue {
         return null;
     }
 
+    private JdiVariable getArrayElement(String name) {
+        if (!(name.startsWith("[") && name.endsWith("]"))) {
+            return null;
+        }
+        int index;
+        try {
+            index = Integer.parseInt(name.substring(1, name.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        ArrayReference array = (ArrayReference)value;
+        if (index < 0 || index >= array.length()) {
+            return null;
+        }
+        return new JdiArrayElementImpl(index, array.getValue(index));
+    }
+
     private boolean isArray() {
         return value instanceof ArrayReference;
     }
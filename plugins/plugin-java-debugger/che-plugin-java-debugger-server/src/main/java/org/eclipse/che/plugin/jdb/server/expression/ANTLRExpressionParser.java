@@ -17,12 +17,28 @@ import org.antlr.runtime.CommonTokenStream;
 import org.antlr.runtime.RecognitionException;
 import org.antlr.runtime.tree.CommonTreeNodeStream;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * ANTLR based implementation of ExpressionParser.
  *
+ * <p>Syntax trees of the parsed expressions are cached by the text of expression. The tree doesn't depend
+ * on the context where expression is evaluated, so an expression which is evaluated again,
+ * e.g. a watch expression or the same expression at another breakpoint, is not parsed again.
+ *
  * @author andrew00x
  */
 public final class ANTLRExpressionParser extends ExpressionParser {
+    private static final int MAX_CACHED_TREES = 256;
+
+    private static final Map<String, Object> TREES = new LinkedHashMap<String, Object>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+            return size() > MAX_CACHED_TREES;
+        }
+    };
+
     private CommonTreeNodeStream nodes;
 
     public ANTLRExpressionParser(String expression) {
@@ -33,7 +49,7 @@ public final class ANTLRExpressionParser extends ExpressionParser {
     public Value evaluate(Evaluator ev) {
         try {
             if (nodes == null) {
-                parse();
+                nodes = new CommonTreeNodeStream(getTree());
             } else {
                 nodes.reset();
             }
@@ -44,10 +60,25 @@ public final class ANTLRExpressionParser extends ExpressionParser {
         }
     }
 
-    private void parse() throws RecognitionException {
-        JavaLexer lexer = new JavaLexer(new ANTLRStringStream(getExpression()));
+    private Object getTree() throws RecognitionException {
+        String expression = getExpression();
+        Object tree;
+        synchronized (TREES) {
+            tree = TREES.get(expression);
+        }
+        if (tree == null) {
+            tree = parse(expression);
+            synchronized (TREES) {
+                TREES.put(expression, tree);
+            }
+        }
+        return tree;
+    }
+
+    private static Object parse(String expression) throws RecognitionException {
+        JavaLexer lexer = new JavaLexer(new ANTLRStringStream(expression));
         CommonTokenStream tokens = new CommonTokenStream(lexer);
         JavaParser parser = new JavaParser(tokens);
-        nodes = new CommonTreeNodeStream(parser.expression().getTree());
+        return parser.expression().getTree();
     }
 }
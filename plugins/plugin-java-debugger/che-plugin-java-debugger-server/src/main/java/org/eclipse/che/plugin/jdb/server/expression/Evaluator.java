@@ -45,6 +45,7 @@ import com.sun.jdi.VirtualMachine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -69,10 +70,23 @@ public class Evaluator {
 
     private final VirtualMachine  vm;
     private final ThreadReference thread;
+    private final MemberCache     members;
+
+    /** Top frame of the thread, it is valid until the thread is resumed to invoke a method. */
+    private StackFrame frame;
 
     public Evaluator(VirtualMachine vm, ThreadReference thread) {
+        this(vm, thread, new MemberCache());
+    }
+
+    /**
+     * @param members
+     *         members resolved by the previous evaluations in the same target VM
+     */
+    public Evaluator(VirtualMachine vm, ThreadReference thread, MemberCache members) {
         this.vm = vm;
         this.thread = thread;
+        this.members = members;
     }
 
     private static boolean isPrimitive(Type type) {
@@ -228,12 +242,19 @@ public class Evaluator {
 
     public ExpressionValue getThisObject() {
         try {
-            return new ReadOnlyValue(thread.frame(0).thisObject());
-        } catch (IncompatibleThreadStateException e) {
+            return new ReadOnlyValue(frame().thisObject());
+        } catch (IncompatibleThreadStateException | InvalidStackFrameException e) {
             throw new ExpressionException(e.getMessage(), e);
         }
     }
 
+    private StackFrame frame() throws IncompatibleThreadStateException {
+        if (frame == null) {
+            frame = thread.frame(0);
+        }
+        return frame;
+    }
+
     public ExpressionValue getField(Value parent, String name) {
         if (!(parent instanceof ObjectReference)) {
             throw new ExpressionException("Value is not object. Cannot invoke method " + name);
@@ -241,7 +262,7 @@ public class Evaluator {
         ExpressionValue value = null;
         try {
             ObjectReference object = (ObjectReference)parent;
-            Field field = object.referenceType().fieldByName(name);
+            Field field = members.getField(object.referenceType(), name);
             if (field != null) {
                 value = new InstanceValue(object, field);
             }
@@ -255,12 +276,18 @@ public class Evaluator {
     public ExpressionValue getLocalVariable(String text) {
         ExpressionValue value = null;
         try {
-            StackFrame frame = thread.frame(0);
-            LocalVariable var = frame.visibleVariableByName(text);
+            StackFrame frame = frame();
+            LocalVariable var = members.getLocalVariable(frame.location(), text, () -> {
+                try {
+                    return frame.visibleVariableByName(text);
+                } catch (AbsentInformationException e) {
+                    throw new ExpressionException(e.getMessage(), e);
+                }
+            });
             if (var != null) {
                 value = new LocalValue(thread, var);
             }
-        } catch (IncompatibleThreadStateException | AbsentInformationException | InvalidStackFrameException | NativeMethodException e) {
+        } catch (IncompatibleThreadStateException | InvalidStackFrameException | NativeMethodException e) {
             throw new ExpressionException(e.getMessage(), e);
         }
         LOG.debug("GET local variable {} {} ", text, value);
@@ -391,8 +418,11 @@ public class Evaluator {
         }
         ObjectReference object = (ObjectReference)value;
         ReferenceType type = object.referenceType();
-        List<Method> methods = type.methodsByName(name);
-        Method method = findMethod(methods, arguments);
+        List<Type> argumentTypes = new ArrayList<>(arguments.size());
+        for (Value argument : arguments) {
+            argumentTypes.add(argument == null ? null : argument.type());
+        }
+        Method method = members.getMethod(type, name, argumentTypes, () -> findMethod(type.methodsByName(name), arguments));
         if (method == null) {
             throw new ExpressionException("No method with name " + name + " matched to specified arguments for " + type.name());
         }
@@ -400,6 +430,9 @@ public class Evaluator {
             return new ReadOnlyValue(object.invokeMethod(thread, method, arguments, 0));
         } catch (InvalidTypeException | ClassNotLoadedException | IncompatibleThreadStateException | InvocationException e) {
             throw new ExpressionException(e.getMessage(), e);
+        } finally {
+            // the thread is resumed while the method is invoked, so its frames must be read again
+            frame = null;
         }
     }
 
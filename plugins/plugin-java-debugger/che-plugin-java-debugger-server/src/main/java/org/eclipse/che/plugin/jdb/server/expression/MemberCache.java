@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.jdb.server.expression;
+
+import com.sun.jdi.Field;
+import com.sun.jdi.LocalVariable;
+import com.sun.jdi.Location;
+import com.sun.jdi.Method;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.Type;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Fields, methods and local variables resolved by {@link Evaluator}s of the same target VM.
+ *
+ * <p>Resolution of a member requires a few requests to the target VM and, for methods, matching
+ * of the argument types against all the overloads. The result depends only on the declaring type
+ * (or the location for local variables) and the name, so it is resolved once and reused by all
+ * the following evaluations, e.g. by each hit of a conditional breakpoint.
+ *
+ * <p>Types are not redefined by the debugger, so the entries stay valid while the target VM is connected.
+ */
+public class MemberCache {
+    private final Map<FieldKey, Optional<Field>>          fields         = new ConcurrentHashMap<>();
+    private final Map<MethodKey, Method>                  methods        = new ConcurrentHashMap<>();
+    private final Map<LocalKey, Optional<LocalVariable>> localVariables = new ConcurrentHashMap<>();
+
+    /** Returns field of the given type with the given name or {@code null} if there is no such field. */
+    Field getField(ReferenceType type, String name) {
+        return fields.computeIfAbsent(new FieldKey(type, name), key -> Optional.ofNullable(type.fieldByName(name))).orElse(null);
+    }
+
+    /**
+     * Returns method of the given type which accepts arguments of the given types, the method is resolved
+     * with the given resolver if it is not resolved yet. The resolver may throw {@link ExpressionException},
+     * in this case nothing is cached.
+     *
+     * @param argumentTypes
+     *         types of the arguments, {@code null} stands for the {@code null} argument
+     */
+    Method getMethod(ReferenceType type, String name, List<Type> argumentTypes, Supplier<Method> resolver) {
+        MethodKey key = new MethodKey(type, name, argumentTypes);
+        Method method = methods.get(key);
+        if (method == null) {
+            method = resolver.get();
+            if (method != null) {
+                methods.put(key, method);
+            }
+        }
+        return method;
+    }
+
+    /**
+     * Returns local variable with the given name visible at the given location, the variable is resolved
+     * with the given resolver if it is not resolved yet.
+     */
+    LocalVariable getLocalVariable(Location location, String name, Supplier<LocalVariable> resolver) {
+        LocalKey key = new LocalKey(location, name);
+        Optional<LocalVariable> variable = localVariables.get(key);
+        if (variable == null) {
+            variable = Optional.ofNullable(resolver.get());
+            localVariables.put(key, variable);
+        }
+        return variable.orElse(null);
+    }
+
+    /** Removes all the resolved members. */
+    public void clear() {
+        fields.clear();
+        methods.clear();
+        localVariables.clear();
+    }
+
+    private static final class FieldKey {
+        private final ReferenceType type;
+        private final String        name;
+
+        private FieldKey(ReferenceType type, String name) {
+            this.type = type;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FieldKey)) {
+                return false;
+            }
+            FieldKey other = (FieldKey)o;
+            return type.equals(other.type) && name.equals(other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + name.hashCode();
+        }
+    }
+
+    private static final class MethodKey {
+        private final ReferenceType type;
+        private final String        name;
+        private final List<Type>    argumentTypes;
+
+        private MethodKey(ReferenceType type, String name, List<Type> argumentTypes) {
+            this.type = type;
+            this.name = name;
+            this.argumentTypes = argumentTypes;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MethodKey)) {
+                return false;
+            }
+            MethodKey other = (MethodKey)o;
+            return type.equals(other.type) && name.equals(other.name) && argumentTypes.equals(other.argumentTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, name, argumentTypes);
+        }
+    }
+
+    private static final class LocalKey {
+        private final Location location;
+        private final String   name;
+
+        private LocalKey(Location location, String name) {
+            this.location = location;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LocalKey)) {
+                return false;
+            }
+            LocalKey other = (LocalKey)o;
+            return location.equals(other.location) && name.equals(other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * location.hashCode() + name.hashCode();
+        }
+    }
+}
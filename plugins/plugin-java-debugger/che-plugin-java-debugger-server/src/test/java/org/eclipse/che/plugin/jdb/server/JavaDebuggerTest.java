@@ -18,6 +18,7 @@ import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.debug.shared.model.Breakpoint;
 import org.eclipse.che.api.debug.shared.model.DebuggerInfo;
 import org.eclipse.che.api.debug.shared.model.Location;
+import org.eclipse.che.api.debug.shared.model.SimpleValue;
 import org.eclipse.che.api.debug.shared.model.StackFrameDump;
 import org.eclipse.che.api.debug.shared.model.Variable;
 import org.eclipse.che.api.debug.shared.model.event.BreakpointActivatedEvent;
@@ -41,6 +42,7 @@ import org.eclipse.che.api.project.server.WorkspaceProjectsSyncer;
 import org.eclipse.che.api.project.server.handlers.ProjectHandlerRegistry;
 import org.eclipse.che.api.project.server.importer.ProjectImporterRegistry;
 import org.eclipse.che.api.project.server.type.ProjectTypeRegistry;
+import org.eclipse.che.api.project.server.type.ValueProviderCache;
 import org.eclipse.che.api.vfs.impl.file.DefaultFileWatcherNotificationHandler;
 import org.eclipse.che.api.vfs.impl.file.FileTreeWatcher;
 import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
@@ -67,7 +69,7 @@ import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.stream.Collectors;
 
-import static java.util.Collections.singletonList;
+import static java.util.Arrays.asList;
 import static org.mockito.Mockito.mock;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
@@ -96,13 +98,21 @@ public class JavaDebuggerTest {
 
     @Test(priority = 2)
     public void testStartDebugger() throws Exception {
+        // class isn't loaded yet, so both breakpoints are deferred and set when the class is prepared
         BreakpointImpl breakpoint = new BreakpointImpl(new LocationImpl("com.HelloWorld", 17), false, null);
-        debugger.start(new StartActionImpl(singletonList(breakpoint)));
+        BreakpointImpl sayBreakpoint = new BreakpointImpl(new LocationImpl("com.HelloWorld", 28), false, null);
+        debugger.start(new StartActionImpl(asList(breakpoint, sayBreakpoint)));
+
+        Set<Integer> activatedLines = new HashSet<>();
+        for (int i = 0; i < 2; i++) {
+            DebuggerEvent debuggerEvent = events.take();
+            assertTrue(debuggerEvent instanceof BreakpointActivatedEvent);
+            activatedLines.add(((BreakpointActivatedEvent)debuggerEvent).getBreakpoint().getLocation().getLineNumber());
+        }
+        assertEquals(activatedLines, new HashSet<>(asList(17, 28)));
+        assertEquals(debugger.getAllBreakpoints().size(), 2);
 
         DebuggerEvent debuggerEvent = events.take();
-        assertTrue(debuggerEvent instanceof BreakpointActivatedEvent);
-
-        debuggerEvent = events.take();
         assertTrue(debuggerEvent instanceof SuspendEvent);
 
         Location location = ((SuspendEvent)debuggerEvent).getLocation();
@@ -134,8 +144,11 @@ public class JavaDebuggerTest {
 
     @Test(priority = 6)
     public void testRemoveBreakpoint() throws Exception {
+        int breakpointsCount = debugger.getAllBreakpoints().size();
+
         debugger.deleteBreakpoint(new LocationImpl("com.HelloWorld", 17));
-        assertEquals(debugger.getAllBreakpoints().size(), 1);
+
+        assertEquals(debugger.getAllBreakpoints().size(), breakpointsCount - 1);
     }
 
     @Test(priority = 7)
@@ -233,6 +246,10 @@ public class JavaDebuggerTest {
         assertEquals(debugger.evaluate("2+2"), "4");
         assertEquals(debugger.evaluate("\"hello\""), "\"hello\"");
         assertEquals(debugger.evaluate("test"), "\"hello\"");
+        // parsed expression and resolved variable are reused
+        assertEquals(debugger.evaluate("test"), "\"hello\"");
+        assertEquals(debugger.evaluate("test.length()"), "5");
+        assertEquals(debugger.evaluate("test.length()"), "5");
     }
 
     @Test(priority = 11)
@@ -251,6 +268,15 @@ public class JavaDebuggerTest {
         assertTrue(vars.contains("test"));
     }
 
+    @Test(priority = 11)
+    public void testGetValueByPages() throws Exception {
+        SimpleValue args = debugger.getValue(new VariablePathImpl("args"), 0, 10);
+
+        assertTrue(args.getVariables().isEmpty());
+        assertTrue(debugger.getValue(new VariablePathImpl("test"), 1000, 10).getVariables().isEmpty());
+        assertEquals(debugger.getValue(new VariablePathImpl("test"), 0, 1).getVariables().size(), 1);
+    }
+
     @Test(priority = 12)
     public void testDisconnect() throws Exception {
         debugger.disconnect();
@@ -281,7 +307,8 @@ public class JavaDebuggerTest {
                                                               vfsProvider,
                                                               projectTypeRegistry,
                                                               projectHandlerRegistry,
-                                                              eventService);
+                                                              eventService,
+                                                              new ValueProviderCache());
         projectRegistry.initProjects();
 
         ProjectImporterRegistry importerRegistry = new ProjectImporterRegistry(new HashSet<>());
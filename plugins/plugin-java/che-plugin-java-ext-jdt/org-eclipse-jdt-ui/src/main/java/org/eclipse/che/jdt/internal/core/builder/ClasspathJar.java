@@ -41,6 +41,7 @@ public class ClasspathJar extends CodenvyClasspathLocation {
     volatile SimpleSet     knownPackageNames;
     AccessRuleSet accessRuleSet;
     Set<String[]> packageNames;
+    SharedJarRegistry.Entry sharedJar;
 
     ClasspathJar(IFile resource, AccessRuleSet accessRuleSet) {
         this.resource = resource;
@@ -85,12 +86,22 @@ public class ClasspathJar extends CodenvyClasspathLocation {
      * @return A SimpleSet with the all the package names in the zipFile.
      */
     static SimpleSet findPackageSet(ClasspathJar jar) {
-        String zipFileName = jar.zipFilename;
+        return findPackageSet(jar.zipFile);
+    }
 
+    /**
+     * Calculate the package list available in the zipFile.
+     * Package names are interned as the same packages are usually split between several jars.
+     *
+     * @param zipFile
+     *         The zipFile to read
+     * @return A SimpleSet with the all the package names in the zipFile.
+     */
+    static SimpleSet findPackageSet(ZipFile zipFile) {
         SimpleSet packageSet = new SimpleSet(41);
         packageSet.add(""); //$NON-NLS-1$
         nextEntry:
-        for (Enumeration e = jar.zipFile.entries(); e.hasMoreElements(); ) {
+        for (Enumeration e = zipFile.entries(); e.hasMoreElements(); ) {
             String fileName = ((ZipEntry)e.nextElement()).getName();
 
             // add the package name & all of its parent packages
@@ -105,7 +116,7 @@ public class ClasspathJar extends CodenvyClasspathLocation {
                     }
                 }
 
-                if (packageSet.addIfNotIncluded(packageName) == null)
+                if (packageSet.addIfNotIncluded(packageName.intern()) == null)
                     continue nextEntry; // already existed
 
                 last = packageName.lastIndexOf('/');
@@ -149,7 +160,11 @@ public class ClasspathJar extends CodenvyClasspathLocation {
     }
 
     public void cleanup() {
-        if (this.zipFile != null && this.closeZipFileAtEnd) {
+        if (this.sharedJar != null) {
+            SharedJarRegistry.getInstance().release(this.sharedJar);
+            this.sharedJar = null;
+            this.zipFile = null;
+        } else if (this.zipFile != null && this.closeZipFileAtEnd) {
             try {
                 this.zipFile.close();
             } catch (IOException e) { // ignore it
@@ -204,16 +219,17 @@ public class ClasspathJar extends CodenvyClasspathLocation {
     private SimpleSet readPackages() {
         try {
             if (this.zipFile == null) {
-                if (org.eclipse.jdt.internal.core.JavaModelManager.ZIP_ACCESS_VERBOSE) {
-                    System.out.println(
-                            "(" + Thread.currentThread() + ") [ClasspathJar.isPackage(String)] Creating ZipFile on " +
-                            this.zipFilename
-                                      ); //$NON-NLS-1$	//$NON-NLS-2$
+                // the jar and its packages are shared with the other projects which depend on the same jar
+                SharedJarRegistry.Entry shared = SharedJarRegistry.getInstance().acquire(this.zipFilename);
+                this.sharedJar = shared;
+                this.zipFile = shared.getZipFile();
+                this.closeZipFileAtEnd = false;
+                if (this.lastModified == 0) {
+                    this.lastModified = shared.getLastModified();
                 }
-                this.zipFile = new ZipFile(this.zipFilename);
-                this.closeZipFileAtEnd = true;
+                return shared.getPackageNames();
             }
-           return findPackageSet(this);
+            return findPackageSet(this);
         } catch (Exception e) {
             return new SimpleSet(); // assume for this build the zipFile is empty
         }
@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt.internal.core.builder;
+
+import org.eclipse.jdt.internal.compiler.util.SimpleSet;
+import org.eclipse.jdt.internal.core.JavaModelManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipFile;
+
+/**
+ * Process wide registry of the jars used by {@link ClasspathJar}s.
+ *
+ * <p>Projects of the same workspace usually depend on the same jars, so each jar is opened once
+ * and its package set is computed once and shared by all the classpath locations which point to it.
+ * The central directory of an opened {@link ZipFile} is mapped by the JVM itself, so there is a single
+ * mapping per jar. Package names are interned, so equal names of different jars share the same strings.
+ *
+ * <p>Entries are reference counted, the jar is closed when the last location releases it.
+ * An entry is replaced when the jar is modified on the file system, the outdated entry
+ * stays opened until it is released by all the locations which still use it.
+ */
+public final class SharedJarRegistry {
+
+    private static final SharedJarRegistry INSTANCE = new SharedJarRegistry();
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    public static SharedJarRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the shared entry of the given jar, opening the jar if it is not opened yet
+     * or has been changed since it was opened. Each call must be followed by {@link #release(Entry)}.
+     *
+     * @throws IOException
+     *         if the jar can't be opened
+     */
+    public Entry acquire(String zipFilename) throws IOException {
+        File file = new File(zipFilename);
+        String key = file.getCanonicalPath();
+        long lastModified = file.lastModified();
+        long length = file.length();
+
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.lastModified == lastModified && entry.length == length) {
+                    entry.refCount++;
+                    return entry;
+                }
+                // the jar has been changed, the entry is closed when it is released by the locations which still use it
+                entries.remove(key);
+                entry.outdated = true;
+            }
+        }
+
+        // open the jar outside of the lock, reading of a big jar must not block other projects
+        if (JavaModelManager.ZIP_ACCESS_VERBOSE) {
+            System.out.println("(" + Thread.currentThread() + ") [SharedJarRegistry.acquire(String)] Creating ZipFile on " + key); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        ZipFile zipFile = new ZipFile(file);
+        SimpleSet packageNames;
+        try {
+            packageNames = ClasspathJar.findPackageSet(zipFile);
+        } catch (RuntimeException | Error e) {
+            // e.g. an entry with a malformed name, the jar is not registered so nobody else would close it
+            try {
+                zipFile.close();
+            } catch (IOException closeError) {
+                e.addSuppressed(closeError);
+            }
+            throw e;
+        }
+        Entry created = new Entry(key, zipFile, packageNames, lastModified, length);
+
+        Entry redundant;
+        synchronized (this) {
+            Entry concurrent = entries.get(key);
+            if (concurrent != null && concurrent.lastModified == lastModified && concurrent.length == length) {
+                // the same jar has been opened by another thread in the meantime
+                concurrent.refCount++;
+                redundant = created;
+                created = concurrent;
+            } else {
+                if (concurrent != null) {
+                    concurrent.outdated = true;
+                }
+                entries.put(key, created);
+                created.refCount++;
+                redundant = null;
+            }
+        }
+        if (redundant != null) {
+            redundant.close();
+        }
+        return created;
+    }
+
+    /** Releases the entry obtained with {@link #acquire(String)}, the jar is closed if the entry is not used anymore. */
+    public void release(Entry entry) {
+        synchronized (this) {
+            if (--entry.refCount > 0) {
+                return;
+            }
+            if (!entry.outdated) {
+                entries.remove(entry.path);
+            }
+        }
+        entry.close();
+    }
+
+    /** Returns the number of the opened jars. */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /** A jar opened once and shared by all the classpath locations which use it. */
+    public static final class Entry {
+        private final String    path;
+        private final ZipFile   zipFile;
+        private final SimpleSet packageNames;
+        private final long      lastModified;
+        private final long      length;
+
+        private int     refCount;
+        private boolean outdated;
+
+        private Entry(String path, ZipFile zipFile, SimpleSet packageNames, long lastModified, long length) {
+            this.path = path;
+            this.zipFile = zipFile;
+            this.packageNames = packageNames;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        public ZipFile getZipFile() {
+            return zipFile;
+        }
+
+        /** Returns package names of the jar, the set must not be modified. */
+        public SimpleSet getPackageNames() {
+            return packageNames;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        private void close() {
+            if (JavaModelManager.ZIP_ACCESS_VERBOSE) {
+                System.out.println("(" + Thread.currentThread() + ") [SharedJarRegistry.Entry.close()] Closing ZipFile on " + path); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            try {
+                zipFile.close();
+            } catch (IOException e) { // ignore it
+            }
+        }
+    }
+}
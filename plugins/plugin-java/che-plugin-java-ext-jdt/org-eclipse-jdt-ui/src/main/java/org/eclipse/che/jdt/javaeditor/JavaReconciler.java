@@ -30,12 +30,17 @@ import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.internal.core.ClassFileWorkingCopy;
+import org.eclipse.jdt.internal.core.util.Util;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author Evgen Vidolob
@@ -44,67 +49,63 @@ import java.util.List;
 public class JavaReconciler {
     private static final Logger LOG = LoggerFactory.getLogger(JavaReconciler.class);
 
+    /** The maximum number of working copies kept between reconciles, roughly the number of files opened in editors. */
+    private static final int MAX_WORKING_COPIES = 50;
 
-    private SemanticHighlightingReconciler semanticHighlighting;
+    private final SemanticHighlightingReconciler semanticHighlighting;
+    private final Map<String, ReconcileSlot>     slots;
 
     @Inject
     public JavaReconciler(SemanticHighlightingReconciler semanticHighlighting) {
         this.semanticHighlighting = semanticHighlighting;
+        this.slots = new LinkedHashMap<>(16, 0.75f, true);
     }
 
+    /**
+     * Reconciles the compilation unit of the given type.
+     *
+     * <p>Working copies are kept between reconciles of the same type and synchronized
+     * with the file by replacing only the changed region of the buffer.
+     * Concurrent requests for the same type are coalesced: a request which waits for
+     * the running reconcile gets the result of the next reconcile which starts after it.
+     */
     public ReconcileResult reconcile(IJavaProject javaProject, String fqn) throws JavaModelException {
-        final ProblemRequestor requestor = new ProblemRequestor();
-        WorkingCopyOwner wcOwner = new WorkingCopyOwner() {
-            public IProblemRequestor getProblemRequestor(ICompilationUnit unit) {
-                return requestor;
-            }
-
-            @Override
-            public IBuffer createBuffer(ICompilationUnit workingCopy) {
-//                return BufferManager.createBuffer(workingCopy);
-//                ?????
-                return new org.eclipse.jdt.internal.ui.javaeditor.DocumentAdapter(workingCopy, (IFile)workingCopy.getResource());
-            }
-        };
-        List<HighlightedPosition> positions = null;
-        ICompilationUnit compilationUnit = null;
-        try {
-            IType type = javaProject.findType(fqn);
-            if (type == null) {
-                return null;
-            }
-            if (type.isBinary()) {
-                throw new IllegalArgumentException("Can't reconcile binary type: " + fqn);
-            } else {
-                compilationUnit = type.getCompilationUnit().getWorkingCopy(wcOwner, null);
-            }
-            requestor.reset();
-            CompilationUnit unit = compilationUnit.reconcile(AST.JLS8, true, wcOwner, null);
-            positions = semanticHighlighting.reconcileSemanticHighlight(unit);
-            if (compilationUnit instanceof ClassFileWorkingCopy) {
-                //we don't wont to show any errors from ".class" files
-                requestor.reset();
+        ReconcileSlot slot = getSlot(javaProject.getPath().toString() + ':' + fqn);
+        long generation = slot.requested.incrementAndGet();
+        synchronized (slot) {
+            if (slot.completed >= generation) {
+                return slot.lastResult;
             }
+            long target = slot.requested.get();
+            ReconcileResult result = slot.reconcile(javaProject, fqn);
+            slot.completed = target;
+            slot.lastResult = result;
+            return result;
+        }
+    }
 
-        } catch (JavaModelException e) {
-            LOG.error("Can't reconcile class: " + fqn + " in project:" + javaProject.getPath().toOSString(), e);
-            throw e;
-        } finally {
-            if(compilationUnit!= null && compilationUnit.isWorkingCopy()){
-                try {
-                    //todo close buffer
-                    compilationUnit.getBuffer().close();
-                    compilationUnit.discardWorkingCopy();
-                } catch (JavaModelException e) {
-                    //ignore
+    private ReconcileSlot getSlot(String key) {
+        ReconcileSlot evicted = null;
+        ReconcileSlot slot;
+        synchronized (slots) {
+            slot = slots.get(key);
+            if (slot == null) {
+                slot = new ReconcileSlot();
+                slots.put(key, slot);
+                if (slots.size() > MAX_WORKING_COPIES) {
+                    Iterator<ReconcileSlot> it = slots.values().iterator();
+                    evicted = it.next();
+                    it.remove();
                 }
             }
         }
-
-        ReconcileResult result = DtoFactory.getInstance().createDto(ReconcileResult.class);
-        result.setProblems(convertProblems(requestor.problems));
-        result.setHighlightedPositions(positions);
-        return result;
+        if (evicted != null) {
+            evicted.evicted = true;
+            synchronized (evicted) {
+                evicted.discard();
+            }
+        }
+        return slot;
     }
 
     private List<Problem> convertProblems(List<IProblem> problems) {
@@ -131,6 +132,101 @@ public class JavaReconciler {
         return result;
     }
 
+    /** Keeps the working copy of a single compilation unit and the result of its last reconcile. */
+    private class ReconcileSlot {
+        private final AtomicLong       requested = new AtomicLong();
+        private final ProblemRequestor requestor = new ProblemRequestor();
+        private final WorkingCopyOwner wcOwner   = new WorkingCopyOwner() {
+            public IProblemRequestor getProblemRequestor(ICompilationUnit unit) {
+                return requestor;
+            }
+
+            @Override
+            public IBuffer createBuffer(ICompilationUnit workingCopy) {
+                return new org.eclipse.jdt.internal.ui.javaeditor.DocumentAdapter(workingCopy, (IFile)workingCopy.getResource());
+            }
+        };
+
+        private volatile boolean evicted;
+
+        private ICompilationUnit workingCopy;
+        private long             completed;
+        private ReconcileResult  lastResult;
+
+        ReconcileResult reconcile(IJavaProject javaProject, String fqn) throws JavaModelException {
+            List<HighlightedPosition> positions;
+            try {
+                IType type = javaProject.findType(fqn);
+                if (type == null) {
+                    discard();
+                    return null;
+                }
+                if (type.isBinary()) {
+                    throw new IllegalArgumentException("Can't reconcile binary type: " + fqn);
+                }
+                if (workingCopy == null || !type.getCompilationUnit().equals(workingCopy.getPrimary())) {
+                    discard();
+                    workingCopy = type.getCompilationUnit().getWorkingCopy(wcOwner, null);
+                } else {
+                    synchronizeWithFile();
+                }
+                requestor.reset();
+                CompilationUnit unit = workingCopy.reconcile(AST.JLS8, true, wcOwner, null);
+                positions = semanticHighlighting.reconcileSemanticHighlight(unit);
+                if (workingCopy instanceof ClassFileWorkingCopy) {
+                    //we don't wont to show any errors from ".class" files
+                    requestor.reset();
+                }
+            } catch (JavaModelException e) {
+                LOG.error("Can't reconcile class: " + fqn + " in project:" + javaProject.getPath().toOSString(), e);
+                discard();
+                throw e;
+            } finally {
+                if (evicted) {
+                    discard();
+                }
+            }
+
+            ReconcileResult result = DtoFactory.getInstance().createDto(ReconcileResult.class);
+            result.setProblems(convertProblems(requestor.problems));
+            result.setHighlightedPositions(positions);
+            return result;
+        }
+
+        /** Replaces the changed region of the working copy buffer with the content of the file. */
+        private void synchronizeWithFile() throws JavaModelException {
+            IBuffer buffer = workingCopy.getBuffer();
+            String current = buffer.getContents();
+            String updated = new String(Util.getResourceContentsAsCharArray((IFile)workingCopy.getResource()));
+            if (current.equals(updated)) {
+                return;
+            }
+            int maxPrefix = Math.min(current.length(), updated.length());
+            int prefix = 0;
+            while (prefix < maxPrefix && current.charAt(prefix) == updated.charAt(prefix)) {
+                prefix++;
+            }
+            int suffix = 0;
+            while (suffix < maxPrefix - prefix
+                   && current.charAt(current.length() - 1 - suffix) == updated.charAt(updated.length() - 1 - suffix)) {
+                suffix++;
+            }
+            buffer.replace(prefix, current.length() - prefix - suffix, updated.substring(prefix, updated.length() - suffix));
+        }
+
+        void discard() {
+            if (workingCopy != null) {
+                try {
+                    workingCopy.getBuffer().close();
+                    workingCopy.discardWorkingCopy();
+                } catch (JavaModelException e) {
+                    //ignore
+                }
+                workingCopy = null;
+            }
+        }
+    }
+
     private static class ProblemRequestor implements IProblemRequestor {
 
         private List<IProblem> problems = new ArrayList<>();
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.java.server.che;
+
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
+import org.eclipse.che.jdt.javaeditor.JavaReconciler;
+import org.eclipse.che.jdt.javaeditor.SemanticHighlightingReconciler;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests coalescing of the requests and eviction of the working copies of {@link JavaReconciler}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class JavaReconcilerTest {
+    @Mock
+    private IJavaProject                   project;
+    @Mock
+    private IPath                          projectPath;
+    @Mock
+    private SemanticHighlightingReconciler semanticHighlighting;
+
+    private List<ICompilationUnit> workingCopies;
+    private JavaReconciler         reconciler;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        when(project.getPath()).thenReturn(projectPath);
+        when(projectPath.toString()).thenReturn("/project");
+        when(project.findType(anyString())).thenAnswer(invocation -> newType());
+        workingCopies = new CopyOnWriteArrayList<>();
+        reconciler = new JavaReconciler(semanticHighlighting);
+    }
+
+    @Test
+    public void shouldReconcileOnceForRequestsReceivedWhileReconcileIsRunning() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        AtomicInteger reconciles = new AtomicInteger();
+        when(project.findType("p.X")).thenAnswer(invocation -> newType(() -> {
+            if (reconciles.incrementAndGet() == 1) {
+                firstStarted.countDown();
+                releaseFirst.await(10, SECONDS);
+            }
+        }));
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<ReconcileResult> first = executor.submit(() -> reconciler.reconcile(project, "p.X"));
+            assertTrue(firstStarted.await(10, SECONDS));
+
+            Future<ReconcileResult> second = executor.submit(() -> reconciler.reconcile(project, "p.X"));
+            Future<ReconcileResult> third = executor.submit(() -> reconciler.reconcile(project, "p.X"));
+            // let both requests register themselves before the running reconcile completes
+            Thread.sleep(500);
+            releaseFirst.countDown();
+
+            first.get(10, SECONDS);
+            assertSame(second.get(10, SECONDS), third.get(10, SECONDS));
+            assertEquals(reconciles.get(), 2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldDiscardWorkingCopyOfEvictedSlot() throws Exception {
+        for (int i = 0; i <= 50; i++) {
+            reconciler.reconcile(project, "p.X" + i);
+        }
+
+        verify(workingCopies.get(0)).discardWorkingCopy();
+        verify(workingCopies.get(1), never()).discardWorkingCopy();
+        verify(workingCopies.get(50), never()).discardWorkingCopy();
+    }
+
+    @Test
+    public void shouldKeepRecentlyUsedSlotWhenOtherSlotIsEvicted() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            reconciler.reconcile(project, "p.X" + i);
+        }
+        // the first slot becomes the most recently used one, so the second one is evicted instead
+        reconciler.reconcile(project, "p.X0");
+        ICompilationUnit recentlyUsed = workingCopies.get(50);
+
+        reconciler.reconcile(project, "p.X50");
+
+        verify(recentlyUsed, never()).discardWorkingCopy();
+        verify(workingCopies.get(1)).discardWorkingCopy();
+    }
+
+    private IType newType() throws Exception {
+        return newType(() -> {});
+    }
+
+    /**
+     * Creates the type with a new compilation unit, so each reconcile of the type
+     * creates a new working copy instead of synchronizing the previous one with the file.
+     */
+    private IType newType(Reconcile onReconcile) throws Exception {
+        IType type = mock(IType.class);
+        ICompilationUnit unit = mock(ICompilationUnit.class);
+        when(type.getCompilationUnit()).thenReturn(unit);
+        when(unit.getWorkingCopy(any(WorkingCopyOwner.class), any())).thenAnswer(invocation -> {
+            ICompilationUnit workingCopy = mock(ICompilationUnit.class);
+            IBuffer buffer = mock(IBuffer.class);
+            when(workingCopy.getBuffer()).thenReturn(buffer);
+            when(workingCopy.getPrimary()).thenReturn(unit);
+            when(workingCopy.reconcile(anyInt(), anyBoolean(), any(WorkingCopyOwner.class), any()))
+                    .thenAnswer(reconcile -> {
+                        onReconcile.run();
+                        return null;
+                    });
+            workingCopies.add(workingCopy);
+            return workingCopy;
+        });
+        return type;
+    }
+
+    private interface Reconcile {
+        void run() throws Exception;
+    }
+}
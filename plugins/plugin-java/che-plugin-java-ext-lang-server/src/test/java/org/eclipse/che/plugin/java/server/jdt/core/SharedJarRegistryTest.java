@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.java.server.jdt.core;
+
+import org.eclipse.che.jdt.internal.core.builder.SharedJarRegistry;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link SharedJarRegistry}.
+ */
+public class SharedJarRegistryTest {
+
+    private File              jar;
+    private SharedJarRegistry registry;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        jar = Files.createTempFile("shared", ".jar").toFile();
+        writeJar(jar, "p1/A.class");
+        registry = new SharedJarRegistry();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        jar.delete();
+    }
+
+    @Test
+    public void shouldShareOpenedJar() throws Exception {
+        SharedJarRegistry.Entry first = registry.acquire(jar.getPath());
+        SharedJarRegistry.Entry second = registry.acquire(jar.getPath());
+
+        assertSame(second, first);
+        assertEquals(registry.size(), 1);
+        assertTrue(first.getPackageNames().includes("p1"));
+    }
+
+    @Test
+    public void shouldCloseJarWhenItIsReleasedByAllUsers() throws Exception {
+        SharedJarRegistry.Entry first = registry.acquire(jar.getPath());
+        SharedJarRegistry.Entry second = registry.acquire(jar.getPath());
+
+        registry.release(first);
+        assertTrue(isOpened(second.getZipFile()));
+        assertEquals(registry.size(), 1);
+
+        registry.release(second);
+        assertFalse(isOpened(second.getZipFile()));
+        assertEquals(registry.size(), 0);
+    }
+
+    @Test
+    public void shouldReopenJarWhenItIsModified() throws Exception {
+        SharedJarRegistry.Entry outdated = registry.acquire(jar.getPath());
+        writeJar(jar, "p2/B.class");
+        assertTrue(jar.setLastModified(outdated.getLastModified() - 10_000));
+
+        SharedJarRegistry.Entry reopened = registry.acquire(jar.getPath());
+
+        assertNotSame(reopened, outdated);
+        assertEquals(registry.size(), 1);
+        assertTrue(reopened.getPackageNames().includes("p2"));
+        assertFalse(reopened.getPackageNames().includes("p1"));
+        // the outdated jar stays opened while it is used
+        assertTrue(isOpened(outdated.getZipFile()));
+
+        registry.release(outdated);
+        assertFalse(isOpened(outdated.getZipFile()));
+        assertTrue(isOpened(reopened.getZipFile()));
+        assertEquals(registry.size(), 1);
+
+        registry.release(reopened);
+        assertFalse(isOpened(reopened.getZipFile()));
+        assertEquals(registry.size(), 0);
+    }
+
+    private static boolean isOpened(ZipFile zipFile) {
+        try {
+            zipFile.size();
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    private static void writeJar(File jar, String entry) throws Exception {
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar))) {
+            out.putNextEntry(new ZipEntry(entry));
+            out.write(new byte[] {1, 2, 3});
+            out.closeEntry();
+        }
+    }
+}
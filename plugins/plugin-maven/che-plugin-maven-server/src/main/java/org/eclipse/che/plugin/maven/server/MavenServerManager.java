@@ -37,6 +37,7 @@ import java.rmi.Remote;
 import java.rmi.RemoteException;
 import java.rmi.server.UnicastRemoteObject;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -55,9 +56,29 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
     private String  mavenServerPath;
     private File    localRepository;
 
+    private final int                      poolSize;
+    private final List<RemoteServerHolder> pooledServers;
+
+    public MavenServerManager(String mavenServerPath) {
+        this(mavenServerPath, 1);
+    }
+
+    /**
+     * @param mavenServerPath
+     *         path to the maven server libraries
+     * @param poolSize
+     *         the number of maven server processes which may resolve projects simultaneously,
+     *         values less than 1 are treated as 1
+     */
     @Inject
-    public MavenServerManager(@Named("che.maven.server.path") String mavenServerPath) {
+    public MavenServerManager(@Named("che.maven.server.path") String mavenServerPath,
+                              @Named("che.maven.server.pool_size") int poolSize) {
         this.mavenServerPath = mavenServerPath;
+        this.poolSize = Math.max(1, poolSize);
+        this.pooledServers = new ArrayList<>(this.poolSize - 1);
+        for (int i = 1; i < this.poolSize; i++) {
+            pooledServers.add(new RemoteServerHolder(i));
+        }
 
         client = new RmiClient<MavenRemoteServer>(MavenRemoteServer.class) {
             @Override
@@ -89,22 +110,51 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
         };
     }
 
+    /** Returns the maven settings files which are used by maven servers. */
+    public List<File> getSettingsFiles() {
+        return Arrays.asList(getGlobalSettings(), getUserSettings());
+    }
+
+    private static File getUserSettings() {
+        return new File(System.getProperty("user.home"), ".m2/settings.xml");
+    }
+
+    private static File getGlobalSettings() {
+        return new File(System.getenv("M2_HOME"), "conf/settings.xml");
+    }
+
+    /** Returns the number of maven server processes available for projects resolution. */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
     public MavenServerWrapper createMavenServer() {
+        return createMavenServer(0);
+    }
+
+    /**
+     * Creates maven server which lives in the process with the given index,
+     * servers created with different indexes don't share a process and may work in parallel.
+     *
+     * @param processIndex
+     *         index of the maven server process, from 0 to {@link #getPoolSize()} exclusive
+     */
+    public MavenServerWrapper createMavenServer(int processIndex) {
         return new MavenServerWrapper() {
             @Override
             protected MavenServer create() throws RemoteException {
                 MavenSettings mavenSettings = new MavenSettings();
                 //TODO add more user settings
                 mavenSettings.setMavenHome(new File(System.getenv("M2_HOME")));
-                mavenSettings.setUserSettings(new File(System.getProperty("user.home"), ".m2/settings.xml"));
+                mavenSettings.setUserSettings(getUserSettings());
                 // Setting Global maven setting
                 // for more maven info settings visit https://maven.apache.org/settings.html
-                mavenSettings.setGlobalSettings(new File(System.getenv("M2_HOME"), "conf/settings.xml"));
+                mavenSettings.setGlobalSettings(getGlobalSettings());
                 mavenSettings.setLoggingLevel(MavenTerminal.LEVEL_INFO);
                 if (localRepository != null) {
                     mavenSettings.setLocalRepository(localRepository);
                 }
-                return MavenServerManager.this.getOrCreateWrappedObject().createServer(mavenSettings);
+                return getRemoteServer(processIndex).createServer(mavenSettings);
             }
         };
     }
@@ -125,14 +175,27 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
     @PreDestroy
     public void shutdown() {
         client.stopAll(false);
+        pooledServers.forEach(RemoteServerHolder::cleanUp);
         cleanUp();
     }
 
     @Override
     protected MavenRemoteServer create() throws RemoteException {
+        return createRemoteServer("");
+    }
+
+    private MavenRemoteServer getRemoteServer(int processIndex) throws RemoteException {
+        int index = processIndex % poolSize;
+        if (index == 0) {
+            return getOrCreateWrappedObject();
+        }
+        return pooledServers.get(index - 1).getOrCreateWrappedObject();
+    }
+
+    private synchronized MavenRemoteServer createRemoteServer(Object processKey) throws RemoteException {
         MavenRemoteServer server;
         try {
-            server = client.acquire(this, "");
+            server = client.acquire(this, processKey);
         } catch (Exception e) {
             throw new RemoteException("Can't start maven server", e);
         }
@@ -227,6 +290,25 @@ public class MavenServerManager extends RmiObjectWrapper<MavenRemoteServer> {
         T perform() throws RemoteException;
     }
 
+    /** Holds the remote server which lives in an additional maven server process. */
+    private class RemoteServerHolder extends RmiObjectWrapper<MavenRemoteServer> {
+        private final int processIndex;
+
+        private RemoteServerHolder(int processIndex) {
+            this.processIndex = processIndex;
+        }
+
+        @Override
+        protected MavenRemoteServer create() throws RemoteException {
+            return createRemoteServer(processIndex);
+        }
+
+        @Override
+        protected synchronized void cleanUp() {
+            super.cleanUp();
+        }
+    }
+
     private class RmiLogger extends RmiObject implements MavenServerLogger {
 
         @Override
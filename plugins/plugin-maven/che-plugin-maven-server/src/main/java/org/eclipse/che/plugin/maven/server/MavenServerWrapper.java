@@ -102,6 +102,10 @@ public abstract class MavenServerWrapper extends RmiObjectWrapper<MavenServer> {
         return perform(() -> getOrCreateWrappedObject().resolveProject(pom, activeProfiles, inactiveProfile));
     }
 
+    public List<MavenServerResult> resolveProjects(List<File> poms, List<String> activeProfiles, List<String> inactiveProfile) {
+        return perform(() -> getOrCreateWrappedObject().resolveProjects(poms, activeProfiles, inactiveProfile));
+    }
+
     public String getEffectivePom(File pom, List<String> activeProfiles, List<String> inactiveProfile) {
         return perform(() -> getOrCreateWrappedObject().getEffectivePom(pom, activeProfiles, inactiveProfile));
     }
@@ -17,6 +17,8 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 /**
  *
@@ -31,11 +33,37 @@ public class MavenWrapperManager {
     private final MavenServerManager    serverManager;
     private final Map<ServerType, MavenServerWrapper> cache = new HashMap<>();
     private final Set<MavenServerWrapper> usedServers = new HashSet<>();
+    private final BlockingQueue<MavenServerWrapper> resolveServers;
 
 
     @Inject
     public MavenWrapperManager(MavenServerManager serverManager) {
         this.serverManager = serverManager;
+        this.resolveServers = new ArrayBlockingQueue<>(serverManager.getPoolSize());
+        for (int i = 0; i < serverManager.getPoolSize(); i++) {
+            resolveServers.add(serverManager.createMavenServer(i));
+        }
+    }
+
+    /** Returns the number of servers which may resolve projects in parallel. */
+    public int getResolveServersCount() {
+        return serverManager.getPoolSize();
+    }
+
+    /**
+     * Takes a server from the pool of resolving servers, waits until a server is released
+     * if all of them are in use. Each server of the pool lives in a separate process,
+     * so projects resolved by different servers are resolved in parallel.
+     * The server must be returned with {@link #releaseResolveServer(MavenServerWrapper)}.
+     */
+    public MavenServerWrapper acquireResolveServer() throws InterruptedException {
+        return resolveServers.take();
+    }
+
+    /** Resets the given server and returns it to the pool of resolving servers. */
+    public void releaseResolveServer(MavenServerWrapper wrapper) {
+        wrapper.reset();
+        resolveServers.offer(wrapper);
     }
 
     public synchronized MavenServerWrapper getMavenServer(ServerType type) {
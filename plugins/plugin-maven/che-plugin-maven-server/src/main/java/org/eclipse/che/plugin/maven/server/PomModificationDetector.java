@@ -19,8 +19,8 @@ import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 
-import static java.nio.file.Files.isDirectory;
 import static org.eclipse.che.api.vfs.watcher.FileWatcherManager.EMPTY_CONSUMER;
+import static org.eclipse.che.api.vfs.watcher.FileWatcherMatchers.fileName;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
 public class PomModificationDetector {
@@ -39,7 +39,7 @@ public class PomModificationDetector {
 
     @PostConstruct
     public void startWatcher() {
-        id = manager.registerByMatcher(it -> !isDirectory(it) && POM_XML.equals(it.getFileName().toString()),
+        id = manager.registerByMatcher(fileName(POM_XML),
                                        EMPTY_CONSUMER,
                                             it -> eventService.publish(newDto(PomModifiedEventDto.class).withPath(it)),
                                        EMPTY_CONSUMER);
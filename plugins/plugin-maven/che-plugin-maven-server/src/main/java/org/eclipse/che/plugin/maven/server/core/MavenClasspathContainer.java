@@ -15,6 +15,8 @@ import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.core.IClasspathContainer;
 import org.eclipse.jdt.core.IClasspathEntry;
 
+import java.util.Arrays;
+
 /**
  * @author Evgen Vidolob
  */
@@ -45,4 +47,20 @@ public class MavenClasspathContainer implements IClasspathContainer {
     public IPath getPath() {
         return new Path(CONTAINER_ID);
     }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof MavenClasspathContainer)) {
+            return false;
+        }
+        return Arrays.equals(entries, ((MavenClasspathContainer)obj).entries);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(entries);
+    }
 }
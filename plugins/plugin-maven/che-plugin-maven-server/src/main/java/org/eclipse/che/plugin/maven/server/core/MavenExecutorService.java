@@ -10,20 +10,27 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.maven.server.core;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 
-import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
+import org.eclipse.che.api.core.executor.ThreadPoolConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.PreDestroy;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
 /**
+ * Runs maven tasks on the pools of {@link ExecutorServiceRegistry}:
+ * <ul>
+ * <li>{@code maven_executor} - a single thread which performs the maven workspace tasks one by one</li>
+ * <li>{@code maven_resolver} - threads which resolve batches of projects on the maven server processes</li>
+ * </ul>
+ *
  * @author Evgen Vidolob
  */
 @Singleton
@@ -31,21 +38,54 @@ public class MavenExecutorService {
 
     private static final Logger LOG = LoggerFactory.getLogger(MavenExecutorService.class);
 
+    /** Workspace tasks are queued by {@link MavenTaskExecutor}, so only a few of them reach the pool. */
+    private static final int EXECUTOR_QUEUE_CAPACITY = 10;
+
     private final ExecutorService service;
+    private final ExecutorService resolveService;
 
-    public MavenExecutorService() {
-        ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("Maven Executor - %d")
-                                                                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
-                                                                .build();
-        service = Executors.newFixedThreadPool(1, threadFactory);
+    /**
+     * @param resolveThreads
+     *         the number of threads which resolve projects in parallel,
+     *         should correspond to the number of maven server processes
+     */
+    @Inject
+    public MavenExecutorService(@Named("che.maven.server.pool_size") int resolveThreads, ExecutorServiceRegistry executorRegistry) {
+        service = executorRegistry.getOrCreate("maven_executor",
+                                               ThreadPoolConfig.fixed(1, EXECUTOR_QUEUE_CAPACITY)
+                                                               .withThreadNameFormat("Maven Executor - %d"));
+        // MavenProjectManager submits at most one resolving task per maven server process,
+        // the task takes the batches of projects one by one
+        final int resolvers = Math.max(1, resolveThreads);
+        resolveService = executorRegistry.getOrCreate("maven_resolver",
+                                                      ThreadPoolConfig.fixed(resolvers, resolvers)
+                                                                      .withThreadNameFormat("Maven Resolver - %d"));
     }
 
+    /**
+     * Submits the maven workspace task.
+     *
+     * @throws RejectedExecutionException
+     *         when the task can't be queued
+     */
     public void submit(Runnable task) {
         service.execute(task);
     }
 
+    /**
+     * Submits the task which performs a remote resolution of projects.
+     * Unlike {@link #submit(Runnable)} such tasks are executed in parallel.
+     *
+     * @throws RejectedExecutionException
+     *         when the task can't be queued
+     */
+    public void submitResolve(Runnable task) {
+        resolveService.execute(task);
+    }
+
     @PreDestroy
     public void shutdown() throws InterruptedException {
+        resolveService.shutdownNow();
         // Tell threads to finish off.
         service.shutdown(); // Disable new tasks from being submitted
         try {
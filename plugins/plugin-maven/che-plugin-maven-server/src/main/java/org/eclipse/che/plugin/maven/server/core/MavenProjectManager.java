@@ -21,25 +21,39 @@ import org.eclipse.che.maven.server.MavenTerminal;
 import org.eclipse.che.plugin.maven.server.MavenServerManager;
 import org.eclipse.che.plugin.maven.server.MavenServerWrapper;
 import org.eclipse.che.plugin.maven.server.MavenWrapperManager;
+import org.eclipse.che.plugin.maven.server.core.project.MavenModelReader;
+import org.eclipse.che.plugin.maven.server.core.project.MavenModelReaderResult;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProjectModifications;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IWorkspace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -49,6 +63,10 @@ import java.util.stream.Collectors;
  */
 @Singleton
 public class MavenProjectManager {
+    private static final Logger LOG = LoggerFactory.getLogger(MavenProjectManager.class);
+
+    /** The maximum number of projects resolved with one call to a maven server. */
+    private static final int MAX_RESOLVE_BATCH_SIZE = 10;
 
     private final MavenWorkspaceCache                   mavenWorkspaceCache;
     private final Map<MavenKey, MavenProject>           keyToProjectMap;
@@ -66,6 +84,7 @@ public class MavenProjectManager {
     private final MavenTerminal         terminal;
     private final MavenProgressNotifier mavenNotifier;
     private final Provider<IWorkspace>  workspaceProvider;
+    private final MavenResolutionCache  resolutionCache;
 
     private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
     private final Lock                   readLock      = readWriteLock.readLock();
@@ -78,8 +97,10 @@ public class MavenProjectManager {
                                MavenServerManager serverManager,
                                MavenTerminal terminal,
                                MavenProgressNotifier mavenNotifier,
-                               EclipseWorkspaceProvider workspaceProvider) {
+                               EclipseWorkspaceProvider workspaceProvider,
+                               MavenResolutionCache resolutionCache) {
         this.wrapperManager = wrapperManager;
+        this.resolutionCache = resolutionCache;
         this.serverManager = serverManager;
         this.terminal = terminal;
         this.mavenNotifier = mavenNotifier;
@@ -113,12 +134,26 @@ public class MavenProjectManager {
     }
 
     public void resolveMavenProject(IProject project, MavenProject mavenProject) {
+        MavenWorkspaceCache workspaceCache = copyWorkspaceCache();
+        String cacheKey = computeResolutionKey(mavenProject, workspaceCache);
+        MavenModelReaderResult cached = resolutionCache.get(mavenProject.getPomFile(), cacheKey);
+        if (cached != null) {
+            dispatcher.projectResolved(mavenProject, mavenProject.resolve(cached));
+            return;
+        }
+
         MavenServerWrapper mavenServer = wrapperManager.getMavenServer(MavenWrapperManager.ServerType.RESOLVE);
         try {
 
             mavenNotifier.setText("Resolving project: " + mavenProject.getName());
-            mavenServer.customize(copyWorkspaceCache(), terminal, mavenNotifier, false, true);
-            MavenProjectModifications modifications = mavenProject.resolve(project, mavenServer, serverManager);
+            mavenServer.customize(workspaceCache, terminal, mavenNotifier, false, true);
+            MavenModelReaderResult result = new MavenModelReader().resolveMavenProject(mavenProject.getPomFile(),
+                                                                                       mavenServer,
+                                                                                       mavenProject.getActiveProfiles(),
+                                                                                       mavenProject.getInactiveProfiles(),
+                                                                                       serverManager);
+            MavenProjectModifications modifications = mavenProject.resolve(result);
+            resolutionCache.put(mavenProject.getPomFile(), cacheKey, result, workspaceCache);
             dispatcher.projectResolved(mavenProject, modifications);
 
         } finally {
@@ -127,6 +162,186 @@ public class MavenProjectManager {
 
     }
 
+    /**
+     * Computes the key of the project resolution in {@link MavenResolutionCache},
+     * returns null if the cache is disabled or the key can't be computed.
+     */
+    private String computeResolutionKey(MavenProject mavenProject, MavenWorkspaceCache workspaceCache) {
+        if (!resolutionCache.isEnabled()) {
+            return null;
+        }
+        List<File> pomChain = new ArrayList<>();
+        Set<MavenProject> visited = new HashSet<>();
+        for (MavenProject current = mavenProject; current != null && visited.add(current); current = findParentProject(current)) {
+            pomChain.add(current.getPomFile());
+        }
+        return resolutionCache.computeKey(pomChain,
+                                          mavenProject.getActiveProfiles(),
+                                          mavenProject.getInactiveProfiles(),
+                                          serverManager.getSettingsFiles(),
+                                          workspaceCache.getAllKeys());
+    }
+
+
+    /**
+     * Resolves the given projects. Projects are split into batches, each batch is resolved
+     * with a single call to one of the pooled maven servers and batches are resolved in parallel.
+     * Resolution results are applied to the projects one by one in the calling thread,
+     * the progress is reported after each resolved project.
+     *
+     * @param mavenProjects
+     *         projects to resolve
+     * @param executor
+     *         executor which performs remote resolution
+     * @param afterResolve
+     *         called in the calling thread for each resolved project
+     */
+    public void resolveMavenProjects(Collection<MavenProject> mavenProjects,
+                                     MavenExecutorService executor,
+                                     Consumer<MavenProject> afterResolve) {
+        List<MavenProject> toResolve = mavenProjects.stream()
+                                                    .filter(mavenProject -> mavenProject.getProject().exists())
+                                                    .collect(Collectors.toList());
+        if (toResolve.isEmpty()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        MavenWorkspaceCache workspaceCache = copyWorkspaceCache();
+        Map<MavenProject, String> cacheKeys = new HashMap<>();
+        List<MavenProject> notCached = new ArrayList<>();
+        int resolved = 0;
+        for (MavenProject mavenProject : toResolve) {
+            String cacheKey = computeResolutionKey(mavenProject, workspaceCache);
+            MavenModelReaderResult cached = resolutionCache.get(mavenProject.getPomFile(), cacheKey);
+            if (cached != null) {
+                dispatcher.projectResolved(mavenProject, mavenProject.resolve(cached));
+                afterResolve.accept(mavenProject);
+                notifyResolved(mavenProject, ++resolved, toResolve.size());
+            } else {
+                cacheKeys.put(mavenProject, cacheKey);
+                notCached.add(mavenProject);
+            }
+        }
+        if (notCached.isEmpty()) {
+            LOG.info("Resolved {} maven projects from cache in {} ms", toResolve.size(), System.currentTimeMillis() - start);
+            return;
+        }
+
+        int servers = wrapperManager.getResolveServersCount();
+        List<List<MavenProject>> batches = splitToBatches(notCached, servers);
+        // batches may outnumber the servers, so at most one worker per server takes them one by one
+        Queue<List<MavenProject>> pendingBatches = new ConcurrentLinkedQueue<>(batches);
+        BlockingQueue<ResolvedBatch> resolvedBatches = new LinkedBlockingQueue<>();
+        for (int i = 0; i < Math.min(Math.max(1, servers), batches.size()); i++) {
+            try {
+                executor.submitResolve(() -> resolveBatches(pendingBatches, resolvedBatches, workspaceCache));
+            } catch (RejectedExecutionException e) {
+                LOG.debug("Batch resolution is rejected, resolving batches in the current thread. {}", e.getMessage());
+                resolveBatches(pendingBatches, resolvedBatches, workspaceCache);
+            }
+        }
+
+        try {
+            for (int i = 0; i < batches.size(); i++) {
+                ResolvedBatch batch = resolvedBatches.take();
+                for (int j = 0; j < batch.projects.size(); j++) {
+                    MavenProject mavenProject = batch.projects.get(j);
+                    if (batch.results != null) {
+                        MavenModelReaderResult result = batch.results.get(j);
+                        MavenProjectModifications modifications = mavenProject.resolve(result);
+                        resolutionCache.put(mavenProject.getPomFile(), cacheKeys.get(mavenProject), result, workspaceCache);
+                        dispatcher.projectResolved(mavenProject, modifications);
+                    } else {
+                        resolveMavenProject(mavenProject.getProject(), mavenProject);
+                    }
+                    afterResolve.accept(mavenProject);
+                    notifyResolved(mavenProject, ++resolved, toResolve.size());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LOG.info("Resolved {} maven projects in {} ms, {} of them taken from cache",
+                 toResolve.size(),
+                 System.currentTimeMillis() - start,
+                 toResolve.size() - notCached.size());
+    }
+
+    private void notifyResolved(MavenProject mavenProject, int resolved, int total) {
+        mavenNotifier.setText("Resolved project: " + mavenProject.getName());
+        mavenNotifier.setPercent((double)resolved / total);
+    }
+
+    /**
+     * Resolves the pending batches until there are no more of them. The result of each batch
+     * is posted even if the resolution fails, otherwise the one who waits for the results would hang.
+     */
+    private void resolveBatches(Queue<List<MavenProject>> pendingBatches,
+                                BlockingQueue<ResolvedBatch> resolvedBatches,
+                                MavenWorkspaceCache workspaceCache) {
+        List<MavenProject> batch;
+        while ((batch = pendingBatches.poll()) != null) {
+            ResolvedBatch resolved = new ResolvedBatch(batch, null);
+            try {
+                resolved = resolveBatch(batch, workspaceCache);
+            } catch (RuntimeException e) {
+                LOG.error("Can't resolve projects in batch, they will be resolved one by one", e);
+            } finally {
+                resolvedBatches.add(resolved);
+            }
+        }
+    }
+
+    private ResolvedBatch resolveBatch(List<MavenProject> batch, MavenWorkspaceCache workspaceCache) {
+        MavenServerWrapper mavenServer;
+        try {
+            mavenServer = wrapperManager.acquireResolveServer();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ResolvedBatch(batch, null);
+        }
+        try {
+            long start = System.currentTimeMillis();
+            mavenServer.customize(workspaceCache, terminal, mavenNotifier, false, true);
+            List<File> poms = batch.stream().map(MavenProject::getPomFile).collect(Collectors.toList());
+            MavenProject first = batch.get(0);
+            List<MavenModelReaderResult> results = new MavenModelReader().resolveMavenProjects(poms,
+                                                                                               mavenServer,
+                                                                                               first.getActiveProfiles(),
+                                                                                               first.getInactiveProfiles(),
+                                                                                               serverManager);
+            LOG.debug("Batch of {} maven projects is resolved in {} ms", batch.size(), System.currentTimeMillis() - start);
+            return new ResolvedBatch(batch, results);
+        } catch (Throwable t) {
+            LOG.error("Can't resolve projects in batch, they will be resolved one by one", t);
+            return new ResolvedBatch(batch, null);
+        } finally {
+            wrapperManager.releaseResolveServer(mavenServer);
+        }
+    }
+
+    /**
+     * Groups projects with the same profiles, as they can be resolved with one call, and splits
+     * the groups so that all the maven servers are busy and no batch exceeds {@link #MAX_RESOLVE_BATCH_SIZE}.
+     */
+    private static List<List<MavenProject>> splitToBatches(List<MavenProject> projects, int servers) {
+        Map<List<List<String>>, List<MavenProject>> sameProfiles = new LinkedHashMap<>();
+        for (MavenProject project : projects) {
+            sameProfiles.computeIfAbsent(Arrays.asList(project.getActiveProfiles(), project.getInactiveProfiles()),
+                                         key -> new ArrayList<>())
+                        .add(project);
+        }
+
+        List<List<MavenProject>> batches = new ArrayList<>();
+        for (List<MavenProject> group : sameProfiles.values()) {
+            int batchSize = Math.max(1, Math.min(MAX_RESOLVE_BATCH_SIZE, (group.size() + servers - 1) / servers));
+            for (int from = 0; from < group.size(); from += batchSize) {
+                batches.add(group.subList(from, Math.min(group.size(), from + batchSize)));
+            }
+        }
+        return batches;
+    }
 
     public void update(List<IProject> projects, boolean recursive) {
         if (projects.isEmpty()) {
@@ -519,4 +734,14 @@ public class MavenProjectManager {
             dispatcher.projectUpdated(modified, removed);
         }
     }
+
+    private static class ResolvedBatch {
+        private final List<MavenProject>           projects;
+        private final List<MavenModelReaderResult> results;
+
+        private ResolvedBatch(List<MavenProject> projects, List<MavenModelReaderResult> results) {
+            this.projects = projects;
+            this.results = results;
+        }
+    }
 }
@@ -11,33 +11,34 @@
 package org.eclipse.che.plugin.maven.server.core;
 
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
-import org.eclipse.core.resources.IProject;
+
+import java.util.Collection;
+import java.util.function.Consumer;
 
 /**
+ * Resolves a set of maven projects, e.g. a whole reactor, in parallel.
+ *
  * @author Evgen Vidolob
  */
 public class MavenProjectResolveTask implements MavenProjectTask {
 
-    private final MavenProject        mavenProject;
-    private final MavenProjectManager projectManager;
-    private final Runnable            afterTask;
+    private final Collection<MavenProject> mavenProjects;
+    private final MavenProjectManager      projectManager;
+    private final MavenExecutorService     executorService;
+    private final Consumer<MavenProject>   afterResolve;
 
-    public MavenProjectResolveTask(MavenProject mavenProject, MavenProjectManager projectManager, Runnable afterTask) {
-        this.mavenProject = mavenProject;
+    public MavenProjectResolveTask(Collection<MavenProject> mavenProjects,
+                                   MavenProjectManager projectManager,
+                                   MavenExecutorService executorService,
+                                   Consumer<MavenProject> afterResolve) {
+        this.mavenProjects = mavenProjects;
         this.projectManager = projectManager;
-        this.afterTask = afterTask;
+        this.executorService = executorService;
+        this.afterResolve = afterResolve;
     }
 
     @Override
     public void perform() {
-        IProject project = mavenProject.getProject();
-        if (!project.exists()) {
-            return;
-        }
-        projectManager.resolveMavenProject(project, mavenProject);
-        if (afterTask != null) {
-            afterTask.run();
-        }
-
+        projectManager.resolveMavenProjects(mavenProjects, executorService, afterResolve != null ? afterResolve : project -> {});
     }
 }
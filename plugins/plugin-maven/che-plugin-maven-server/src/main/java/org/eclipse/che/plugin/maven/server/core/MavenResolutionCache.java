@@ -0,0 +1,311 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenConstants;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.maven.data.MavenModel;
+import org.eclipse.che.maven.data.MavenWorkspaceCache;
+import org.eclipse.che.plugin.maven.server.core.project.MavenModelReaderResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Disk cache of the maven projects resolution results, allows to skip
+ * resolution through the maven server when the project inputs are not changed.
+ *
+ * <p>The key of an entry is a hash of everything the resolution depends on: content of the project pom
+ * and poms of its parents, active and inactive profiles, maven settings and the set of workspace artifacts.
+ * Each entry also stores hashes of the workspace poms the project depends on, and the entry
+ * is ignored if any of those poms is changed. Dependencies resolved from the local repository
+ * must still exist when the entry is read, and modification times of the resolved snapshot
+ * dependencies must be the same as when the entry was stored, as a snapshot may be
+ * re-deployed without changing the project inputs. There is a single entry per pom,
+ * so an entry is replaced as soon as the project is resolved with different inputs.
+ *
+ * <p>Only successful resolution results are cached, results with problems or
+ * unresolved artifacts are always resolved again.
+ */
+@Singleton
+public class MavenResolutionCache {
+    private static final Logger LOG = LoggerFactory.getLogger(MavenResolutionCache.class);
+
+    private static final String ENTRY_SUFFIX    = ".model";
+    private static final String SNAPSHOT_SUFFIX = "-SNAPSHOT";
+    /** Stored instead of the modification time of a release dependency, only its existence is checked. */
+    private static final long   RELEASE_STAMP   = -1;
+
+    private final Path cacheDir;
+
+    /**
+     * @param cacheDir
+     *         directory where resolution results are stored, the cache is disabled if the value is empty
+     */
+    @Inject
+    public MavenResolutionCache(@Named("che.maven.resolution_cache.dir") String cacheDir) {
+        this.cacheDir = initCacheDir(cacheDir);
+    }
+
+    public boolean isEnabled() {
+        return cacheDir != null;
+    }
+
+    /**
+     * Computes the key of the project resolution.
+     *
+     * @param pomChain
+     *         the project pom followed by poms of its parents
+     * @param activeProfiles
+     *         profiles the project is resolved with
+     * @param inactiveProfiles
+     *         profiles explicitly deactivated for the project
+     * @param settingsFiles
+     *         maven settings files, the missing ones are skipped
+     * @param workspaceArtifacts
+     *         artifacts which are resolved from the workspace
+     * @return the key or null if any of the poms can't be read
+     */
+    public String computeKey(List<File> pomChain,
+                             List<String> activeProfiles,
+                             List<String> inactiveProfiles,
+                             List<File> settingsFiles,
+                             Set<MavenKey> workspaceArtifacts) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        try {
+            for (File pom : pomChain) {
+                hasher.putString(pom.getAbsolutePath(), UTF_8).putBytes(Files.readAllBytes(pom.toPath()));
+            }
+            for (File settings : settingsFiles) {
+                if (settings.isFile()) {
+                    hasher.putString(settings.getAbsolutePath(), UTF_8).putBytes(Files.readAllBytes(settings.toPath()));
+                }
+            }
+        } catch (IOException x) {
+            LOG.debug(x.getLocalizedMessage(), x);
+            return null;
+        }
+        hasher.putString(String.valueOf(activeProfiles), UTF_8)
+              .putString(String.valueOf(inactiveProfiles), UTF_8);
+        workspaceArtifacts.stream()
+                          .map(MavenKey::toString)
+                          .sorted()
+                          .forEach(artifact -> hasher.putString(artifact, UTF_8));
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Returns the cached resolution result of the given pom or null if there is no entry with the given key,
+     * the workspace poms the project depends on are changed or the resolved dependency files are changed.
+     */
+    public MavenModelReaderResult get(File pom, String key) {
+        if (cacheDir == null || key == null) {
+            return null;
+        }
+        Path entryFile = entryFile(pom);
+        if (!Files.isRegularFile(entryFile)) {
+            return null;
+        }
+
+        Entry entry;
+        try (InputStream in = Files.newInputStream(entryFile);
+             ObjectInputStream objectIn = new ObjectInputStream(in)) {
+            entry = (Entry)objectIn.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException x) {
+            LOG.debug("Can't read resolution cache entry of '{}'. {}", pom, x.getLocalizedMessage());
+            invalidate(pom);
+            return null;
+        }
+
+        if (!key.equals(entry.key)) {
+            return null;
+        }
+        for (Map.Entry<String, String> dependency : entry.workspaceDependencies.entrySet()) {
+            if (!dependency.getValue().equals(hashOf(new File(dependency.getKey())))) {
+                return null;
+            }
+        }
+        for (Map.Entry<String, Long> dependency : entry.dependencyFiles.entrySet()) {
+            File file = new File(dependency.getKey());
+            if (!file.exists() || (dependency.getValue() != RELEASE_STAMP && file.lastModified() != dependency.getValue())) {
+                return null;
+            }
+        }
+        return new MavenModelReaderResult(entry.model,
+                                          entry.activeProfiles,
+                                          entry.inactiveProfiles,
+                                          new ArrayList<>(),
+                                          new HashSet<>());
+    }
+
+    /**
+     * Stores the resolution result of the given pom replacing the previous one.
+     * Results with problems, unresolved artifacts or dependencies without files are not stored.
+     *
+     * @param workspaceCache
+     *         the workspace artifacts the project has been resolved with
+     */
+    public void put(File pom, String key, MavenModelReaderResult result, MavenWorkspaceCache workspaceCache) {
+        if (cacheDir == null || key == null) {
+            return;
+        }
+        if (!result.getProblems().isEmpty() || !result.getUnresolvedArtifacts().isEmpty()) {
+            invalidate(pom);
+            return;
+        }
+
+        Map<String, String> workspaceDependencies = new HashMap<>();
+        Map<String, Long> dependencyFiles = new HashMap<>();
+        for (MavenArtifact dependency : result.getMavenModel().getDependencies()) {
+            MavenWorkspaceCache.Entry workspaceEntry =
+                    workspaceCache.findEntry(new MavenKey(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion()));
+            if (workspaceEntry != null) {
+                File dependencyPom = workspaceEntry.getFile(MavenConstants.POM_EXTENSION);
+                String hash = hashOf(dependencyPom);
+                if (hash == null) {
+                    return;
+                }
+                workspaceDependencies.put(dependencyPom.getAbsolutePath(), hash);
+            } else {
+                File file = dependency.getFile();
+                if (file == null || !file.exists()) {
+                    invalidate(pom);
+                    return;
+                }
+                dependencyFiles.put(file.getAbsolutePath(), isSnapshot(dependency) ? file.lastModified() : RELEASE_STAMP);
+            }
+        }
+
+        Entry entry = new Entry(key,
+                                result.getMavenModel(),
+                                result.getActiveProfiles() == null ? null : new ArrayList<>(result.getActiveProfiles()),
+                                result.getInactiveProfiles() == null ? null : new ArrayList<>(result.getInactiveProfiles()),
+                                workspaceDependencies,
+                                dependencyFiles);
+        Path entryFile = entryFile(pom);
+        Path tmp = null;
+        try {
+            tmp = Files.createTempFile(cacheDir, "entry", ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp);
+                 ObjectOutputStream objectOut = new ObjectOutputStream(out)) {
+                objectOut.writeObject(entry);
+            }
+            Files.move(tmp, entryFile, ATOMIC_MOVE, REPLACE_EXISTING);
+        } catch (IOException x) {
+            LOG.warn("Can't store resolution cache entry of '{}'. {}", pom, x.getLocalizedMessage());
+            deleteQuietly(tmp);
+        }
+    }
+
+    /** Removes the cached resolution result of the given pom. */
+    public void invalidate(File pom) {
+        if (cacheDir == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(entryFile(pom));
+        } catch (IOException x) {
+            LOG.warn("Can't remove resolution cache entry of '{}'. {}", pom, x.getLocalizedMessage());
+        }
+    }
+
+    private Path entryFile(File pom) {
+        return cacheDir.resolve(Hashing.sha256().hashString(pom.getAbsolutePath(), UTF_8).toString() + ENTRY_SUFFIX);
+    }
+
+    private static boolean isSnapshot(MavenArtifact artifact) {
+        String version = artifact.getBaseVersion() != null ? artifact.getBaseVersion() : artifact.getVersion();
+        return version != null && version.endsWith(SNAPSHOT_SUFFIX);
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException x) {
+            LOG.debug("Can't remove temporary file '{}'. {}", file, x.getLocalizedMessage());
+        }
+    }
+
+    private static String hashOf(File file) {
+        try {
+            return Hashing.sha256().hashBytes(Files.readAllBytes(file.toPath())).toString();
+        } catch (IOException x) {
+            return null;
+        }
+    }
+
+    private static Path initCacheDir(String cacheDir) {
+        if (cacheDir == null || cacheDir.isEmpty()) {
+            return null;
+        }
+        Path dir = new File(cacheDir).toPath();
+        try {
+            return Files.createDirectories(dir);
+        } catch (IOException x) {
+            LOG.warn("Maven resolution cache is disabled, can't create directory '{}'. {}", dir, x.getLocalizedMessage());
+            return null;
+        }
+    }
+
+    private static class Entry implements Serializable {
+        private static final long serialVersionUID = 2L;
+
+        private final String              key;
+        private final MavenModel          model;
+        private final List<String>        activeProfiles;
+        private final List<String>        inactiveProfiles;
+        private final Map<String, String> workspaceDependencies;
+        private final Map<String, Long>   dependencyFiles;
+
+        private Entry(String key,
+                      MavenModel model,
+                      List<String> activeProfiles,
+                      List<String> inactiveProfiles,
+                      Map<String, String> workspaceDependencies,
+                      Map<String, Long> dependencyFiles) {
+            this.key = key;
+            this.model = model;
+            this.activeProfiles = activeProfiles;
+            this.inactiveProfiles = inactiveProfiles;
+            this.workspaceDependencies = workspaceDependencies;
+            this.dependencyFiles = dependencyFiles;
+        }
+    }
+}
@@ -15,6 +15,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.LinkedList;
 import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
@@ -63,7 +64,13 @@ public class MavenTaskExecutor {
     }
 
     private void runTask(MavenProjectTask task) {
-       service.submit(() -> doRunTasks(task));
+        try {
+            service.submit(() -> doRunTasks(task));
+        } catch (RejectedExecutionException e) {
+            LOG.error("Maven task is rejected: {}", e.getMessage());
+            queue.clear();
+            isWorking = false;
+        }
     }
 
     private void doRunTasks(MavenProjectTask task) {
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core.classpath;
+
+import org.eclipse.jdt.core.IClasspathEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Difference between the previous and the new entries of a classpath container.
+ *
+ * <p>Entries which are present in both containers are taken from the previous container,
+ * so JDT sees the same entries for unchanged dependencies and keeps their package fragment roots and indexes.
+ */
+public class ClasspathDiff {
+
+    private final List<IClasspathEntry> added;
+    private final List<IClasspathEntry> removed;
+    private final IClasspathEntry[]     merged;
+    private final boolean               reordered;
+
+    private ClasspathDiff(List<IClasspathEntry> added, List<IClasspathEntry> removed, IClasspathEntry[] merged, boolean reordered) {
+        this.added = added;
+        this.removed = removed;
+        this.merged = merged;
+        this.reordered = reordered;
+    }
+
+    /**
+     * Computes the difference between classpath entries.
+     *
+     * @param oldEntries
+     *         entries of the previous container, may be null if there is no previous container
+     * @param newEntries
+     *         entries of the new container
+     */
+    public static ClasspathDiff compute(IClasspathEntry[] oldEntries, IClasspathEntry[] newEntries) {
+        if (oldEntries == null) {
+            return new ClasspathDiff(Arrays.asList(newEntries), new ArrayList<>(), newEntries, false);
+        }
+
+        Map<IClasspathEntry, IClasspathEntry> previous = new HashMap<>();
+        for (IClasspathEntry entry : oldEntries) {
+            previous.put(entry, entry);
+        }
+
+        List<IClasspathEntry> added = new ArrayList<>();
+        IClasspathEntry[] merged = new IClasspathEntry[newEntries.length];
+        for (int i = 0; i < newEntries.length; i++) {
+            IClasspathEntry existing = previous.remove(newEntries[i]);
+            if (existing != null) {
+                merged[i] = existing;
+            } else {
+                merged[i] = newEntries[i];
+                added.add(newEntries[i]);
+            }
+        }
+
+        List<IClasspathEntry> removed = new ArrayList<>(previous.size());
+        for (IClasspathEntry entry : oldEntries) {
+            if (previous.containsKey(entry)) {
+                removed.add(entry);
+            }
+        }
+        boolean reordered = added.isEmpty() && removed.isEmpty() && !Arrays.equals(oldEntries, merged);
+        return new ClasspathDiff(added, removed, merged, reordered);
+    }
+
+    /** Returns entries which are not present in the previous container. */
+    public List<IClasspathEntry> getAdded() {
+        return added;
+    }
+
+    /** Returns entries of the previous container which are not present in the new one. */
+    public List<IClasspathEntry> getRemoved() {
+        return removed;
+    }
+
+    /** Returns entries of the new container where unchanged entries are the instances of the previous container. */
+    public IClasspathEntry[] getEntries() {
+        return merged;
+    }
+
+    /** Returns true if the new container is the same as the previous one, so JDT doesn't need to be updated. */
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && !reordered;
+    }
+
+    @Override
+    public String toString() {
+        return "ClasspathDiff{" +
+               "added=" + added.size() +
+               ", removed=" + removed.size() +
+               ", reordered=" + reordered +
+               '}';
+    }
+}
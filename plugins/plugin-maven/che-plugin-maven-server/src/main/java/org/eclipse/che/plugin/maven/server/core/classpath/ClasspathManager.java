@@ -42,6 +42,8 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * @author Evgen Vidolob
@@ -65,6 +67,8 @@ public class ClasspathManager {
     private final MavenProgressNotifier notifier;
     private File                        localRepository;
 
+    private final List<Consumer<MavenProject>> listeners = new CopyOnWriteArrayList<>();
+
     @Inject
     public ClasspathManager(@Named("che.user.workspaces.storage") String workspacePath,
                             MavenWrapperManager wrapperManager,
@@ -90,19 +94,66 @@ public class ClasspathManager {
         }
     }
 
+    /**
+     * Updates maven classpath container of the project. The new container is compared with the previous one
+     * and JDT is updated only if entries are changed, unchanged entries are passed to JDT as is,
+     * so their package fragment roots and indexes are kept.
+     * Listeners are notified when the container is up to date, even if it is not changed.
+     */
     public void updateClasspath(MavenProject mavenProject) {
         IJavaProject javaProject = JavaCore.create(mavenProject.getProject());
         if (javaProject != null) {
+            long start = System.currentTimeMillis();
             IClasspathEntry[] entries = getClasspath(mavenProject);
-            MavenClasspathContainer container = new MavenClasspathContainer(entries);
+            Path containerPath = new Path(MavenClasspathContainer.CONTAINER_ID);
+            IClasspathContainer previous = JavaModelManager.getJavaModelManager().containerGet(javaProject, containerPath);
+            IClasspathEntry[] previousEntries = null;
+            if (previous != null && previous != JavaModelManager.CONTAINER_INITIALIZATION_IN_PROGRESS) {
+                previousEntries = previous.getClasspathEntries();
+            }
+            ClasspathDiff diff = ClasspathDiff.compute(previousEntries, entries);
+            long diffTime = System.currentTimeMillis() - start;
+            if (previousEntries != null && diff.isEmpty()) {
+                LOG.debug("Classpath of project '{}' is not changed, diff time {} ms", mavenProject.getName(), diffTime);
+                fireClasspathUpdated(mavenProject);
+                return;
+            }
+
+            start = System.currentTimeMillis();
+            MavenClasspathContainer container = new MavenClasspathContainer(diff.getEntries());
             try {
-                JavaCore.setClasspathContainer(new Path(MavenClasspathContainer.CONTAINER_ID),
+                JavaCore.setClasspathContainer(containerPath,
                                                new IJavaProject[]{javaProject},
                                                new IClasspathContainer[]{container},
                                                new NullProgressMonitor());
             } catch (JavaModelException e) {
                 LOG.error(e.getMessage(), e);
             }
+            LOG.debug("Classpath of project '{}' is updated with {}, diff time {} ms, JDT update time {} ms",
+                      mavenProject.getName(),
+                      diff,
+                      diffTime,
+                      System.currentTimeMillis() - start);
+            fireClasspathUpdated(mavenProject);
+        }
+    }
+
+    /** Adds listener which is notified after the maven classpath container of a project is updated. */
+    public void addListener(Consumer<MavenProject> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<MavenProject> listener) {
+        listeners.remove(listener);
+    }
+
+    private void fireClasspathUpdated(MavenProject mavenProject) {
+        for (Consumer<MavenProject> listener : listeners) {
+            try {
+                listener.accept(mavenProject);
+            } catch (RuntimeException e) {
+                LOG.error(e.getMessage(), e);
+            }
         }
     }
 
@@ -57,33 +57,70 @@ public class MavenModelReader {
                                                       List<String> inactiveProfiles, MavenServerManager serverManager) {
         try {
             MavenServerResult resolveProject = mavenServer.resolveProject(pom, activeProfiles, inactiveProfiles);
-            MavenProjectInfo projectInfo = resolveProject.getProjectInfo();
-            if (projectInfo != null) {
-                return new MavenModelReaderResult(projectInfo.getMavenModel(),
-                                                  projectInfo.getActiveProfiles(),
-                                                  Collections.emptyList(),
-                                                  resolveProject.getProblems(),
-                                                  resolveProject.getUnresolvedArtifacts());
-            } else {
-                MavenModelReaderResult readMavenProject = readMavenProject(pom, serverManager);
-                readMavenProject.getProblems().addAll(resolveProject.getProblems());
-                readMavenProject.getUnresolvedArtifacts().addAll(resolveProject.getUnresolvedArtifacts());
-                return readMavenProject;
-            }
+            return toReaderResult(pom, resolveProject, serverManager);
+        } catch (Throwable t) {
+            return failedResolution(pom, t, serverManager);
+        }
+    }
 
+    /**
+     * Resolves the given poms with one call to the maven server, if the batch fails
+     * each pom is resolved separately so a broken pom doesn't affect the others.
+     *
+     * @return results in the order of the given poms
+     */
+    public List<MavenModelReaderResult> resolveMavenProjects(List<File> poms, MavenServerWrapper mavenServer, List<String> activeProfiles,
+                                                             List<String> inactiveProfiles, MavenServerManager serverManager) {
+        List<MavenServerResult> serverResults;
+        try {
+            serverResults = mavenServer.resolveProjects(poms, activeProfiles, inactiveProfiles);
         } catch (Throwable t) {
-            String message = t.getMessage();
-            LOG.info(message, t);
-            MavenModelReaderResult readMavenProject = readMavenProject(pom, serverManager);
-            if (message != null) {
-                readMavenProject.getProblems().add(MavenProjectProblem.newStructureProblem(pom.getPath(), message));
-            } else {
-                readMavenProject.getProblems().add(MavenProjectProblem.newSyntaxProblem(pom.getPath(), MavenProblemType.SYNTAX));
+            LOG.info("Batch resolution failed, projects will be resolved one by one. " + t.getMessage(), t);
+            return poms.stream()
+                       .map(pom -> resolveMavenProject(pom, mavenServer, activeProfiles, inactiveProfiles, serverManager))
+                       .collect(Collectors.toList());
+        }
+
+        List<MavenModelReaderResult> results = new ArrayList<>(poms.size());
+        for (int i = 0; i < poms.size(); i++) {
+            File pom = poms.get(i);
+            try {
+                results.add(toReaderResult(pom, serverResults.get(i), serverManager));
+            } catch (Throwable t) {
+                results.add(failedResolution(pom, t, serverManager));
             }
+        }
+        return results;
+    }
+
+    private MavenModelReaderResult toReaderResult(File pom, MavenServerResult resolveProject, MavenServerManager serverManager) {
+        MavenProjectInfo projectInfo = resolveProject.getProjectInfo();
+        if (projectInfo != null) {
+            return new MavenModelReaderResult(projectInfo.getMavenModel(),
+                                              projectInfo.getActiveProfiles(),
+                                              Collections.emptyList(),
+                                              resolveProject.getProblems(),
+                                              resolveProject.getUnresolvedArtifacts());
+        } else {
+            MavenModelReaderResult readMavenProject = readMavenProject(pom, serverManager);
+            readMavenProject.getProblems().addAll(resolveProject.getProblems());
+            readMavenProject.getUnresolvedArtifacts().addAll(resolveProject.getUnresolvedArtifacts());
             return readMavenProject;
         }
     }
 
+    private MavenModelReaderResult failedResolution(File pom, Throwable t, MavenServerManager serverManager) {
+        String message = t.getMessage();
+        LOG.info(message, t);
+        MavenModelReaderResult readMavenProject = readMavenProject(pom, serverManager);
+        if (message != null) {
+            readMavenProject.getProblems().add(MavenProjectProblem.newStructureProblem(pom.getPath(), message));
+        } else {
+            readMavenProject.getProblems().add(MavenProjectProblem.newSyntaxProblem(pom.getPath(), MavenProblemType.SYNTAX));
+        }
+        return readMavenProject;
+    }
+
     public MavenModelReaderResult readMavenProject(File pom, MavenServerManager serverManager) {
         Pair<ModelReadingResult, Pair<List<String>, List<String>>> readResult = readModel(pom);
         MavenModel model = readResult.first.model;
@@ -169,6 +169,21 @@ public class MavenProject {
         return setModel(modelReaderResult, modelReaderResult.getProblems().isEmpty(), false);
     }
 
+    /** Applies the result of the project resolution made outside, e.g. in a batch with other projects. */
+    public MavenProjectModifications resolve(MavenModelReaderResult resolutionResult) {
+        return setModel(resolutionResult, resolutionResult.getProblems().isEmpty(), false);
+    }
+
+    /** Returns the profiles which are used to resolve the project. */
+    public List<String> getActiveProfiles() {
+        return info.activeProfiles;
+    }
+
+    /** Returns the profiles which are explicitly deactivated for the project. */
+    public List<String> getInactiveProfiles() {
+        return info.inactiveProfiles;
+    }
+
     public MavenProjectModifications read(MavenServerManager manager) {
         return read(project, manager);
     }
@@ -10,7 +10,6 @@
  *******************************************************************************/
 package org.eclipse.che.plugin.maven.server.projecttype;
 
-import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.project.server.FileEntry;
 import org.eclipse.che.api.project.server.FolderEntry;
@@ -18,16 +17,15 @@ import org.eclipse.che.api.project.server.type.ReadonlyValueProvider;
 import org.eclipse.che.api.project.server.type.ValueProvider;
 import org.eclipse.che.api.project.server.type.ValueProviderFactory;
 import org.eclipse.che.api.project.server.type.ValueStorageException;
+import org.eclipse.che.commons.xml.XMLStreamSelector;
 import org.eclipse.che.commons.xml.XMLTreeException;
-import org.eclipse.che.ide.maven.tools.Build;
-import org.eclipse.che.ide.maven.tools.Model;
-import org.eclipse.che.ide.maven.tools.Resource;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 import static org.eclipse.che.ide.ext.java.shared.Constants.SOURCE_FOLDER;
 import static org.eclipse.che.plugin.maven.shared.MavenAttributes.ARTIFACT_ID;
@@ -45,16 +43,58 @@ import static org.eclipse.che.plugin.maven.shared.MavenAttributes.TEST_SOURCE_FO
 import static org.eclipse.che.plugin.maven.shared.MavenAttributes.VERSION;
 
 /**
+ * Provides attributes of maven projects read from pom.xml.
+ *
+ * <p>Attributes are read for each detected or registered maven project, so pom.xml
+ * is read with {@link XMLStreamSelector} in a single pass for all the attributes,
+ * without building the whole model of the project.
+ *
  * @author Evgen Vidolob
  */
 public class MavenValueProviderFactory implements ValueProviderFactory {
+    private static final String POM_XML = "pom.xml";
+
+    private static final String PROJECT_GROUP_ID            = "/project/groupId";
+    private static final String PROJECT_ARTIFACT_ID         = "/project/artifactId";
+    private static final String PROJECT_VERSION             = "/project/version";
+    private static final String PROJECT_PACKAGING           = "/project/packaging";
+    private static final String PARENT                      = "/project/parent";
+    private static final String PARENT_GROUP_ID_PATH        = "/project/parent/groupId";
+    private static final String PARENT_ARTIFACT_ID_PATH     = "/project/parent/artifactId";
+    private static final String PARENT_VERSION_PATH         = "/project/parent/version";
+    private static final String BUILD                       = "/project/build";
+    private static final String BUILD_SOURCE_DIRECTORY      = "/project/build/sourceDirectory";
+    private static final String BUILD_TEST_SOURCE_DIRECTORY = "/project/build/testSourceDirectory";
+    private static final String BUILD_RESOURCES             = "/project/build/resources";
+    private static final String BUILD_RESOURCE_DIRECTORY    = "/project/build/resources/resource/directory";
 
-    protected Model readModel(FolderEntry projectFolder) throws ValueStorageException, ServerException, ForbiddenException, IOException {
-        FileEntry pomFile = (FileEntry)projectFolder.getChild("pom.xml");
+    private static final List<String> POM_PATHS = Arrays.asList(PROJECT_GROUP_ID,
+                                                                PROJECT_ARTIFACT_ID,
+                                                                PROJECT_VERSION,
+                                                                PROJECT_PACKAGING,
+                                                                PARENT,
+                                                                PARENT_GROUP_ID_PATH,
+                                                                PARENT_ARTIFACT_ID_PATH,
+                                                                PARENT_VERSION_PATH,
+                                                                BUILD,
+                                                                BUILD_SOURCE_DIRECTORY,
+                                                                BUILD_TEST_SOURCE_DIRECTORY,
+                                                                BUILD_RESOURCES,
+                                                                BUILD_RESOURCE_DIRECTORY);
+
+    /**
+     * Reads text of the elements of pom.xml which the attributes are provided from.
+     *
+     * @return text of the elements mapped by their paths, e.g. {@code /project/artifactId}
+     */
+    protected Map<String, List<String>> readPom(FolderEntry projectFolder) throws ValueStorageException, ServerException, IOException {
+        FileEntry pomFile = (FileEntry)projectFolder.getChild(POM_XML);
         if (pomFile == null) {
             throw new ValueStorageException("pom.xml does not exist.");
         }
-        return Model.readFrom(pomFile.getInputStream());
+        try (InputStream is = pomFile.getInputStream()) {
+            return XMLStreamSelector.selectText(is, POM_PATHS);
+        }
     }
 
     protected void throwReadException(Exception e) throws ValueStorageException {
@@ -66,64 +106,78 @@ public class MavenValueProviderFactory implements ValueProviderFactory {
         return new MavenValueProvider(projectFolder);
     }
 
+    @Override
+    public List<String> getInputFiles() {
+        return Collections.singletonList(POM_XML);
+    }
+
     protected class MavenValueProvider extends ReadonlyValueProvider {
 
         protected FolderEntry projectFolder;
 
+        /** Elements of the pom.xml, it is read once for all the attributes. */
+        private Map<String, List<String>> pom;
+
         protected MavenValueProvider(FolderEntry projectFolder) {
             this.projectFolder = projectFolder;
         }
 
+        protected Map<String, List<String>> getPom() throws ValueStorageException, ServerException, IOException {
+            if (pom == null) {
+                pom = readPom(projectFolder);
+            }
+            return pom;
+        }
+
         @Override
         public List<String> getValues(String attributeName) throws ValueStorageException {
             try {
                 String value = "";
-                final Model model = readModel(projectFolder);
+                final Map<String, List<String>> pom = getPom();
+                final boolean hasParent = pom.get(PARENT).size() == 1;
+                final boolean hasBuild = pom.get(BUILD).size() == 1;
                 if (attributeName.equals(ARTIFACT_ID)) {
-                    value = model.getArtifactId();
+                    value = single(pom, PROJECT_ARTIFACT_ID);
                 } else if (attributeName.equals(GROUP_ID)) {
-                    value = model.getGroupId();
+                    value = single(pom, PROJECT_GROUP_ID);
                 } else if (attributeName.equals(PACKAGING)) {
-                    final String packaging = model.getPackaging();
+                    final String packaging = single(pom, PROJECT_PACKAGING);
                     value = packaging == null ? "" : packaging;
                 } else if (attributeName.equals(VERSION)) {
-                    value = model.getVersion();
-                } else if (attributeName.equals(PARENT_ARTIFACT_ID) && model.getParent() != null) {
-                    value = model.getParent().getArtifactId();
-                } else if (attributeName.equals(PARENT_GROUP_ID) && model.getParent() != null) {
-                    value = model.getParent().getGroupId();
-                } else if (attributeName.equals(PARENT_VERSION) && model.getParent() != null) {
-                    value = model.getParent().getVersion();
+                    value = single(pom, PROJECT_VERSION);
+                } else if (attributeName.equals(PARENT_ARTIFACT_ID) && hasParent) {
+                    value = single(pom, PARENT_ARTIFACT_ID_PATH);
+                } else if (attributeName.equals(PARENT_GROUP_ID) && hasParent) {
+                    value = single(pom, PARENT_GROUP_ID_PATH);
+                } else if (attributeName.equals(PARENT_VERSION) && hasParent) {
+                    value = single(pom, PARENT_VERSION_PATH);
                 } else if (attributeName.equals(SOURCE_FOLDER)) {
-                    Build build = model.getBuild();
-                    if (build != null && build.getSourceDirectory() != null) {
-                        value = build.getSourceDirectory();
-                    } else {
-                        value = DEFAULT_SOURCE_FOLDER;
-                    }
+                    final String sourceDirectory = hasBuild ? single(pom, BUILD_SOURCE_DIRECTORY) : null;
+                    value = sourceDirectory != null ? sourceDirectory : DEFAULT_SOURCE_FOLDER;
                 } else if (attributeName.equals(TEST_SOURCE_FOLDER)) {
-                    Build build = model.getBuild();
-                    if (build != null && build.getTestSourceDirectory() != null) {
-                        value = build.getTestSourceDirectory();
-                    } else {
-                        value = DEFAULT_TEST_SOURCE_FOLDER;
-                    }
+                    final String testSourceDirectory = hasBuild ? single(pom, BUILD_TEST_SOURCE_DIRECTORY) : null;
+                    value = testSourceDirectory != null ? testSourceDirectory : DEFAULT_TEST_SOURCE_FOLDER;
                 } else if (attributeName.equals(RESOURCE_FOLDER)) {
-                    Build build = model.getBuild();
-                    if (build != null && build.getResources() != null) {
-                        return build.getResources().stream().map(Resource::getDirectory).collect(Collectors.toList());
+                    if (hasBuild && pom.get(BUILD_RESOURCES).size() == 1) {
+                        return pom.get(BUILD_RESOURCE_DIRECTORY);
                     } else {
                         return Arrays.asList(DEFAULT_RESOURCES_FOLDER, DEFAULT_TEST_RESOURCES_FOLDER);
                     }
                 }
 
                 return Collections.singletonList(value);
-            } catch (ServerException | ForbiddenException | IOException e) {
+            } catch (ServerException | IOException e) {
                 throwReadException(e);
             } catch (XMLTreeException e) {
                 throw new ValueStorageException("Error parsing pom.xml : " + e.getMessage());
             }
             return null;
         }
+
+        /** Returns text of the only element found by the path, or null if there is no such element or there are many of them. */
+        private String single(Map<String, List<String>> pom, String path) {
+            final List<String> text = pom.get(path);
+            return text.size() == 1 ? text.get(0) : null;
+        }
     }
 }
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.classpath;
+
+import org.eclipse.che.plugin.maven.server.core.classpath.ClasspathDiff;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.JavaCore;
+import org.testng.annotations.Test;
+
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests {@link ClasspathDiff}.
+ */
+public class ClasspathDiffTest {
+
+    @Test
+    public void diffIsEmptyWhenEntriesAreEqual() {
+        IClasspathEntry[] previous = {library("/repo/a.jar"), library("/repo/b.jar")};
+
+        ClasspathDiff diff = ClasspathDiff.compute(previous, new IClasspathEntry[] {library("/repo/a.jar"), library("/repo/b.jar")});
+
+        assertTrue(diff.isEmpty());
+        assertSame(diff.getEntries()[0], previous[0]);
+        assertSame(diff.getEntries()[1], previous[1]);
+    }
+
+    @Test
+    public void computesAddedAndRemovedEntries() {
+        IClasspathEntry[] previous = {library("/repo/a.jar"), library("/repo/b.jar")};
+
+        ClasspathDiff diff = ClasspathDiff.compute(previous, new IClasspathEntry[] {library("/repo/a.jar"), library("/repo/c.jar")});
+
+        assertFalse(diff.isEmpty());
+        assertEquals(diff.getAdded(), singletonList(library("/repo/c.jar")));
+        assertEquals(diff.getRemoved(), singletonList(previous[1]));
+        assertSame(diff.getEntries()[0], previous[0]);
+    }
+
+    @Test
+    public void reorderingIsChange() {
+        IClasspathEntry[] previous = {library("/repo/a.jar"), library("/repo/b.jar")};
+
+        ClasspathDiff diff = ClasspathDiff.compute(previous, new IClasspathEntry[] {library("/repo/b.jar"), library("/repo/a.jar")});
+
+        assertFalse(diff.isEmpty());
+        assertTrue(diff.getAdded().isEmpty());
+        assertTrue(diff.getRemoved().isEmpty());
+    }
+
+    @Test
+    public void allEntriesAreAddedWhenThereIsNoPreviousContainer() {
+        IClasspathEntry[] entries = {library("/repo/a.jar")};
+
+        ClasspathDiff diff = ClasspathDiff.compute(null, entries);
+
+        assertEquals(diff.getAdded().size(), 1);
+        assertSame(diff.getEntries(), entries);
+    }
+
+    private static IClasspathEntry library(String path) {
+        return JavaCore.newLibraryEntry(new Path(path), null, null);
+    }
+}
@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.maven.server.core;
+
+import com.google.common.hash.Hashing;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.maven.data.MavenModel;
+import org.eclipse.che.maven.data.MavenProjectProblem;
+import org.eclipse.che.maven.data.MavenWorkspaceCache;
+import org.eclipse.che.plugin.maven.server.core.project.MavenModelReaderResult;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests {@link MavenResolutionCache}.
+ */
+public class MavenResolutionCacheTest {
+
+    private File                 root;
+    private File                 pom;
+    private File                 parentPom;
+    private MavenResolutionCache cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        root = Files.createTempDirectory("resolution-cache").toFile();
+        pom = write("project/pom.xml", "<project/>");
+        parentPom = write("pom.xml", "<project><modules><module>project</module></modules></project>");
+        cache = new MavenResolutionCache(new File(root, "cache").getAbsolutePath());
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        IoUtil.deleteRecursive(root);
+    }
+
+    @Test
+    public void returnsStoredResultWhenInputsAreNotChanged() throws Exception {
+        String key = computeKey();
+        cache.put(pom, key, newResult(), new MavenWorkspaceCache());
+
+        MavenModelReaderResult cached = cache.get(pom, computeKey());
+
+        assertNotNull(cached);
+        assertEquals(cached.getMavenModel().getName(), "project");
+        assertEquals(cached.getActiveProfiles(), singletonList("dev"));
+        assertTrue(cached.getProblems().isEmpty());
+    }
+
+    @Test
+    public void keyChangesWhenParentPomIsChanged() throws Exception {
+        String key = computeKey();
+
+        write("pom.xml", "<project><version>2</version></project>");
+
+        assertNotEquals(computeKey(), key);
+    }
+
+    @Test
+    public void keyChangesWhenProfilesAreChanged() throws Exception {
+        assertNotEquals(cache.computeKey(asList(pom, parentPom), singletonList("prod"), emptyList(), emptyList(), emptySet()),
+                        computeKey());
+    }
+
+    @Test
+    public void returnsNullWhenEntryHasDifferentKey() throws Exception {
+        cache.put(pom, computeKey(), newResult(), new MavenWorkspaceCache());
+
+        assertNull(cache.get(pom, "another key"));
+    }
+
+    @Test
+    public void returnsNullWhenWorkspaceDependencyIsChanged() throws Exception {
+        File dependencyPom = write("dependency/pom.xml", "<project/>");
+        MavenWorkspaceCache workspaceCache = new MavenWorkspaceCache();
+        workspaceCache.put(new MavenKey("org.eclipse.che", "dependency", "1.0"), dependencyPom);
+        MavenModelReaderResult result = newResult();
+        result.getMavenModel().setDependencies(singletonList(newArtifact("org.eclipse.che", "dependency", "1.0")));
+        String key = computeKey();
+        cache.put(pom, key, result, workspaceCache);
+        assertNotNull(cache.get(pom, key));
+
+        write("dependency/pom.xml", "<project><dependencies/></project>");
+
+        assertNull(cache.get(pom, key));
+    }
+
+    @Test
+    public void returnsNullWhenDependencyFileIsRemoved() throws Exception {
+        File jar = write("repository/library-1.0.jar", "jar");
+        MavenModelReaderResult result = newResult();
+        result.getMavenModel().setDependencies(singletonList(newArtifact("org.eclipse.che", "library", "1.0", jar)));
+        String key = computeKey();
+        cache.put(pom, key, result, new MavenWorkspaceCache());
+        assertNotNull(cache.get(pom, key));
+
+        assertTrue(jar.delete());
+
+        assertNull(cache.get(pom, key));
+    }
+
+    @Test
+    public void returnsNullWhenSnapshotDependencyIsUpdated() throws Exception {
+        File jar = write("repository/library-1.0-SNAPSHOT.jar", "jar");
+        MavenModelReaderResult result = newResult();
+        result.getMavenModel().setDependencies(singletonList(newArtifact("org.eclipse.che", "library", "1.0-SNAPSHOT", jar)));
+        String key = computeKey();
+        cache.put(pom, key, result, new MavenWorkspaceCache());
+        assertNotNull(cache.get(pom, key));
+
+        assertTrue(jar.setLastModified(jar.lastModified() - 10_000));
+
+        assertNull(cache.get(pom, key));
+    }
+
+    @Test
+    public void doesNotStoreResultsWithDependenciesWithoutFiles() throws Exception {
+        MavenModelReaderResult result = newResult();
+        result.getMavenModel().setDependencies(singletonList(newArtifact("org.eclipse.che", "library", "1.0")));
+        String key = computeKey();
+
+        cache.put(pom, key, result, new MavenWorkspaceCache());
+
+        assertNull(cache.get(pom, key));
+    }
+
+    @Test
+    public void removesTemporaryFileWhenEntryCanNotBeStored() throws Exception {
+        File cacheDir = new File(root, "cache");
+        // a non-empty directory in place of the entry file makes the entry replacement fail
+        File entryFile = new File(cacheDir, Hashing.sha256().hashString(pom.getAbsolutePath(), UTF_8).toString() + ".model");
+        write(root.toPath().relativize(new File(entryFile, "file").toPath()).toString(), "content");
+
+        cache.put(pom, computeKey(), newResult(), new MavenWorkspaceCache());
+
+        assertEquals(cacheDir.list(), new String[] {entryFile.getName()});
+    }
+
+    @Test
+    public void doesNotStoreResultsWithProblems() throws Exception {
+        MavenModelReaderResult result = newResult();
+        result.getProblems().add(MavenProjectProblem.newStructureProblem(pom.getPath(), "problem"));
+        String key = computeKey();
+
+        cache.put(pom, key, result, new MavenWorkspaceCache());
+
+        assertNull(cache.get(pom, key));
+    }
+
+    @Test
+    public void returnsNothingWhenCacheIsDisabled() throws Exception {
+        MavenResolutionCache disabled = new MavenResolutionCache("");
+        disabled.put(pom, "key", newResult(), new MavenWorkspaceCache());
+
+        assertNull(disabled.get(pom, "key"));
+    }
+
+    private String computeKey() {
+        return cache.computeKey(asList(pom, parentPom), singletonList("dev"), emptyList(), emptyList(), emptySet());
+    }
+
+    private MavenModelReaderResult newResult() {
+        MavenModel model = new MavenModel();
+        model.setName("project");
+        model.setMavenKey(new MavenKey("org.eclipse.che", "project", "1.0"));
+        model.setDependencies(emptyList());
+        List<MavenProjectProblem> problems = new ArrayList<>();
+        return new MavenModelReaderResult(model, singletonList("dev"), emptyList(), problems, new HashSet<>());
+    }
+
+    private static MavenArtifact newArtifact(String groupId, String artifactId, String version) {
+        return newArtifact(groupId, artifactId, version, null);
+    }
+
+    private static MavenArtifact newArtifact(String groupId, String artifactId, String version, File file) {
+        return new MavenArtifact(groupId, artifactId, version, version, "jar", null, "compile", false, "jar", file, null, true, false);
+    }
+
+    private File write(String path, String content) throws Exception {
+        File file = new File(root, path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(UTF_8));
+        return file;
+    }
+}
@@ -154,6 +154,35 @@ public class MavenServerManagerTest {
         assertEquals(1, resolveProject.getProblems().size());
     }
 
+    @Test
+    public void testResolveProjectsInBatch() throws Exception {
+        List<MavenServerResult> results =
+                mavenServer.resolveProjects(Arrays.asList(new File(MavenServerManagerTest.class.getResource("/FirstProject/pom.xml").getFile()),
+                                                          new File(MavenServerManagerTest.class.getResource("/BadProject/pom.xml").getFile())),
+                                            Collections.emptyList(),
+                                            Collections.emptyList());
+        assertEquals(2, results.size());
+        assertNotNull(results.get(0).getProjectInfo());
+        assertEquals(1, results.get(1).getProblems().size());
+    }
+
+    @Test
+    public void testResolveProjectWithPooledServer() throws Exception {
+        MavenServerManager pooledManager = new MavenServerManager(mavenServerPath, 2);
+        MavenServerWrapper pooledServer = pooledManager.createMavenServer(1);
+        try {
+            pooledServer.customize(workspaceCache, new MyMavenTerminal(), new MyMavenServerProgressNotifier(), true, false);
+            MavenServerResult resolveProject = pooledServer
+                    .resolveProject(new File(MavenServerManagerTest.class.getResource("/FirstProject/pom.xml").getFile()),
+                                    Collections.emptyList(),
+                                    Collections.emptyList());
+            assertNotNull(resolveProject.getProjectInfo());
+        } finally {
+            pooledServer.dispose();
+            pooledManager.shutdown();
+        }
+    }
+
     @Test
     public void testResolveMultimoduleProjectMainPom() throws Exception {
         MavenServerResult resolveProject = mavenServer
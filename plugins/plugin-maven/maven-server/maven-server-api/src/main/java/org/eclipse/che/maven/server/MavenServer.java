@@ -34,6 +34,13 @@ public interface MavenServer extends Remote {
 
     MavenServerResult resolveProject(File pom, List<String> activeProfiles, List<String> inactiveProfiles) throws RemoteException;
 
+    /**
+     * Resolves the given projects in one call, projects are resolved with the same profiles.
+     * The order of the results corresponds to the order of the poms.
+     */
+    List<MavenServerResult> resolveProjects(List<File> poms, List<String> activeProfiles, List<String> inactiveProfiles)
+            throws RemoteException;
+
     MavenArtifact resolveArtifact(MavenArtifactKey artifactKey, List<MavenRemoteRepository> remoteRepositories) throws RemoteException;
 
     void reset() throws RemoteException;
@@ -381,6 +381,16 @@ public class MavenServerImpl extends MavenRmiObject implements MavenServer {
         return createResult(pom, mavenResult);
     }
 
+    @Override
+    public List<MavenServerResult> resolveProjects(List<File> poms, List<String> activeProfiles, List<String> inactiveProfiles)
+            throws RemoteException {
+        List<MavenServerResult> results = new ArrayList<>(poms.size());
+        for (File pom : poms) {
+            results.add(resolveProject(pom, activeProfiles, inactiveProfiles));
+        }
+        return results;
+    }
+
     @Override
     public MavenArtifact resolveArtifact(MavenArtifactKey artifactKey, List<MavenRemoteRepository> repositories) throws RemoteException {
         Artifact artifact = getMavenComponent(ArtifactFactory.class)
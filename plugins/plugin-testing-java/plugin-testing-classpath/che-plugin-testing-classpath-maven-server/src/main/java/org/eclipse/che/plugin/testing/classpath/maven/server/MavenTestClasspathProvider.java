@@ -15,11 +15,30 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
+import javax.annotation.PreDestroy;
+
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
+import org.eclipse.che.api.core.executor.ThreadPoolConfig;
 import org.eclipse.che.ide.ext.java.shared.dto.classpath.ClasspathEntryDto;
+import org.eclipse.che.maven.data.MavenArtifact;
 import org.eclipse.che.plugin.java.server.rest.ClasspathServiceInterface;
+import org.eclipse.che.plugin.maven.server.core.MavenProjectListener;
+import org.eclipse.che.plugin.maven.server.core.MavenProjectManager;
+import org.eclipse.che.plugin.maven.server.core.classpath.ClasspathManager;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProjectModifications;
 import org.eclipse.che.plugin.testing.classpath.server.TestClasspathProvider;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.ResourcesPlugin;
@@ -28,34 +47,201 @@ import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.JavaModelException;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 
 /**
  * Maven implementation for the test classpath provider.
  *
+ * <p>The classpath of a project is cached until the project is updated or resolved by the {@link MavenProjectManager}.
+ * A cached classpath is also checked against the fingerprint of the project pom and of its resolved dependencies
+ * when the classpath update is requested. The classpaths of the last tested projects are computed again
+ * in background as soon as the maven classpath containers of the projects are updated by the {@link ClasspathManager},
+ * so the next test run doesn't wait for it.
+ *
  * @author Mirage Abeysekara
  * @author David Festal
  */
+@Singleton
 public class MavenTestClasspathProvider implements TestClasspathProvider {
-    private ClasspathServiceInterface classpathService;
+    private static final Logger LOG = LoggerFactory.getLogger(MavenTestClasspathProvider.class);
+
+    private static final int MAX_PREWARMED_PROJECTS = 5;
+
+    private final ClasspathServiceInterface    classpathService;
+    private final MavenProjectManager          mavenProjectManager;
+    private final Map<String, CachedClasspath> cache;
+    private final Map<String, AtomicLong>      generations;
+    private final Map<String, String>          recentProjects;
+    private final Map<String, Future<?>>       prewarmTasks;
+    private final ExecutorService              prewarmExecutor;
 
     @Inject
-    public MavenTestClasspathProvider(ClasspathServiceInterface classpathService) {
+    public MavenTestClasspathProvider(ClasspathServiceInterface classpathService,
+                                      MavenProjectManager mavenProjectManager,
+                                      ClasspathManager classpathManager,
+                                      ExecutorServiceRegistry executorRegistry) {
         this.classpathService = classpathService;
+        this.mavenProjectManager = mavenProjectManager;
+        this.cache = new ConcurrentHashMap<>();
+        this.generations = new ConcurrentHashMap<>();
+        this.recentProjects = new LinkedHashMap<String, String>(MAX_PREWARMED_PROJECTS, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > MAX_PREWARMED_PROJECTS;
+            }
+        };
+        this.prewarmTasks = new ConcurrentHashMap<>();
+        this.prewarmExecutor = executorRegistry.getOrCreate("test_classpath_prewarm",
+                                                            ThreadPoolConfig.fixed(1, MAX_PREWARMED_PROJECTS)
+                                                                            .withThreadNameFormat("TestClasspathPrewarm-%d")
+                                                                            .withDaemon(true));
+        mavenProjectManager.addListener(new MavenProjectListener() {
+            @Override
+            public void projectResolved(MavenProject project, MavenProjectModifications modifications) {
+                cache.remove(projectKey(project.getProject().getFullPath().toString()));
+            }
+
+            @Override
+            public void projectUpdated(Map<MavenProject, MavenProjectModifications> updated, List<MavenProject> removed) {
+                for (MavenProject project : updated.keySet()) {
+                    cache.remove(projectKey(project.getProject().getFullPath().toString()));
+                }
+                for (MavenProject project : removed) {
+                    String key = projectKey(project.getProject().getFullPath().toString());
+                    cache.remove(key);
+                    synchronized (recentProjects) {
+                        recentProjects.remove(key);
+                    }
+                }
+            }
+        });
+        // the classpath is read from the container, so it may be cached only after the container is updated
+        classpathManager.addListener(this::classpathUpdated);
     }
 
     /**
      * {@inheritDoc}
+     *
+     * <p>If <em>updateClasspath</em> is false, the cached classpath is used without checking it.
      */
     @Override
     public ClassLoader getClassLoader(String projectAbsolutePath, String projectRelativePath, boolean updateClasspath) throws Exception {
         try {
-            return new URLClassLoader(getProjectClasspath(projectAbsolutePath, projectRelativePath, getWorkspaceRoot()), null);
+            return new URLClassLoader(getClasspath(projectAbsolutePath, projectRelativePath, getWorkspaceRoot(), updateClasspath), null);
         } catch (JavaModelException e) {
             throw new Exception("Failed to build the classpath for testing project: " + projectRelativePath, e);
         }
     }
 
+    @PreDestroy
+    public void shutdown() {
+        prewarmExecutor.shutdownNow();
+    }
+
+    /**
+     * Returns the cached classpath of the project, computing it if there is no cached classpath.
+     *
+     * @param validate
+     *         if true, the cached classpath is computed again when the project pom or its dependencies are changed
+     */
+    URL[] getClasspath(String projectAbsolutePath,
+                       String projectRelativePath,
+                       IWorkspaceRoot root,
+                       boolean validate) throws JavaModelException {
+        String key = projectKey(projectRelativePath);
+        synchronized (recentProjects) {
+            recentProjects.put(key, projectAbsolutePath);
+        }
+        CachedClasspath cached = cache.get(key);
+        if (cached != null && (!validate || cached.fingerprint.equals(fingerprint(projectAbsolutePath, key, root)))) {
+            return cached.classpath;
+        }
+        return computeClasspath(projectAbsolutePath, projectRelativePath, key, root);
+    }
+
+    private URL[] computeClasspath(String projectAbsolutePath,
+                                   String projectRelativePath,
+                                   String key,
+                                   IWorkspaceRoot root) throws JavaModelException {
+        // the fingerprint is taken first, so changes made during the computation make the entry outdated
+        AtomicLong generation = generation(key);
+        long computedGeneration = generation.get();
+        String fingerprint = fingerprint(projectAbsolutePath, key, root);
+        URL[] classpath = getProjectClasspath(projectAbsolutePath, projectRelativePath, root);
+        // the classpath computed from the container which has been updated meanwhile is not cached
+        cache.compute(key, (k, cached) -> generation.get() == computedGeneration ? new CachedClasspath(fingerprint, classpath) : cached);
+        return classpath;
+    }
+
+    /**
+     * Drops the cached classpath of the project, which may be computed from the outdated container,
+     * and computes it again in background if the project is one of the last tested projects.
+     */
+    private void classpathUpdated(MavenProject project) {
+        String key = projectKey(project.getProject().getFullPath().toString());
+        // done under the lock of the entry, so the computation in progress either sees the new generation or is dropped
+        cache.compute(key, (k, cached) -> {
+            generation(key).incrementAndGet();
+            return null;
+        });
+
+        String projectAbsolutePath;
+        synchronized (recentProjects) {
+            projectAbsolutePath = recentProjects.get(key);
+        }
+        if (projectAbsolutePath != null && !prewarmExecutor.isShutdown()) {
+            Future<?> previous;
+            try {
+                previous = prewarmTasks.put(key, prewarmExecutor.submit(() -> prewarm(projectAbsolutePath, key)));
+            } catch (RejectedExecutionException e) {
+                LOG.debug("Test classpath of project {} is not prewarmed: {}", key, e.getMessage());
+                return;
+            }
+            if (previous != null) {
+                previous.cancel(false);
+            }
+        }
+    }
+
+    private void prewarm(String projectAbsolutePath, String key) {
+        prewarmTasks.remove(key);
+        try {
+            computeClasspath(projectAbsolutePath, key, key, getWorkspaceRoot());
+        } catch (Exception e) {
+            LOG.debug("Can't compute test classpath of project " + key, e);
+        }
+    }
+
+    /** Fingerprint of everything the classpath depends on: the project pom and its resolved dependencies. */
+    private String fingerprint(String projectAbsolutePath, String key, IWorkspaceRoot root) {
+        File pom = new File(projectAbsolutePath, "pom.xml");
+        StringBuilder fingerprint = new StringBuilder().append(pom.lastModified()).append(':').append(pom.length());
+        IProject project = root.getProject(key);
+        MavenProject mavenProject = project == null ? null : mavenProjectManager.findMavenProject(project);
+        if (mavenProject != null) {
+            for (MavenArtifact dependency : mavenProject.getDependencies()) {
+                fingerprint.append(';').append(dependency.getDisplayString())
+                           .append(':').append(dependency.getClassifier())
+                           .append(':').append(dependency.getScope())
+                           .append(':').append(dependency.getFile());
+            }
+        }
+        return fingerprint.toString();
+    }
+
+    /** Generation of the classpath container of the project, it is changed each time the container is updated. */
+    private AtomicLong generation(String key) {
+        return generations.computeIfAbsent(key, k -> new AtomicLong());
+    }
+
+    private static String projectKey(String projectRelativePath) {
+        return new Path(projectRelativePath).makeAbsolute().toString();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -78,6 +264,16 @@ public class MavenTestClasspathProvider implements TestClasspathProvider {
         return ResourcesPlugin.getWorkspace().getRoot();
     }
     
+    private static class CachedClasspath {
+        private final String fingerprint;
+        private final URL[]  classpath;
+
+        private CachedClasspath(String fingerprint, URL[] classpath) {
+            this.fingerprint = fingerprint;
+            this.classpath = classpath;
+        }
+    }
+
     public URL[] getProjectClasspath(String projectAbsolutePath, String projectRelativePath, IWorkspaceRoot root) throws JavaModelException {
         Stream<ClasspathEntryDto> rawClasspath = classpathService.getClasspath(projectRelativePath).stream();
         Stream<ClasspathEntryDto> resolvedClasspath = toResolvedClassPath(rawClasspath);
@@ -11,28 +11,42 @@
 package org.eclipse.che.plugin.testing.classpath.maven.server;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.ide.ext.java.shared.dto.classpath.ClasspathEntryDto;
+import org.eclipse.che.maven.data.MavenArtifact;
 import org.eclipse.che.plugin.java.server.rest.ClasspathServiceInterface;
+import org.eclipse.che.plugin.maven.server.core.MavenProjectListener;
+import org.eclipse.che.plugin.maven.server.core.MavenProjectManager;
+import org.eclipse.che.plugin.maven.server.core.classpath.ClasspathManager;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.JavaModelException;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -46,7 +60,12 @@ public class MavenTestClasspathProviderTest {
     private ClasspathServiceInterface  classpathService;
     @Mock
     private IWorkspaceRoot             workspaceRoot;
+    @Mock
+    private MavenProjectManager        mavenProjectManager;
+    @Mock
+    private ClasspathManager           classpathManager;
 
+    private ExecutorServiceRegistry    executorRegistry;
     private MavenTestClasspathProvider classpathProvider;
 
     private static DtoFactory          dtoFactory = DtoFactory.getInstance();
@@ -54,7 +73,14 @@ public class MavenTestClasspathProviderTest {
     @Before
     public void initMocks() {
         MockitoAnnotations.initMocks(this);
-        classpathProvider = new MavenTestClasspathProvider(classpathService);
+        executorRegistry = new ExecutorServiceRegistry(emptyMap());
+        classpathProvider = new MavenTestClasspathProvider(classpathService, mavenProjectManager, classpathManager, executorRegistry);
+    }
+
+    @After
+    public void shutdown() {
+        classpathProvider.shutdown();
+        executorRegistry.shutdown();
     }
 
     public static class ClasspathEntry {
@@ -151,4 +177,86 @@ public class MavenTestClasspathProviderTest {
                                     new URL("file:/projects/exampleProject/target/test-classes")
         }, classpath);
     }
+
+    @Test
+    public void testClasspathIsCachedUntilProjectIsResolved() throws Exception {
+        buildMocks(asList(externalLib("/home/user/.m2/repository/com/google/guava/guava/20.0/guava-20.0.jar"),
+                          source("exampleProject/src/main/java")));
+        ArgumentCaptor<MavenProjectListener> listener = ArgumentCaptor.forClass(MavenProjectListener.class);
+        verify(mavenProjectManager).addListener(listener.capture());
+
+        URL[] classpath = classpathProvider.getClasspath("/projects/exampleProject", "/exampleProject", workspaceRoot, true);
+        assertSame(classpath, classpathProvider.getClasspath("/projects/exampleProject", "/exampleProject", workspaceRoot, true));
+        verify(classpathService, times(1)).getClasspath(anyString());
+
+        listener.getValue().projectResolved(mavenProject("/exampleProject"), null);
+        classpathProvider.getClasspath("/projects/exampleProject", "/exampleProject", workspaceRoot, true);
+
+        verify(classpathService, times(2)).getClasspath(anyString());
+    }
+
+    @Test
+    public void testClasspathIsComputedAgainWhenDependenciesAreChanged() throws Exception {
+        buildMocks(asList(externalLib("/home/user/.m2/repository/com/google/guava/guava/20.0/guava-20.0.jar")));
+        IProject project = mock(IProject.class);
+        MavenProject mavenProject = mock(MavenProject.class);
+        when(workspaceRoot.getProject("/exampleProject")).thenReturn(project);
+        when(mavenProjectManager.findMavenProject(project)).thenReturn(mavenProject);
+        when(mavenProject.getDependencies()).thenReturn(Collections.emptyList());
+
+        classpathProvider.getClasspath("/projects/exampleProject", "/exampleProject", workspaceRoot, true);
+        when(mavenProject.getDependencies()).thenReturn(asList(new MavenArtifact("com.google.guava", "guava", "20.0", "20.0", "jar", null,
+                                                                                 "compile", false, "jar", null, null, true, false)));
+        classpathProvider.getClasspath("/projects/exampleProject", "/exampleProject", workspaceRoot, false);
+        verify(classpathService, times(1)).getClasspath(anyString());
+
+        classpathProvider.getClasspath("/projects/exampleProject", "/exampleProject", workspaceRoot, true);
+        verify(classpathService, times(2)).getClasspath(anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCachedClasspathIsDroppedWhenClasspathContainerIsUpdated() throws Exception {
+        buildMocks(asList(externalLib("/home/user/.m2/repository/com/google/guava/guava/20.0/guava-20.0.jar")));
+        ArgumentCaptor<Consumer> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(classpathManager).addListener(listener.capture());
+
+        classpathProvider.getClasspath("/projects/exampleProject", "/exampleProject", workspaceRoot, false);
+        listener.getValue().accept(mavenProject("/otherProject"));
+        classpathProvider.getClasspath("/projects/exampleProject", "/exampleProject", workspaceRoot, false);
+        verify(classpathService, times(1)).getClasspath("/exampleProject");
+
+        listener.getValue().accept(mavenProject("/exampleProject"));
+        classpathProvider.getClasspath("/projects/exampleProject", "/exampleProject", workspaceRoot, false);
+        verify(classpathService, times(2)).getClasspath("/exampleProject");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testClasspathComputedWhileClasspathContainerIsUpdatedIsNotCached() throws Exception {
+        ArgumentCaptor<Consumer> listener = ArgumentCaptor.forClass(Consumer.class);
+        verify(classpathManager).addListener(listener.capture());
+        // no background computation, so the classpath is computed only when it is requested
+        classpathProvider.shutdown();
+        MavenProject mavenProject = mavenProject("/exampleProject");
+        List<ClasspathEntryDto> entries = asList(externalLib("/home/user/.m2/repository/com/google/guava/guava/20.0/guava-20.0.jar").dto());
+        when(classpathService.getClasspath("/exampleProject")).thenAnswer(invocation -> {
+            listener.getValue().accept(mavenProject);
+            return entries;
+        }).thenReturn(entries);
+
+        classpathProvider.getClasspath("/projects/exampleProject", "/exampleProject", workspaceRoot, false);
+        classpathProvider.getClasspath("/projects/exampleProject", "/exampleProject", workspaceRoot, false);
+        classpathProvider.getClasspath("/projects/exampleProject", "/exampleProject", workspaceRoot, false);
+
+        verify(classpathService, times(2)).getClasspath("/exampleProject");
+    }
+
+    private MavenProject mavenProject(String path) {
+        IProject project = mock(IProject.class);
+        when(project.getFullPath()).thenReturn(new Path(path));
+        MavenProject mavenProject = mock(MavenProject.class);
+        when(mavenProject.getProject()).thenReturn(project);
+        return mavenProject;
+    }
 }
@@ -0,0 +1,233 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.testing.junit.server;
+
+import javassist.util.proxy.MethodHandler;
+import javassist.util.proxy.Proxy;
+import javassist.util.proxy.ProxyFactory;
+
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Entry point of a JVM forked by {@link ForkedTestExecutor} to run JUnit 4 tests.
+ *
+ * <p>The process reads names of the test classes from the standard input, one per line, runs them one by one
+ * and reports the progress to the standard output, one event per line. Fields of an event are separated with
+ * tabs and escaped with {@link #escape(String)}. The output of the tests is redirected to the standard error,
+ * so it can't be mixed with the events. The process exits when the standard input is closed.
+ *
+ * <p>JUnit is not a dependency of this plugin, so it is used through reflection as in {@link JUnitTestRunner}.
+ */
+public class ForkedJUnitMain {
+
+    static final String TEST_STARTED            = "TEST_STARTED";
+    static final String TEST_FINISHED           = "TEST_FINISHED";
+    static final String TEST_FAILURE            = "TEST_FAILURE";
+    static final String TEST_ASSUMPTION_FAILURE = "TEST_ASSUMPTION_FAILURE";
+    static final String CLASS_FINISHED          = "CLASS_FINISHED";
+
+    private final PrintStream       events;
+    private final Map<String, Long> startTimes = new HashMap<>();
+    private final ClassLoader       classLoader;
+    private final Class<?>          clsJUnitCore;
+    private final Class<?>          clsRunListener;
+    private final Object            listener;
+
+    public static void main(String[] args) throws Exception {
+        PrintStream events = new PrintStream(new FileOutputStream(FileDescriptor.out), false, UTF_8.name());
+        System.setOut(System.err);
+
+        ForkedJUnitMain main = new ForkedJUnitMain(events);
+        BufferedReader commands = new BufferedReader(new InputStreamReader(System.in, UTF_8));
+        String className;
+        while ((className = commands.readLine()) != null && !className.isEmpty()) {
+            main.runClass(className);
+            main.emit(CLASS_FINISHED, className);
+        }
+        System.exit(0);
+    }
+
+    private ForkedJUnitMain(PrintStream events) throws Exception {
+        this.events = events;
+        this.classLoader = ForkedJUnitMain.class.getClassLoader();
+        this.clsJUnitCore = Class.forName("org.junit.runner.JUnitCore", true, classLoader);
+        this.clsRunListener = Class.forName("org.junit.runner.notification.RunListener", true, classLoader);
+        this.listener = createListener(clsRunListener);
+    }
+
+    private void runClass(String className) throws Exception {
+        Class<?> testClass;
+        try {
+            testClass = Class.forName(className, false, classLoader);
+        } catch (Throwable x) {
+            emitFailure(TEST_FAILURE, "initializationError(" + className + ')', className, "initializationError", x);
+            return;
+        }
+        Object jUnitCore = clsJUnitCore.getConstructor().newInstance();
+        clsJUnitCore.getMethod("addListener", clsRunListener).invoke(jUnitCore, listener);
+        clsJUnitCore.getMethod("run", Class[].class).invoke(jUnitCore, new Object[] {new Class<?>[] {testClass}});
+    }
+
+    private Object createListener(Class<?> listenerClass) throws Exception {
+        ProxyFactory factory = new ProxyFactory();
+        factory.setSuperclass(listenerClass);
+        factory.setFilter(method -> {
+            switch (method.getName()) {
+                case "testStarted":
+                case "testFinished":
+                case "testFailure":
+                case "testAssumptionFailure":
+                    return true;
+            }
+            return false;
+        });
+        MethodHandler handler = (self, method, proceed, args) -> {
+            switch (method.getName()) {
+                case "testStarted":
+                    testStarted(args[0]);
+                    break;
+                case "testFinished":
+                    testFinished(args[0]);
+                    break;
+                case "testFailure":
+                    testFailure(TEST_FAILURE, args[0]);
+                    break;
+                case "testAssumptionFailure":
+                    testFailure(TEST_ASSUMPTION_FAILURE, args[0]);
+                    break;
+            }
+            return null;
+        };
+        Object listener = factory.createClass().getConstructor().newInstance();
+        ((Proxy)listener).setHandler(handler);
+        return listener;
+    }
+
+    private void testStarted(Object description) throws Exception {
+        String testKey = invoke(description, "getDisplayName");
+        startTimes.put(testKey, System.nanoTime());
+        emit(TEST_STARTED, testKey, invoke(description, "getClassName"), invoke(description, "getMethodName"));
+    }
+
+    private void testFinished(Object description) throws Exception {
+        String testKey = invoke(description, "getDisplayName");
+        Long start = startTimes.remove(testKey);
+        long duration = start == null ? 0 : (System.nanoTime() - start) / 1_000_000;
+        emit(TEST_FINISHED, testKey, Long.toString(duration));
+    }
+
+    private void testFailure(String event, Object failure) throws Exception {
+        Object description = failure.getClass().getMethod("getDescription").invoke(failure);
+        Throwable exception = (Throwable)failure.getClass().getMethod("getException").invoke(failure);
+        emitFailure(event,
+                    invoke(description, "getDisplayName"),
+                    invoke(description, "getClassName"),
+                    invoke(description, "getMethodName"),
+                    exception);
+    }
+
+    private void emitFailure(String event, String testKey, String className, String methodName, Throwable exception) {
+        int failingLine = -1;
+        for (StackTraceElement element : exception.getStackTrace()) {
+            if (element.getClassName().equals(className) && element.getMethodName().equals(methodName)) {
+                failingLine = element.getLineNumber();
+                break;
+            }
+        }
+        StringWriter trace = new StringWriter();
+        try (PrintWriter writer = new PrintWriter(trace)) {
+            exception.printStackTrace(writer);
+        }
+        emit(event, testKey, className, methodName, exception.getMessage(), trace.toString(), Integer.toString(failingLine));
+    }
+
+    private static String invoke(Object target, String method) throws Exception {
+        Method getter = target.getClass().getMethod(method);
+        return (String)getter.invoke(target);
+    }
+
+    private void emit(String event, String... fields) {
+        StringBuilder line = new StringBuilder(event);
+        for (String field : fields) {
+            line.append('\t').append(escape(field));
+        }
+        synchronized (events) {
+            events.println(line);
+            events.flush();
+        }
+    }
+
+    /** Escapes the field of an event, so it doesn't contain tabs and line separators. Null is written as an empty string. */
+    static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    escaped.append("\\\\");
+                    break;
+                case '\t':
+                    escaped.append("\\t");
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                case '\r':
+                    escaped.append("\\r");
+                    break;
+                default:
+                    escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /** Reverts {@link #escape(String)}. */
+    static String unescape(String value) {
+        StringBuilder unescaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                switch (next) {
+                    case 't':
+                        unescaped.append('\t');
+                        break;
+                    case 'n':
+                        unescaped.append('\n');
+                        break;
+                    case 'r':
+                        unescaped.append('\r');
+                        break;
+                    default:
+                        unescaped.append(next);
+                }
+            } else {
+                unescaped.append(c);
+            }
+        }
+        return unescaped.toString();
+    }
+}
@@ -0,0 +1,456 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.testing.junit.server;
+
+import javassist.util.proxy.ProxyFactory;
+
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
+import org.eclipse.che.api.core.executor.ThreadPoolConfig;
+import org.eclipse.che.api.testing.server.listener.AbstractTestListener;
+import org.eclipse.che.api.testing.shared.TestCase;
+import org.eclipse.che.api.testing.shared.TestResult;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Runs JUnit 4 test classes in a pool of forked JVMs, so the tests don't share the heap of the ws-agent
+ * and the test classes are executed in parallel.
+ *
+ * <p>Each fork takes the next test class from a shared queue as soon as it finishes the previous one,
+ * so long running classes don't hold back the others. The progress of the tests is reported to the
+ * listener as the forks report it. A fork which dies or exceeds the timeout while running a class
+ * is replaced by a new one, and the test it was running (or the class, if no test was running) is reported as failed. The output the tests write to
+ * the standard streams is forwarded to the test output after each class.
+ *
+ * <p>Forks are run by the 'junit_fork' pool of {@link ExecutorServiceRegistry}, its size bounds the number
+ * of JVMs running tests at the same time, even if tests of several projects are run.
+ */
+public class ForkedTestExecutor {
+    private static final Logger LOG = LoggerFactory.getLogger(ForkedTestExecutor.class);
+
+    /** Maximum number of forks waiting for a thread when tests of several projects are run at the same time. */
+    private static final int FORK_QUEUE_CAPACITY = 100;
+
+    private final int                      forkCount;
+    private final List<String>             jvmArgs;
+    private final long                     classTimeoutSec;
+    private final ExecutorService          forkExecutor;
+    private final ScheduledExecutorService timeoutExecutor;
+
+    /**
+     * @param forkCount
+     *         maximum number of JVMs which run tests at the same time
+     * @param jvmArgs
+     *         arguments of the forked JVMs
+     * @param classTimeoutSec
+     *         maximum time of running a test class, the fork is killed when it is exceeded,
+     *         not positive value disables the timeout
+     * @param executorRegistry
+     *         registry which provides the pools running forks
+     */
+    public ForkedTestExecutor(int forkCount, List<String> jvmArgs, long classTimeoutSec, ExecutorServiceRegistry executorRegistry) {
+        this.forkCount = forkCount;
+        this.jvmArgs = jvmArgs;
+        this.classTimeoutSec = classTimeoutSec;
+        this.forkExecutor = executorRegistry.getOrCreate("junit_fork",
+                                                         ThreadPoolConfig.fixed(Math.max(1, forkCount), FORK_QUEUE_CAPACITY)
+                                                                         .withThreadNameFormat("JUnitFork-%d")
+                                                                         .withDaemon(true));
+        this.timeoutExecutor = executorRegistry.getOrCreateScheduled("junit_fork_timeout",
+                                                                     ThreadPoolConfig.fixed(1, 0)
+                                                                                     .withThreadNameFormat("JUnitForkTimeout-%d")
+                                                                                     .withDaemon(true));
+    }
+
+    /**
+     * Runs the given test classes and waits until all of them are finished.
+     *
+     * @param classpath
+     *         classpath of the tests, must contain JUnit 4
+     * @param workingDir
+     *         working directory of the forked JVMs
+     * @param testClasses
+     *         fully qualified names of the test classes
+     * @param listener
+     *         listener which receives the progress of the tests
+     * @param output
+     *         consumer of the lines which the tests write to the standard streams
+     */
+    public TestResult execute(Collection<URL> classpath,
+                              Path workingDir,
+                              List<String> testClasses,
+                              AbstractTestListener listener,
+                              Consumer<String> output) throws Exception {
+        List<String> command = buildCommand(classpath);
+        Queue<String> queue = new ConcurrentLinkedQueue<>(testClasses);
+        Results results = new Results(listener, output);
+        Set<Process> processes = ConcurrentHashMap.newKeySet();
+
+        int forks = Math.max(1, Math.min(forkCount, testClasses.size()));
+        List<Future<?>> futures = new ArrayList<>(forks);
+        try {
+            for (int i = 0; i < forks; i++) {
+                try {
+                    futures.add(forkExecutor.submit(() -> {
+                        runFork(command, workingDir, queue, results, processes);
+                        return null;
+                    }));
+                } catch (RejectedExecutionException x) {
+                    // the classes are shared, so they are run by the forks which are already submitted
+                    if (futures.isEmpty()) {
+                        throw new IllegalStateException("Too many tests are running at the same time, try again later");
+                    }
+                    break;
+                }
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException x) {
+                    throw x.getCause() instanceof Exception ? (Exception)x.getCause() : x;
+                }
+            }
+        } finally {
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+            for (Process process : processes) {
+                process.destroyForcibly();
+            }
+        }
+        return results.toTestResult();
+    }
+
+    private void runFork(List<String> command,
+                         Path workingDir,
+                         Queue<String> queue,
+                         Results results,
+                         Set<Process> processes) throws Exception {
+        String testClass = queue.poll();
+        while (testClass != null) {
+            Path errors = Files.createTempFile("junit-fork", ".log");
+            Process process = null;
+            try (BufferedReader errorsReader = Files.newBufferedReader(errors, UTF_8)) {
+                process = new ProcessBuilder(command).directory(workingDir.toFile())
+                                                     .redirectError(errors.toFile())
+                                                     .start();
+                processes.add(process);
+                testClass = runClasses(process, testClass, queue, results, errorsReader);
+            } finally {
+                if (process != null) {
+                    processes.remove(process);
+                    destroy(process);
+                }
+                Files.deleteIfExists(errors);
+            }
+        }
+    }
+
+    /**
+     * Runs the classes in the fork one by one, until the queue is empty or the fork fails.
+     *
+     * @return the next class to run in a new fork or null if there are no more classes
+     */
+    private String runClasses(Process process,
+                              String testClass,
+                              Queue<String> queue,
+                              Results results,
+                              BufferedReader errors) throws InterruptedException, IOException {
+        Writer commands = new OutputStreamWriter(process.getOutputStream(), UTF_8);
+        // key of the test which is started but not finished in the fork
+        AtomicReference<String> runningTest = new AtomicReference<>();
+        try (BufferedReader events = new BufferedReader(new InputStreamReader(process.getInputStream(), UTF_8))) {
+            while (testClass != null) {
+                AtomicBoolean timedOut = new AtomicBoolean();
+                ScheduledFuture<?> timeout = scheduleTimeout(process, timedOut);
+                try {
+                    commands.write(testClass);
+                    commands.write('\n');
+                    commands.flush();
+                    boolean finished = results.readClassEvents(events, runningTest);
+                    results.forwardOutput(errors);
+                    if (!finished) {
+                        // the fork died, its running test is reported as failed and the next class is run in a new fork
+                        results.forkFailed(testClass, runningTest.get(), process, timedOut.get() ? classTimeoutSec : 0);
+                        return queue.poll();
+                    }
+                } finally {
+                    if (timeout != null) {
+                        timeout.cancel(false);
+                    }
+                }
+                testClass = queue.poll();
+            }
+            return null;
+        } catch (IOException x) {
+            LOG.debug(x.getLocalizedMessage(), x);
+            results.forwardOutput(errors);
+            results.forkFailed(testClass, runningTest.get(), process, 0);
+            return queue.poll();
+        } finally {
+            // closed standard input makes the fork exit, it fails to be closed if the fork is dead
+            try {
+                commands.close();
+            } catch (IOException x) {
+                LOG.debug(x.getLocalizedMessage(), x);
+            }
+        }
+    }
+
+    private ScheduledFuture<?> scheduleTimeout(Process process, AtomicBoolean timedOut) {
+        if (classTimeoutSec <= 0) {
+            return null;
+        }
+        return timeoutExecutor.schedule(() -> {
+            timedOut.set(true);
+            process.destroyForcibly();
+        }, classTimeoutSec, TimeUnit.SECONDS);
+    }
+
+    /** Gives the fork, which standard input is closed, time to exit and kills it if it doesn't. */
+    private static void destroy(Process process) throws InterruptedException {
+        try {
+            process.waitFor(10, TimeUnit.SECONDS);
+        } finally {
+            if (process.isAlive()) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private List<String> buildCommand(Collection<URL> classpath) throws URISyntaxException {
+        StringBuilder classpathArg = new StringBuilder();
+        for (URL url : classpath) {
+            classpathArg.append(Paths.get(url.toURI())).append(File.pathSeparatorChar);
+        }
+        // the classes of the forked process itself
+        classpathArg.append(codeSourceOf(ForkedJUnitMain.class)).append(File.pathSeparatorChar).append(codeSourceOf(ProxyFactory.class));
+
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(classpathArg.toString());
+        command.add(ForkedJUnitMain.class.getName());
+        return command;
+    }
+
+    private static Path codeSourceOf(Class<?> clazz) throws URISyntaxException {
+        return Paths.get(clazz.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+
+    /** Collects the results reported by all the forks. */
+    private static class Results {
+        private final AbstractTestListener  listener;
+        private final Consumer<String>      output;
+        private final Map<String, TestCase> testCases = new ConcurrentHashMap<>();
+        private final AtomicInteger         failures  = new AtomicInteger();
+
+        private Results(AbstractTestListener listener, Consumer<String> output) {
+            this.listener = listener;
+            this.output = output;
+        }
+
+        /** Forwards the output which is written by the fork since the previous call. */
+        private void forwardOutput(BufferedReader errors) throws IOException {
+            String line;
+            while ((line = errors.readLine()) != null) {
+                synchronized (listener) {
+                    output.accept(line);
+                }
+            }
+        }
+
+        /**
+         * Reads events of a test class until the class is finished.
+         *
+         * @param runningTest
+         *         receives the key of the test which is started but not finished yet
+         * @return false if the fork exited before the class is finished
+         */
+        private boolean readClassEvents(BufferedReader events, AtomicReference<String> runningTest) throws IOException {
+            String line;
+            while ((line = events.readLine()) != null) {
+                String[] fields = line.split("\t", -1);
+                for (int i = 1; i < fields.length; i++) {
+                    fields[i] = ForkedJUnitMain.unescape(fields[i]);
+                }
+                switch (fields[0]) {
+                    case ForkedJUnitMain.TEST_STARTED:
+                        testStarted(fields[1], fields[2], fields[3]);
+                        runningTest.set(fields[1]);
+                        break;
+                    case ForkedJUnitMain.TEST_FINISHED:
+                        testFinished(fields[1], Long.parseLong(fields[2]));
+                        runningTest.set(null);
+                        break;
+                    case ForkedJUnitMain.TEST_FAILURE:
+                        testFailed(fields[1], fields[2], fields[3], fields[4], fields[5], Integer.parseInt(fields[6]), false);
+                        break;
+                    case ForkedJUnitMain.TEST_ASSUMPTION_FAILURE:
+                        testFailed(fields[1], fields[2], fields[3], fields[4], fields[5], Integer.parseInt(fields[6]), true);
+                        break;
+                    case ForkedJUnitMain.CLASS_FINISHED:
+                        return true;
+                    default:
+                        LOG.debug("Unknown event of the forked test runner: {}", line);
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Reports the failure of the fork under the key of the test which it was running,
+         * or under the name of the class if the fork died outside of a test.
+         */
+        private void forkFailed(String testClass, String runningTest, Process process, long timeoutSec) throws InterruptedException {
+            String testKey = runningTest;
+            String className = testClass;
+            String methodName = "";
+            TestCase running = runningTest != null ? testCases.get(runningTest) : null;
+            if (running != null) {
+                className = running.getClassName();
+                methodName = running.getMethod();
+            } else {
+                testKey = testClass;
+                testStarted(testKey, className, methodName);
+            }
+            String message;
+            if (timeoutSec > 0) {
+                message = "The forked JVM is killed as " + testKey + " is not finished in " + timeoutSec + " seconds";
+            } else {
+                message = "The forked JVM exited with code " + (process.waitFor(10, TimeUnit.SECONDS) ? process.exitValue() : -1) +
+                          " while running " + testKey;
+            }
+            testFailed(testKey, className, methodName, message, message, -1, false);
+            testFinished(testKey, 0);
+        }
+
+        private void testStarted(String testKey, String className, String methodName) {
+            TestCase testCase = DtoFactory.getInstance().createDto(TestCase.class);
+            testCase.setClassName(className);
+            testCase.setMethod(methodName);
+            testCase.setFailingLine(-1);
+            testCase.setMessage("");
+            testCase.setTrace("");
+            testCases.put(testKey, testCase);
+            synchronized (listener) {
+                listener.startTest(testKey, testKey);
+            }
+        }
+
+        private void testFinished(String testKey, long duration) {
+            TestCase testCase = testCases.get(testKey);
+            if (testCase != null) {
+                testCase.setDuration(duration);
+            }
+            synchronized (listener) {
+                listener.endTest(testKey, testKey);
+            }
+        }
+
+        private void testFailed(String testKey,
+                                String className,
+                                String methodName,
+                                String message,
+                                String trace,
+                                int failingLine,
+                                boolean assumption) {
+            RemoteTestFailure failure = new RemoteTestFailure(message, trace);
+            if (assumption) {
+                synchronized (listener) {
+                    listener.addError(testKey, failure);
+                }
+                return;
+            }
+            TestCase testCase = DtoFactory.getInstance().createDto(TestCase.class);
+            testCase.setClassName(className);
+            testCase.setMethod(methodName);
+            testCase.setFailed(true);
+            testCase.setFailingLine(failingLine);
+            testCase.setMessage(message);
+            testCase.setTrace(trace);
+            testCases.put(testKey, testCase);
+            failures.incrementAndGet();
+            synchronized (listener) {
+                listener.addFailure(testKey, failure);
+            }
+        }
+
+        private TestResult toTestResult() {
+            TestResult result = DtoFactory.getInstance().createDto(TestResult.class);
+            result.setTestFramework("JUnit4x");
+            result.setSuccess(failures.get() == 0);
+            result.setFailureCount(failures.get());
+            result.setTestCaseCount(testCases.size());
+            result.setTestCases(new ArrayList<>(testCases.values()));
+            return result;
+        }
+    }
+
+    /** Failure of a test which has been run in a forked JVM, prints the stack trace reported by the fork. */
+    private static class RemoteTestFailure extends Throwable {
+        private static final long serialVersionUID = 1L;
+
+        private final String trace;
+
+        private RemoteTestFailure(String message, String trace) {
+            super(message, null, false, false);
+            this.trace = trace;
+        }
+
+        @Override
+        public void printStackTrace(PrintWriter writer) {
+            writer.print(trace);
+        }
+
+        @Override
+        public void printStackTrace(PrintStream stream) {
+            stream.print(trace);
+        }
+    }
+}
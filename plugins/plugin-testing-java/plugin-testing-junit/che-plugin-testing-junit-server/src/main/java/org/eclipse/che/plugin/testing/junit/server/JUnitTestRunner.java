@@ -11,7 +11,6 @@
 package org.eclipse.che.plugin.testing.junit.server;
 
 import java.io.File;
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
 import java.net.URLClassLoader;
@@ -19,13 +18,16 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
 import org.eclipse.che.api.project.server.ProjectManager;
 import org.eclipse.che.api.testing.server.framework.TestRunner;
 import org.eclipse.che.api.testing.server.listener.AbstractTestListener;
@@ -53,6 +55,9 @@ import javassist.util.proxy.ProxyFactory;
  * <em>fqn</em> : Fully qualified class name of the test class if the <em>runClass</em> is true.
  * </pre>
  *
+ * JUnit 4 tests are run in forked JVMs if <em>che.testing.junit.fork_count</em> is greater than 0,
+ * otherwise they are run in the ws-agent JVM. JUnit 3 tests are always run in the ws-agent JVM.
+ *
  * @author Mirage Abeysekara
  * @author David Festal
  */
@@ -63,12 +68,26 @@ public class JUnitTestRunner implements TestRunner {
     private ClassLoader           projectClassLoader;
     private ProjectManager        projectManager;
     private TestClasspathRegistry classpathRegistry;
+    private TestClassScanner      testClassScanner;
+    private int                   forkCount;
+    private ForkedTestExecutor    forkedTestExecutor;
 
     @Inject
     public JUnitTestRunner(ProjectManager projectManager,
-                           TestClasspathRegistry classpathRegistry) {
+                           TestClasspathRegistry classpathRegistry,
+                           @Named("che.testing.junit.fork_count") int forkCount,
+                           @Named("che.testing.junit.fork_jvm_args") String forkJvmArgs,
+                           @Named("che.testing.junit.fork_class_timeout_sec") long forkClassTimeoutSec,
+                           ExecutorServiceRegistry executorRegistry) {
         this.projectManager = projectManager;
         this.classpathRegistry = classpathRegistry;
+        this.testClassScanner = new TestClassScanner();
+        this.forkCount = forkCount;
+        this.forkedTestExecutor = new ForkedTestExecutor(forkCount,
+                                                         forkJvmArgs.trim().isEmpty() ? Collections.emptyList()
+                                                                                      : Arrays.asList(forkJvmArgs.trim().split("\\s+")),
+                                                         forkClassTimeoutSec,
+                                                         executorRegistry);
     }
 
     /**
@@ -89,6 +108,12 @@ public class JUnitTestRunner implements TestRunner {
         TestClasspathProvider classpathProvider = classpathRegistry.getTestClasspathProvider(projectType);
         URLClassLoader providedClassLoader = (URLClassLoader)classpathProvider.getClassLoader(projectAbsolutePath, projectPath,
                                                                                               updateClasspath);
+        if (forkCount > 0 && providedClassLoader.findResource(JUNIT4X_RUNNER_CLASS.replace('.', '/') + ".class") != null) {
+            TestResult testResult = runForked4x(providedClassLoader, projectAbsolutePath, runClass ? testParameters.get("fqn") : null);
+            testResult.setProjectPath(projectPath);
+            return testResult;
+        }
+
         projectClassLoader = new URLClassLoader(providedClassLoader.getURLs(), null) {
             @Override
             protected Class< ? > findClass(String name) throws ClassNotFoundException {
@@ -156,35 +181,30 @@ public class JUnitTestRunner implements TestRunner {
     }
 
     private TestResult runAll4x(String projectAbsolutePath) throws Exception {
-        List<String> testClassNames = new ArrayList<>();
-        Files.walk(Paths.get(projectAbsolutePath, "target", "test-classes")).forEach(filePath -> {
-            if (Files.isRegularFile(filePath) && filePath.toString().toLowerCase().endsWith(".class")) {
-                String path = Paths.get(projectAbsolutePath, "target", "test-classes").relativize(filePath).toString();
-                String className = path.replace(File.separatorChar, '.');
-                className = className.substring(0, className.length() - 6);
-                testClassNames.add(className);
-            }
-        });
+        // only the test classes are loaded, they are found without loading the classes
+        List<String> testClassNames = testClassScanner.findTestClasses(Paths.get(projectAbsolutePath, "target", "test-classes"));
         @SuppressWarnings("rawtypes")
         List<Class> testableClasses = new ArrayList<>();
         for (String className : testClassNames) {
-            Class< ? > clazz = Class.forName(className, false, projectClassLoader);
-            if (isTestable4x(clazz)) {
-                testableClasses.add(clazz);
-            }
+            testableClasses.add(Class.forName(className, false, projectClassLoader));
         }
         return run4xTestClasses(testableClasses.toArray(new Class[testableClasses.size()]));
     }
 
-    private boolean isTestable4x(Class< ? > clazz) throws ClassNotFoundException {
-        for (Method method : clazz.getDeclaredMethods()) {
-            for (Annotation annotation : method.getAnnotations()) {
-                if (annotation.annotationType().getName().equals("org.junit.Test")) {
-                    return true;
-                }
-            }
+    private TestResult runForked4x(URLClassLoader providedClassLoader, String projectAbsolutePath, String testClass) throws Exception {
+        List<String> testClassNames;
+        if (testClass != null) {
+            testClassNames = Collections.singletonList(testClass);
+        } else {
+            testClassNames = testClassScanner.findTestClasses(Paths.get(projectAbsolutePath, "target", "test-classes"));
+        }
+        try (OutputTestListener outputListener = new OutputTestListener(ForkedJUnitMain.class.getName())) {
+            return forkedTestExecutor.execute(Arrays.asList(providedClassLoader.getURLs()),
+                                              Paths.get(projectAbsolutePath),
+                                              testClassNames,
+                                              outputListener,
+                                              outputListener::writeOutput);
         }
-        return false;
     }
 
     private Object create4xTestListener(ClassLoader loader,
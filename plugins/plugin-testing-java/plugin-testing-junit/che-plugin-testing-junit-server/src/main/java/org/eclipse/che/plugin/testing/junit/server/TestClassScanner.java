@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.testing.junit.server;
+
+import javassist.bytecode.AccessFlag;
+import javassist.bytecode.AnnotationsAttribute;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.MethodInfo;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Finds JUnit 4 test classes by reading the class files, so the classes of the project
+ * are not loaded into the ws-agent JVM to be checked.
+ *
+ * <p>A class is a test class if it is a concrete class which declares or inherits, from a class
+ * of the same directory, a method annotated with {@code org.junit.Test}.
+ */
+public class TestClassScanner {
+
+    private static final String JUNIT4_TEST_ANNOTATION = "org.junit.Test";
+
+    /**
+     * Returns fully qualified names of the test classes found in the given directory.
+     *
+     * @throws IOException
+     *         if the directory can't be read
+     */
+    public List<String> findTestClasses(Path classesDir) throws IOException {
+        Map<String, ScannedClass> classes = new HashMap<>();
+        try (Stream<Path> files = Files.walk(classesDir)) {
+            for (Path file : (Iterable<Path>)files::iterator) {
+                if (Files.isRegularFile(file) && file.toString().toLowerCase().endsWith(".class")) {
+                    ScannedClass scanned = read(file);
+                    if (scanned != null) {
+                        classes.put(scanned.name, scanned);
+                    }
+                }
+            }
+        }
+
+        List<String> testClasses = new ArrayList<>();
+        for (ScannedClass scanned : classes.values()) {
+            if (!scanned.isAbstract && hasTestMethods(scanned, classes)) {
+                testClasses.add(scanned.name);
+            }
+        }
+        testClasses.sort(null);
+        return testClasses;
+    }
+
+    private boolean hasTestMethods(ScannedClass scanned, Map<String, ScannedClass> classes) {
+        Set<String> visited = new HashSet<>();
+        for (ScannedClass current = scanned; current != null && visited.add(current.name); current = classes.get(current.superclass)) {
+            if (current.hasTestMethods) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ScannedClass read(Path file) throws IOException {
+        ClassFile classFile;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            classFile = new ClassFile(new DataInputStream(in));
+        } catch (IOException | RuntimeException x) {
+            // not a valid class file, e.g. truncated or with a wrong magic number
+            return null;
+        }
+        boolean isAbstract = (classFile.getAccessFlags() & (AccessFlag.ABSTRACT | AccessFlag.INTERFACE)) != 0;
+        return new ScannedClass(classFile.getName(), classFile.getSuperclass(), isAbstract, declaresTestMethods(classFile));
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean declaresTestMethods(ClassFile classFile) {
+        for (MethodInfo method : (List<MethodInfo>)classFile.getMethods()) {
+            AnnotationsAttribute annotations = (AnnotationsAttribute)method.getAttribute(AnnotationsAttribute.visibleTag);
+            if (annotations != null && annotations.getAnnotation(JUNIT4_TEST_ANNOTATION) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class ScannedClass {
+        private final String  name;
+        private final String  superclass;
+        private final boolean isAbstract;
+        private final boolean hasTestMethods;
+
+        private ScannedClass(String name, String superclass, boolean isAbstract, boolean hasTestMethods) {
+            this.name = name;
+            this.superclass = superclass;
+            this.isAbstract = isAbstract;
+            this.hasTestMethods = hasTestMethods;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.testing.junit.server;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+/**
+ * Tests escaping of the fields of {@link ForkedJUnitMain} events.
+ */
+public class ForkedJUnitMainTest {
+
+    @Test(dataProvider = "fields")
+    public void shouldUnescapeEscapedField(String field) {
+        assertEquals(ForkedJUnitMain.unescape(ForkedJUnitMain.escape(field)), field);
+    }
+
+    @Test(dataProvider = "fields")
+    public void shouldNotContainSeparatorsInEscapedField(String field) {
+        String escaped = ForkedJUnitMain.escape(field);
+
+        assertFalse(escaped.contains("\t"));
+        assertFalse(escaped.contains("\n"));
+        assertFalse(escaped.contains("\r"));
+    }
+
+    @Test
+    public void shouldEscapeNullAsEmptyString() {
+        assertEquals(ForkedJUnitMain.escape(null), "");
+    }
+
+    @Test
+    public void shouldSplitEscapedFieldsOfEvent() {
+        String[] fields = {"testMethod(org.test.MyTest)", "expected:<a\tb> but was:<a\nb>", "C:\\tmp\\new"};
+        StringBuilder line = new StringBuilder(ForkedJUnitMain.TEST_FAILURE);
+        for (String field : fields) {
+            line.append('\t').append(ForkedJUnitMain.escape(field));
+        }
+
+        String[] split = line.toString().split("\t", -1);
+
+        assertEquals(split.length, fields.length + 1);
+        for (int i = 0; i < fields.length; i++) {
+            assertEquals(ForkedJUnitMain.unescape(split[i + 1]), fields[i]);
+        }
+    }
+
+    @DataProvider(name = "fields")
+    public Object[][] fields() {
+        return new Object[][] {
+                {""},
+                {"testMethod(org.test.MyTest)"},
+                {"java.lang.AssertionError: expected:<1> but was:<2>\n\tat org.test.MyTest.testMethod(MyTest.java:10)\r\n"},
+                {"tab\tin the middle"},
+                {"\\"},
+                {"\\t is not a tab"},
+                {"C:\\tmp\\new\\file"},
+                {"trailing backslash \\"},
+        };
+    }
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.testing.junit.server;
+
+import javassist.bytecode.AccessFlag;
+import javassist.bytecode.AnnotationsAttribute;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.annotation.Annotation;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for {@link TestClassScanner}.
+ */
+public class TestClassScannerTest {
+
+    private Path             classesDir;
+    private TestClassScanner scanner;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        classesDir = Files.createTempDirectory("test-classes");
+        scanner = new TestClassScanner();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        try (Stream<Path> files = Files.walk(classesDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    public void shouldFindClassesWithTestMethods() throws Exception {
+        writeClass("org.test.FirstTest", "java.lang.Object", false, "org.junit.Test");
+        writeClass("org.test.nested.SecondTest", "java.lang.Object", false, "org.junit.Test");
+
+        assertEquals(scanner.findTestClasses(classesDir), asList("org.test.FirstTest", "org.test.nested.SecondTest"));
+    }
+
+    @Test
+    public void shouldNotFindClassesWithoutTestMethods() throws Exception {
+        writeClass("org.test.Helper", "java.lang.Object", false, null);
+        writeClass("org.test.NotJUnitTest", "java.lang.Object", false, "org.testng.annotations.Test");
+
+        assertEquals(scanner.findTestClasses(classesDir), emptyList());
+    }
+
+    @Test
+    public void shouldNotFindAbstractClasses() throws Exception {
+        writeClass("org.test.AbstractTest", "java.lang.Object", true, "org.junit.Test");
+
+        assertEquals(scanner.findTestClasses(classesDir), emptyList());
+    }
+
+    @Test
+    public void shouldFindClassesWhichInheritTestMethods() throws Exception {
+        writeClass("org.test.AbstractTest", "java.lang.Object", true, "org.junit.Test");
+        writeClass("org.test.Intermediate", "org.test.AbstractTest", false, null);
+        writeClass("org.test.ConcreteTest", "org.test.Intermediate", false, null);
+
+        assertEquals(scanner.findTestClasses(classesDir), asList("org.test.ConcreteTest", "org.test.Intermediate"));
+    }
+
+    @Test
+    public void shouldNotFindClassesWhichSuperclassIsNotInDirectory() throws Exception {
+        writeClass("org.test.ExternalBaseTest", "org.external.BaseTest", false, null);
+
+        assertEquals(scanner.findTestClasses(classesDir), emptyList());
+    }
+
+    @Test
+    public void shouldSkipInvalidClassFiles() throws Exception {
+        writeClass("org.test.FirstTest", "java.lang.Object", false, "org.junit.Test");
+        Files.write(classesDir.resolve("Broken.class"), new byte[] {1, 2, 3});
+
+        assertEquals(scanner.findTestClasses(classesDir), asList("org.test.FirstTest"));
+    }
+
+    private void writeClass(String name, String superclass, boolean isAbstract, String methodAnnotation) throws Exception {
+        ClassFile classFile = new ClassFile(false, name, superclass);
+        classFile.setAccessFlags(AccessFlag.PUBLIC | (isAbstract ? AccessFlag.ABSTRACT : 0));
+        ConstPool constPool = classFile.getConstPool();
+        MethodInfo method = new MethodInfo(constPool, "test", "()V");
+        method.setAccessFlags(AccessFlag.PUBLIC | AccessFlag.ABSTRACT);
+        if (methodAnnotation != null) {
+            AnnotationsAttribute annotations = new AnnotationsAttribute(constPool, AnnotationsAttribute.visibleTag);
+            annotations.addAnnotation(new Annotation(methodAnnotation, constPool));
+            method.addAttribute(annotations);
+        }
+        classFile.addMethod(method);
+
+        Path file = classesDir.resolve(name.replace('.', '/') + ".class");
+        Files.createDirectories(file.getParent());
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            classFile.write(out);
+        }
+    }
+}
@@ -128,6 +128,25 @@ public interface Debugger {
      */
     SimpleValue getValue(VariablePath variablePath) throws DebuggerException;
 
+    /**
+     * Gets the current value of the given variable with the given range of its nested variables,
+     * so big arrays and collections may be read by pages.
+     * Debuggers which don't support paging return all the nested variables.
+     *
+     * @param variablePath
+     *      the path to the variable
+     * @param offset
+     *      index of the first nested variable to return
+     * @param limit
+     *      maximum number of nested variables to return
+     * @return {@link SimpleValue}
+     * @throws DebuggerException
+     *      if any error occur
+     */
+    default SimpleValue getValue(VariablePath variablePath, int offset, int limit) throws DebuggerException {
+        return getValue(variablePath);
+    }
+
     /**
      * Sets the new value {@link Variable#getValue()} of the variable {@link Variable#getVariablePath()}.
      *
@@ -38,7 +38,7 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
  * Send debugger events using JSON RPC to the clients
  */
 @Singleton
-public class DebuggerJsonRpcMessenger implements EventSubscriber<DebuggerMessage> {
+public class DebuggerJsonRpcMessenger implements EventSubscriber<DebuggerMessageBatch> {
     private static final String EVENT_DEBUGGER_MESSAGE_BREAKPOINT = "event:debugger:breakpoint";
     private static final String EVENT_DEBUGGER_MESSAGE_DISCONNECT = "event:debugger:disconnect";
     private static final String EVENT_DEBUGGER_MESSAGE_SUSPEND    = "event:debugger:suspend";
@@ -67,7 +67,11 @@ public class DebuggerJsonRpcMessenger implements EventSubscriber<DebuggerMessage
     }
 
     @Override
-    public void onEvent(DebuggerMessage event) {
+    public void onEvent(DebuggerMessageBatch batch) {
+        batch.getMessages().forEach(this::transmit);
+    }
+
+    private void transmit(DebuggerMessage event) {
         switch (event.getDebuggerEvent().getType()) {
             case SUSPEND:
                 final LocationDto location = asDto(((SuspendEvent)event.getDebuggerEvent()).getLocation());
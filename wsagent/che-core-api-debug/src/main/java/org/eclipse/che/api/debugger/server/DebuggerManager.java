@@ -13,6 +13,8 @@ package org.eclipse.che.api.debugger.server;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
+import org.eclipse.che.api.core.executor.ThreadPoolConfig;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.debugger.server.exceptions.DebuggerException;
 import org.eclipse.che.api.debugger.server.exceptions.DebuggerNotFoundException;
@@ -21,14 +23,32 @@ import org.eclipse.che.commons.lang.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static java.lang.Long.parseLong;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
+ * Creates debuggers and keeps the active debug sessions.
+ *
+ * <p>Events reported by the debuggers are published by a separate thread, in batches of the events
+ * reported in the meantime, each event is published as {@link DebuggerMessage} followed by
+ * {@link DebuggerMessageBatch} of all the events of the batch. Events are never dropped, when there are
+ * too many events which are not published yet the thread which reports an event, e.g. the thread
+ * reading events of the debugged JVM, is blocked until the publisher catches up, a warning is logged
+ * each {@value #REPORT_TIMEOUT_SEC} seconds of waiting.
+ *
  * @author Anatoliy Bazko
  */
 @Singleton
@@ -36,6 +56,9 @@ public class DebuggerManager {
 
     private static final Logger LOG = LoggerFactory.getLogger(DebuggerManager.class);
 
+    private static final int MAX_PENDING_MESSAGES = 1000;
+    private static final int REPORT_TIMEOUT_SEC   = 10;
+
     private final EventService eventService;
 
     /**
@@ -49,16 +72,93 @@ public class DebuggerManager {
     private final Map<Long, Pair<String, Debugger>> debuggers;
     private final AtomicLong                        sessionId;
 
+    /**
+     * Messages which are not published yet. Debuggers report events from the threads which read events of the debugged
+     * processes, so messages are published by another thread and sending of them to the clients doesn't hold those threads.
+     */
+    private final BlockingQueue<DebuggerMessage> messages;
+    private final AtomicBoolean                  publishing;
+    private final ExecutorService                publisher;
+
     @Inject
-    public DebuggerManager(Set<DebuggerFactory> factories, EventService eventService) {
+    public DebuggerManager(Set<DebuggerFactory> factories, EventService eventService, ExecutorServiceRegistry executorRegistry) {
         this.eventService = eventService;
         this.factories = new ConcurrentHashMap<>();
         this.debuggers = new ConcurrentHashMap<>();
         this.sessionId = new AtomicLong();
+        this.messages = new ArrayBlockingQueue<>(MAX_PENDING_MESSAGES);
+        this.publishing = new AtomicBoolean();
+        // a single publishing task is either running or waiting in the queue at a time
+        this.publisher = executorRegistry.getOrCreate("debugger_events",
+                                                      ThreadPoolConfig.fixed(1, 1)
+                                                                      .withThreadNameFormat("DebuggerEventsPublisher-%d")
+                                                                      .withDaemon(true));
 
         factories.stream().forEach(factory -> this.factories.put(factory.getType(), factory));
     }
 
+    @PreDestroy
+    private void stopPublisher() {
+        publisher.shutdownNow();
+    }
+
+    /**
+     * Queues the message to be published. The reporting thread waits while clients can't keep up
+     * with the debugger and there are too many messages which are not published yet, the message
+     * is dropped only if the publisher is stopped or the reporting thread is interrupted.
+     */
+    private void report(DebuggerMessage message) {
+        try {
+            while (!messages.offer(message, REPORT_TIMEOUT_SEC, SECONDS)) {
+                if (publisher.isShutdown()) {
+                    LOG.warn("Debugger event {} is dropped, events publisher is stopped", message.getDebuggerEvent().getType());
+                    return;
+                }
+                LOG.warn("Debugger event {} waits for publishing of {} events reported before it",
+                         message.getDebuggerEvent().getType(), messages.size());
+                schedulePublishing();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Debugger event {} is dropped, reporting thread is interrupted", message.getDebuggerEvent().getType());
+            return;
+        }
+        schedulePublishing();
+    }
+
+    private void schedulePublishing() {
+        if (publishing.compareAndSet(false, true)) {
+            try {
+                publisher.execute(this::publishMessages);
+            } catch (RejectedExecutionException e) {
+                publishing.set(false);
+                LOG.warn("Debugger events are not published. {}", e.getMessage());
+            }
+        }
+    }
+
+    /** Publishes all the messages reported in the meantime at once, in the order they are reported. */
+    private void publishMessages() {
+        List<DebuggerMessage> batch = new ArrayList<>();
+        messages.drainTo(batch);
+        if (!batch.isEmpty()) {
+            try {
+                // single messages are kept for the subscribers which don't know about batches
+                for (DebuggerMessage message : batch) {
+                    eventService.publish(message);
+                }
+                eventService.publish(new DebuggerMessageBatch(batch));
+            } catch (RuntimeException e) {
+                LOG.error(e.getMessage(), e);
+            }
+        }
+        publishing.set(false);
+        // messages reported after the drain may have seen the task as still running
+        if (!messages.isEmpty()) {
+            schedulePublishing();
+        }
+    }
+
     /**
      * Instantiates a new debugger of given type.
      * @see DebuggerFactory#create(Map, Debugger.DebuggerCallback)
@@ -76,7 +176,7 @@ public class DebuggerManager {
                 debuggers.remove(id);
             }
 
-            eventService.publish(new DebuggerMessage(event, debuggerType));
+            report(new DebuggerMessage(event, debuggerType));
         });
         debuggers.put(id, Pair.of(debuggerType, debugger));
 
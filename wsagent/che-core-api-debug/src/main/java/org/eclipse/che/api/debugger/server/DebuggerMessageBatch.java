@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.debugger.server;
+
+import org.eclipse.che.api.core.notification.EventService;
+
+import java.util.List;
+
+/**
+ * {@link DebuggerMessage Debugger messages} reported one after another, they are sent
+ * over {@link EventService} at once, in the order they have been reported.
+ */
+public class DebuggerMessageBatch {
+    private final List<DebuggerMessage> messages;
+
+    public DebuggerMessageBatch(List<DebuggerMessage> messages) {
+        this.messages = messages;
+    }
+
+    public List<DebuggerMessage> getMessages() {
+        return messages;
+    }
+}
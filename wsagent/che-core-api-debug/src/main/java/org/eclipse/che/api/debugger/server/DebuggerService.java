@@ -169,7 +169,10 @@ public class DebuggerService {
     @GET
     @Path("{id}/value")
     @Produces(MediaType.APPLICATION_JSON)
-    public SimpleValueDto getValue(@PathParam("id") String sessionId, @Context UriInfo uriInfo) throws DebuggerException {
+    public SimpleValueDto getValue(@PathParam("id") String sessionId,
+                                   @QueryParam("offset") @DefaultValue("0") int offset,
+                                   @QueryParam("limit") @DefaultValue("-1") int limit,
+                                   @Context UriInfo uriInfo) throws DebuggerException {
         List<String> path = new ArrayList<>();
 
         MultivaluedMap<String, String> parameters = uriInfo.getQueryParameters();
@@ -181,7 +184,10 @@ public class DebuggerService {
         }
 
         VariablePath variablePath = new VariablePathImpl(path);
-        return asDto(debuggerManager.getDebugger(sessionId).getValue(variablePath));
+        if (limit < 0) {
+            return asDto(debuggerManager.getDebugger(sessionId).getValue(variablePath));
+        }
+        return asDto(debuggerManager.getDebugger(sessionId).getValue(variablePath, offset, limit));
     }
 
     @PUT
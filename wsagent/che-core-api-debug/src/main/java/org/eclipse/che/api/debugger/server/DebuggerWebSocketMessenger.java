@@ -30,7 +30,7 @@ import static org.eclipse.che.api.debugger.server.DtoConverter.asDto;
  */
 @Singleton
 @Deprecated
-public class DebuggerWebSocketMessenger implements EventSubscriber<DebuggerMessage> {
+public class DebuggerWebSocketMessenger implements EventSubscriber<DebuggerMessageBatch> {
     private static final Logger LOG     = LoggerFactory.getLogger(DebuggerWebSocketMessenger.class);
     private static final String CHANNEL = "%s:events:";
 
@@ -52,7 +52,11 @@ public class DebuggerWebSocketMessenger implements EventSubscriber<DebuggerMessa
     }
 
     @Override
-    public void onEvent(DebuggerMessage msg) {
+    public void onEvent(DebuggerMessageBatch batch) {
+        batch.getMessages().forEach(this::send);
+    }
+
+    private void send(DebuggerMessage msg) {
         try {
             final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
             final String channel = String.format(CHANNEL, msg.getDebuggerType());
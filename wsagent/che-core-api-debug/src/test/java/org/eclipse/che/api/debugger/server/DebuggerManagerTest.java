@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.debugger.server;
+
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.debug.shared.model.event.DebuggerEvent;
+import org.eclipse.che.api.debug.shared.model.impl.LocationImpl;
+import org.eclipse.che.api.debug.shared.model.impl.event.SuspendEventImpl;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singleton;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests {@link DebuggerManager}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class DebuggerManagerTest {
+
+    @Mock
+    private DebuggerFactory debuggerFactory;
+    @Mock
+    private Debugger        debugger;
+
+    private ExecutorServiceRegistry               executorRegistry;
+    private EventService                          eventService;
+    private BlockingQueue<List<Integer>>          batches;
+    private CountDownLatch                        firstBatchPublished;
+    private CountDownLatch                        releaseFirstBatch;
+    private EventSubscriber<DebuggerMessageBatch> subscriber;
+    private Debugger.DebuggerCallback             callback;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        executorRegistry = new ExecutorServiceRegistry(emptyMap());
+        eventService = new EventService();
+        batches = new LinkedBlockingQueue<>();
+        firstBatchPublished = new CountDownLatch(1);
+        releaseFirstBatch = new CountDownLatch(1);
+        subscriber = batch -> {
+            batches.add(batch.getMessages()
+                             .stream()
+                             .map(message -> ((SuspendEventImpl)message.getDebuggerEvent()).getLocation().getLineNumber())
+                             .collect(Collectors.toList()));
+            if (firstBatchPublished.getCount() > 0) {
+                firstBatchPublished.countDown();
+                await(releaseFirstBatch);
+            }
+        };
+        eventService.subscribe(subscriber, DebuggerMessageBatch.class);
+
+        ArgumentCaptor<Debugger.DebuggerCallback> callbackCaptor = ArgumentCaptor.forClass(Debugger.DebuggerCallback.class);
+        when(debuggerFactory.getType()).thenReturn("test");
+        when(debuggerFactory.create(anyMapOf(String.class, String.class), callbackCaptor.capture())).thenReturn(debugger);
+        DebuggerManager manager = new DebuggerManager(singleton(debuggerFactory), eventService, executorRegistry);
+        manager.create("test", emptyMap());
+        callback = callbackCaptor.getValue();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        eventService.unsubscribe(subscriber, DebuggerMessageBatch.class);
+        executorRegistry.shutdown();
+    }
+
+    @Test
+    public void shouldPublishEventsReportedWhilePreviousEventsArePublishedInOneBatch() throws Exception {
+        callback.onEvent(suspendEvent(1));
+        assertTrue(firstBatchPublished.await(10, SECONDS));
+
+        callback.onEvent(suspendEvent(2));
+        callback.onEvent(suspendEvent(3));
+        callback.onEvent(suspendEvent(4));
+        releaseFirstBatch.countDown();
+
+        assertEquals(batches.poll(10, SECONDS), asList(1));
+        assertEquals(batches.poll(10, SECONDS), asList(2, 3, 4));
+    }
+
+    @Test
+    public void shouldPublishEventsReportedAfterPreviousBatchIsPublished() throws Exception {
+        callback.onEvent(suspendEvent(1));
+        assertTrue(firstBatchPublished.await(10, SECONDS));
+        releaseFirstBatch.countDown();
+        assertNotNull(batches.poll(10, SECONDS));
+
+        callback.onEvent(suspendEvent(2));
+
+        assertEquals(batches.poll(10, SECONDS), asList(2));
+    }
+
+    @Test
+    public void shouldNotDropEventsWhenTooManyEventsAreNotPublishedYet() throws Exception {
+        callback.onEvent(suspendEvent(0));
+        assertTrue(firstBatchPublished.await(10, SECONDS));
+
+        // one more event than can be queued, the reporting thread waits for the publisher
+        Thread reporter = new Thread(() -> IntStream.rangeClosed(1, 1001).forEach(line -> callback.onEvent(suspendEvent(line))));
+        reporter.start();
+        releaseFirstBatch.countDown();
+        reporter.join(SECONDS.toMillis(10));
+
+        List<Integer> published = new ArrayList<>();
+        while (published.size() < 1002) {
+            List<Integer> batch = batches.poll(10, SECONDS);
+            assertNotNull(batch);
+            published.addAll(batch);
+        }
+        assertEquals(published, IntStream.rangeClosed(0, 1001).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldPublishSingleMessagesForSubscribersWhichDoNotKnowAboutBatches() throws Exception {
+        BlockingQueue<Integer> lines = new LinkedBlockingQueue<>();
+        EventSubscriber<DebuggerMessage> messageSubscriber =
+                message -> lines.add(((SuspendEventImpl)message.getDebuggerEvent()).getLocation().getLineNumber());
+        eventService.subscribe(messageSubscriber, DebuggerMessage.class);
+        try {
+            callback.onEvent(suspendEvent(1));
+            assertTrue(firstBatchPublished.await(10, SECONDS));
+            callback.onEvent(suspendEvent(2));
+            callback.onEvent(suspendEvent(3));
+            releaseFirstBatch.countDown();
+
+            assertEquals(lines.poll(10, SECONDS), Integer.valueOf(1));
+            assertEquals(lines.poll(10, SECONDS), Integer.valueOf(2));
+            assertEquals(lines.poll(10, SECONDS), Integer.valueOf(3));
+        } finally {
+            eventService.unsubscribe(messageSubscriber, DebuggerMessage.class);
+        }
+    }
+
+    private static DebuggerEvent suspendEvent(int line) {
+        return new SuspendEventImpl(new LocationImpl("com.HelloWorld", line));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -11,17 +11,21 @@
 package org.eclipse.che.api.project.shared.dto.event;
 
 import org.eclipse.che.dto.shared.DTO;
+import org.eclipse.che.dto.shared.SerializationIndex;
 
 @DTO
 public interface FileStateUpdateDto {
+    @SerializationIndex(1)
     FileWatcherEventType getType();
 
     FileStateUpdateDto withType(FileWatcherEventType type);
 
+    @SerializationIndex(2)
     String getPath();
 
     FileStateUpdateDto withPath(String path);
 
+    @SerializationIndex(3)
     String getHashCode();
 
     FileStateUpdateDto withHashCode(String hashCode);
@@ -11,13 +11,16 @@
 package org.eclipse.che.api.project.shared.dto.event;
 
 import org.eclipse.che.dto.shared.DTO;
+import org.eclipse.che.dto.shared.SerializationIndex;
 
 @DTO
 public interface ProjectTreeStateUpdateDto {
+    @SerializationIndex(1)
     String getPath();
 
     ProjectTreeStateUpdateDto withPath(String path);
 
+    @SerializationIndex(2)
     FileWatcherEventType getType();
 
     ProjectTreeStateUpdateDto withType(FileWatcherEventType type);
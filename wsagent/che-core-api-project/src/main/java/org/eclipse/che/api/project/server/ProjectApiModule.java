@@ -31,14 +31,17 @@ import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
 import org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.impl.file.event.detectors.EditorFileTracker;
 import org.eclipse.che.api.vfs.impl.file.event.detectors.ProjectTreeTracker;
+import org.eclipse.che.api.vfs.impl.file.event.detectors.ValueProviderInputTracker;
 import org.eclipse.che.api.vfs.search.MediaTypeFilter;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 import org.eclipse.che.api.vfs.search.impl.FSLuceneSearcherProvider;
 import org.eclipse.che.api.vfs.watcher.FileTreeWalker;
 import org.eclipse.che.api.vfs.watcher.FileWatcherByPathMatcher;
+import org.eclipse.che.api.vfs.watcher.FileWatcherService;
 import org.eclipse.che.api.vfs.watcher.IndexedFileCreateConsumer;
 import org.eclipse.che.api.vfs.watcher.IndexedFileDeleteConsumer;
 import org.eclipse.che.api.vfs.watcher.IndexedFileUpdateConsumer;
+import org.eclipse.che.api.vfs.watcher.InotifyFileWatcherService;
 
 import java.io.IOException;
 import java.nio.file.FileSystems;
@@ -91,6 +94,9 @@ public class ProjectApiModule extends AbstractModule {
         bind(VirtualFileSystemProvider.class).to(LocalVirtualFileSystemProvider.class);
 
         bind(FileWatcherNotificationHandler.class).to(DefaultFileWatcherNotificationHandler.class);
+        if (InotifyFileWatcherService.isSupported()) {
+            bind(FileWatcherService.class).to(InotifyFileWatcherService.class);
+        }
 
         configureVfsFilters(excludeMatcher);
         configureVfsFilters(fileWatcherExcludes);
@@ -148,6 +154,7 @@ public class ProjectApiModule extends AbstractModule {
     private void configureVfsEvent() {
         bind(EditorFileTracker.class).asEagerSingleton();
         bind(ProjectTreeTracker.class).asEagerSingleton();
+        bind(ValueProviderInputTracker.class).asEagerSingleton();
     }
 
     @Provides
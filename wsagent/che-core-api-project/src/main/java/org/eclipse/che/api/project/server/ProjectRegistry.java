@@ -21,6 +21,7 @@ import org.eclipse.che.api.project.server.handlers.ProjectHandlerRegistry;
 import org.eclipse.che.api.project.server.handlers.ProjectInitHandler;
 import org.eclipse.che.api.project.server.type.BaseProjectType;
 import org.eclipse.che.api.project.server.type.ProjectTypeRegistry;
+import org.eclipse.che.api.project.server.type.ValueProviderCache;
 import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
@@ -54,6 +55,7 @@ public class ProjectRegistry {
     private final ProjectHandlerRegistry         handlers;
     private final FolderEntry                    root;
     private final EventService                   eventService;
+    private final ValueProviderCache             valueProviderCache;
 
     private boolean initialized;
 
@@ -62,8 +64,10 @@ public class ProjectRegistry {
                            VirtualFileSystemProvider vfsProvider,
                            ProjectTypeRegistry projectTypeRegistry,
                            ProjectHandlerRegistry handlers,
-                           EventService eventService) throws ServerException {
+                           EventService eventService,
+                           ValueProviderCache valueProviderCache) throws ServerException {
         this.eventService = eventService;
+        this.valueProviderCache = valueProviderCache;
         this.projects = new ConcurrentHashMap<>();
         this.workspaceHolder = workspaceHolder;
         this.vfs = vfsProvider.getVirtualFileSystem();
@@ -189,7 +193,8 @@ public class ProjectRegistry {
                                  boolean updated,
                                  boolean detected) throws ServerException {
 
-        final RegisteredProject project = new RegisteredProject(folder, config, updated, detected, this.projectTypeRegistry);
+        final RegisteredProject project = new RegisteredProject(folder, config, updated, detected, this.projectTypeRegistry,
+                                                                valueProviderCache);
         projects.put(project.getPath(), project);
 
         return project;
@@ -19,6 +19,8 @@ import org.eclipse.che.api.project.server.type.AttributeValue;
 import org.eclipse.che.api.project.server.type.ProjectTypeDef;
 import org.eclipse.che.api.project.server.type.ProjectTypeRegistry;
 import org.eclipse.che.api.project.server.type.ValueProvider;
+import org.eclipse.che.api.project.server.type.ValueProviderCache;
+import org.eclipse.che.api.project.server.type.ValueProviderFactory;
 import org.eclipse.che.api.project.server.type.ValueStorageException;
 import org.eclipse.che.api.project.server.type.Variable;
 import org.eclipse.che.api.vfs.Path;
@@ -64,6 +66,8 @@ public class RegisteredProject implements ProjectConfig {
      *         if this project was detected, initialized when "parent" project initialized
      * @param projectTypeRegistry
      *         project type registry
+     * @param valueProviderCache
+     *         cache of the provided attribute values
      * @throws ServerException
      *         when path for project is undefined
      */
@@ -71,7 +75,8 @@ public class RegisteredProject implements ProjectConfig {
                       ProjectConfig config,
                       boolean updated,
                       boolean detected,
-                      ProjectTypeRegistry projectTypeRegistry) throws ServerException {
+                      ProjectTypeRegistry projectTypeRegistry,
+                      ValueProviderCache valueProviderCache) throws ServerException {
         problems = new ArrayList<>();
         attributes = new HashMap<>();
 
@@ -105,7 +110,7 @@ public class RegisteredProject implements ProjectConfig {
         types.addTransient(folder);
 
         // 3. initialize attributes
-        initAttributes();
+        initAttributes(valueProviderCache);
     }
 
 
@@ -113,7 +118,9 @@ public class RegisteredProject implements ProjectConfig {
      * Initialize project attributes.
      * Note: the problem with {@link Problem#code} = 13 will be added when a value for some attribute is not initialized
      */
-    private void initAttributes() {
+    private void initAttributes(ValueProviderCache valueProviderCache) {
+        // all the attributes provided by the same factory are read with a single provider
+        final Map<ValueProviderFactory, ValueProvider> valueProviders = new HashMap<>();
 
         // we take only defined attributes, others ignored
         for (Map.Entry<String, Attribute> entry : types.getAttributeDefs().entrySet()) {
@@ -131,10 +138,12 @@ public class RegisteredProject implements ProjectConfig {
                 // value provided
                 if (variable.isValueProvided()) {
 
-                    final ValueProvider valueProvider = variable.getValueProviderFactory().newInstance(folder);
-
                     if (folder != null) {
 
+                        final ValueProvider valueProvider =
+                                valueProviders.computeIfAbsent(variable.getValueProviderFactory(),
+                                                               factory -> valueProviderCache.newInstance(factory, folder));
+
                         try {
                             if (!valueProvider.isSettable() || value.isEmpty()) {
                                 // get provided value
@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server.type;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.project.server.VirtualFileEntry;
+import org.eclipse.che.api.vfs.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Caches values provided by read only {@link ValueProvider}s of the factories which declare
+ * their input files, see {@link ValueProviderFactory#getInputFiles()}.
+ *
+ * <p>Values are cached per factory and project along with the modification dates and sizes of the input
+ * files at the moment the values are read. Values are read again when the modification date or the size
+ * of any of the input files differs, or after the file watcher reports an input file to be created, modified
+ * or deleted, see {@link #invalidate(String)}, as modification dates may be too coarse to notice
+ * a quick change. Entries are indexed by their input file paths and by project paths,
+ * so dropping them doesn't depend on the number of cached entries.
+ */
+@Singleton
+public class ValueProviderCache {
+    private static final Logger LOG = LoggerFactory.getLogger(ValueProviderCache.class);
+
+    private final Map<Key, Entry>       entries        = new ConcurrentHashMap<>();
+    private final Set<String>           inputFileNames = ConcurrentHashMap.newKeySet();
+    /** Input file path -> Keys of the entries read from the file */
+    private final Map<String, Set<Key>> keysByInput    = new ConcurrentHashMap<>();
+    /** Project path -> Keys of the entries of the project */
+    private final Map<String, Set<Key>> keysByProject  = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the value provider of the project, values of the returned provider are cached
+     * if the provider is read only and the factory declares the input files.
+     *
+     * @param factory
+     *         factory of the value provider
+     * @param projectFolder
+     *         project folder
+     */
+    public ValueProvider newInstance(ValueProviderFactory factory, FolderEntry projectFolder) {
+        final ValueProvider provider = factory.newInstance(projectFolder);
+        final List<String> inputFiles = factory.getInputFiles();
+        if (projectFolder == null || provider.isSettable() || inputFiles.isEmpty()) {
+            return provider;
+        }
+
+        final List<Long> stamps = new ArrayList<>(inputFiles.size() * 2);
+        try {
+            for (String inputFile : inputFiles) {
+                final VirtualFileEntry file = projectFolder.getChild(inputFile);
+                if (file == null) {
+                    stamps.add(-1L);
+                    stamps.add(-1L);
+                } else {
+                    stamps.add(file.getModified());
+                    stamps.add(file.isFile() ? file.getVirtualFile().getLength() : 0L);
+                }
+            }
+        } catch (ServerException e) {
+            LOG.warn("Can't get modification dates of the files {} of the project {}: {}",
+                     inputFiles, projectFolder.getPath(), e.getMessage());
+            return provider;
+        }
+
+        final Path projectPath = projectFolder.getPath();
+        for (String inputFile : inputFiles) {
+            inputFileNames.add(Path.of(inputFile).getName());
+        }
+        final Entry entry = entries.compute(new Key(factory, projectPath.toString()), (key, existing) -> {
+            if (existing != null && existing.stamps.equals(stamps)) {
+                return existing;
+            }
+            final Entry created = new Entry(projectPath, inputFiles, stamps);
+            index(key, created);
+            return created;
+        });
+        return new CachingValueProvider(provider, entry);
+    }
+
+    /** Tests whether or not the file with the given name may be an input file of some value provider. */
+    public boolean isInputFileName(String fileName) {
+        return inputFileNames.contains(fileName);
+    }
+
+    /**
+     * Drops the cached values read from the file.
+     *
+     * @param path
+     *         path of the created, modified or deleted file
+     */
+    public void invalidate(String path) {
+        remove(keysByInput.get(path));
+    }
+
+    /**
+     * Drops the cached values of the project.
+     *
+     * @param projectPath
+     *         path of the deleted project
+     */
+    public void invalidateProject(String projectPath) {
+        remove(keysByProject.get(projectPath));
+    }
+
+    /** Drops all the cached values. */
+    public void invalidateAll() {
+        entries.clear();
+        keysByInput.clear();
+        keysByProject.clear();
+    }
+
+    private void index(Key key, Entry entry) {
+        for (String inputPath : entry.inputPaths) {
+            keysByInput.computeIfAbsent(inputPath, path -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+        keysByProject.computeIfAbsent(key.projectPath, path -> ConcurrentHashMap.newKeySet()).add(key);
+    }
+
+    private void remove(Set<Key> keys) {
+        if (keys == null) {
+            return;
+        }
+        for (Key key : new ArrayList<>(keys)) {
+            entries.computeIfPresent(key, (k, entry) -> {
+                for (String inputPath : entry.inputPaths) {
+                    unindex(keysByInput, inputPath, k);
+                }
+                unindex(keysByProject, k.projectPath, k);
+                return null;
+            });
+        }
+    }
+
+    private static void unindex(Map<String, Set<Key>> index, String path, Key key) {
+        index.computeIfPresent(path, (p, keys) -> keys.remove(key) && keys.isEmpty() ? null : keys);
+    }
+
+    private static class Key {
+        final ValueProviderFactory factory;
+        final String               projectPath;
+
+        Key(ValueProviderFactory factory, String projectPath) {
+            this.factory = factory;
+            this.projectPath = projectPath;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key)o;
+            return factory == other.factory && projectPath.equals(other.projectPath);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(factory), projectPath);
+        }
+    }
+
+    /** Values of a provider of a single project read while the input files have the given modification dates and sizes. */
+    private static class Entry {
+        final Set<String>               inputPaths;
+        final List<Long>                stamps;
+        final Map<String, List<String>> values = new ConcurrentHashMap<>();
+
+        Entry(Path projectPath, List<String> inputFiles, List<Long> stamps) {
+            this.inputPaths = new HashSet<>();
+            for (String inputFile : inputFiles) {
+                inputPaths.add(projectPath.newPath(inputFile).toString());
+            }
+            this.stamps = stamps;
+        }
+    }
+
+    private static class CachingValueProvider extends ReadonlyValueProvider {
+        final ValueProvider delegate;
+        final Entry         entry;
+
+        CachingValueProvider(ValueProvider delegate, Entry entry) {
+            this.delegate = delegate;
+            this.entry = entry;
+        }
+
+        @Override
+        public List<String> getValues(String attributeName) throws ValueStorageException {
+            List<String> values = entry.values.get(attributeName);
+            if (values == null) {
+                final List<String> provided = delegate.getValues(attributeName);
+                if (provided == null) {
+                    return null;
+                }
+                values = unmodifiableList(new ArrayList<>(provided));
+                entry.values.putIfAbsent(attributeName, values);
+            }
+            return new ArrayList<>(values);
+        }
+    }
+}
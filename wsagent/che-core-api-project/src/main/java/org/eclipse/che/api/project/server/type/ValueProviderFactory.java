@@ -12,6 +12,10 @@ package org.eclipse.che.api.project.server.type;
 
 import org.eclipse.che.api.project.server.FolderEntry;
 
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+
 /**
  * Factory for {@link ValueProvider}.
  *
@@ -25,4 +29,13 @@ public interface ValueProviderFactory {
      * @param projectFolder
      */
     ValueProvider newInstance(FolderEntry projectFolder);
+
+    /**
+     * Returns paths of the files, relative to the project folder, which the provided values are read from.
+     * Values provided by read only providers of the factories which declare their input files are cached
+     * until any of the files is modified, see {@link ValueProviderCache}. Values of other providers are not cached.
+     */
+    default List<String> getInputFiles() {
+        return emptyList();
+    }
 }
@@ -10,9 +10,22 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * Advisory file locks. It does not prevent access to the file from other programs.
  * <p/>
+ * Locks are hierarchical. Shared or exclusive lock of a path takes intention lock of the same kind on each
+ * ancestor of the path, so a lock of a folder conflicts with locks of the items within the folder, but locks
+ * of the items in disjoint subtrees never wait for each other. Each path has its own monitor, a thread which
+ * waits for a lock is woken up only when the lock of the path it waits for is released.
+ * <p/>
+ * Locks are reentrant. A thread which has a lock of a path doesn't wait for locks of the same path, its
+ * ancestors or descendants.
+ * <p/>
  * Usage:
  * <pre>
  *      PathLockFactory lockFactory = ...
@@ -37,8 +50,8 @@ public final class PathLockFactory {
     private static final int MAX_RECURSIVE_LOCKS = (1 << 10) - 1;
     /** Max number of threads allowed to access file. */
     private final int maxThreads;
-    // Tail of the "lock table".
-    private final Node tail = new Node(null, 0, null);
+    /** Nodes of the paths which are locked or waited for, a node is removed when it is not used by any thread. */
+    private final ConcurrentMap<Path, Node> nodes = new ConcurrentHashMap<>();
 
     /**
      * @param maxThreads
@@ -53,142 +66,226 @@ public final class PathLockFactory {
     }
 
     public PathLock getLock(Path path, boolean exclusive) {
-        return new PathLock(path, exclusive ? maxThreads : 1);
+        return new PathLock(path, exclusive || maxThreads == 1 ? Mode.EXCLUSIVE : Mode.SHARED);
     }
 
-    private synchronized void acquire(Path path, int permits) {
-        while (!tryAcquire(path, permits)) {
-            try {
-                wait();
-            } catch (InterruptedException e) {
-                notifyAll();
-                throw new RuntimeException(e);
+    private void acquire(Path path, Mode mode, long timeoutMilliseconds) {
+        final long endTime = timeoutMilliseconds < 0 ? Long.MAX_VALUE : System.currentTimeMillis() + timeoutMilliseconds;
+        final Path[] hierarchy = getHierarchy(path);
+        final long threadId = Thread.currentThread().getId();
+        // ancestors are locked from the root down to the path
+        int acquired = 0;
+        try {
+            for (; acquired < hierarchy.length; acquired++) {
+                final Node node = pin(hierarchy[acquired]);
+                try {
+                    node.acquire(threadId, getMode(hierarchy, acquired, mode), endTime, path);
+                } catch (RuntimeException | Error e) {
+                    unpin(node);
+                    throw e;
+                }
             }
+        } catch (RuntimeException | Error e) {
+            release(hierarchy, acquired, mode, threadId);
+            throw e;
         }
     }
 
-    private synchronized void acquire(Path path, int permits, long timeoutMilliseconds) {
-        final long endTime = System.currentTimeMillis() + timeoutMilliseconds;
-        long waitTime = timeoutMilliseconds;
-        while (!tryAcquire(path, permits)) {
-            try {
-                wait(waitTime);
-            } catch (InterruptedException e) {
-                notifyAll();
-                throw new RuntimeException(e);
+    private void release(Path path, Mode mode) {
+        final Path[] hierarchy = getHierarchy(path);
+        release(hierarchy, hierarchy.length, mode, Thread.currentThread().getId());
+    }
+
+    /** Releases locks of the first {@code count} paths of the hierarchy, from the bottom up. */
+    private void release(Path[] hierarchy, int count, Mode mode, long threadId) {
+        for (int i = count - 1; i >= 0; i--) {
+            final Node node = nodes.get(hierarchy[i]);
+            if (node != null && node.release(threadId, getMode(hierarchy, i, mode))) {
+                unpin(node);
             }
-            long now = System.currentTimeMillis();
-            if (now >= endTime) {
-                throw new RuntimeException(String.format("Get lock timeout for '%s'. ", path));
+        }
+    }
+
+    private Node pin(Path path) {
+        return nodes.compute(path, (p, node) -> {
+            if (node == null) {
+                node = new Node(p);
             }
-            waitTime = endTime - now;
+            node.refs++;
+            return node;
+        });
+    }
+
+    private void unpin(Node node) {
+        nodes.computeIfPresent(node.path, (p, current) -> current == node && --current.refs == 0 ? null : current);
+    }
+
+    /** Returns the path and all its ancestors, the root goes first. */
+    private static Path[] getHierarchy(Path path) {
+        final Path[] hierarchy = new Path[path.length() + 1];
+        int i = hierarchy.length;
+        for (Path current = path; current != null && i > 0; current = current.getParent()) {
+            hierarchy[--i] = current;
         }
+        return hierarchy;
     }
 
-    private synchronized void release(Path path, int permits) {
-        Node node = tail;
-        while (node != null) {
-            Node prev = node.prev;
-            if (prev == null) {
-                break;
+    private static Mode getMode(Path[] hierarchy, int index, Mode mode) {
+        if (index == hierarchy.length - 1) {
+            return mode;
+        }
+        return mode == Mode.EXCLUSIVE ? Mode.INTENTION_EXCLUSIVE : Mode.INTENTION_SHARED;
+    }
+
+    public void checkClean() {
+        assert nodes.isEmpty();
+    }
+
+   /* =============================================== */
+
+    private enum Mode {
+        INTENTION_SHARED, INTENTION_EXCLUSIVE, SHARED, EXCLUSIVE
+    }
+
+    /** Locks of a single path. */
+    private final class Node {
+        final Path path;
+        /** Number of threads which use the node, guarded by the lock of the entry of {@link #nodes}. */
+        int refs;
+
+        /** Number of intention locks and number of threads which have shared or exclusive lock, by modes. */
+        private final int[]                  counts  = new int[Mode.values().length];
+        private final Map<Long, ThreadLocks> threads = new HashMap<>();
+
+        Node(Path path) {
+            this.path = path;
+        }
+
+        synchronized void acquire(long threadId, Mode mode, long endTime, Path lockedPath) {
+            ThreadLocks own = threads.get(threadId);
+            if ((mode == Mode.SHARED || mode == Mode.EXCLUSIVE) && own != null && own.depth > 0) {
+                // Current thread already has direct lock for this path
+                if (own.depth > MAX_RECURSIVE_LOCKS) {
+                    throw new Error("Max number of recursive locks exceeded. ");
+                }
+                ++own.depth;
+                return;
             }
-            if (prev.path.equals(path)) {
-                if (prev.threadDeep == 1) {
-                    // If last recursive lock.
-                    prev.permits += permits;
-                    if (prev.permits >= maxThreads) {
-                        // remove
-                        node.prev = prev.prev;
-                        prev.prev = null;
+            while (!isCompatible(own, mode)) {
+                final long waitTime = endTime - System.currentTimeMillis();
+                if (waitTime <= 0) {
+                    throw new RuntimeException(String.format("Get lock timeout for '%s'. ", lockedPath));
+                }
+                try {
+                    if (endTime == Long.MAX_VALUE) {
+                        wait();
+                    } else {
+                        wait(waitTime);
                     }
-                } else {
-                    --prev.threadDeep;
+                } catch (InterruptedException e) {
+                    notifyAll();
+                    throw new RuntimeException(e);
                 }
+                own = threads.get(threadId);
+            }
+            if (own == null) {
+                threads.put(threadId, own = new ThreadLocks());
+            }
+            if (mode == Mode.SHARED || mode == Mode.EXCLUSIVE) {
+                own.mode = mode;
+                own.depth = 1;
+            } else {
+                own.intentions[mode.ordinal()]++;
             }
-            node = node.prev;
+            counts[mode.ordinal()]++;
         }
-        notifyAll();
-        //System.err.printf(">>>>> release: %s : %d%n", path, permits);
-    }
 
-    private boolean tryAcquire(Path path, int permits) {
-        //System.err.printf(">>>>> acquire: %s : %d%n", path, permits);
-        Node node = tail.prev;
-        final Thread current = Thread.currentThread();
-        while (node != null) {
-            if (node.path.equals(path)) {
-                if (node.threadId == current.getId()) {
-                    // Current thread already has direct lock for this path
-                    if (node.threadDeep > MAX_RECURSIVE_LOCKS) {
-                        throw new Error("Max number of recursive locks exceeded. ");
-                    }
-                    ++node.threadDeep;
-                    return true;
+        /** Returns false if the thread doesn't have the lock. */
+        synchronized boolean release(long threadId, Mode mode) {
+            final ThreadLocks own = threads.get(threadId);
+            if (own == null) {
+                return false;
+            }
+            if (mode == Mode.SHARED || mode == Mode.EXCLUSIVE) {
+                if (own.depth == 0) {
+                    return false;
                 }
-                if (node.permits > permits) {
-                    // Lock already exists and current thread is not owner of this lock,
-                    // but lock is not exclusive and we can "share" it for other thread.
-                    node.permits -= permits; // decrement number of allowed concurrent threads
-                    return true;
+                if (--own.depth == 0) {
+                    counts[own.mode.ordinal()]--;
+                    own.mode = null;
                 }
-                // Lock is exclusive or max number of allowed concurrent thread is reached.
-                return false;
-            } else if ((node.path.isChild(path) || path.isChild(node.path)) && node.permits <= permits) {
-                // Found some path which already has lock that prevents us to get required permits.
-                // There is two possibilities:
-                // 1. Parent of the path we try to lock already locked
-                // 2. Child of the path we try to lock already locked
-                // Need to check is such lock obtained by current thread or not.
-                // If such lock obtained by other thread stop here immediately there is no reasons to continue.
-                if (node.threadId != current.getId()) {
+            } else {
+                if (own.intentions[mode.ordinal()] == 0) {
                     return false;
                 }
+                own.intentions[mode.ordinal()]--;
+                counts[mode.ordinal()]--;
+            }
+            if (own.isEmpty()) {
+                threads.remove(threadId);
             }
-            node = node.prev;
+            notifyAll();
+            return true;
         }
-        // If we are here there is no lock for path yet.
-        tail.prev = new Node(path, maxThreads - permits, tail.prev);
-        return true;
-    }
-
-    public synchronized void checkClean() {
-        assert tail.prev == null;
-    }
 
-   /* =============================================== */
-
-    private static class Node {
-        final Path path;
-        final long threadId = Thread.currentThread().getId();
-        int  permits;
-        int  threadDeep;
-        Node prev;
+        /** Checks the mode against the locks of other threads. */
+        private boolean isCompatible(ThreadLocks own, Mode mode) {
+            final int intentionShared = others(own, Mode.INTENTION_SHARED);
+            final int intentionExclusive = others(own, Mode.INTENTION_EXCLUSIVE);
+            final int shared = others(own, Mode.SHARED);
+            final int exclusive = others(own, Mode.EXCLUSIVE);
+            switch (mode) {
+                case INTENTION_SHARED:
+                    return exclusive == 0;
+                case INTENTION_EXCLUSIVE:
+                    return exclusive == 0 && shared == 0;
+                case SHARED:
+                    return exclusive == 0 && intentionExclusive == 0 && shared < maxThreads - 1;
+                default:
+                    return exclusive == 0 && shared == 0 && intentionExclusive == 0 && intentionShared == 0;
+            }
+        }
 
-        Node(Path path, int permits, Node prev) {
-            this.path = path;
-            this.permits = permits;
-            this.prev = prev;
-            threadDeep = 1;
+        private int others(ThreadLocks own, Mode mode) {
+            return own == null ? counts[mode.ordinal()] : counts[mode.ordinal()] - own.count(mode);
         }
 
         @Override
         public String toString() {
             return "Node{" +
                    "path=" + path +
-                   ", threadId=" + threadId +
-                   ", permits=" + permits +
-                   ", prev=" + prev +
+                   ", threads=" + threads.keySet() +
+                   ", refs=" + refs +
                    '}';
         }
     }
 
+    /** Locks of a path which belong to a single thread. */
+    private static final class ThreadLocks {
+        final int[] intentions = new int[Mode.values().length];
+        /** Mode of the shared or exclusive lock, recursive locks keep the mode of the first one. */
+        Mode mode;
+        int  depth;
+
+        int count(Mode mode) {
+            if (mode == Mode.SHARED || mode == Mode.EXCLUSIVE) {
+                return this.mode == mode ? 1 : 0;
+            }
+            return intentions[mode.ordinal()];
+        }
+
+        boolean isEmpty() {
+            return depth == 0 && intentions[Mode.INTENTION_SHARED.ordinal()] == 0 && intentions[Mode.INTENTION_EXCLUSIVE.ordinal()] == 0;
+        }
+    }
+
     public final class PathLock {
         private final Path path;
-        private final int  permits;
+        private final Mode mode;
 
-        private PathLock(Path path, int permits) {
+        private PathLock(Path path, Mode mode) {
             this.path = path;
-            this.permits = permits;
+            this.mode = mode;
         }
 
         /**
@@ -197,7 +294,7 @@ public final class PathLockFactory {
          * @return this PathLock instance
          */
         public PathLock acquire() {
-            PathLockFactory.this.acquire(path, permits);
+            PathLockFactory.this.acquire(path, mode, -1);
             return this;
         }
 
@@ -212,18 +309,18 @@ public final class PathLockFactory {
          *         if waiting timeout reached
          */
         public PathLock acquire(long timeoutMilliseconds) {
-            PathLockFactory.this.acquire(path, permits, timeoutMilliseconds);
+            PathLockFactory.this.acquire(path, mode, Math.max(timeoutMilliseconds, 0));
             return this;
         }
 
         /** Release file permit. */
         public void release() {
-            PathLockFactory.this.release(path, permits);
+            PathLockFactory.this.release(path, mode);
         }
 
         /** Returns <code>true</code> if this lock is exclusive and <code>false</code> otherwise. */
         public boolean isExclusive() {
-            return permits == PathLockFactory.this.maxThreads;
+            return mode == Mode.EXCLUSIVE;
         }
     }
 }
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import org.eclipse.che.api.vfs.Path;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Predicate;
+
+/**
+ * Sorted set of the paths which have entries in a cache. Paths are ordered element by element, so the paths
+ * of a folder and of all the items within it follow each other and entries of a removed folder are found
+ * without scanning the whole cache.
+ * <p/>
+ * A path is added after its entry is read from or put to the cache and removed when the entry is removed
+ * from the cache. Adding and removal of the same path are serialized, so a path whose entry is loaded again
+ * while its previous entry is evicted stays in the index.
+ */
+final class CachedPathIndex {
+    private static final int LOCK_STRIPES = 64;
+
+    private final NavigableSet<Path> paths = new ConcurrentSkipListSet<>(CachedPathIndex::compare);
+    private final Object[]           locks = new Object[LOCK_STRIPES];
+
+    CachedPathIndex() {
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /** Adds the path whose entry is read from or put to the cache. */
+    void add(Path path) {
+        synchronized (lockOf(path)) {
+            paths.add(path);
+        }
+    }
+
+    /** Removes the path whose entry is removed from the cache, unless the cache already has a new entry for it. */
+    void removed(Path path, Predicate<Path> isCached) {
+        synchronized (lockOf(path)) {
+            if (!isCached.test(path)) {
+                paths.remove(path);
+            }
+        }
+    }
+
+    /** Removes and returns the path and the paths of all the items within it. */
+    List<Path> removeAll(Path path) {
+        final List<Path> removed = new ArrayList<>();
+        for (Path cached : paths.tailSet(path, true)) {
+            if (!cached.equals(path) && !cached.isChild(path)) {
+                break;
+            }
+            removed.add(cached);
+        }
+        paths.removeAll(removed);
+        return removed;
+    }
+
+    void clear() {
+        paths.clear();
+    }
+
+    private Object lockOf(Path path) {
+        return locks[(path.hashCode() & Integer.MAX_VALUE) % LOCK_STRIPES];
+    }
+
+    private static int compare(Path first, Path second) {
+        final int length = Math.min(first.length(), second.length());
+        for (int i = 0; i < length; i++) {
+            final int result = first.element(i).compareTo(second.element(i));
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(first.length(), second.length());
+    }
+}
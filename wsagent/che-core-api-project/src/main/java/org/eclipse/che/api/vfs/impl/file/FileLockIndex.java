@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import org.eclipse.che.api.vfs.Path;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Index of the paths of the locked files. For each folder it counts the locked files within the folder
+ * and its sub folders, so checking whether a folder contains locked files doesn't need to walk the folder.
+ * <p/>
+ * The index may contain paths of the files which locks are expired or which are removed outside of the
+ * virtual file system, so the paths found in the index should be checked by the caller.
+ */
+final class FileLockIndex {
+    private final Set<Path>          lockedFiles       = new HashSet<>();
+    private final Map<Path, Integer> lockedDescendants = new HashMap<>();
+
+    synchronized void add(Path path) {
+        if (lockedFiles.add(path)) {
+            for (Path parent = path.getParent(); parent != null; parent = parent.getParent()) {
+                lockedDescendants.merge(parent, 1, Integer::sum);
+            }
+        }
+    }
+
+    synchronized void remove(Path path) {
+        if (lockedFiles.remove(path)) {
+            for (Path parent = path.getParent(); parent != null; parent = parent.getParent()) {
+                lockedDescendants.computeIfPresent(parent, (key, count) -> count == 1 ? null : count - 1);
+            }
+        }
+    }
+
+    /** Removes paths of all the locked files within the folder. */
+    synchronized void removeAll(Path folder) {
+        for (Path path : getLockedFiles(folder)) {
+            remove(path);
+        }
+    }
+
+    synchronized boolean contains(Path path) {
+        return lockedFiles.contains(path);
+    }
+
+    synchronized boolean hasLockedFiles(Path folder) {
+        return lockedDescendants.containsKey(folder);
+    }
+
+    /** Returns paths of the locked files within the folder and its sub folders. */
+    synchronized List<Path> getLockedFiles(Path folder) {
+        if (!lockedDescendants.containsKey(folder)) {
+            return emptyList();
+        }
+        final List<Path> result = new ArrayList<>(lockedDescendants.get(folder));
+        for (Path path : lockedFiles) {
+            if (path.isChild(folder)) {
+                result.add(path);
+            }
+        }
+        return result;
+    }
+}
@@ -13,6 +13,8 @@ package org.eclipse.che.api.vfs.impl.file;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.hash.Hashing;
 import com.google.common.io.ByteStreams;
@@ -26,7 +28,6 @@ import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.Archiver;
 import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.HashSumsCounter;
-import org.eclipse.che.api.vfs.LockedFileFinder;
 import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.PathLockFactory;
 import org.eclipse.che.api.vfs.VirtualFile;
@@ -56,6 +57,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
@@ -82,6 +84,13 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private static final long WAIT_FOR_FILE_LOCK_TIMEOUT = 60000; // 60 seconds
     private static final int  FILE_LOCK_MAX_THREADS      = 1024;
 
+    /*
+     * Caches are bounded by weight. Entries which mean 'no lock' or 'no metadata' weigh one and the others weigh
+     * as much as characters they hold, so many cheap negative entries may be cached for a big project.
+     */
+    static final long LOCK_TOKENS_CACHE_MAX_WEIGHT = 64 * 1024;
+    static final long METADATA_CACHE_MAX_WEIGHT    = 512 * 1024;
+
     private static final String   VFS_SERVICE_DIR        = ".vfs";
     private static final String   FILE_LOCKS_DIR         = VFS_SERVICE_DIR + File.separatorChar + "locks";
     private static final String   LOCK_FILE_SUFFIX       = "_lock";
@@ -97,6 +106,10 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private class LockTokenCacheLoader extends CacheLoader<Path, FileLock> {
         @Override
         public FileLock load(Path path) throws Exception {
+            // until the index is loaded the lock file is checked on the file system
+            if (isLockIndexLoaded() && !lockIndex.contains(path)) {
+                return NO_LOCK;
+            }
             final File lockIoFile = getFileLockIoFile(path);
             if (lockIoFile.exists()) {
                 try (DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(lockIoFile)))) {
@@ -132,9 +145,14 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
     private final FileLockSerializer           locksSerializer;
     private final LoadingCache<Path, FileLock> lockTokensCache;
+    /* Loaded from lock files in background when the file system is created and updated when files are locked and unlocked */
+    private final FileLockIndex                lockIndex;
+    private final CompletableFuture<Void>      lockIndexLoading;
 
     private final FileMetadataSerializer                  metadataSerializer;
     private final LoadingCache<Path, Map<String, String>> metadataCache;
+    /* Paths of the cached metadata, used to invalidate metadata of the items within a removed or overwritten folder */
+    private final CachedPathIndex                         metadataPaths;
 
     @SuppressWarnings("unchecked")
     public LocalVirtualFileSystem(File ioRoot,
@@ -149,21 +167,57 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         root = new LocalVirtualFile(ioRoot, Path.ROOT, this);
         pathLockFactory = new PathLockFactory(FILE_LOCK_MAX_THREADS);
 
+        lockIndex = new FileLockIndex();
+        lockIndexLoading = new CompletableFuture<>();
+        // walking of the whole tree may take a while, so it must not delay the creation of the file system
+        final Thread lockIndexLoader = new Thread(() -> {
+            try {
+                loadLockIndex(ioRoot, Path.ROOT, lockIndex);
+                lockIndexLoading.complete(null);
+            } catch (RuntimeException e) {
+                LOG.error("Unable load index of locked files of " + ioRoot, e);
+                lockIndexLoading.completeExceptionally(e);
+            }
+        }, "VFS-LockIndexLoader");
+        lockIndexLoader.setDaemon(true);
+        lockIndexLoader.start();
         locksSerializer = new FileLockSerializer();
         lockTokensCache = CacheBuilder.newBuilder()
                                       .concurrencyLevel(8)
-                                      .maximumSize(256)
+                                      .maximumWeight(LOCK_TOKENS_CACHE_MAX_WEIGHT)
+                                      .weigher(LocalVirtualFileSystem::weighLock)
                                       .expireAfterAccess(10, MINUTES)
                                       .build(new LockTokenCacheLoader());
 
         metadataSerializer = new FileMetadataSerializer();
+        metadataPaths = new CachedPathIndex();
         metadataCache = CacheBuilder.newBuilder()
                                     .concurrencyLevel(8)
-                                    .maximumSize(256)
+                                    .maximumWeight(METADATA_CACHE_MAX_WEIGHT)
+                                    .weigher(LocalVirtualFileSystem::weighMetadata)
                                     .expireAfterAccess(10, MINUTES)
+                                    .removalListener(this::onMetadataRemoval)
                                     .build(new FilePropertiesCacheLoader());
     }
 
+    static int weighLock(Path path, FileLock lock) {
+        return NO_LOCK == lock ? 1 : 1 + lock.getLockToken().length();
+    }
+
+    static int weighMetadata(Path path, Map<String, String> metadata) {
+        int weight = 1;
+        for (Map.Entry<String, String> entry : metadata.entrySet()) {
+            weight += entry.getKey().length() + (entry.getValue() == null ? 0 : entry.getValue().length());
+        }
+        return weight;
+    }
+
+    private void onMetadataRemoval(RemovalNotification<Path, Map<String, String>> notification) {
+        if (notification.getCause() != RemovalCause.REPLACED) {
+            metadataPaths.removed(notification.getKey(), metadataCache.asMap()::containsKey);
+        }
+    }
+
     @Override
     public LocalVirtualFile getRoot() {
         return root;
@@ -208,6 +262,29 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private void cleanUpCaches() {
         lockTokensCache.invalidateAll();
         metadataCache.invalidateAll();
+        metadataPaths.clear();
+    }
+
+    /**
+     * Removes from caches entries of the item and, if the item is a folder, of all items within it. Locks of the
+     * items within the folder are found in the index of locks, cached 'no lock' entries of the items stay valid.
+     */
+    private void cleanUpCaches(Path path) throws ServerException {
+        lockTokensCache.invalidate(path);
+        lockTokensCache.invalidateAll(getLockIndex().getLockedFiles(path));
+        cleanUpMetadataCache(path);
+    }
+
+    /** Removes from cache metadata of the item and, if the item is a folder, of all items within it. */
+    private void cleanUpMetadataCache(Path path) {
+        metadataCache.invalidate(path);
+        metadataCache.invalidateAll(metadataPaths.removeAll(path));
+    }
+
+    private Map<String, String> getMetadata(Path path) throws ExecutionException {
+        final Map<String, String> metadata = metadataCache.get(path);
+        metadataPaths.add(path);
+        return metadata;
     }
 
     /** Used in tests. Need this to check state of PathLockFactory. All locks MUST be released at the end of request lifecycle. */
@@ -215,6 +292,11 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         return pathLockFactory;
     }
 
+    /** Used in tests. Need this to check bounds of the metadata cache. */
+    LoadingCache<Path, Map<String, String>> getMetadataCache() {
+        return metadataCache;
+    }
+
 
     LocalVirtualFile getParent(LocalVirtualFile virtualFile) {
         if (virtualFile.isRoot()) {
@@ -386,6 +468,9 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             String errorMessage = String.format("Unable copy '%s' to '%s'", from, to);
             LOG.error(errorMessage + "\n" + e.getMessage(), e);
             throw new ServerException(errorMessage);
+        } finally {
+            // metadata of the destination and the items within it is copied from the source
+            cleanUpMetadataCache(to.getPath());
         }
     }
 
@@ -403,7 +488,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                 throw new ForbiddenException(String.format("Unable rename file '%s'. File is locked", virtualFile.getPath()));
             }
         } else {
-            final List<VirtualFile> lockedFiles = new LockedFileFinder(virtualFile).findLockedFiles();
+            final List<VirtualFile> lockedFiles = findLockedFiles(virtualFile);
             if (!lockedFiles.isEmpty()) {
                 throw new ForbiddenException(
                         String.format("Unable rename folder '%s'. Child items '%s' are locked", virtualFile.getPath(), lockedFiles));
@@ -457,7 +542,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                 throw new ForbiddenException(String.format("Unable move file '%s'. File is locked", sourcePath));
             }
         } else {
-            final List<VirtualFile> lockedFiles = new LockedFileFinder(virtualFile).findLockedFiles();
+            final List<VirtualFile> lockedFiles = findLockedFiles(virtualFile);
             if (!lockedFiles.isEmpty()) {
                 throw new ForbiddenException(
                         String.format("Unable move folder '%s'. Child items '%s' are locked", virtualFile, lockedFiles));
@@ -561,8 +646,18 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
 
     private void doDelete(LocalVirtualFile virtualFile, String lockToken) throws ForbiddenException, ServerException {
-        if (virtualFile.isFolder()) {
-            final List<VirtualFile> lockedFiles = new LockedFileFinder(virtualFile).findLockedFiles();
+        final PathLockFactory.PathLock pathLock = pathLockFactory.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
+        try {
+            doDeleteUnderLock(virtualFile, lockToken);
+        } finally {
+            pathLock.release();
+        }
+    }
+
+    private void doDeleteUnderLock(LocalVirtualFile virtualFile, String lockToken) throws ForbiddenException, ServerException {
+        final boolean isFolder = virtualFile.isFolder();
+        if (isFolder) {
+            final List<VirtualFile> lockedFiles = findLockedFiles(virtualFile);
             if (!lockedFiles.isEmpty()) {
                 throw new ForbiddenException(
                         String.format("Unable delete folder '%s'. Child items '%s' are locked", virtualFile.getPath(), lockedFiles));
@@ -571,7 +666,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             throw new ForbiddenException(String.format("Unable delete file '%s'. File is locked", virtualFile.getPath()));
         }
 
-        cleanUpCaches();
+        cleanUpCaches(virtualFile.getPath());
 
         final File fileLockIoFile = getFileLockIoFile(virtualFile.getPath());
         if (fileLockIoFile.delete()) {
@@ -593,6 +688,66 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             LOG.error("Unable delete file {}", virtualFile.toIoFile());
             throw new ServerException(String.format("Unable delete item '%s'", virtualFile.getPath()));
         }
+
+        if (isFolder) {
+            lockIndex.removeAll(virtualFile.getPath());
+        } else {
+            lockIndex.remove(virtualFile.getPath());
+        }
+    }
+
+    /** Returns locked files within the folder. The index of locks is checked instead of walking the folder. */
+    private List<VirtualFile> findLockedFiles(LocalVirtualFile folder) throws ServerException {
+        final FileLockIndex lockIndex = getLockIndex();
+        if (!lockIndex.hasLockedFiles(folder.getPath())) {
+            return emptyList();
+        }
+        final List<VirtualFile> lockedFiles = newArrayList();
+        for (Path path : lockIndex.getLockedFiles(folder.getPath())) {
+            final LocalVirtualFile file = new LocalVirtualFile(new File(ioRoot, toIoPath(path)), path, this);
+            if (isLocked(file)) {
+                lockedFiles.add(file);
+            } else {
+                // removed outside of virtual file system
+                lockIndex.remove(path);
+            }
+        }
+        return lockedFiles;
+    }
+
+    private boolean isLockIndexLoaded() {
+        return lockIndexLoading.isDone() && !lockIndexLoading.isCompletedExceptionally();
+    }
+
+    /** Returns the index of locks, waits until the index is loaded if needed. */
+    private FileLockIndex getLockIndex() throws ServerException {
+        try {
+            lockIndexLoading.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException("Interrupted while waiting for loading of the index of locked files");
+        } catch (ExecutionException e) {
+            throw new ServerException("Unable load index of locked files", e.getCause());
+        }
+        return lockIndex;
+    }
+
+    /** Adds to the index the locks stored within the folder and its sub folders. */
+    private void loadLockIndex(File ioFolder, Path folderPath, FileLockIndex index) {
+        final String[] lockFileNames = new File(ioFolder, FILE_LOCKS_DIR).list((dir, name) -> name.endsWith(LOCK_FILE_SUFFIX));
+        if (lockFileNames != null) {
+            for (String lockFileName : lockFileNames) {
+                index.add(folderPath.newPath(lockFileName.substring(0, lockFileName.length() - LOCK_FILE_SUFFIX.length())));
+            }
+        }
+        final File[] children = ioFolder.listFiles(DOT_VFS_DIR_FILTER);
+        if (children != null) {
+            for (File child : children) {
+                if (child.isDirectory() && !java.nio.file.Files.isSymbolicLink(child.toPath())) {
+                    loadLockIndex(child, folderPath.newPath(child.getName()), index);
+                }
+            }
+        }
     }
 
 
@@ -694,6 +849,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                     locksSerializer.write(dos, lock);
                 }
                 lockTokensCache.put(virtualFile.getPath(), lock);
+                lockIndex.add(virtualFile.getPath());
                 return lock.getLockToken();
             }
             throw new ConflictException(String.format("Unable lock file '%s'. File already locked", virtualFile.getPath()));
@@ -750,6 +906,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                 }
             }
             lockTokensCache.put(virtualFile.getPath(), NO_LOCK);
+            lockIndex.remove(virtualFile.getPath());
         } catch (IOException e) {
             String errorMessage = String.format("Unable unlock file '%s'", virtualFile.getPath());
             LOG.error(errorMessage + "\n" + e.getMessage(), e);
@@ -793,6 +950,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                     }
                 }
                 lockTokensCache.put(virtualFile.getPath(), NO_LOCK);
+                lockIndex.remove(virtualFile.getPath());
                 return NO_LOCK;
             }
             return lock;
@@ -817,7 +975,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         final PathLockFactory.PathLock metadataFilePathLock =
                 pathLockFactory.getLock(virtualFile.getPath(), false).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
         try {
-            return newLinkedHashMap(metadataCache.get(virtualFile.getPath()));
+            return newLinkedHashMap(getMetadata(virtualFile.getPath()));
         } catch (ExecutionException e) {
             String errorMessage = String.format("Unable read properties of file '%s'", virtualFile.getPath());
             LOG.error(errorMessage + "\n" + e.getCause().getMessage(), e.getCause());
@@ -874,6 +1032,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             }
 
             metadataCache.put(virtualFile.getPath(), properties);
+            metadataPaths.add(virtualFile.getPath());
 
             if (!virtualFile.toIoFile().setLastModified(System.currentTimeMillis())) {
                 LOG.warn("Unable to set timestamp to '{}'", virtualFile.toIoFile());
@@ -10,27 +10,34 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.impl.file.event.detectors;
 
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
+import org.eclipse.che.api.core.executor.ThreadPoolConfig;
 import org.eclipse.che.api.core.jsonrpc.RequestHandlerConfigurator;
 import org.eclipse.che.api.core.jsonrpc.RequestTransmitter;
+import org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType;
 import org.eclipse.che.api.project.shared.dto.event.ProjectTreeStateUpdateDto;
 import org.eclipse.che.api.project.shared.dto.event.ProjectTreeTrackingOperationDto;
 import org.eclipse.che.api.project.shared.dto.event.ProjectTreeTrackingOperationDto.Type;
 import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
 import org.slf4j.Logger;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
-import static com.google.common.collect.Sets.newConcurrentHashSet;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.stream.Collectors.toSet;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
@@ -38,24 +45,53 @@ import static org.eclipse.che.api.vfs.watcher.FileWatcherManager.EMPTY_CONSUMER;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.slf4j.LoggerFactory.getLogger;
 
+/**
+ * Notifies clients about the items created and deleted in the tracked project trees.
+ *
+ * <p>Changes are not sent as soon as they happen, they are collected per client during
+ * the coalescing window and then sent in batches, one batch per directory, so a burst
+ * of changes, e.g. produced by a build or a checkout, results in a few notifications.
+ * An item which is created and deleted within the window, or deleted and created again,
+ * is not reported at all.
+ */
 @Singleton
 public class ProjectTreeTracker {
     private static final Logger LOG = getLogger(ProjectTreeTracker.class);
 
-    private static final String OUTGOING_METHOD = "event:project-tree-state-changed";
-    private static final String INCOMING_METHOD = "track:project-tree";
+    private static final String OUTGOING_METHOD       = "event:project-tree-state-changed";
+    private static final String OUTGOING_BATCH_METHOD = "event:project-tree-state-changed-batch";
+    private static final String INCOMING_METHOD       = "track:project-tree";
+
+    /** The maximum number of clients which may have pending changes at a time, each of them has a scheduled task. */
+    private static final int MAX_PENDING_ENDPOINTS = 1000;
 
     private final Map<String, Integer> watchIdRegistry = new HashMap<>();
-    private final Set<String>          timers          = newConcurrentHashSet();
 
+    /** Endpoint ID -> Path -> Type of the change not sent yet, guarded by itself */
+    private final Map<String, Map<String, FileWatcherEventType>> pendingChanges = new HashMap<>();
 
-    private final RequestTransmitter transmitter;
-    private final FileWatcherManager fileWatcherManager;
+    private final RequestTransmitter       transmitter;
+    private final FileWatcherManager       fileWatcherManager;
+    private final long                     coalesceWindowMs;
+    private final ScheduledExecutorService executor;
 
     @Inject
-    public ProjectTreeTracker(FileWatcherManager fileWatcherManager, RequestTransmitter transmitter) {
+    public ProjectTreeTracker(FileWatcherManager fileWatcherManager,
+                              RequestTransmitter transmitter,
+                              @Named("che.fs.tree_tracker.coalesce_window_ms") long coalesceWindowMs,
+                              ExecutorServiceRegistry executorRegistry) {
         this.fileWatcherManager = fileWatcherManager;
         this.transmitter = transmitter;
+        this.coalesceWindowMs = coalesceWindowMs;
+        this.executor = executorRegistry.getOrCreateScheduled("project_tree_tracker",
+                                                              ThreadPoolConfig.fixed(1, MAX_PENDING_ENDPOINTS)
+                                                                              .withThreadNameFormat("ProjectTreeTracker-%d")
+                                                                              .withDaemon(true));
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
     }
 
     @Inject
@@ -67,7 +103,7 @@ public class ProjectTreeTracker {
                     .withConsumer(getProjectTreeTrackingOperationConsumer());
     }
 
-    private BiConsumer<String, ProjectTreeTrackingOperationDto> getProjectTreeTrackingOperationConsumer() {
+    BiConsumer<String, ProjectTreeTrackingOperationDto> getProjectTreeTrackingOperationConsumer() {
         return (String endpointId, ProjectTreeTrackingOperationDto operation) -> {
             final Type type = operation.getType();
             final String path = operation.getPath();
@@ -123,14 +159,7 @@ public class ProjectTreeTracker {
     }
 
     private Consumer<String> getCreateOperation(String endpointId) {
-        return it -> {
-            if (timers.contains(it)) {
-                timers.remove(it);
-            } else {
-                ProjectTreeStateUpdateDto params = newDto(ProjectTreeStateUpdateDto.class).withPath(it).withType(CREATED);
-                transmitter.transmitOneToNone(endpointId, OUTGOING_METHOD, params);
-            }
-        };
+        return it -> addChange(endpointId, it, CREATED);
     }
 
     private Consumer<String> getModifyConsumer(String endpointId) {
@@ -138,19 +167,64 @@ public class ProjectTreeTracker {
     }
 
     private Consumer<String> getDeleteOperation(String endpointId) {
-        return it -> {
-            timers.add(it);
-            new Timer().schedule(new TimerTask() {
-                @Override
-                public void run() {
-                    if (timers.contains(it)) {
-                        timers.remove(it);
-                        ProjectTreeStateUpdateDto params = newDto(ProjectTreeStateUpdateDto.class).withPath(it).withType(DELETED);
-                        transmitter.transmitOneToNone(endpointId, OUTGOING_METHOD, params);
-                    }
+        return it -> addChange(endpointId, it, DELETED);
+    }
 
+    /**
+     * Adds the change to the pending changes of the endpoint, the opposite changes
+     * of the same item cancel each other. The first pending change of the endpoint
+     * schedules sending of all the changes collected during the coalescing window,
+     * the change is dropped if sending can't be scheduled.
+     */
+    private void addChange(String endpointId, String path, FileWatcherEventType type) {
+        synchronized (pendingChanges) {
+            Map<String, FileWatcherEventType> changes = pendingChanges.get(endpointId);
+            if (changes == null) {
+                try {
+                    executor.schedule(() -> sendChanges(endpointId), coalesceWindowMs, MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    LOG.warn("Change of '{}' is not sent to endpoint '{}'. {}", path, endpointId, e.getMessage());
+                    return;
                 }
-            }, 1_000L);
-        };
+                changes = new LinkedHashMap<>();
+                pendingChanges.put(endpointId, changes);
+            }
+            FileWatcherEventType previous = changes.get(path);
+            if (previous == null) {
+                changes.put(path, type);
+            } else if (previous != type) {
+                changes.remove(path);
+            }
+        }
+    }
+
+    private void sendChanges(String endpointId) {
+        final Map<String, FileWatcherEventType> changes;
+        synchronized (pendingChanges) {
+            changes = pendingChanges.remove(endpointId);
+        }
+        if (changes == null || changes.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<ProjectTreeStateUpdateDto>> byDirectory = new LinkedHashMap<>();
+        for (Entry<String, FileWatcherEventType> change : changes.entrySet()) {
+            String path = change.getKey();
+            String directory = path.substring(0, Math.max(path.lastIndexOf('/'), 0));
+            byDirectory.computeIfAbsent(directory, it -> new ArrayList<>())
+                       .add(newDto(ProjectTreeStateUpdateDto.class).withPath(path).withType(change.getValue()));
+        }
+
+        try {
+            for (List<ProjectTreeStateUpdateDto> batch : byDirectory.values()) {
+                if (batch.size() == 1) {
+                    transmitter.transmitOneToNone(endpointId, OUTGOING_METHOD, batch.get(0));
+                } else {
+                    transmitter.transmitManyToNone(endpointId, OUTGOING_BATCH_METHOD, batch);
+                }
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Can't send project tree changes to endpoint '{}'", endpointId, e);
+        }
     }
 }
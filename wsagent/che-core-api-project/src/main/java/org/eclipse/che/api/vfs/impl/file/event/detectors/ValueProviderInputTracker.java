@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file.event.detectors;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.project.server.ProjectDeletedEvent;
+import org.eclipse.che.api.project.server.type.ValueProviderCache;
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import static java.nio.file.Files.isDirectory;
+
+/**
+ * Drops the values cached by {@link ValueProviderCache} when the files
+ * the values are read from are created, modified or deleted, and when
+ * the project the values belong to is deleted.
+ */
+@Singleton
+public class ValueProviderInputTracker {
+    private final FileWatcherManager                   manager;
+    private final ValueProviderCache                   cache;
+    private final EventService                         eventService;
+    private final EventSubscriber<ProjectDeletedEvent> projectDeletedSubscriber;
+
+    private int id;
+
+    @Inject
+    public ValueProviderInputTracker(FileWatcherManager manager, ValueProviderCache cache, EventService eventService) {
+        this.manager = manager;
+        this.cache = cache;
+        this.eventService = eventService;
+        this.projectDeletedSubscriber = event -> cache.invalidateProject(event.getProjectPath());
+    }
+
+    @PostConstruct
+    public void startWatcher() {
+        id = manager.registerByMatcher(it -> !isDirectory(it) && cache.isInputFileName(it.getFileName().toString()),
+                                       cache::invalidate,
+                                       cache::invalidate,
+                                       cache::invalidate);
+        eventService.subscribe(projectDeletedSubscriber, ProjectDeletedEvent.class);
+    }
+
+    @PreDestroy
+    public void stopWatcher() {
+        manager.unRegisterByMatcher(id);
+        eventService.unsubscribe(projectDeletedSubscriber, ProjectDeletedEvent.class);
+    }
+}
@@ -18,6 +18,7 @@ import org.slf4j.LoggerFactory;
 import javax.inject.Singleton;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -28,7 +29,14 @@ import java.util.function.Consumer;
 
 import static com.google.common.collect.Sets.newConcurrentHashSet;
 import static java.nio.file.Files.exists;
-
+import static org.eclipse.che.api.vfs.watcher.FileWatcherMatchers.getExtension;
+
+/**
+ * Registers watching of the file system items matched by path matchers. Matchers created by
+ * {@link FileWatcherMatchers} are indexed by file name, extension or directory, so the cost of
+ * matching an item depends on the number of the matchers which may match it rather than on the
+ * number of all registered matchers.
+ */
 @Singleton
 public class FileWatcherByPathMatcher implements Consumer<Path> {
     private static final Logger LOG = LoggerFactory.getLogger(FileWatcherByPathMatcher.class);
@@ -46,6 +54,15 @@ public class FileWatcherByPathMatcher implements Consumer<Path> {
     /** Registered path -> Path watch operation IDs */
     private final Map<Path, Set<Integer>>        pathWatchRegistrations = new ConcurrentHashMap<>();
 
+    /** File name -> Matchers indexed by file name */
+    private final Map<String, Set<PathMatcher>> matchersByName      = new ConcurrentHashMap<>();
+    /** File extension -> Matchers indexed by file extension */
+    private final Map<String, Set<PathMatcher>> matchersByExtension = new ConcurrentHashMap<>();
+    /** Directory -> Matchers indexed by directory */
+    private final Map<Path, Set<PathMatcher>>   matchersByDirectory = new ConcurrentHashMap<>();
+    /** Matchers which are not indexed */
+    private final Set<PathMatcher>              otherMatchers       = newConcurrentHashSet();
+
     @Inject
     public FileWatcherByPathMatcher(FileWatcherByPathValue watcher) {
         this.watcher = watcher;
@@ -61,12 +78,13 @@ public class FileWatcherByPathMatcher implements Consumer<Path> {
             paths.entrySet().removeIf(it -> it.getValue().isEmpty());
         }
 
-        for (PathMatcher matcher : matchers.keySet()) {
-            if (matcher.matches(path)) {
-                for (int operationId : matchers.get(matcher)) {
+        for (PathMatcher matcher : candidates(path)) {
+            Set<Integer> operationIds = matchers.get(matcher);
+            if (operationIds != null && matcher.matches(path)) {
+                for (int operationId : operationIds) {
                     paths.putIfAbsent(operationId, newConcurrentHashSet());
                     if (paths.get(operationId).contains(path)) {
-                        return;
+                        continue;
                     }
 
                     paths.get(operationId).add(path);
@@ -84,7 +102,9 @@ public class FileWatcherByPathMatcher implements Consumer<Path> {
         LOG.debug("Watching matcher '{}'", matcher);
         int operationId = operationIdCounter.getAndIncrement();
 
-        matchers.putIfAbsent(matcher, newConcurrentHashSet());
+        if (matchers.putIfAbsent(matcher, newConcurrentHashSet()) == null) {
+            index(matcher).add(matcher);
+        }
         matchers.get(matcher).add(operationId);
 
         operations.put(operationId, new Operation(create, modify, delete));
@@ -117,9 +137,71 @@ public class FileWatcherByPathMatcher implements Consumer<Path> {
 
             if (matchers.get(matcher) == null || matchers.get(matcher).isEmpty()) {
                 matchers.remove(matcher);
+                unindex(matcher);
+            }
+        }
+
+    }
+
+    /** Returns the set of the index the matcher belongs to. */
+    private Set<PathMatcher> index(PathMatcher matcher) {
+        if (matcher instanceof FileWatcherMatchers.IndexedMatcher) {
+            FileWatcherMatchers.IndexedMatcher indexed = (FileWatcherMatchers.IndexedMatcher)matcher;
+            if (indexed.name != null) {
+                return matchersByName.computeIfAbsent(indexed.name, it -> newConcurrentHashSet());
+            }
+            if (indexed.extension != null) {
+                return matchersByExtension.computeIfAbsent(indexed.extension, it -> newConcurrentHashSet());
+            }
+            if (indexed.directory != null) {
+                return matchersByDirectory.computeIfAbsent(indexed.directory, it -> newConcurrentHashSet());
+            }
+        }
+        return otherMatchers;
+    }
+
+    /** Removes the matcher from the index, sets of the index which become empty are removed as well. */
+    private void unindex(PathMatcher matcher) {
+        if (matcher instanceof FileWatcherMatchers.IndexedMatcher) {
+            FileWatcherMatchers.IndexedMatcher indexed = (FileWatcherMatchers.IndexedMatcher)matcher;
+            if (indexed.name != null) {
+                matchersByName.computeIfPresent(indexed.name, (key, set) -> set.remove(matcher) && set.isEmpty() ? null : set);
+            } else if (indexed.extension != null) {
+                matchersByExtension.computeIfPresent(indexed.extension, (key, set) -> set.remove(matcher) && set.isEmpty() ? null : set);
+            } else if (indexed.directory != null) {
+                matchersByDirectory.computeIfPresent(indexed.directory, (key, set) -> set.remove(matcher) && set.isEmpty() ? null : set);
+            } else {
+                otherMatchers.remove(matcher);
             }
+        } else {
+            otherMatchers.remove(matcher);
         }
+    }
 
+    /** Returns the matchers which may match the path. */
+    Set<PathMatcher> candidates(Path path) {
+        Set<PathMatcher> candidates = new HashSet<>(otherMatchers);
+        Path fileName = path.getFileName();
+        if (fileName != null) {
+            String name = fileName.toString();
+            addAll(candidates, matchersByName.get(name));
+            String extension = getExtension(name);
+            if (extension != null) {
+                addAll(candidates, matchersByExtension.get(extension));
+            }
+        }
+        if (!matchersByDirectory.isEmpty()) {
+            for (Path dir = path.getParent(); dir != null; dir = dir.getParent()) {
+                addAll(candidates, matchersByDirectory.get(dir));
+            }
+        }
+        return candidates;
+    }
+
+    private static void addAll(Set<PathMatcher> target, Set<PathMatcher> source) {
+        if (source != null) {
+            target.addAll(source);
+        }
     }
 
     private static class Operation {
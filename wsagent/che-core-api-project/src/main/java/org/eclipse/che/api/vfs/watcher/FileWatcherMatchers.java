@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+
+import static java.nio.file.Files.isDirectory;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Factory of the file path matchers which {@link FileWatcherByPathMatcher} indexes by
+ * file name, file extension or directory, so a created or deleted item is tested only
+ * against the matchers that may match it, not against every registered matcher.
+ * Other matchers are still supported, but each of them is tested against every item.
+ *
+ * <p>Matchers created by this factory match only files, not directories.
+ */
+public final class FileWatcherMatchers {
+    private static final String GLOB_SPECIAL_CHARS = "*?[]{}\\";
+
+    /**
+     * Creates a matcher of the files with the given name in any directory.
+     *
+     * @param name
+     *         name of the files, e.g. {@code pom.xml}
+     */
+    public static PathMatcher fileName(String name) {
+        requireNonNull(name, "Required not null name");
+        return new IndexedMatcher(null, name, null, null);
+    }
+
+    /**
+     * Creates a matcher of the files which names match the glob pattern, in any directory.
+     *
+     * @param glob
+     *         glob pattern of the file names, e.g. {@code *.java}
+     * @see java.nio.file.FileSystem#getPathMatcher(String)
+     */
+    public static PathMatcher glob(String glob) {
+        return glob(null, glob);
+    }
+
+    /**
+     * Creates a matcher of the files within the directory, and its subdirectories,
+     * which names match the glob pattern.
+     *
+     * @param directory
+     *         absolute normal path of the directory or {@code null} for any directory
+     * @param glob
+     *         glob pattern of the file names, e.g. {@code *.java}
+     */
+    public static PathMatcher glob(Path directory, String glob) {
+        requireNonNull(glob, "Required not null glob");
+        if (!containsGlobSpecialChars(glob)) {
+            return new IndexedMatcher(directory, glob, null, null);
+        }
+        final PathMatcher nameMatcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        final String extension = glob.startsWith("*.") && !containsGlobSpecialChars(glob.substring(1))
+                                 ? getExtension(glob)
+                                 : null;
+        return new IndexedMatcher(directory, null, extension, nameMatcher);
+    }
+
+    /** Returns the extension of the file name, e.g. {@code java} for {@code Test.java}, or {@code null} if there is no extension. */
+    static String getExtension(String fileName) {
+        final int dot = fileName.lastIndexOf('.');
+        return dot == -1 || dot == fileName.length() - 1 ? null : fileName.substring(dot + 1);
+    }
+
+    private static boolean containsGlobSpecialChars(String glob) {
+        for (int i = 0; i < glob.length(); i++) {
+            if (GLOB_SPECIAL_CHARS.indexOf(glob.charAt(i)) != -1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private FileWatcherMatchers() {
+    }
+
+    /**
+     * Matcher which declares the keys it is indexed by, only one of the keys is used for
+     * indexing: the name if present, otherwise the extension, otherwise the directory.
+     */
+    static final class IndexedMatcher implements PathMatcher {
+        final Path        directory;
+        final String      name;
+        final String      extension;
+        final PathMatcher nameMatcher;
+
+        private IndexedMatcher(Path directory, String name, String extension, PathMatcher nameMatcher) {
+            this.directory = directory;
+            this.name = name;
+            this.extension = extension;
+            this.nameMatcher = nameMatcher;
+        }
+
+        @Override
+        public boolean matches(Path path) {
+            final Path fileName = path.getFileName();
+            if (fileName == null) {
+                return false;
+            }
+            if (directory != null && !path.startsWith(directory)) {
+                return false;
+            }
+            if (name != null && !name.equals(fileName.toString())) {
+                return false;
+            }
+            if (nameMatcher != null && !nameMatcher.matches(fileName)) {
+                return false;
+            }
+            return !isDirectory(path);
+        }
+
+        @Override
+        public String toString() {
+            return "IndexedMatcher{directory=" + directory + ", name='" + name + "', extension='" + extension + "'}";
+        }
+    }
+}
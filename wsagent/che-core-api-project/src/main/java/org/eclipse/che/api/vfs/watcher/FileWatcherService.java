@@ -10,9 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.watcher;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
-
-import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
+import org.eclipse.che.api.core.executor.ThreadPoolConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,7 +35,6 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 
@@ -46,7 +44,6 @@ import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
-import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.api.vfs.watcher.FileWatcherUtils.isExcluded;
 
@@ -58,6 +55,9 @@ import static org.eclipse.che.api.vfs.watcher.FileWatcherUtils.isExcluded;
  * java file system paths in counter to che virtual file system which may have
  * custom root element and structure. Transforming one we of path representation
  * into another and backwards is the responsibility of upper services.
+ *
+ * <p>On Linux {@link InotifyFileWatcherService} is used instead when the native
+ * library is available, this implementation is the fallback for other systems.
  */
 @Singleton
 public class FileWatcherService {
@@ -74,15 +74,18 @@ public class FileWatcherService {
     private final WatchService            service;
     private final Modifier[]              eventModifiers;
     private final Kind<?>[]               eventKinds;
+    private final ExecutorServiceRegistry executorRegistry;
 
     private ExecutorService executor;
 
     @Inject
     public FileWatcherService(@Named("che.user.workspaces.storage.excludes") Set<PathMatcher> excludes,
-                              FileWatcherEventHandler handler, WatchService service) {
+                              FileWatcherEventHandler handler, WatchService service,
+                              ExecutorServiceRegistry executorRegistry) {
         this.excludes = excludes;
         this.handler = handler;
         this.service = service;
+        this.executorRegistry = executorRegistry;
 
         this.eventModifiers = getWatchEventModifiers();
         this.eventKinds = getWatchEventKinds();
@@ -128,12 +131,11 @@ public class FileWatcherService {
 
     @PostConstruct
     void start() throws IOException {
-        ThreadFactoryBuilder builder = new ThreadFactoryBuilder();
-        ThreadFactory factory = builder.setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
-                                       .setNameFormat(FileWatcherService.class.getSimpleName())
-                                       .setDaemon(true)
-                                       .build();
-        executor = newSingleThreadExecutor(factory);
+        // the only task is the watching loop, so there is nothing to queue
+        executor = executorRegistry.getOrCreate("file_watcher",
+                                                ThreadPoolConfig.fixed(1, 0)
+                                                                .withThreadNameFormat(FileWatcherService.class.getSimpleName())
+                                                                .withDaemon(true));
         executor.execute(this::run);
     }
 
@@ -141,14 +143,7 @@ public class FileWatcherService {
     void stop() {
         running.compareAndSet(true, false);
 
-        try {
-            LOG.debug("Cancelling watch keys");
-            keys.keySet().forEach(WatchKey::cancel);
-            LOG.debug("Closing java watch service");
-            service.close();
-        } catch (IOException e) {
-            LOG.error("Closing of java watch service failed: ", e.getMessage());
-        }
+        closeWatchService();
 
         try {
             LOG.debug("Executor task shutdown started");
@@ -171,6 +166,22 @@ public class FileWatcherService {
         return executor.isShutdown();
     }
 
+    /** Returns true if events are skipped, see {@link #suspend()}. */
+    boolean isSuspended() {
+        return suspended.get();
+    }
+
+    void closeWatchService() {
+        try {
+            LOG.debug("Cancelling watch keys");
+            keys.keySet().forEach(WatchKey::cancel);
+            LOG.debug("Closing java watch service");
+            service.close();
+        } catch (IOException e) {
+            LOG.error("Closing of java watch service failed: ", e.getMessage());
+        }
+    }
+
     /**
      * Registers a directory for tracking of corresponding entry creation,
      * modification or deletion events. Each call of this method increase
@@ -0,0 +1,534 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
+import org.eclipse.che.api.core.executor.ThreadPoolConfig;
+import org.eclipse.che.api.core.util.SystemInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.WatchEvent.Kind;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+import static java.lang.Thread.currentThread;
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.newDirectoryStream;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.api.vfs.watcher.FileWatcherUtils.isExcluded;
+import static org.eclipse.che.api.vfs.watcher.InotifyLibrary.EAGAIN;
+import static org.eclipse.che.api.vfs.watcher.InotifyLibrary.EINTR;
+import static org.eclipse.che.api.vfs.watcher.InotifyLibrary.IN_ATTRIB;
+import static org.eclipse.che.api.vfs.watcher.InotifyLibrary.IN_CLOEXEC;
+import static org.eclipse.che.api.vfs.watcher.InotifyLibrary.IN_CREATE;
+import static org.eclipse.che.api.vfs.watcher.InotifyLibrary.IN_DELETE;
+import static org.eclipse.che.api.vfs.watcher.InotifyLibrary.IN_DONT_FOLLOW;
+import static org.eclipse.che.api.vfs.watcher.InotifyLibrary.IN_EXCL_UNLINK;
+import static org.eclipse.che.api.vfs.watcher.InotifyLibrary.IN_IGNORED;
+import static org.eclipse.che.api.vfs.watcher.InotifyLibrary.IN_MODIFY;
+import static org.eclipse.che.api.vfs.watcher.InotifyLibrary.IN_MOVED_FROM;
+import static org.eclipse.che.api.vfs.watcher.InotifyLibrary.IN_MOVED_TO;
+import static org.eclipse.che.api.vfs.watcher.InotifyLibrary.IN_NONBLOCK;
+import static org.eclipse.che.api.vfs.watcher.InotifyLibrary.IN_ONLYDIR;
+import static org.eclipse.che.api.vfs.watcher.InotifyLibrary.IN_Q_OVERFLOW;
+import static org.eclipse.che.api.vfs.watcher.InotifyLibrary.POLLIN;
+
+/**
+ * Linux implementation of {@link FileWatcherService} which talks to inotify directly
+ * instead of through the {@link WatchService} of the JDK.
+ *
+ * <ul>
+ * <li>Directories matched by the excludes are never registered, so the kernel
+ * doesn't spend a watch on them and doesn't queue their events</li>
+ * <li>Watches subscribe only to the entry creation, modification and removal,
+ * events which are not needed are filtered out by the kernel</li>
+ * <li>Events are read in batches into a single large buffer</li>
+ * <li>When the kernel queue overflows, only the watched directories are rescanned
+ * and the difference with their last known content is reported as events</li>
+ * </ul>
+ *
+ * <p>If inotify can't be initialized the service falls back to the {@link WatchService}
+ * based implementation of the super class. If polling or reading of the events fails
+ * while the service is running, inotify is initialized again, the watched directories
+ * are registered again and rescanned to report the changes which may have been missed.
+ */
+@Singleton
+public class InotifyFileWatcherService extends FileWatcherService {
+    private static final Logger LOG = LoggerFactory.getLogger(InotifyFileWatcherService.class);
+
+    private static final InotifyLibrary LIBRARY = loadLibrary();
+
+    private static final int WATCH_MASK = IN_CREATE | IN_DELETE | IN_MODIFY | IN_ATTRIB | IN_MOVED_FROM | IN_MOVED_TO |
+                                          IN_ONLYDIR | IN_DONT_FOLLOW | IN_EXCL_UNLINK;
+
+    /** Size of the buffer events are read into, enough for a few thousands of events. */
+    private static final int BUFFER_SIZE       = 64 * 1024;
+    /** Size of the fixed part of the inotify_event structure: wd, mask, cookie, len. */
+    private static final int EVENT_HEADER_SIZE = 16;
+    /** Time to wait for events, in milliseconds, before checking whether the service is stopped. */
+    private static final int POLL_TIMEOUT      = 500;
+    /** Number of attempts to initialize inotify again after polling or reading of the events fails. */
+    private static final int REINIT_ATTEMPTS   = 5;
+    /** Time to wait between the attempts to initialize inotify again, in milliseconds. */
+    private static final int REINIT_DELAY      = 1_000;
+
+    private static final Charset FILE_NAME_CHARSET = getFileNameCharset();
+
+    private final Object             lock                = new Object();
+    private final Map<Integer, Watch> watchesByDescriptor = new ConcurrentHashMap<>();
+    private final Map<Path, Watch>    watchesByDirectory  = new ConcurrentHashMap<>();
+
+    private final Set<PathMatcher>        excludes;
+    private final FileWatcherEventHandler handler;
+    private final ExecutorServiceRegistry executorRegistry;
+
+    private volatile boolean         fallback;
+    private volatile boolean         running;
+    private volatile int             fd = -1;
+    private          ExecutorService executor;
+
+    @Inject
+    public InotifyFileWatcherService(@Named("che.user.workspaces.storage.excludes") Set<PathMatcher> excludes,
+                                     FileWatcherEventHandler handler, WatchService service,
+                                     ExecutorServiceRegistry executorRegistry) {
+        super(excludes, handler, service, executorRegistry);
+        this.excludes = excludes;
+        this.handler = handler;
+        this.executorRegistry = executorRegistry;
+    }
+
+    /** Returns true if the native library is loaded, it doesn't guarantee that inotify can be initialized. */
+    public static boolean isSupported() {
+        return LIBRARY != null;
+    }
+
+    @PostConstruct
+    @Override
+    void start() throws IOException {
+        int descriptor = LIBRARY == null ? -1 : LIBRARY.inotify_init1(IN_NONBLOCK | IN_CLOEXEC);
+        if (descriptor == -1) {
+            LOG.warn("Can't initialize inotify: {}, falling back to java watch service", LIBRARY == null ? "no native library" : error());
+            fallback = true;
+            super.start();
+            return;
+        }
+        // java watch service is not used, release its native resources
+        closeWatchService();
+
+        fd = descriptor;
+        running = true;
+        resume();
+        executor = executorRegistry.getOrCreate("file_watcher",
+                                                ThreadPoolConfig.fixed(1, 0)
+                                                                .withThreadNameFormat(InotifyFileWatcherService.class.getSimpleName())
+                                                                .withDaemon(true));
+        executor.execute(this::run);
+    }
+
+    @PreDestroy
+    @Override
+    void stop() {
+        if (fallback) {
+            super.stop();
+            return;
+        }
+        running = false;
+
+        try {
+            LOG.debug("Executor task shutdown started");
+            executor.shutdown();
+            executor.awaitTermination(5, SECONDS);
+        } catch (InterruptedException e) {
+            currentThread().interrupt();
+            LOG.debug("Executor task is interrupted");
+        } finally {
+            executor.shutdownNow();
+            LOG.debug("Executor tasks have been shutdown");
+        }
+
+        synchronized (lock) {
+            watchesByDescriptor.clear();
+            watchesByDirectory.clear();
+            LIBRARY.close(fd);
+            fd = -1;
+        }
+    }
+
+    @Override
+    boolean isStopped() {
+        return fallback ? super.isStopped() : executor.isShutdown();
+    }
+
+    @Override
+    public void register(Path dir) {
+        if (fallback) {
+            super.register(dir);
+            return;
+        }
+        if (isExcluded(excludes, dir)) {
+            LOG.debug("Directory '{}' is within exclude list, skipping", dir);
+            return;
+        }
+
+        LOG.debug("Registering directory '{}'", dir);
+        synchronized (lock) {
+            Watch watch = watchesByDirectory.get(dir);
+            if (watch == null) {
+                int wd = LIBRARY.inotify_add_watch(fd, dir.toString(), WATCH_MASK);
+                if (wd == -1) {
+                    LOG.error("Can't register dir {} in file watch service: {}", dir, error());
+                    return;
+                }
+                // the kernel returns the same descriptor for the same inode
+                watch = watchesByDescriptor.get(wd);
+                if (watch == null) {
+                    LOG.debug("Starting watching directory '{}'", dir);
+                    watch = new Watch(wd, dir);
+                    watchesByDescriptor.put(wd, watch);
+                }
+                watchesByDirectory.put(dir, watch);
+            }
+            watch.registrations++;
+        }
+    }
+
+    @Override
+    void unRegister(Path dir) {
+        if (fallback) {
+            super.unRegister(dir);
+            return;
+        }
+
+        LOG.debug("Canceling directory '{}' registration", dir);
+        synchronized (lock) {
+            Watch watch = watchesByDirectory.get(dir);
+            if (watch == null) {
+                LOG.debug("Trying to unregister directory '{}' while it is not registered", dir);
+                return;
+            }
+            if (--watch.registrations == 0 || !exists(dir)) {
+                LOG.debug("Stopping watching directory '{}'", dir);
+                removeWatch(watch);
+                LIBRARY.inotify_rm_watch(fd, watch.descriptor);
+            }
+        }
+    }
+
+    private void run() {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        NativeLong bufferSize = new NativeLong(buffer.length);
+        NativeLong pollFdCount = new NativeLong(1);
+        InotifyLibrary.PollFd pollFd = new InotifyLibrary.PollFd(fd, POLLIN);
+
+        while (running) {
+            int ready = LIBRARY.poll(pollFd, pollFdCount, POLL_TIMEOUT);
+            if (ready == 0 || ready == -1 && Native.getLastError() == EINTR) {
+                continue;
+            }
+            if (ready == -1) {
+                LOG.error("Polling of inotify events failed: {}", error());
+                if (!reinitialize()) {
+                    return;
+                }
+                pollFd.fd = fd;
+                continue;
+            }
+
+            int length = LIBRARY.read(fd, buffer, bufferSize).intValue();
+            if (length == -1) {
+                int errno = Native.getLastError();
+                if (errno != EAGAIN && errno != EINTR) {
+                    LOG.error("Reading of inotify events failed: {}", LIBRARY.strerror(errno));
+                    if (!reinitialize()) {
+                        return;
+                    }
+                    pollFd.fd = fd;
+                }
+                continue;
+            }
+
+            try {
+                handleEvents(buffer, length);
+            } catch (RuntimeException e) {
+                LOG.error(e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Replaces the inotify instance with a new one, registers the watched directories in it
+     * and reports the changes made since their last known content.
+     *
+     * @return false if the service is stopped or inotify can't be initialized again
+     */
+    private boolean reinitialize() {
+        for (int attempt = 1; running && attempt <= REINIT_ATTEMPTS; attempt++) {
+            List<Watch> rewatched;
+            synchronized (lock) {
+                if (!running) {
+                    return false;
+                }
+                int descriptor = LIBRARY.inotify_init1(IN_NONBLOCK | IN_CLOEXEC);
+                if (descriptor != -1) {
+                    LIBRARY.close(fd);
+                    fd = descriptor;
+                    rewatched = rewatch();
+                } else {
+                    LOG.error("Can't initialize inotify again, attempt {} of {}: {}", attempt, REINIT_ATTEMPTS, error());
+                    rewatched = null;
+                }
+            }
+            if (rewatched != null) {
+                LOG.warn("Inotify is initialized again, rescanning watched directories");
+                rewatched.forEach(this::rescan);
+                return true;
+            }
+            try {
+                Thread.sleep(REINIT_DELAY);
+            } catch (InterruptedException e) {
+                currentThread().interrupt();
+                return false;
+            }
+        }
+        LOG.error("Can't initialize inotify again, file system events are not watched anymore");
+        return false;
+    }
+
+    /** Registers the watched directories in the new inotify instance, must be called under the lock. */
+    private List<Watch> rewatch() {
+        Map<Watch, List<Path>> directories = new IdentityHashMap<>();
+        for (Entry<Path, Watch> entry : watchesByDirectory.entrySet()) {
+            directories.computeIfAbsent(entry.getValue(), it -> new ArrayList<>()).add(entry.getKey());
+        }
+        watchesByDescriptor.clear();
+        watchesByDirectory.clear();
+
+        List<Watch> rewatched = new ArrayList<>(directories.size());
+        for (Entry<Watch, List<Path>> entry : directories.entrySet()) {
+            Watch previous = entry.getKey();
+            int wd = LIBRARY.inotify_add_watch(fd, previous.directory.toString(), WATCH_MASK);
+            if (wd == -1) {
+                // the directory is removed, the removal is reported by the rescan of its parent
+                LOG.debug("Can't register dir {} in file watch service again: {}", previous.directory, error());
+                continue;
+            }
+            Watch watch = watchesByDescriptor.get(wd);
+            if (watch == null) {
+                watch = new Watch(wd, previous);
+                watchesByDescriptor.put(wd, watch);
+                rewatched.add(watch);
+            } else {
+                watch.registrations += previous.registrations;
+            }
+            for (Path directory : entry.getValue()) {
+                watchesByDirectory.put(directory, watch);
+            }
+        }
+        return rewatched;
+    }
+
+    private void handleEvents(byte[] buffer, int length) {
+        ByteBuffer events = ByteBuffer.wrap(buffer, 0, length).order(ByteOrder.nativeOrder());
+        boolean overflow = false;
+
+        while (events.remaining() >= EVENT_HEADER_SIZE) {
+            int wd = events.getInt();
+            int mask = events.getInt();
+            events.getInt(); // cookie
+            int nameLength = events.getInt();
+            String name = readName(buffer, events.position(), nameLength);
+            events.position(events.position() + nameLength);
+
+            if ((mask & IN_Q_OVERFLOW) != 0) {
+                overflow = true;
+                continue;
+            }
+
+            Watch watch = watchesByDescriptor.get(wd);
+            if (watch == null) {
+                continue;
+            }
+            if ((mask & IN_IGNORED) != 0) {
+                // the directory is removed, or the watch is removed explicitly
+                synchronized (lock) {
+                    removeWatch(watch);
+                }
+                continue;
+            }
+
+            Kind<?> kind = getKind(mask);
+            if (name == null || kind == null) {
+                continue;
+            }
+            Path path = watch.directory.resolve(name).toAbsolutePath();
+            watch.update(name, path, kind);
+            notify(path, kind);
+        }
+
+        if (overflow) {
+            LOG.warn("Detected file system events overflowing, rescanning watched directories");
+            watchesByDescriptor.values().forEach(this::rescan);
+        }
+    }
+
+    /** Reports the difference between the last known and the current content of the watched directory. */
+    private void rescan(Watch watch) {
+        Map<String, Long> current = list(watch.directory);
+        for (Entry<String, Long> entry : current.entrySet()) {
+            Long previous = watch.entries.get(entry.getKey());
+            if (previous == null) {
+                notify(watch.directory.resolve(entry.getKey()), ENTRY_CREATE);
+            } else if (!previous.equals(entry.getValue())) {
+                notify(watch.directory.resolve(entry.getKey()), ENTRY_MODIFY);
+            }
+        }
+        for (String name : watch.entries.keySet()) {
+            if (!current.containsKey(name)) {
+                notify(watch.directory.resolve(name), ENTRY_DELETE);
+            }
+        }
+        watch.entries.keySet().retainAll(current.keySet());
+        watch.entries.putAll(current);
+    }
+
+    private void notify(Path path, Kind<?> kind) {
+        if (isSuspended()) {
+            LOG.debug("File watchers are running in suspended mode - skipping.");
+            return;
+        }
+        if (isExcluded(excludes, path)) {
+            LOG.debug("Path is within exclude list, skipping...");
+            return;
+        }
+        handler.handle(path, kind);
+    }
+
+    /** Must be called under the lock. */
+    private void removeWatch(Watch watch) {
+        watchesByDescriptor.remove(watch.descriptor, watch);
+        watchesByDirectory.values().removeIf(it -> it == watch);
+    }
+
+    private static Kind<?> getKind(int mask) {
+        if ((mask & (IN_CREATE | IN_MOVED_TO)) != 0) {
+            return ENTRY_CREATE;
+        }
+        if ((mask & (IN_DELETE | IN_MOVED_FROM)) != 0) {
+            return ENTRY_DELETE;
+        }
+        if ((mask & (IN_MODIFY | IN_ATTRIB)) != 0) {
+            return ENTRY_MODIFY;
+        }
+        return null;
+    }
+
+    /** Reads the null terminated and padded name of the event, returns null if the event has no name. */
+    private static String readName(byte[] buffer, int offset, int length) {
+        int end = offset;
+        while (end < offset + length && buffer[end] != 0) {
+            end++;
+        }
+        return end == offset ? null : new String(buffer, offset, end - offset, FILE_NAME_CHARSET);
+    }
+
+    private static Map<String, Long> list(Path dir) {
+        Map<String, Long> entries = new HashMap<>();
+        try (DirectoryStream<Path> stream = newDirectoryStream(dir)) {
+            for (Path entry : stream) {
+                entries.put(entry.getFileName().toString(), entry.toFile().lastModified());
+            }
+        } catch (IOException e) {
+            LOG.debug("Can't list directory '{}'", dir, e);
+        }
+        return entries;
+    }
+
+    private static String error() {
+        return LIBRARY.strerror(Native.getLastError());
+    }
+
+    private static Charset getFileNameCharset() {
+        try {
+            return Charset.forName(System.getProperty("sun.jnu.encoding"));
+        } catch (RuntimeException e) {
+            return Charset.defaultCharset();
+        }
+    }
+
+    private static InotifyLibrary loadLibrary() {
+        if (!SystemInfo.isLinux()) {
+            return null;
+        }
+        try {
+            return (InotifyLibrary)Native.loadLibrary("c", InotifyLibrary.class);
+        } catch (Exception | LinkageError e) {
+            LOG.warn("Cannot load native library", e);
+            return null;
+        }
+    }
+
+    /** Watched directory and its last known content, the content is used to recover from events overflowing. */
+    private static class Watch {
+        final int               descriptor;
+        final Path              directory;
+        final Map<String, Long> entries;
+        int registrations;
+
+        Watch(int descriptor, Path directory) {
+            this.descriptor = descriptor;
+            this.directory = directory;
+            this.entries = new ConcurrentHashMap<>(list(directory));
+        }
+
+        /** Creates the watch of the same directory with the new descriptor, the last known content is kept. */
+        Watch(int descriptor, Watch previous) {
+            this.descriptor = descriptor;
+            this.directory = previous.directory;
+            this.entries = previous.entries;
+            this.registrations = previous.registrations;
+        }
+
+        void update(String name, Path path, Kind<?> kind) {
+            if (kind == ENTRY_DELETE) {
+                entries.remove(name);
+            } else {
+                entries.put(name, path.toFile().lastModified());
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import com.sun.jna.Library;
+import com.sun.jna.NativeLong;
+import com.sun.jna.Structure;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * C library functions used by {@link InotifyFileWatcherService}.
+ *
+ * @see <a href="http://man7.org/linux/man-pages/man7/inotify.7.html">inotify(7)</a>
+ */
+interface InotifyLibrary extends Library {
+    // Defined in 'sys/inotify.h'
+    int IN_MODIFY      = 0x00000002;
+    int IN_ATTRIB      = 0x00000004;
+    int IN_MOVED_FROM  = 0x00000040;
+    int IN_MOVED_TO    = 0x00000080;
+    int IN_CREATE      = 0x00000100;
+    int IN_DELETE      = 0x00000200;
+    int IN_Q_OVERFLOW  = 0x00004000;
+    int IN_IGNORED     = 0x00008000;
+    int IN_ONLYDIR     = 0x01000000;
+    int IN_DONT_FOLLOW = 0x02000000;
+    int IN_EXCL_UNLINK = 0x04000000;
+    int IN_CLOEXEC     = 0x00080000;
+    int IN_NONBLOCK    = 0x00000800;
+
+    // Defined in 'poll.h'
+    short POLLIN = 0x0001;
+
+    // Defined in 'errno.h'
+    int EINTR  = 4;
+    int EAGAIN = 11;
+
+    // Defined in 'poll.h', see http://man7.org/linux/man-pages/man2/poll.2.html
+    class PollFd extends Structure {
+        public int   fd;
+        public short events;
+        public short revents;
+
+        public PollFd(int fd, short events) {
+            this.fd = fd;
+            this.events = events;
+        }
+
+        @Override
+        protected List<String> getFieldOrder() {
+            return Arrays.asList("fd", "events", "revents");
+        }
+    }
+
+    int inotify_init1(int flags);
+
+    int inotify_add_watch(int fd, String pathname, int mask);
+
+    int inotify_rm_watch(int fd, int wd);
+
+    // 'nfds_t', 'size_t' and 'ssize_t' have the size of 'long' on linux
+    int poll(PollFd fds, NativeLong nfds, int timeout);
+
+    NativeLong read(int fd, byte[] buf, NativeLong count);
+
+    int close(int fd);
+
+    String strerror(int errno);
+}
@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server.type;
+
+import org.eclipse.che.api.project.server.FileEntry;
+import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+@Listeners(MockitoTestNGListener.class)
+public class ValueProviderCacheTest {
+    @Mock
+    private FolderEntry projectFolder;
+    @Mock
+    private FileEntry   inputFile;
+    @Mock
+    private VirtualFile inputVirtualFile;
+
+    private ValueProviderCache cache;
+    private CountingFactory    factory;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        when(projectFolder.getPath()).thenReturn(Path.of("/project"));
+        when(projectFolder.getChild("input.txt")).thenReturn(inputFile);
+        when(inputFile.isFile()).thenReturn(true);
+        when(inputFile.getModified()).thenReturn(1000L);
+        when(inputFile.getVirtualFile()).thenReturn(inputVirtualFile);
+        when(inputVirtualFile.getLength()).thenReturn(10L);
+
+        cache = new ValueProviderCache();
+        factory = new CountingFactory(singletonList("input.txt"));
+    }
+
+    @Test
+    public void shouldReadValuesOnceWhileInputFileIsNotModified() throws Exception {
+        assertEquals(cache.newInstance(factory, projectFolder).getValues("attr"), singletonList("value-1"));
+        assertEquals(cache.newInstance(factory, projectFolder).getValues("attr"), singletonList("value-1"));
+
+        assertEquals(factory.reads.get(), 1);
+    }
+
+    @Test
+    public void shouldReadValuesAgainWhenModificationDateOfInputFileChanges() throws Exception {
+        cache.newInstance(factory, projectFolder).getValues("attr");
+        when(inputFile.getModified()).thenReturn(2000L);
+
+        assertEquals(cache.newInstance(factory, projectFolder).getValues("attr"), singletonList("value-2"));
+    }
+
+    @Test
+    public void shouldReadValuesAgainWhenSizeOfInputFileChanges() throws Exception {
+        cache.newInstance(factory, projectFolder).getValues("attr");
+        when(inputVirtualFile.getLength()).thenReturn(11L);
+
+        assertEquals(cache.newInstance(factory, projectFolder).getValues("attr"), singletonList("value-2"));
+    }
+
+    @Test
+    public void shouldReadValuesAgainAfterInputFileIsInvalidated() throws Exception {
+        cache.newInstance(factory, projectFolder).getValues("attr");
+
+        assertTrue(cache.isInputFileName("input.txt"));
+        cache.invalidate("/project/input.txt");
+
+        assertEquals(cache.newInstance(factory, projectFolder).getValues("attr"), singletonList("value-2"));
+    }
+
+    @Test
+    public void shouldNotDropValuesWhenOtherFileIsInvalidated() throws Exception {
+        cache.newInstance(factory, projectFolder).getValues("attr");
+
+        assertFalse(cache.isInputFileName("other.txt"));
+        cache.invalidate("/other/input.txt");
+
+        assertEquals(cache.newInstance(factory, projectFolder).getValues("attr"), singletonList("value-1"));
+    }
+
+    @Test
+    public void shouldReadValuesAgainAfterReplacedEntryIsInvalidated() throws Exception {
+        cache.newInstance(factory, projectFolder).getValues("attr");
+        when(inputFile.getModified()).thenReturn(2000L);
+        cache.newInstance(factory, projectFolder).getValues("attr");
+
+        cache.invalidate("/project/input.txt");
+
+        assertEquals(cache.newInstance(factory, projectFolder).getValues("attr"), singletonList("value-3"));
+    }
+
+    @Test
+    public void shouldReadValuesAgainAfterProjectIsInvalidated() throws Exception {
+        cache.newInstance(factory, projectFolder).getValues("attr");
+
+        cache.invalidateProject("/project");
+
+        assertEquals(cache.newInstance(factory, projectFolder).getValues("attr"), singletonList("value-2"));
+    }
+
+    @Test
+    public void shouldNotDropValuesWhenOtherProjectIsInvalidated() throws Exception {
+        cache.newInstance(factory, projectFolder).getValues("attr");
+
+        cache.invalidateProject("/other");
+
+        assertEquals(cache.newInstance(factory, projectFolder).getValues("attr"), singletonList("value-1"));
+    }
+
+    @Test
+    public void shouldNotCacheValuesOfFactoriesWithoutInputFiles() throws Exception {
+        CountingFactory uncached = new CountingFactory(emptyList());
+
+        ValueProvider provider = cache.newInstance(uncached, projectFolder);
+        provider.getValues("attr");
+        provider.getValues("attr");
+
+        assertSame(provider.getClass(), CountingProvider.class);
+        assertEquals(uncached.reads.get(), 2);
+    }
+
+    private static class CountingFactory implements ValueProviderFactory {
+        final AtomicInteger reads = new AtomicInteger();
+        final List<String>  inputFiles;
+
+        CountingFactory(List<String> inputFiles) {
+            this.inputFiles = inputFiles;
+        }
+
+        @Override
+        public ValueProvider newInstance(FolderEntry projectFolder) {
+            return new CountingProvider(reads);
+        }
+
+        @Override
+        public List<String> getInputFiles() {
+            return inputFiles;
+        }
+    }
+
+    private static class CountingProvider extends ReadonlyValueProvider {
+        final AtomicInteger reads;
+
+        CountingProvider(AtomicInteger reads) {
+            this.reads = reads;
+        }
+
+        @Override
+        public List<String> getValues(String attributeName) throws ValueStorageException {
+            return singletonList("value-" + reads.incrementAndGet());
+        }
+    }
+}
@@ -236,4 +236,133 @@ public class PathLockFactoryTest extends TestCase {
         waiter.await();
         assertEquals(2, acquired.get());
     }
+
+    public void testLocksOfDisjointSubtrees() throws Throwable {
+        final Path sibling = path.getParent().newPath("d");
+        final CountDownLatch starter = new CountDownLatch(1);
+        final CountDownLatch finisher = new CountDownLatch(1);
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                PathLockFactory.PathLock lock = pathLockFactory.getLock(path, true);
+                lock.acquire();
+                starter.countDown();
+                try {
+                    finisher.await();
+                } catch (InterruptedException ignored) {
+                } finally {
+                    lock.release();
+                }
+            }
+        };
+        t.start();
+        starter.await();
+        try {
+            // Must not wait for the exclusive lock of the sibling.
+            pathLockFactory.getLock(sibling, true).acquire(100).release();
+        } finally {
+            finisher.countDown();
+        }
+        t.join();
+        pathLockFactory.checkClean();
+    }
+
+    public void testChildLockBlocksParentLock() throws Exception {
+        final CountDownLatch starter = new CountDownLatch(1);
+        final CountDownLatch finisher = new CountDownLatch(1);
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                PathLockFactory.PathLock lock = pathLockFactory.getLock(path, false);
+                lock.acquire();
+                starter.countDown();
+                try {
+                    finisher.await();
+                } catch (InterruptedException ignored) {
+                } finally {
+                    lock.release();
+                }
+            }
+        };
+        t.start();
+        starter.await();
+        try {
+            pathLockFactory.getLock(path.getParent().getParent(), true).acquire(100);
+            fail();
+        } catch (RuntimeException e) {
+            // OK
+        } finally {
+            finisher.countDown();
+        }
+        t.join();
+        pathLockFactory.checkClean();
+    }
+
+    public void testParentLockBlocksChildLock() throws Exception {
+        final Path ancestor = path.getParent().getParent();
+        final CountDownLatch starter = new CountDownLatch(1);
+        final CountDownLatch finisher = new CountDownLatch(1);
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                PathLockFactory.PathLock lock = pathLockFactory.getLock(ancestor, true);
+                lock.acquire();
+                starter.countDown();
+                try {
+                    finisher.await();
+                } catch (InterruptedException ignored) {
+                } finally {
+                    lock.release();
+                }
+            }
+        };
+        t.start();
+        starter.await();
+        try {
+            pathLockFactory.getLock(path, false).acquire(100);
+            fail();
+        } catch (RuntimeException e) {
+            // OK
+        } finally {
+            finisher.countDown();
+        }
+        t.join();
+        pathLockFactory.checkClean();
+    }
+
+    public void testSharedParentLockBlocksExclusiveChildLockOnly() throws Exception {
+        final Path parent = path.getParent();
+        final CountDownLatch starter = new CountDownLatch(1);
+        final CountDownLatch finisher = new CountDownLatch(1);
+        Thread t = new Thread() {
+            @Override
+            public void run() {
+                PathLockFactory.PathLock lock = pathLockFactory.getLock(parent, false);
+                lock.acquire();
+                starter.countDown();
+                try {
+                    finisher.await();
+                } catch (InterruptedException ignored) {
+                } finally {
+                    lock.release();
+                }
+            }
+        };
+        t.start();
+        starter.await();
+        try {
+            // Shared locks of the parent and the child are compatible.
+            pathLockFactory.getLock(path, false).acquire(100).release();
+            try {
+                pathLockFactory.getLock(path, true).acquire(100);
+                fail();
+            } catch (RuntimeException e) {
+                // OK
+            }
+        } finally {
+            finisher.countDown();
+        }
+        t.join();
+        pathLockFactory.checkClean();
+    }
 }
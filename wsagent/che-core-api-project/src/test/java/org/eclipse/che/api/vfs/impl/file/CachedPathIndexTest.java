@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import org.eclipse.che.api.vfs.Path;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CachedPathIndexTest {
+    private CachedPathIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        index = new CachedPathIndex();
+        for (String path : asList("/a", "/a/b", "/a/b/c", "/a/b-c", "/a/bc", "/a/b/d/e", "/b")) {
+            index.add(Path.of(path));
+        }
+    }
+
+    @Test
+    public void removesPathsOfFolderAndItemsWithinIt() throws Exception {
+        assertEquals(new HashSet<>(asList(Path.of("/a/b"), Path.of("/a/b/c"), Path.of("/a/b/d/e"))),
+                     new HashSet<>(index.removeAll(Path.of("/a/b"))));
+
+        assertEquals(new HashSet<>(asList(Path.of("/a"), Path.of("/a/b-c"), Path.of("/a/bc"))),
+                     new HashSet<>(index.removeAll(Path.of("/a"))));
+        assertEquals(asList(Path.of("/b")), index.removeAll(Path.ROOT));
+    }
+
+    @Test
+    public void keepsPathWhichIsStillCached() throws Exception {
+        index.removed(Path.of("/b"), path -> true);
+        index.removed(Path.of("/a/bc"), path -> false);
+
+        assertEquals(asList(Path.of("/b")), index.removeAll(Path.of("/b")));
+        assertTrue(index.removeAll(Path.of("/a/bc")).isEmpty());
+    }
+}
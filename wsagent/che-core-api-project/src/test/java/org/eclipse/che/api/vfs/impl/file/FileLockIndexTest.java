@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import org.eclipse.che.api.vfs.Path;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FileLockIndexTest {
+    private FileLockIndex index;
+
+    @Before
+    public void setUp() throws Exception {
+        index = new FileLockIndex();
+        index.add(Path.of("/a/b/file1"));
+        index.add(Path.of("/a/b/c/file2"));
+        index.add(Path.of("/a/d/file3"));
+    }
+
+    @Test
+    public void listsLockedFilesWithinFolderAndItsSubFolders() throws Exception {
+        assertEquals(new HashSet<>(asList(Path.of("/a/b/file1"), Path.of("/a/b/c/file2"))),
+                     new HashSet<>(index.getLockedFiles(Path.of("/a/b"))));
+        assertEquals(asList(Path.of("/a/b/c/file2")), index.getLockedFiles(Path.of("/a/b/c")));
+        assertEquals(3, index.getLockedFiles(Path.ROOT).size());
+        assertTrue(index.getLockedFiles(Path.of("/a/e")).isEmpty());
+    }
+
+    @Test
+    public void tellsWhetherFolderHasLockedFiles() throws Exception {
+        assertTrue(index.hasLockedFiles(Path.of("/a")));
+        assertTrue(index.hasLockedFiles(Path.of("/a/b/c")));
+        assertFalse(index.hasLockedFiles(Path.of("/a/e")));
+        assertFalse(index.hasLockedFiles(Path.of("/a/b/file1")));
+    }
+
+    @Test
+    public void doesNotCountFileLockedTwice() throws Exception {
+        index.add(Path.of("/a/d/file3"));
+        index.remove(Path.of("/a/d/file3"));
+
+        assertFalse(index.contains(Path.of("/a/d/file3")));
+        assertFalse(index.hasLockedFiles(Path.of("/a/d")));
+        assertEquals(2, index.getLockedFiles(Path.of("/a")).size());
+    }
+
+    @Test
+    public void removesLockedFilesWithinFolder() throws Exception {
+        index.removeAll(Path.of("/a/b"));
+
+        assertFalse(index.hasLockedFiles(Path.of("/a/b")));
+        assertFalse(index.contains(Path.of("/a/b/c/file2")));
+        assertTrue(index.contains(Path.of("/a/d/file3")));
+        assertEquals(asList(Path.of("/a/d/file3")), index.getLockedFiles(Path.of("/a")));
+    }
+}
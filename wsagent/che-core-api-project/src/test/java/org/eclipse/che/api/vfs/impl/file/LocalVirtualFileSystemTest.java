@@ -10,9 +10,12 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.impl.file;
 
+import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 import org.eclipse.che.commons.lang.IoUtil;
@@ -22,7 +25,17 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
 
+import static com.google.common.base.Strings.repeat;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
@@ -64,4 +77,101 @@ public class LocalVirtualFileSystemTest {
         fileSystem.close();
         verify(searcher).close();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void loadsLocksOfFilesWhenFileSystemIsCreated() throws Exception {
+        testDirectory.mkdirs();
+        VirtualFile folder = fileSystem.getRoot().createFolder("folder");
+        folder.createFolder("sub").createFile("file", "content").lock(0);
+
+        LocalVirtualFileSystem reopened = new LocalVirtualFileSystem(testDirectory, mock(ArchiverFactory.class), null, null);
+        try {
+            reopened.getRoot().getChild(folder.getPath()).delete(null);
+            fail("Folder with locked file must not be deleted");
+        } catch (ForbiddenException expected) {
+        }
+    }
+
+    @Test
+    public void weighsLockByLengthOfItsToken() throws Exception {
+        assertEquals(1 + 16, LocalVirtualFileSystem.weighLock(Path.of("/file"), new FileLock(repeat("x", 16), 0)));
+    }
+
+    @Test
+    public void weighsMetadataByLengthOfItsNamesAndValues() throws Exception {
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("name", "value");
+        metadata.put("empty", null);
+
+        assertEquals(1, LocalVirtualFileSystem.weighMetadata(Path.of("/file"), emptyMap()));
+        assertEquals(1 + 4 + 5 + 5, LocalVirtualFileSystem.weighMetadata(Path.of("/file"), metadata));
+    }
+
+    @Test
+    public void evictsMetadataWhenCacheExceedsMaxWeight() throws Exception {
+        testDirectory.mkdirs();
+        VirtualFile folder = fileSystem.getRoot().createFolder("folder");
+        String value = repeat("x", 16 * 1024);
+        int files = (int)(2 * LocalVirtualFileSystem.METADATA_CACHE_MAX_WEIGHT / value.length());
+        for (int i = 0; i < files; i++) {
+            folder.createFile("file" + i, "content").setProperty("name", value);
+        }
+
+        long weight = 0;
+        for (Map.Entry<Path, Map<String, String>> entry : fileSystem.getMetadataCache().asMap().entrySet()) {
+            weight += LocalVirtualFileSystem.weighMetadata(entry.getKey(), entry.getValue());
+        }
+        assertTrue(fileSystem.getMetadataCache().size() < files);
+        assertTrue(weight <= LocalVirtualFileSystem.METADATA_CACHE_MAX_WEIGHT);
+        // evicted metadata is read from the file again
+        assertEquals(value, folder.getChild(Path.of("file0")).getProperty("name"));
+    }
+
+    @Test
+    public void doesNotReturnMetadataOfItemRemovedWithItsFolder() throws Exception {
+        testDirectory.mkdirs();
+        VirtualFile folder = fileSystem.getRoot().createFolder("folder");
+        VirtualFile file = folder.createFile("file", "content");
+        file.updateProperties(singletonMap("name", "value"));
+        assertEquals("value", file.getProperty("name"));
+
+        folder.delete();
+        VirtualFile recreated = fileSystem.getRoot().createFolder("folder").createFile("file", "content");
+
+        assertNull(recreated.getProperty("name"));
+    }
+
+    @Test
+    public void readsMetadataOfFolderCopiedInPlaceOfRemovedFolder() throws Exception {
+        testDirectory.mkdirs();
+        VirtualFile source = fileSystem.getRoot().createFolder("source");
+        source.createFile("file", "content").setProperty("name", "new");
+        source.createFile("other", "content").setProperty("name", "new");
+        VirtualFile target = fileSystem.getRoot().createFolder("target");
+        target.createFile("file", "content").setProperty("name", "old");
+        target.createFile("other", "content");
+        // cache metadata of the items of the target folder
+        assertEquals("old", target.getChild(Path.of("file")).getProperty("name"));
+        assertNull(target.getChild(Path.of("other")).getProperty("name"));
+
+        target.delete();
+        VirtualFile copy = source.copyTo(fileSystem.getRoot(), "target", false);
+
+        assertEquals("new", copy.getChild(Path.of("file")).getProperty("name"));
+        assertEquals("new", copy.getChild(Path.of("other")).getProperty("name"));
+    }
+
+    @Test
+    public void readsMetadataOfFolderCopiedOverExistingFolder() throws Exception {
+        testDirectory.mkdirs();
+        VirtualFile source = fileSystem.getRoot().createFolder("source");
+        source.createFile("file", "content").setProperty("name", "new");
+        VirtualFile target = fileSystem.getRoot().createFolder("target");
+        target.createFile("file", "content");
+        assertNull(target.getChild(Path.of("file")).getProperty("name"));
+
+        VirtualFile copy = source.copyTo(fileSystem.getRoot(), "target", true);
+
+        assertEquals("new", copy.getChild(Path.of("file")).getProperty("name"));
+    }
+}
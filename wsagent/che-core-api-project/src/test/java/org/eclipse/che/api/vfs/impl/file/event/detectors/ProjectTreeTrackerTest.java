@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file.event.detectors;
+
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
+import org.eclipse.che.api.core.jsonrpc.RequestTransmitter;
+import org.eclipse.che.api.project.shared.dto.event.ProjectTreeStateUpdateDto;
+import org.eclipse.che.api.project.shared.dto.event.ProjectTreeTrackingOperationDto;
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toSet;
+import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
+import static org.eclipse.che.api.project.shared.dto.event.ProjectTreeTrackingOperationDto.Type.START;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link ProjectTreeTracker}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ProjectTreeTrackerTest {
+    private static final String ENDPOINT_ID     = "endpoint";
+    private static final String PROJECT         = "/project";
+    private static final long   WINDOW_MS       = 100;
+    private static final String OUTGOING_METHOD = "event:project-tree-state-changed";
+    private static final String OUTGOING_BATCH  = "event:project-tree-state-changed-batch";
+
+    @Mock
+    FileWatcherManager fileWatcherManager;
+    @Mock
+    RequestTransmitter transmitter;
+
+    ExecutorServiceRegistry executorRegistry;
+    Consumer<String>        create;
+    Consumer<String>        delete;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        executorRegistry = new ExecutorServiceRegistry(emptyMap());
+        ProjectTreeTracker tracker = new ProjectTreeTracker(fileWatcherManager, transmitter, WINDOW_MS, executorRegistry);
+
+        tracker.getProjectTreeTrackingOperationConsumer()
+               .accept(ENDPOINT_ID, newDto(ProjectTreeTrackingOperationDto.class).withPath(PROJECT).withType(START));
+
+        ArgumentCaptor<Consumer> createCaptor = ArgumentCaptor.forClass(Consumer.class);
+        ArgumentCaptor<Consumer> deleteCaptor = ArgumentCaptor.forClass(Consumer.class);
+        verify(fileWatcherManager).registerByPath(eq(PROJECT), createCaptor.capture(), any(), deleteCaptor.capture());
+        create = createCaptor.getValue();
+        delete = deleteCaptor.getValue();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        executorRegistry.shutdown();
+    }
+
+    @Test
+    public void shouldNotSendItemWhichIsCreatedAndDeletedWithinWindow() throws Exception {
+        create.accept(PROJECT + "/tmp.txt");
+        delete.accept(PROJECT + "/tmp.txt");
+        create.accept(PROJECT + "/file.txt");
+
+        ArgumentCaptor<ProjectTreeStateUpdateDto> update = ArgumentCaptor.forClass(ProjectTreeStateUpdateDto.class);
+        verify(transmitter, timeout(WINDOW_MS * 20)).transmitOneToNone(eq(ENDPOINT_ID), eq(OUTGOING_METHOD), update.capture());
+        assertEquals(PROJECT + "/file.txt", update.getValue().getPath());
+        assertEquals(CREATED, update.getValue().getType());
+        Thread.sleep(WINDOW_MS * 2);
+        verify(transmitter, never()).transmitManyToNone(anyString(), anyString(), anyListOf(ProjectTreeStateUpdateDto.class));
+    }
+
+    @Test
+    public void shouldNotSendAnythingWhenAllChangesCancelEachOther() throws Exception {
+        delete.accept(PROJECT + "/file.txt");
+        create.accept(PROJECT + "/file.txt");
+
+        Thread.sleep(WINDOW_MS * 5);
+
+        verify(transmitter, never()).transmitOneToNone(anyString(), anyString(), any());
+        verify(transmitter, never()).transmitManyToNone(anyString(), anyString(), anyListOf(ProjectTreeStateUpdateDto.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldSendChangesGroupedByDirectory() throws Exception {
+        create.accept(PROJECT + "/src/A.java");
+        create.accept(PROJECT + "/src/B.java");
+        create.accept(PROJECT + "/pom.xml");
+
+        ArgumentCaptor<List> batch = ArgumentCaptor.forClass(List.class);
+        verify(transmitter, timeout(WINDOW_MS * 20)).transmitManyToNone(eq(ENDPOINT_ID), eq(OUTGOING_BATCH), batch.capture());
+        assertEquals(new HashSet<>(asList(PROJECT + "/src/A.java", PROJECT + "/src/B.java")),
+                     ((List<ProjectTreeStateUpdateDto>)batch.getValue()).stream()
+                                                                        .map(ProjectTreeStateUpdateDto::getPath)
+                                                                        .collect(toSet()));
+
+        ArgumentCaptor<ProjectTreeStateUpdateDto> update = ArgumentCaptor.forClass(ProjectTreeStateUpdateDto.class);
+        verify(transmitter, timeout(WINDOW_MS * 20)).transmitOneToNone(eq(ENDPOINT_ID), eq(OUTGOING_METHOD), update.capture());
+        assertEquals(PROJECT + "/pom.xml", update.getValue().getPath());
+    }
+}
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.function.Consumer;
+
+import static org.eclipse.che.api.vfs.watcher.FileWatcherMatchers.fileName;
+import static org.eclipse.che.api.vfs.watcher.FileWatcherMatchers.glob;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link FileWatcherByPathMatcher}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class FileWatcherByPathMatcherTest {
+    private static final Path PROJECT = Paths.get("/", "projects", "che");
+
+    @Rule
+    public TemporaryFolder rootFolder = new TemporaryFolder();
+
+    @Mock
+    FileWatcherByPathValue watcher;
+    @Mock
+    Consumer<String>       create;
+    @Mock
+    Consumer<String>       modify;
+    @Mock
+    Consumer<String>       delete;
+
+    FileWatcherByPathMatcher fileWatcherByPathMatcher;
+
+    @Before
+    public void setUp() throws Exception {
+        fileWatcherByPathMatcher = new FileWatcherByPathMatcher(watcher);
+    }
+
+    @Test
+    public void shouldReturnMatchersIndexedByFileName() throws Exception {
+        PathMatcher pom = fileName("pom.xml");
+        PathMatcher packageJson = fileName("package.json");
+        fileWatcherByPathMatcher.watch(pom, create, modify, delete);
+        fileWatcherByPathMatcher.watch(packageJson, create, modify, delete);
+
+        assertTrue(fileWatcherByPathMatcher.candidates(PROJECT.resolve("pom.xml")).contains(pom));
+        assertFalse(fileWatcherByPathMatcher.candidates(PROJECT.resolve("pom.xml")).contains(packageJson));
+    }
+
+    @Test
+    public void shouldReturnMatchersIndexedByExtension() throws Exception {
+        PathMatcher java = glob("*.java");
+        fileWatcherByPathMatcher.watch(java, create, modify, delete);
+
+        assertTrue(fileWatcherByPathMatcher.candidates(PROJECT.resolve("Main.java")).contains(java));
+        assertFalse(fileWatcherByPathMatcher.candidates(PROJECT.resolve("Main.class")).contains(java));
+    }
+
+    @Test
+    public void shouldReturnMatchersIndexedByDirectoryForItemsWithinDirectory() throws Exception {
+        PathMatcher tests = glob(PROJECT, "*Test?.java");
+        fileWatcherByPathMatcher.watch(tests, create, modify, delete);
+
+        assertTrue(fileWatcherByPathMatcher.candidates(PROJECT.resolve("src").resolve("MainTest1.java")).contains(tests));
+        assertFalse(fileWatcherByPathMatcher.candidates(Paths.get("/", "projects", "other", "MainTest1.java")).contains(tests));
+    }
+
+    @Test
+    public void shouldAlwaysReturnMatchersWhichAreNotIndexed() throws Exception {
+        PathMatcher any = path -> true;
+        fileWatcherByPathMatcher.watch(any, create, modify, delete);
+
+        assertTrue(fileWatcherByPathMatcher.candidates(PROJECT.resolve("pom.xml")).contains(any));
+    }
+
+    @Test
+    public void shouldRemoveMatcherFromIndexWhenItIsUnwatched() throws Exception {
+        PathMatcher pom = fileName("pom.xml");
+        PathMatcher any = path -> true;
+        int pomId = fileWatcherByPathMatcher.watch(pom, create, modify, delete);
+        int anyId = fileWatcherByPathMatcher.watch(any, create, modify, delete);
+
+        fileWatcherByPathMatcher.unwatch(pomId);
+        fileWatcherByPathMatcher.unwatch(anyId);
+
+        assertTrue(fileWatcherByPathMatcher.candidates(PROJECT.resolve("pom.xml")).isEmpty());
+    }
+
+    @Test
+    public void shouldKeepMatcherInIndexWhileItHasOperations() throws Exception {
+        PathMatcher pom = fileName("pom.xml");
+        int firstId = fileWatcherByPathMatcher.watch(pom, create, modify, delete);
+        fileWatcherByPathMatcher.watch(pom, create, modify, delete);
+
+        fileWatcherByPathMatcher.unwatch(firstId);
+
+        assertTrue(fileWatcherByPathMatcher.candidates(PROJECT.resolve("pom.xml")).contains(pom));
+    }
+
+    @Test
+    public void shouldWatchOnlyMatchedPaths() throws Exception {
+        Path pom = rootFolder.newFile("pom.xml").toPath();
+        Path readme = rootFolder.newFile("README.md").toPath();
+        fileWatcherByPathMatcher.watch(fileName("pom.xml"), create, modify, delete);
+
+        fileWatcherByPathMatcher.accept(pom);
+        fileWatcherByPathMatcher.accept(readme);
+
+        verify(watcher).watch(pom, create, modify, delete);
+        verify(watcher, never()).watch(eq(readme), any(), any(), any());
+    }
+
+    @Test
+    public void shouldNotWatchPathsOfUnwatchedMatcher() throws Exception {
+        Path pom = rootFolder.newFile("pom.xml").toPath();
+        int id = fileWatcherByPathMatcher.watch(fileName("pom.xml"), create, modify, delete);
+
+        fileWatcherByPathMatcher.unwatch(id);
+        fileWatcherByPathMatcher.accept(pom);
+
+        verify(watcher, never()).watch(eq(pom), any(), any(), any());
+    }
+}
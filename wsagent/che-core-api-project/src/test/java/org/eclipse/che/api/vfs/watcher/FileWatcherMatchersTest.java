@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+
+import static org.eclipse.che.api.vfs.watcher.FileWatcherMatchers.fileName;
+import static org.eclipse.che.api.vfs.watcher.FileWatcherMatchers.getExtension;
+import static org.eclipse.che.api.vfs.watcher.FileWatcherMatchers.glob;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link FileWatcherMatchers}
+ */
+public class FileWatcherMatchersTest {
+    @Rule
+    public TemporaryFolder rootFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldMatchFileName() throws Exception {
+        PathMatcher matcher = fileName("pom.xml");
+
+        assertTrue(matcher.matches(Paths.get("/", "projects", "che", "pom.xml")));
+        assertFalse(matcher.matches(Paths.get("/", "projects", "che", "pom.xml.orig")));
+    }
+
+    @Test
+    public void shouldNotMatchDirectory() throws Exception {
+        Path directory = rootFolder.newFolder("pom.xml").toPath();
+
+        assertFalse(fileName("pom.xml").matches(directory));
+    }
+
+    @Test
+    public void shouldMatchGlob() throws Exception {
+        PathMatcher matcher = glob("*.java");
+
+        assertTrue(matcher.matches(Paths.get("/", "projects", "che", "Main.java")));
+        assertFalse(matcher.matches(Paths.get("/", "projects", "che", "Main.class")));
+    }
+
+    @Test
+    public void shouldMatchGlobWithinDirectory() throws Exception {
+        PathMatcher matcher = glob(Paths.get("/", "projects", "che"), "*.java");
+
+        assertTrue(matcher.matches(Paths.get("/", "projects", "che", "src", "Main.java")));
+        assertFalse(matcher.matches(Paths.get("/", "projects", "other", "src", "Main.java")));
+    }
+
+    @Test
+    public void shouldIndexGlobByExtension() throws Exception {
+        FileWatcherMatchers.IndexedMatcher matcher = (FileWatcherMatchers.IndexedMatcher)glob("*.java");
+
+        assertEquals("java", matcher.extension);
+        assertNull(matcher.name);
+    }
+
+    @Test
+    public void shouldGetExtension() throws Exception {
+        assertEquals("xml", getExtension("pom.xml"));
+        assertNull(getExtension("Dockerfile"));
+        assertNull(getExtension("file."));
+    }
+}
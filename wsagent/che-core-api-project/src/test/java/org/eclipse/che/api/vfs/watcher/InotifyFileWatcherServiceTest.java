@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.watcher;
+
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.io.File;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.Set;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singleton;
+import static org.apache.commons.io.FileUtils.write;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link InotifyFileWatcherService}
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class InotifyFileWatcherServiceTest {
+    private static final int    TIMEOUT_VALUE = 3_000;
+    private static final String FOLDER_NAME   = "folder";
+    private static final String FILE_NAME     = "file";
+    private static final String EXCLUDED_NAME = "node_modules";
+
+    @Rule
+    public TemporaryFolder rootFolder = new TemporaryFolder();
+
+    @Mock
+    FileWatcherEventHandler handler;
+    Set<PathMatcher> excludes = singleton(it -> it.endsWith(EXCLUDED_NAME));
+
+    InotifyFileWatcherService service;
+
+    @Before
+    public void setUp() throws Exception {
+        assumeTrue(InotifyFileWatcherService.isSupported());
+
+        service = new InotifyFileWatcherService(excludes,
+                                                handler,
+                                                FileSystems.getDefault().newWatchService(),
+                                                new ExecutorServiceRegistry(emptyMap()));
+        service.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    public void shouldWatchRegisteredFolderForFileCreation() throws Exception {
+        service.register(rootFolder.getRoot().toPath());
+
+        Path path = rootFolder.newFile(FILE_NAME).toPath();
+
+        verify(handler, timeout(TIMEOUT_VALUE)).handle(path, ENTRY_CREATE);
+    }
+
+    @Test
+    public void shouldWatchRegisteredFolderForFileModification() throws Exception {
+        service.register(rootFolder.getRoot().toPath());
+
+        File file = rootFolder.newFile(FILE_NAME);
+        Path path = file.toPath();
+        verify(handler, timeout(TIMEOUT_VALUE)).handle(path, ENTRY_CREATE);
+
+        write(file, "content");
+        verify(handler, timeout(TIMEOUT_VALUE)).handle(path, ENTRY_MODIFY);
+    }
+
+    @Test
+    public void shouldWatchRegisteredFolderForFolderRemoval() throws Exception {
+        service.register(rootFolder.getRoot().toPath());
+
+        File file = rootFolder.newFolder(FOLDER_NAME);
+        Path path = file.toPath();
+        verify(handler, timeout(TIMEOUT_VALUE)).handle(path, ENTRY_CREATE);
+
+        boolean deleted = file.delete();
+        assertTrue(deleted);
+        verify(handler, timeout(TIMEOUT_VALUE)).handle(path, ENTRY_DELETE);
+    }
+
+    @Test
+    public void shouldNotWatchUnRegisteredFolderForFileRemoval() throws Exception {
+        service.register(rootFolder.getRoot().toPath());
+
+        File file = rootFolder.newFile(FILE_NAME);
+        Path path = file.toPath();
+        verify(handler, timeout(TIMEOUT_VALUE)).handle(path, ENTRY_CREATE);
+
+        service.unRegister(rootFolder.getRoot().toPath());
+
+        boolean deleted = file.delete();
+        assertTrue(deleted);
+        verify(handler, timeout(TIMEOUT_VALUE).never()).handle(path, ENTRY_DELETE);
+    }
+
+    @Test
+    public void shouldWatchTwiceRegisteredFolderForFileCreationAfterSingleUnregister() throws Exception {
+        Path root = rootFolder.getRoot().toPath();
+
+        service.register(root);
+        service.register(root);
+        service.unRegister(root);
+
+        Path path = rootFolder.newFile(FILE_NAME).toPath();
+
+        verify(handler, timeout(TIMEOUT_VALUE)).handle(path, ENTRY_CREATE);
+    }
+
+    @Test
+    public void shouldNotWatchExcludedFolder() throws Exception {
+        Path excluded = rootFolder.newFolder(EXCLUDED_NAME).toPath();
+        service.register(excluded);
+
+        Path path = excluded.resolve(FILE_NAME);
+        write(path.toFile(), "content");
+
+        verify(handler, timeout(TIMEOUT_VALUE).never()).handle(path, ENTRY_CREATE);
+    }
+}
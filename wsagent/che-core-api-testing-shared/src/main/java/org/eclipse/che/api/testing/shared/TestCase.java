@@ -103,4 +103,18 @@ public interface TestCase {
      * @param trace
      */
     void setTrace(String trace);
+
+    /**
+     * Returns the execution time of the test case.
+     *
+     * @return the execution time in milliseconds, or null if it is not measured by the test runner.
+     */
+    Long getDuration();
+
+    /**
+     * Sets the execution time of the test case.
+     * 
+     * @param duration in milliseconds
+     */
+    void setDuration(Long duration);
 }
@@ -15,6 +15,8 @@ import static org.eclipse.che.api.testing.shared.Constants.TESTING_OUTPUT_CHANNE
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.eclipse.che.api.core.util.WebsocketMessageConsumer;
 import org.eclipse.che.api.testing.server.handler.TestingOutputImpl;
@@ -36,6 +38,7 @@ public class OutputTestListener extends AbstractTestListener implements AutoClos
 
     private WebsocketMessageConsumer<TestingOutput> consumer            = new WebsocketMessageConsumer<>(TESTING_OUTPUT_CHANNEL_NAME);
     private String                                  stackTraceRoot;
+    private Map<String, Long>                       startTimes          = new HashMap<>();
 
     public OutputTestListener(String strackTraceRoot) {
         this.stackTraceRoot = strackTraceRoot;
@@ -50,6 +53,11 @@ public class OutputTestListener extends AbstractTestListener implements AutoClos
         }
     }
 
+    /** Writes a line which is printed by the tests. */
+    public void writeOutput(String line) {
+        writeLine(line, TestingOutput.LineType.DETAIL);
+    }
+
     @Override
     public void close() throws Exception {
         writeLine("Finished Test Session", TestingOutput.LineType.SESSION_END);
@@ -58,6 +66,7 @@ public class OutputTestListener extends AbstractTestListener implements AutoClos
 
     @Override
     protected void startedTest(String testKey, String testName) {
+        startTimes.put(testKey, System.nanoTime());
         writeLine("[Starting Test] " + testName, TestingOutput.LineType.DETAIL);
     }
 
@@ -76,6 +85,10 @@ public class OutputTestListener extends AbstractTestListener implements AutoClos
                 lineType = TestingOutput.LineType.FAILURE;
             }
         }
+        Long startTime = startTimes.remove(testKey);
+        if (startTime != null) {
+            detailText += " in " + (System.nanoTime() - startTime) / 1_000_000 + " ms";
+        }
         writeLine("[Finished Test] " + testName + " " + detailText, lineType);
 
     }
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.machine.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Resource usage of a machine aggregated over one sampling interval.
+ *
+ * <p>CPU and memory values are averages over the interval,
+ * IO and network values are cumulative counters at the end of the interval.
+ */
+@DTO
+public interface MachineResourceUsageDto {
+
+    /** Returns the end of the sampling interval in milliseconds since epoch. */
+    long getTimestamp();
+
+    void setTimestamp(long timestamp);
+
+    MachineResourceUsageDto withTimestamp(long timestamp);
+
+    /** Returns CPU usage in percents of a single core, e.g. 250 means two and a half cores are busy. */
+    double getCpuPercent();
+
+    void setCpuPercent(double cpuPercent);
+
+    MachineResourceUsageDto withCpuPercent(double cpuPercent);
+
+    /** Returns used memory in bytes. */
+    long getMemoryUsage();
+
+    void setMemoryUsage(long memoryUsage);
+
+    MachineResourceUsageDto withMemoryUsage(long memoryUsage);
+
+    /** Returns memory limit of the machine in bytes. */
+    long getMemoryLimit();
+
+    void setMemoryLimit(long memoryLimit);
+
+    MachineResourceUsageDto withMemoryLimit(long memoryLimit);
+
+    /** Returns total amount of bytes read from block devices. */
+    long getBlockRead();
+
+    void setBlockRead(long blockRead);
+
+    MachineResourceUsageDto withBlockRead(long blockRead);
+
+    /** Returns total amount of bytes written to block devices. */
+    long getBlockWrite();
+
+    void setBlockWrite(long blockWrite);
+
+    MachineResourceUsageDto withBlockWrite(long blockWrite);
+
+    /** Returns total amount of bytes received over all network interfaces. */
+    long getNetworkRx();
+
+    void setNetworkRx(long networkRx);
+
+    MachineResourceUsageDto withNetworkRx(long networkRx);
+
+    /** Returns total amount of bytes sent over all network interfaces. */
+    long getNetworkTx();
+
+    void setNetworkTx(long networkTx);
+
+    MachineResourceUsageDto withNetworkTx(long networkTx);
+}
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.machine.shared.dto.event;
+
+import org.eclipse.che.api.core.notification.EventOrigin;
+import org.eclipse.che.api.machine.shared.dto.MachineResourceUsageDto;
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Describes event about new resource usage sample of machine.
+ */
+@EventOrigin("machine")
+@DTO
+public interface MachineResourceUsageEvent {
+
+    String getMachineId();
+
+    void setMachineId(String machineId);
+
+    MachineResourceUsageEvent withMachineId(String machineId);
+
+    String getWorkspaceId();
+
+    void setWorkspaceId(String workspaceId);
+
+    MachineResourceUsageEvent withWorkspaceId(String workspaceId);
+
+    MachineResourceUsageDto getUsage();
+
+    void setUsage(MachineResourceUsageDto usage);
+
+    MachineResourceUsageEvent withUsage(MachineResourceUsageDto usage);
+}
@@ -108,6 +108,16 @@ public class JpaSnapshotDao implements SnapshotDao {
         }
     }
 
+    @Override
+    public void updateSnapshot(SnapshotImpl snapshot) throws NotFoundException, SnapshotException {
+        requireNonNull(snapshot, "Required non-null snapshot");
+        try {
+            doUpdate(snapshot);
+        } catch (RuntimeException x) {
+            throw new SnapshotException(x.getLocalizedMessage(), x);
+        }
+    }
+
     @Override
     public void removeSnapshot(String snapshotId) throws NotFoundException, SnapshotException {
         requireNonNull(snapshotId, "Required non-null snapshot id");
@@ -137,6 +147,15 @@ public class JpaSnapshotDao implements SnapshotDao {
         managerProvider.get().persist(snapshot);
     }
 
+    @Transactional
+    protected void doUpdate(SnapshotImpl update) throws NotFoundException {
+        final EntityManager manager = managerProvider.get();
+        if (manager.find(SnapshotImpl.class, update.getId()) == null) {
+            throw new NotFoundException(format("Snapshot with id '%s' doesn't exist", update.getId()));
+        }
+        manager.merge(update);
+    }
+
     @Transactional
     protected void doRemove(String snapshotId) throws NotFoundException {
         final EntityManager manager = managerProvider.get();
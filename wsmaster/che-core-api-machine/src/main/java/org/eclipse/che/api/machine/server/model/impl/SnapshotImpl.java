@@ -19,6 +19,8 @@ import org.eclipse.che.commons.lang.NameGenerator;
 import javax.persistence.Column;
 import javax.persistence.Embedded;
 import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
 import javax.persistence.Id;
 import javax.persistence.NamedQueries;
 import javax.persistence.NamedQuery;
@@ -53,6 +55,14 @@ import java.util.Objects;
 @Table(name = "snapshot")
 public class SnapshotImpl implements Snapshot {
 
+    /** State of the snapshot binaries. */
+    public enum Status {
+        /** Machine state is committed, binaries are being published. */
+        CREATING,
+        /** Binaries are published and may be used to restore the machine. */
+        CREATED
+    }
+
     public static SnapshotBuilder builder() {
         return new SnapshotBuilder();
     }
@@ -85,6 +95,10 @@ public class SnapshotImpl implements Snapshot {
     @Embedded
     private MachineSourceImpl machineSource;
 
+    @Column(name = "status")
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
     public SnapshotImpl() {}
 
     public SnapshotImpl(Snapshot snapshot) {
@@ -109,6 +123,7 @@ public class SnapshotImpl implements Snapshot {
              snapshot.isDev(),
              snapshot.getMachineName(),
              snapshot.getEnvName());
+        this.status = snapshot.status;
     }
 
     public SnapshotImpl(String id,
@@ -211,6 +226,18 @@ public class SnapshotImpl implements Snapshot {
         isDev = dev;
     }
 
+    /**
+     * Returns state of the snapshot binaries,
+     * snapshots stored before the state was tracked are considered {@link Status#CREATED}.
+     */
+    public Status getStatus() {
+        return status == null ? Status.CREATED : status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -228,7 +255,8 @@ public class SnapshotImpl implements Snapshot {
                && Objects.equals(workspaceId, snapshot.workspaceId)
                && Objects.equals(description, snapshot.description)
                && Objects.equals(machineName, snapshot.machineName)
-               && Objects.equals(envName, snapshot.envName);
+               && Objects.equals(envName, snapshot.envName)
+               && getStatus() == snapshot.getStatus();
     }
 
     @Override
@@ -243,6 +271,7 @@ public class SnapshotImpl implements Snapshot {
         hash = hash * 31 + Objects.hashCode(description);
         hash = hash * 31 + Objects.hashCode(machineName);
         hash = hash * 31 + Objects.hashCode(envName);
+        hash = hash * 31 + Objects.hashCode(getStatus());
         return hash;
     }
 
@@ -258,6 +287,7 @@ public class SnapshotImpl implements Snapshot {
                ", workspaceId='" + workspaceId + '\'' +
                ", machineName='" + machineName + '\'' +
                ", envName='" + envName + '\'' +
+               ", status=" + status +
                '}';
     }
 
@@ -77,6 +77,20 @@ public interface Instance extends Machine {
      */
     MachineSource saveToSnapshot() throws MachineException;
 
+    /**
+     * Commits state of the instance without publishing it.
+     * Committed state may be published by {@link InstanceSnapshot#publish} after the instance is destroyed.
+     *
+     * <p>By default state is saved by {@link #saveToSnapshot()} and published immediately.
+     *
+     * @return committed state of the instance
+     * @throws MachineException
+     *         if error occurs on committing state of the instance
+     */
+    default InstanceSnapshot commitSnapshot() throws MachineException {
+        return InstanceSnapshot.published(saveToSnapshot());
+    }
+
     /**
      * Destroy instance
      *
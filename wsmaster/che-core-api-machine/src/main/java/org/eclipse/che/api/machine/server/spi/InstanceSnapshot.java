@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.machine.server.spi;
+
+import org.eclipse.che.api.core.model.machine.MachineSource;
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.machine.server.exception.MachineException;
+
+/**
+ * State of the {@link Instance} committed by {@link Instance#commitSnapshot()}, which is not published yet.
+ *
+ * <p>Committing is usually fast and requires running instance, while publishing
+ * (e.g. uploading to a registry) may take long and doesn't need the instance anymore,
+ * so the instance may be destroyed while its snapshot is being published.
+ */
+public interface InstanceSnapshot {
+
+    /**
+     * Publishes committed state, so it can be used as a source of a machine.
+     *
+     * @param output
+     *         consumer of publishing progress
+     * @return source of the published snapshot
+     * @throws MachineException
+     *         if error occurs on publishing of the snapshot
+     */
+    MachineSource publish(LineConsumer output) throws MachineException;
+
+    /**
+     * Removes committed state when it is not going to be published.
+     */
+    void discard();
+
+    /**
+     * Returns snapshot that is published already, e.g. when committing and publishing are not separated.
+     */
+    static InstanceSnapshot published(MachineSource machineSource) {
+        return new InstanceSnapshot() {
+            @Override
+            public MachineSource publish(LineConsumer output) {
+                return machineSource;
+            }
+
+            @Override
+            public void discard() {}
+        };
+    }
+}
@@ -65,6 +65,18 @@ public interface SnapshotDao {
      */
     void saveSnapshot(SnapshotImpl snapshot) throws SnapshotException;
 
+    /**
+     * Updates existing snapshot metadata, e.g. when its binaries are published.
+     *
+     * @param snapshot
+     *         snapshot metadata to update
+     * @throws NotFoundException
+     *         if snapshot with the same id doesn't exist
+     * @throws SnapshotException
+     *         if other error occurs
+     */
+    void updateSnapshot(SnapshotImpl snapshot) throws NotFoundException, SnapshotException;
+
     /**
      * Find snapshots by workspace.
      *
@@ -186,6 +186,32 @@ public class SnapshotDaoTest {
         snapshotDao.saveSnapshot(null);
     }
 
+    @Test(dependsOnMethods = "shouldGetSnapshotById")
+    public void shouldUpdateSnapshot() throws Exception {
+        final SnapshotImpl snapshot = new SnapshotImpl(snapshots[0]);
+        snapshot.setStatus(SnapshotImpl.Status.CREATING);
+        snapshot.setMachineSource(new MachineSourceImpl("new-type", "new-location", "new-content"));
+
+        snapshotDao.updateSnapshot(snapshot);
+
+        assertEquals(snapshotDao.getSnapshot(snapshot.getId()), snapshot);
+    }
+
+    @Test(expectedExceptions = NotFoundException.class)
+    public void shouldThrowNotFoundExceptionWhenUpdatingNonExistingSnapshot() throws Exception {
+        final SnapshotImpl snapshot = createSnapshot("non-existing-id",
+                                                     workspaces[0].getId(),
+                                                     "env-name",
+                                                     "machine-name");
+
+        snapshotDao.updateSnapshot(snapshot);
+    }
+
+    @Test(expectedExceptions = NullPointerException.class)
+    public void shouldThrowNpeWhenUpdatingNull() throws Exception {
+        snapshotDao.updateSnapshot(null);
+    }
+
     @Test(expectedExceptions = NotFoundException.class,
           dependsOnMethods = "shouldThrowNotFoundExceptionWhenGettingNonExistingSnapshot")
     public void shouldRemoveSnapshot() throws Exception {
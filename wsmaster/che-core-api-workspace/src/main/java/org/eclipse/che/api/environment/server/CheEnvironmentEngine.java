@@ -502,7 +502,32 @@ public class CheEnvironmentEngine {
     public SnapshotImpl saveSnapshot(String workspaceId,
                                      String machineId) throws ServerException,
                                                               NotFoundException {
+        return commitSnapshot(workspaceId, machineId).publish();
+    }
+
+    /**
+     * Commits state of machine without publishing it.
+     *
+     * <p>Returned snapshot is in {@link SnapshotImpl.Status#CREATING} status
+     * and doesn't have machine source until it is published.
+     *
+     * @param workspaceId
+     *         ID of workspace that owns environment
+     * @param machineId
+     *         ID of machine to save
+     * @return committed snapshot
+     * @throws EnvironmentNotRunningException
+     *         if environment of machine is not running
+     * @throws NotFoundException
+     *         if machine is not running
+     * @throws ServerException
+     *         if another error occurs
+     */
+    public CommittedSnapshot commitSnapshot(String workspaceId,
+                                            String machineId) throws ServerException,
+                                                                     NotFoundException {
         EnvironmentHolder environmentHolder;
+        MessageConsumer<MachineLogMessage> environmentLogger;
         SnapshotImpl snapshot = null;
         Instance instance = null;
         try (@SuppressWarnings("unused") Unlocker u = stripedLocks.readLock(workspaceId)) {
@@ -510,6 +535,7 @@ public class CheEnvironmentEngine {
             if (environmentHolder == null || environmentHolder.status != EnvStatus.RUNNING) {
                 throw new EnvironmentNotRunningException(format("Environment '%s' is not running", workspaceId));
             }
+            environmentLogger = environmentHolder.logger;
             for (Instance machine : environmentHolder.machines) {
                 if (machine.getId().equals(machineId)) {
                     instance = machine;
@@ -523,6 +549,7 @@ public class CheEnvironmentEngine {
                                            .setMachineName(machine.getConfig().getName())
                                            .useCurrentCreationDate()
                                            .build();
+                    snapshot.setStatus(SnapshotImpl.Status.CREATING);
                 }
             }
         }
@@ -531,9 +558,11 @@ public class CheEnvironmentEngine {
                                                machineId, workspaceId));
         }
         try {
-            MachineSource machineSource = instance.saveToSnapshot();
-            snapshot.setMachineSource(new MachineSourceImpl(machineSource));
-            return snapshot;
+            // snapshot may be published after the machine is destroyed along with its logger,
+            // so publishing output goes directly to the environment output
+            return new CommittedSnapshot(snapshot,
+                                         instance.commitSnapshot(),
+                                         toMachineOutput(environmentLogger, instance.getConfig().getName()));
         } catch (ServerException e) {
             try {
                 instance.getLogger().writeLine("Snapshot storing failed. " + e.getLocalizedMessage());
@@ -932,6 +961,11 @@ public class CheEnvironmentEngine {
                                                                         machine.getEnvName(),
                                                                         machine.getConfig().getName());
                         machineSource = snapshot.getMachineSource();
+                        if (machineSource == null) {
+                            // snapshot is not published yet and there is no previous one to boot from
+                            throw new NotFoundException(format("Snapshot of machine '%s' is not published",
+                                                               machine.getConfig().getName()));
+                        }
                         // Snapshot image location has SHA-256 digest which needs to be removed,
                         // otherwise it will be pulled without tag and cause problems
                         String imageName = machineSource.getLocation();
@@ -1219,15 +1253,9 @@ public class CheEnvironmentEngine {
                                           String machineName) throws ServerException {
         createMachineLogsDir(machineId);
 
-        LineConsumer lineConsumer = new AbstractLineConsumer() {
-            @Override
-            public void writeLine(String line) throws IOException {
-                environmentLogger.consume(new MachineLogMessageImpl(machineName, line));
-            }
-        };
         try {
             return new ConcurrentCompositeLineConsumer(new ConcurrentFileLineConsumer(getMachineLogsFile(machineId)),
-                                                       lineConsumer);
+                                                       toMachineOutput(environmentLogger, machineName));
         } catch (IOException e) {
             throw new MachineException(format("Unable create log file '%s' for machine '%s'.",
                                               e.getLocalizedMessage(),
@@ -1235,6 +1263,16 @@ public class CheEnvironmentEngine {
         }
     }
 
+    /** Returns consumer which sends lines to the environment output as messages of the machine. */
+    private static LineConsumer toMachineOutput(MessageConsumer<MachineLogMessage> environmentLogger, String machineName) {
+        return new AbstractLineConsumer() {
+            @Override
+            public void writeLine(String line) throws IOException {
+                environmentLogger.consume(new MachineLogMessageImpl(machineName, line));
+            }
+        };
+    }
+
     private void createMachineLogsDir(String machineId) throws MachineException {
         File dir = new File(machineLogsDir, machineId);
         if (!dir.exists() && !dir.mkdirs()) {
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.environment.server;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.model.machine.MachineSource;
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.machine.server.model.impl.MachineSourceImpl;
+import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
+import org.eclipse.che.api.machine.server.spi.InstanceSnapshot;
+
+import java.io.IOException;
+
+/**
+ * Snapshot of a machine committed by {@link CheEnvironmentEngine#commitSnapshot(String, String)}.
+ *
+ * <p>Publishing doesn't require machine to be running,
+ * so it may be performed after the environment is stopped.
+ * That's why publishing output is sent to the environment output
+ * rather than to the logger of the machine, which is closed when the machine is destroyed.
+ */
+public class CommittedSnapshot {
+
+    private final SnapshotImpl     snapshot;
+    private final InstanceSnapshot instanceSnapshot;
+    private final LineConsumer     output;
+
+    CommittedSnapshot(SnapshotImpl snapshot, InstanceSnapshot instanceSnapshot, LineConsumer output) {
+        this.snapshot = snapshot;
+        this.instanceSnapshot = instanceSnapshot;
+        this.output = output;
+    }
+
+    /**
+     * Returns description of the snapshot, which is in
+     * {@link SnapshotImpl.Status#CREATING} status until it is published.
+     */
+    public SnapshotImpl getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Publishes the snapshot, sets its machine source and marks it as {@link SnapshotImpl.Status#CREATED}.
+     *
+     * @return published snapshot
+     * @throws ServerException
+     *         if error occurs on snapshot publishing
+     */
+    public SnapshotImpl publish() throws ServerException {
+        try {
+            MachineSource machineSource = instanceSnapshot.publish(output);
+            snapshot.setMachineSource(new MachineSourceImpl(machineSource));
+            snapshot.setStatus(SnapshotImpl.Status.CREATED);
+            return snapshot;
+        } catch (ServerException e) {
+            try {
+                output.writeLine("Snapshot storing failed. " + e.getLocalizedMessage());
+            } catch (IOException ignore) {
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Removes committed state of the machine when the snapshot is not going to be published.
+     */
+    public void discard() {
+        instanceSnapshot.discard();
+    }
+}
@@ -812,7 +812,8 @@ public class WorkspaceManager {
 
             if (snapshotBeforeStop) {
                 try {
-                    runtimes.snapshot(workspace.getId());
+                    // snapshot binaries are published in background, so stop is not delayed by pushes
+                    runtimes.commitSnapshot(workspace.getId());
                 } catch (ConflictException | NotFoundException | ServerException x) {
                     LOG.warn("Could not create a snapshot of the workspace '{}/{}' " +
                              "with workspace id '{}'. The workspace will be stopped",
@@ -11,7 +11,6 @@
 package org.eclipse.che.api.workspace.server;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.exception.AgentException;
@@ -20,9 +19,12 @@ import org.eclipse.che.api.agent.server.launcher.AgentLauncher;
 import org.eclipse.che.api.agent.server.launcher.AgentLauncherFactory;
 import org.eclipse.che.api.agent.shared.model.Agent;
 import org.eclipse.che.api.agent.shared.model.AgentKey;
+import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
+import org.eclipse.che.api.core.executor.ThreadPoolConfig;
 import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.workspace.Environment;
 import org.eclipse.che.api.core.model.workspace.ExtendedMachine;
@@ -31,6 +33,7 @@ import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.util.WebsocketMessageConsumer;
 import org.eclipse.che.api.environment.server.CheEnvironmentEngine;
+import org.eclipse.che.api.environment.server.CommittedSnapshot;
 import org.eclipse.che.api.environment.server.MachineStartedHandler;
 import org.eclipse.che.api.environment.server.exception.EnvironmentException;
 import org.eclipse.che.api.environment.server.exception.EnvironmentNotRunningException;
@@ -38,6 +41,7 @@ import org.eclipse.che.api.environment.server.exception.EnvironmentStartInterrup
 import org.eclipse.che.api.machine.server.exception.SnapshotException;
 import org.eclipse.che.api.machine.server.model.impl.MachineConfigImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
+import org.eclipse.che.api.machine.server.model.impl.MachineSourceImpl;
 import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.SnapshotDao;
@@ -48,11 +52,13 @@ import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -65,12 +71,14 @@ import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
@@ -107,6 +115,9 @@ public class WorkspaceRuntimes {
 
     private static final Logger LOG = getLogger(WorkspaceRuntimes.class);
 
+    /** The maximum number of machines waiting for snapshot commit or push. */
+    private static final int SNAPSHOT_QUEUE_CAPACITY = 1000;
+
     private final ConcurrentMap<String, RuntimeState> states;
     private final EventService                        eventsService;
     private final StripedLocks                        locks;
@@ -116,6 +127,9 @@ public class WorkspaceRuntimes {
     private final AgentRegistry                       agentRegistry;
     private final SnapshotDao                         snapshotDao;
     private final WorkspaceSharedPool                 sharedPool;
+    private final ExecutorServiceRegistry             executorRegistry;
+    private final ExecutorService                     snapshotExecutor;
+    private final ConcurrentMap<String, CompletableFuture<Void>> publishingSnapshots;
 
     private final AtomicBoolean         isShutdown            = new AtomicBoolean(false);
     private final AtomicBoolean         isStartRefused        = new AtomicBoolean(false);
@@ -128,7 +142,9 @@ public class WorkspaceRuntimes {
                              AgentLauncherFactory launcherFactory,
                              AgentRegistry agentRegistry,
                              SnapshotDao snapshotDao,
-                             WorkspaceSharedPool sharedPool) {
+                             WorkspaceSharedPool sharedPool,
+                             ExecutorServiceRegistry executorRegistry,
+                             @Named("che.workspace.snapshot.parallel_pushes") int parallelPushes) {
         this(eventsService,
              envEngine,
              agentSorter,
@@ -136,6 +152,8 @@ public class WorkspaceRuntimes {
              agentRegistry,
              snapshotDao,
              sharedPool,
+             executorRegistry,
+             parallelPushes,
              new ConcurrentHashMap<>());
     }
 
@@ -146,6 +164,8 @@ public class WorkspaceRuntimes {
                              AgentRegistry agentRegistry,
                              SnapshotDao snapshotDao,
                              WorkspaceSharedPool sharedPool,
+                             ExecutorServiceRegistry executorRegistry,
+                             int parallelPushes,
                              ConcurrentMap<String, RuntimeState> states) {
         this.eventsService = eventsService;
         this.envEngine = envEngine;
@@ -157,6 +177,13 @@ public class WorkspaceRuntimes {
         this.locks = new StripedLocks(16);
         this.sharedPool = sharedPool;
         this.states = states;
+        this.executorRegistry = executorRegistry;
+        // commits of different machines are performed in parallel as well as pushes,
+        // so the pool bounds the number of simultaneous docker commit/push operations
+        this.snapshotExecutor = executorRegistry.getOrCreate("workspace_snapshot",
+                                                             ThreadPoolConfig.fixed(parallelPushes, SNAPSHOT_QUEUE_CAPACITY)
+                                                                             .withThreadNameFormat("WorkspaceSnapshotPool-%d"));
+        this.publishingSnapshots = new ConcurrentHashMap<>();
     }
 
     /**
@@ -453,22 +480,24 @@ public class WorkspaceRuntimes {
      * <p>Publishes {@link EventType#SNAPSHOT_CREATING}, {@link EventType#SNAPSHOT_CREATED},
      * {@link EventType#SNAPSHOT_CREATION_ERROR} like defined by {@link EventType}.
      *
+     * <p>Note that workspace becomes {@link WorkspaceStatus#RUNNING} as soon as its machines
+     * are committed, while this method waits until the snapshots are published.
+     *
      * @param workspaceId
      *         the id of workspace to create snapshot
      * @throws NotFoundException
      *         when workspace doesn't have a runtime
      * @throws ConflictException
      *         when workspace status is different from {@link WorkspaceStatus#RUNNING}
+     *         or the previous snapshot of the workspace is still being published
      * @throws ServerException
      *         when any other error occurs
      */
     public void snapshot(String workspaceId) throws NotFoundException,
                                                     ConflictException,
                                                     ServerException {
-        try (@SuppressWarnings("unused") Unlocker u = locks.writeLock(workspaceId)) {
-            getRunningState(workspaceId).status = SNAPSHOTTING;
-        }
-        snapshotAndUpdateStatus(workspaceId);
+        markAsSnapshotting(workspaceId);
+        awaitPublishing(commitAndUpdateStatus(workspaceId));
     }
 
     /**
@@ -479,12 +508,10 @@ public class WorkspaceRuntimes {
      * @see #snapshot(String)
      */
     public Future<Void> snapshotAsync(String workspaceId) throws NotFoundException, ConflictException {
-        try (@SuppressWarnings("unused") Unlocker u = locks.writeLock(workspaceId)) {
-            getRunningState(workspaceId).status = SNAPSHOTTING;
-        }
+        markAsSnapshotting(workspaceId);
         return sharedPool.submit(() -> {
             try {
-                snapshotAndUpdateStatus(workspaceId);
+                awaitPublishing(commitAndUpdateStatus(workspaceId));
             } catch (Exception x) {
                 LOG.error(format("Couldn't create a snapshot of workspace '%s'", workspaceId), x);
                 throw x;
@@ -493,6 +520,31 @@ public class WorkspaceRuntimes {
         });
     }
 
+    /**
+     * Synchronously commits machines of a given workspace and saves metadata of the snapshots,
+     * while their binaries are published asynchronously, so the workspace may be stopped right
+     * after this method returns. Subsequent start of the workspace with recovering waits
+     * until the snapshots are published.
+     *
+     * @param workspaceId
+     *         the id of workspace to create snapshot
+     * @return future which is completed when snapshots are published
+     * @throws NotFoundException
+     *         when workspace doesn't have a runtime
+     * @throws ConflictException
+     *         when workspace status is different from {@link WorkspaceStatus#RUNNING}
+     *         or the previous snapshot of the workspace is still being published
+     * @throws ServerException
+     *         when any other error occurs
+     * @see #snapshot(String)
+     */
+    public CompletableFuture<Void> commitSnapshot(String workspaceId) throws NotFoundException,
+                                                                             ConflictException,
+                                                                             ServerException {
+        markAsSnapshotting(workspaceId);
+        return commitAndUpdateStatus(workspaceId);
+    }
+
     /**
      * Removes snapshot binaries in implementation specific way.
      *
@@ -630,11 +682,13 @@ public class WorkspaceRuntimes {
 
         if (!idsToStop.isEmpty()) {
             LOG.info("Shutdown running environments, environments to stop: '{}'", idsToStop.size());
+            // if the pool is saturated the environment is stopped by the caller
             ExecutorService executor =
-                    Executors.newFixedThreadPool(2 * Runtime.getRuntime().availableProcessors(),
-                                                 new ThreadFactoryBuilder().setNameFormat("StopEnvironmentsPool-%d")
-                                                                           .setDaemon(false)
-                                                                           .build());
+                    executorRegistry.getOrCreate("workspace_stop",
+                                                 ThreadPoolConfig.fixed(2 * Runtime.getRuntime().availableProcessors(),
+                                                                        idsToStop.size())
+                                                                 .withRejectionPolicy(ThreadPoolConfig.RejectionPolicy.CALLER_RUNS)
+                                                                 .withThreadNameFormat("StopEnvironmentsPool-%d"));
             for (String id : idsToStop) {
                 executor.execute(() -> {
                     try {
@@ -660,6 +714,17 @@ public class WorkspaceRuntimes {
                 Thread.currentThread().interrupt();
             }
         }
+
+        snapshotExecutor.shutdown();
+        try {
+            if (!snapshotExecutor.awaitTermination(60, TimeUnit.SECONDS)) {
+                snapshotExecutor.shutdownNow();
+                LOG.error("Snapshots publishing was interrupted by workspace runtimes shutdown");
+            }
+        } catch (InterruptedException e) {
+            snapshotExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
     }
 
     private void checkIsNotTerminated(String operation) throws ServerException {
@@ -844,10 +909,45 @@ public class WorkspaceRuntimes {
         }
     }
 
-    /** Creates a snapshot and changes status SNAPSHOTTING -> RUNNING. */
-    private void snapshotAndUpdateStatus(String workspaceId) throws NotFoundException,
-                                                                    ConflictException,
-                                                                    ServerException {
+    /**
+     * Changes status RUNNING -> SNAPSHOTTING, if the workspace is not
+     * publishing its previous snapshot, otherwise throws an exception.
+     */
+    private void markAsSnapshotting(String workspaceId) throws NotFoundException, ConflictException {
+        try (@SuppressWarnings("unused") Unlocker u = locks.writeLock(workspaceId)) {
+            RuntimeState state = getRunningState(workspaceId);
+            CompletableFuture<Void> publishing = publishingSnapshots.get(workspaceId);
+            if (publishing != null && !publishing.isDone()) {
+                throw new ConflictException(format("Snapshot of the workspace '%s' is being published", workspaceId));
+            }
+            state.status = SNAPSHOTTING;
+        }
+    }
+
+    /** Waits until snapshots are published, rethrows publishing error if any occurred. */
+    private static void awaitPublishing(CompletableFuture<Void> publishing) throws ServerException {
+        try {
+            publishing.get();
+        } catch (InterruptedException x) {
+            Thread.currentThread().interrupt();
+            throw new ServerException("Interrupted while waiting for snapshot publishing", x);
+        } catch (ExecutionException x) {
+            if (x.getCause() instanceof ServerException) {
+                throw (ServerException)x.getCause();
+            }
+            throw new ServerException(x.getCause().getMessage(), x.getCause());
+        }
+    }
+
+    /**
+     * Commits machines of the workspace, saves metadata of snapshots which are not published yet,
+     * changes status SNAPSHOTTING -> RUNNING and starts publishing of the snapshots.
+     *
+     * @return future which is completed when snapshots are published
+     */
+    private CompletableFuture<Void> commitAndUpdateStatus(String workspaceId) throws NotFoundException,
+                                                                                    ConflictException,
+                                                                                    ServerException {
         eventsService.publish(DtoFactory.newDto(WorkspaceStatusEvent.class)
                                         .withWorkspaceId(workspaceId)
                                         .withStatus(WorkspaceStatus.SNAPSHOTTING)
@@ -859,58 +959,234 @@ public class WorkspaceRuntimes {
         machines.sort(comparing(m -> !m.getConfig().isDev(), Boolean::compare));
 
         LOG.info("Creating snapshot of workspace '{}', machines to snapshot: '{}'", workspaceId, machines.size());
-        List<SnapshotImpl> newSnapshots = new ArrayList<>(machines.size());
-        for (MachineImpl machine : machines) {
+        List<Future<CommittedSnapshot>> commits = new ArrayList<>(machines.size());
+        try {
+            for (MachineImpl machine : machines) {
+                commits.add(snapshotExecutor.submit(ThreadLocalPropagateContext.wrap(() -> envEngine.commitSnapshot(workspaceId,
+                                                                                                                    machine.getId()))));
+            }
+        } catch (RejectedExecutionException x) {
+            LOG.error(format("Couldn't commit snapshots of workspace '%s', %d of %d commits are rejected",
+                             workspaceId,
+                             machines.size() - commits.size(),
+                             machines.size()), x);
+            discardCommits(commits);
+            compareAndSetStatus(workspaceId, WorkspaceStatus.SNAPSHOTTING, WorkspaceStatus.RUNNING);
+            String error = "Snapshot creation is rejected, too many snapshots are being created";
+            publishSnapshotCreationError(workspaceId, error);
+            throw new ServerException(error);
+        }
+        List<CommittedSnapshot> committed = new ArrayList<>(machines.size());
+        ApiException devMachineError = null;
+        for (int i = 0; i < machines.size(); i++) {
+            MachineImpl machine = machines.get(i);
             try {
-                newSnapshots.add(envEngine.saveSnapshot(workspaceId, machine.getId()));
+                committed.add(awaitCommit(commits.get(i)));
             } catch (ServerException | NotFoundException x) {
                 if (machine.getConfig().isDev()) {
-                    compareAndSetStatus(workspaceId, WorkspaceStatus.SNAPSHOTTING, WorkspaceStatus.RUNNING);
-                    eventsService.publish(DtoFactory.newDto(WorkspaceStatusEvent.class)
-                                                    .withWorkspaceId(workspaceId)
-                                                    .withStatus(WorkspaceStatus.RUNNING)
-                                                    .withEventType(EventType.SNAPSHOT_CREATION_ERROR)
-                                                    .withPrevStatus(WorkspaceStatus.SNAPSHOTTING)
-                                                    .withError(x.getMessage()));
-                    throw x;
+                    devMachineError = x;
+                } else {
+                    LOG.warn(format("Couldn't create snapshot of machine '%s:%s' in workspace '%s'",
+                                    machine.getEnvName(),
+                                    machine.getConfig().getName(),
+                                    workspaceId));
                 }
-                LOG.warn(format("Couldn't create snapshot of machine '%s:%s' in workspace '%s'",
-                                machine.getEnvName(),
-                                machine.getConfig().getName(),
-                                workspaceId));
             }
         }
+        if (devMachineError != null) {
+            committed.forEach(CommittedSnapshot::discard);
+            compareAndSetStatus(workspaceId, WorkspaceStatus.SNAPSHOTTING, WorkspaceStatus.RUNNING);
+            publishSnapshotCreationError(workspaceId, devMachineError.getMessage());
+            if (devMachineError instanceof NotFoundException) {
+                throw (NotFoundException)devMachineError;
+            }
+            throw (ServerException)devMachineError;
+        }
 
         LOG.info("Saving new snapshots metadata, workspace id '{}'", workspaceId);
+        List<SnapshotImpl> newSnapshots = new ArrayList<>(committed.size());
+        for (CommittedSnapshot committedSnapshot : committed) {
+            SnapshotImpl snapshot = new SnapshotImpl(committedSnapshot.getSnapshot());
+            // allows recovering from the previous snapshot until the new one is published
+            snapshot.setMachineSource(findPublishedSource(snapshot));
+            newSnapshots.add(snapshot);
+        }
+        List<SnapshotImpl> removed;
         try {
-            List<SnapshotImpl> removed = snapshotDao.replaceSnapshots(workspaceId,
-                                                                      runtime.getActiveEnv(),
-                                                                      newSnapshots);
-            if (!removed.isEmpty()) {
-                LOG.info("Removing old snapshots binaries, workspace id '{}', snapshots to remove '{}'", workspaceId, removed.size());
-                removeBinaries(removed);
-            }
+            removed = snapshotDao.replaceSnapshots(workspaceId, runtime.getActiveEnv(), newSnapshots);
         } catch (SnapshotException x) {
             LOG.error(format("Couldn't remove existing snapshots metadata for workspace '%s'", workspaceId), x);
-            LOG.info("Removing newly created snapshots, workspace id '{}', snapshots to remove '{}'", workspaceId, newSnapshots.size());
-            removeBinaries(newSnapshots);
+            LOG.info("Removing newly created snapshots, workspace id '{}', snapshots to remove '{}'", workspaceId, committed.size());
+            committed.forEach(CommittedSnapshot::discard);
             compareAndSetStatus(workspaceId, WorkspaceStatus.SNAPSHOTTING, WorkspaceStatus.RUNNING);
-            eventsService.publish(DtoFactory.newDto(WorkspaceStatusEvent.class)
-                                            .withWorkspaceId(workspaceId)
-                                            .withStatus(WorkspaceStatus.RUNNING)
-                                            .withEventType(EventType.SNAPSHOT_CREATION_ERROR)
-                                            .withPrevStatus(WorkspaceStatus.SNAPSHOTTING)
-                                            .withError(x.getMessage()));
+            publishSnapshotCreationError(workspaceId, x.getMessage());
             throw x;
         }
+
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        publishingSnapshots.put(workspaceId, result);
         compareAndSetStatus(workspaceId, WorkspaceStatus.SNAPSHOTTING, WorkspaceStatus.RUNNING);
+        // workspace may be stopped while snapshots are published, events report the status snapshot was created with
+        WorkspaceStatus createdStatus = getStatus(workspaceId);
+
+        LOG.info("Publishing snapshots of workspace '{}', snapshots to publish: '{}'", workspaceId, committed.size());
+        List<CompletableFuture<SnapshotImpl>> publishing = committed.stream()
+                                                                    .map(this::publishAsync)
+                                                                    .collect(Collectors.toList());
+        CompletableFuture.allOf(publishing.toArray(new CompletableFuture[publishing.size()]))
+                         .whenComplete((ignored, error) -> {
+                             try {
+                                 completePublishing(workspaceId, createdStatus, runtime.getActiveEnv(), committed, publishing, removed);
+                                 result.complete(null);
+                             } catch (Exception x) {
+                                 result.completeExceptionally(x);
+                             } finally {
+                                 publishingSnapshots.remove(workspaceId, result);
+                             }
+                         });
+        return result;
+    }
+
+    /**
+     * Marks published snapshots as created and removes binaries of the replaced snapshots.
+     * If snapshot of the dev machine is not published then restores the replaced snapshots.
+     */
+    private void completePublishing(String workspaceId,
+                                    WorkspaceStatus createdStatus,
+                                    String envName,
+                                    List<CommittedSnapshot> committed,
+                                    List<CompletableFuture<SnapshotImpl>> publishing,
+                                    List<SnapshotImpl> replaced) throws ServerException {
+        List<SnapshotImpl> published = new ArrayList<>(committed.size());
+        ServerException devMachineError = null;
+        for (int i = 0; i < committed.size(); i++) {
+            SnapshotImpl snapshot = committed.get(i).getSnapshot();
+            try {
+                published.add(publishing.get(i).join());
+            } catch (CompletionException x) {
+                committed.get(i).discard();
+                if (snapshot.isDev()) {
+                    devMachineError = x.getCause() instanceof ServerException ? (ServerException)x.getCause()
+                                                                              : new ServerException(x.getCause().getMessage(),
+                                                                                                    x.getCause());
+                } else {
+                    LOG.warn(format("Couldn't publish snapshot of machine '%s:%s' in workspace '%s'",
+                                    snapshot.getEnvName(),
+                                    snapshot.getMachineName(),
+                                    workspaceId));
+                    removeSnapshotQuietly(snapshot);
+                }
+            }
+        }
+
+        if (devMachineError != null) {
+            LOG.error(format("Couldn't publish snapshot of dev machine in workspace '%s'", workspaceId), devMachineError);
+            removeBinaries(published);
+            try {
+                snapshotDao.replaceSnapshots(workspaceId, envName, replaced);
+            } catch (SnapshotException x) {
+                LOG.error(format("Couldn't restore previous snapshots metadata for workspace '%s'", workspaceId), x);
+            }
+            publishSnapshotCreationError(workspaceId, createdStatus, devMachineError.getMessage());
+            throw devMachineError;
+        }
+
+        for (SnapshotImpl snapshot : published) {
+            try {
+                snapshotDao.updateSnapshot(snapshot);
+            } catch (NotFoundException | SnapshotException x) {
+                LOG.error(format("Couldn't update metadata of snapshot '%s', workspace id '%s'", snapshot.getId(), workspaceId), x);
+            }
+        }
+        if (!replaced.isEmpty()) {
+            LOG.info("Removing old snapshots binaries, workspace id '{}', snapshots to remove '{}'", workspaceId, replaced.size());
+            removeBinaries(replaced);
+        }
         eventsService.publish(DtoFactory.newDto(WorkspaceStatusEvent.class)
-                                        .withStatus(WorkspaceStatus.RUNNING)
+                                        .withStatus(createdStatus)
                                         .withWorkspaceId(workspaceId)
                                         .withEventType(EventType.SNAPSHOT_CREATED)
                                         .withPrevStatus(WorkspaceStatus.SNAPSHOTTING));
     }
 
+    private CompletableFuture<SnapshotImpl> publishAsync(CommittedSnapshot committedSnapshot) {
+        CompletableFuture<SnapshotImpl> future = new CompletableFuture<>();
+        try {
+            snapshotExecutor.execute(ThreadLocalPropagateContext.wrap(() -> {
+                try {
+                    future.complete(committedSnapshot.publish());
+                } catch (Exception x) {
+                    future.completeExceptionally(x);
+                }
+            }));
+        } catch (RejectedExecutionException x) {
+            future.completeExceptionally(new ServerException("Snapshot publishing is rejected, workspaces service is being terminated"));
+        }
+        return future;
+    }
+
+    /** Waits for the submitted commits and discards the committed snapshots. */
+    private static void discardCommits(List<Future<CommittedSnapshot>> commits) {
+        for (Future<CommittedSnapshot> commit : commits) {
+            try {
+                awaitCommit(commit).discard();
+            } catch (ServerException | NotFoundException x) {
+                LOG.debug(x.getLocalizedMessage(), x);
+            }
+        }
+    }
+
+    private static CommittedSnapshot awaitCommit(Future<CommittedSnapshot> commit) throws ServerException, NotFoundException {
+        try {
+            return commit.get();
+        } catch (InterruptedException x) {
+            Thread.currentThread().interrupt();
+            throw new ServerException("Interrupted while committing snapshot", x);
+        } catch (ExecutionException x) {
+            if (x.getCause() instanceof ServerException) {
+                throw (ServerException)x.getCause();
+            }
+            if (x.getCause() instanceof NotFoundException) {
+                throw (NotFoundException)x.getCause();
+            }
+            throw new ServerException(x.getCause().getMessage(), x.getCause());
+        }
+    }
+
+    /** Returns the source of the existing snapshot of the same machine or null if there is no such snapshot. */
+    private MachineSourceImpl findPublishedSource(SnapshotImpl snapshot) {
+        try {
+            MachineSourceImpl source = snapshotDao.getSnapshot(snapshot.getWorkspaceId(),
+                                                               snapshot.getEnvName(),
+                                                               snapshot.getMachineName())
+                                                  .getMachineSource();
+            return source == null ? null : new MachineSourceImpl(source);
+        } catch (NotFoundException | SnapshotException x) {
+            return null;
+        }
+    }
+
+    private void removeSnapshotQuietly(SnapshotImpl snapshot) {
+        try {
+            snapshotDao.removeSnapshot(snapshot.getId());
+        } catch (NotFoundException | SnapshotException x) {
+            LOG.error(format("Couldn't remove snapshot '%s' metadata, workspace id '%s'", snapshot.getId(), snapshot.getWorkspaceId()), x);
+        }
+    }
+
+    private void publishSnapshotCreationError(String workspaceId, String error) {
+        publishSnapshotCreationError(workspaceId, getStatus(workspaceId), error);
+    }
+
+    private void publishSnapshotCreationError(String workspaceId, WorkspaceStatus status, String error) {
+        eventsService.publish(DtoFactory.newDto(WorkspaceStatusEvent.class)
+                                        .withWorkspaceId(workspaceId)
+                                        .withStatus(status)
+                                        .withEventType(EventType.SNAPSHOT_CREATION_ERROR)
+                                        .withPrevStatus(WorkspaceStatus.SNAPSHOTTING)
+                                        .withError(error));
+    }
+
     /** Holds runtime information while workspace is running. */
     @VisibleForTesting
     static class RuntimeState {
@@ -974,6 +1250,9 @@ public class WorkspaceRuntimes {
             }
             allowStartLatch.await();
             try {
+                if (recover) {
+                    awaitSnapshotPublishing();
+                }
                 startEnvironmentAndPublishEvents(environment, workspaceId, envName, recover);
                 WorkspaceRuntimeImpl runtime = getRuntime(workspaceId);
                 cmpFuture.complete(runtime);
@@ -994,6 +1273,21 @@ public class WorkspaceRuntimes {
             }
         }
 
+        /**
+         * Waits until the snapshot of the workspace created before its stop is published,
+         * in case of publishing failure the previous snapshot is used for recovering.
+         */
+        void awaitSnapshotPublishing() throws InterruptedException {
+            CompletableFuture<Void> publishing = publishingSnapshots.get(workspaceId);
+            if (publishing != null) {
+                try {
+                    publishing.get();
+                } catch (ExecutionException ignored) {
+                    // publishing error is already handled
+                }
+            }
+        }
+
         /**
          * Awaits this task to complete, rethrows exceptions occurred during the invocation.
          */
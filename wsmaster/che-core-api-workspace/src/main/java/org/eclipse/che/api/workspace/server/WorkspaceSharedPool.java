@@ -11,11 +11,11 @@
 package org.eclipse.che.api.workspace.server;
 
 import com.google.common.primitives.Ints;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
 
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
+import org.eclipse.che.api.core.executor.ThreadPoolConfig;
 import org.eclipse.che.commons.annotation.Nullable;
-import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,32 +25,38 @@ import javax.inject.Singleton;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Provides a single non-daemon {@link ExecutorService} instance for workspace components.
  *
+ * <p>The pool is registered in {@link ExecutorServiceRegistry} with the name 'workspace',
+ * so its defaults, which are based on 'che.workspace.pool.*' properties, may be overridden
+ * with 'che.executor.workspace.*' properties.
+ *
  * @author Yevhenii Voevodin
  */
 @Singleton
 public class WorkspaceSharedPool {
 
+    /** The maximum number of threads of 'cached' pool. */
+    static final int DEFAULT_CACHED_POOL_MAX_SIZE = 256;
+
+    /** The maximum number of tasks waiting for a thread of 'fixed' pool. */
+    static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+
     private final ExecutorService executor;
 
     @Inject
     public WorkspaceSharedPool(@Named("che.workspace.pool.type") String poolType,
                                @Named("che.workspace.pool.exact_size") @Nullable String exactSizeProp,
-                               @Named("che.workspace.pool.cores_multiplier") @Nullable String coresMultiplierProp) {
-        ThreadFactory factory = new ThreadFactoryBuilder().setNameFormat("WorkspaceSharedPool-%d")
-                                                          .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
-                                                          .setDaemon(false)
-                                                          .build();
+                               @Named("che.workspace.pool.cores_multiplier") @Nullable String coresMultiplierProp,
+                               ExecutorServiceRegistry executorRegistry) {
+        final ThreadPoolConfig config;
         switch (poolType.toLowerCase()) {
             case "cached":
-                executor = Executors.newCachedThreadPool(factory);
+                config = ThreadPoolConfig.elastic(DEFAULT_CACHED_POOL_MAX_SIZE);
                 break;
             case "fixed":
                 Integer exactSize = exactSizeProp == null ? null : Ints.tryParse(exactSizeProp);
@@ -64,11 +70,13 @@ public class WorkspaceSharedPool {
                         size *= coresMultiplier;
                     }
                 }
-                executor = Executors.newFixedThreadPool(size, factory);
+                config = ThreadPoolConfig.fixed(size, DEFAULT_QUEUE_CAPACITY);
                 break;
             default:
                 throw new IllegalArgumentException("The type of the pool '" + poolType + "' is not supported");
         }
+        executor = executorRegistry.getOrCreate("workspace", config.withThreadNameFormat("WorkspaceSharedPool-%d")
+                                                                    .withDaemon(false));
     }
 
     /** Returns an {@link ExecutorService} managed by this pool instance. */
@@ -37,12 +37,14 @@ import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.MachineConfigImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineLimitsImpl;
+import org.eclipse.che.api.machine.server.model.impl.MachineLogMessageImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineRuntimeInfoImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineSourceImpl;
 import org.eclipse.che.api.machine.server.model.impl.ServerConfImpl;
 import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.InstanceProvider;
+import org.eclipse.che.api.machine.server.spi.InstanceSnapshot;
 import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.machine.server.util.RecipeDownloader;
 import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
@@ -83,6 +85,7 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
@@ -1117,13 +1120,56 @@ public class CheEnvironmentEngineTest {
         // given
         List<Instance> instances = startEnv();
         Instance instance = instances.get(0);
-        doReturn(new MachineSourceImpl("someType").setContent("some content")).when(instance).saveToSnapshot();
+        InstanceSnapshot instanceSnapshot = mock(InstanceSnapshot.class);
+        doReturn(instanceSnapshot).when(instance).commitSnapshot();
+        doReturn(new MachineSourceImpl("someType").setContent("some content")).when(instanceSnapshot).publish(any());
 
         // when
-        engine.saveSnapshot(instance.getWorkspaceId(), instance.getId());
+        SnapshotImpl snapshot = engine.saveSnapshot(instance.getWorkspaceId(), instance.getId());
 
         // then
-        verify(instance).saveToSnapshot();
+        verify(instance).commitSnapshot();
+        verify(instanceSnapshot).publish(any());
+        assertEquals(snapshot.getStatus(), SnapshotImpl.Status.CREATED);
+        assertEquals(snapshot.getMachineSource(), new MachineSourceImpl("someType").setContent("some content"));
+    }
+
+    @Test
+    public void shouldCommitMachineSnapshotWithoutPublishingIt() throws Exception {
+        // given
+        List<Instance> instances = startEnv();
+        Instance instance = instances.get(0);
+        InstanceSnapshot instanceSnapshot = mock(InstanceSnapshot.class);
+        doReturn(instanceSnapshot).when(instance).commitSnapshot();
+
+        // when
+        CommittedSnapshot committed = engine.commitSnapshot(instance.getWorkspaceId(), instance.getId());
+
+        // then
+        verify(instanceSnapshot, never()).publish(any());
+        assertEquals(committed.getSnapshot().getStatus(), SnapshotImpl.Status.CREATING);
+        assertNull(committed.getSnapshot().getMachineSource());
+    }
+
+    @Test
+    public void shouldSendSnapshotPublishingOutputToEnvironmentOutputAfterMachineIsDestroyed() throws Exception {
+        // given
+        List<Instance> instances = startEnv();
+        Instance instance = instances.get(0);
+        InstanceSnapshot instanceSnapshot = mock(InstanceSnapshot.class);
+        doReturn(instanceSnapshot).when(instance).commitSnapshot();
+        doAnswer(invocation -> {
+            ((LineConsumer)invocation.getArguments()[0]).writeLine("pushed");
+            return new MachineSourceImpl("someType").setContent("some content");
+        }).when(instanceSnapshot).publish(any());
+        CommittedSnapshot committed = engine.commitSnapshot(instance.getWorkspaceId(), instance.getId());
+        engine.stop(instance.getWorkspaceId());
+
+        // when
+        committed.publish();
+
+        // then
+        verify(messageConsumer).consume(new MachineLogMessageImpl(instance.getConfig().getName(), "pushed"));
     }
 
     @Test(expectedExceptions = EnvironmentNotRunningException.class,
@@ -0,0 +1,258 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2017 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.workspace.server;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.eclipse.che.api.core.model.machine.MachineStatus;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.api.machine.shared.dto.CommandDto;
+import org.eclipse.che.api.machine.shared.dto.MachineConfigDto;
+import org.eclipse.che.api.machine.shared.dto.MachineDto;
+import org.eclipse.che.api.machine.shared.dto.MachineLimitsDto;
+import org.eclipse.che.api.machine.shared.dto.MachineRuntimeInfoDto;
+import org.eclipse.che.api.machine.shared.dto.MachineSourceDto;
+import org.eclipse.che.api.machine.shared.dto.ServerConfDto;
+import org.eclipse.che.api.machine.shared.dto.ServerDto;
+import org.eclipse.che.api.machine.shared.dto.ServerPropertiesDto;
+import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
+import org.eclipse.che.api.workspace.shared.dto.EnvironmentRecipeDto;
+import org.eclipse.che.api.workspace.shared.dto.ExtendedMachineDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ServerConf2Dto;
+import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceRuntimeDto;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+/**
+ * Measures serialization and deserialization of the biggest DTOs sent by workspace master.
+ *
+ * <p>Run it with the {@link #main(String[])} method from the test classpath of the module,
+ * the GC profiler reports the amount of memory allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DtoJsonBenchmark {
+    private static final int PROJECTS = 10;
+
+    private DtoFactory dtoFactory;
+
+    private WorkspaceDto     workspace;
+    private MachineDto       machine;
+    private ProjectConfigDto project;
+
+    private String workspaceJson;
+    private String machineJson;
+    private String projectJson;
+
+    @Setup
+    public void setUp() {
+        dtoFactory = DtoFactory.getInstance();
+
+        machine = createMachine();
+        project = createProject("console-java-simple");
+        workspace = createWorkspace(machine);
+
+        workspaceJson = dtoFactory.toJson(workspace);
+        machineJson = dtoFactory.toJson(machine);
+        projectJson = dtoFactory.toJson(project);
+    }
+
+    @Benchmark
+    public String workspaceToJson() {
+        return dtoFactory.toJson(workspace);
+    }
+
+    @Benchmark
+    public WorkspaceDto workspaceFromJson() {
+        return dtoFactory.createDtoFromJson(workspaceJson, WorkspaceDto.class);
+    }
+
+    @Benchmark
+    public String machineToJson() {
+        return dtoFactory.toJson(machine);
+    }
+
+    @Benchmark
+    public MachineDto machineFromJson() {
+        return dtoFactory.createDtoFromJson(machineJson, MachineDto.class);
+    }
+
+    @Benchmark
+    public String projectToJson() {
+        return dtoFactory.toJson(project);
+    }
+
+    @Benchmark
+    public ProjectConfigDto projectFromJson() {
+        return dtoFactory.createDtoFromJson(projectJson, ProjectConfigDto.class);
+    }
+
+    private static WorkspaceDto createWorkspace(MachineDto machine) {
+        List<ProjectConfigDto> projects = new ArrayList<>(PROJECTS);
+        for (int i = 0; i < PROJECTS; i++) {
+            projects.add(createProject("project-" + i));
+        }
+        ExtendedMachineDto devMachine =
+                newDto(ExtendedMachineDto.class).withAgents(asList("org.eclipse.che.exec",
+                                                                   "org.eclipse.che.terminal",
+                                                                   "org.eclipse.che.ws-agent",
+                                                                   "org.eclipse.che.ssh"))
+                                                .withServers(ImmutableMap.of("tomcat8", newDto(ServerConf2Dto.class)
+                                                                                                .withPort("8080/tcp")
+                                                                                                .withProtocol("http")
+                                                                                                .withProperties(ImmutableMap.of("path", "/"))))
+                                                .withAttributes(ImmutableMap.of("memoryLimitBytes", "2147483648"));
+        EnvironmentDto environment =
+                newDto(EnvironmentDto.class).withRecipe(newDto(EnvironmentRecipeDto.class).withType("dockerimage")
+                                                                                          .withLocation("eclipse/ubuntu_jdk8"))
+                                            .withMachines(ImmutableMap.of("dev-machine", devMachine));
+        WorkspaceConfigDto config =
+                newDto(WorkspaceConfigDto.class).withName("java-workspace")
+                                                .withDefaultEnv("default")
+                                                .withDescription("Java workspace")
+                                                .withProjects(projects)
+                                                .withEnvironments(ImmutableMap.of("default", environment))
+                                                .withCommands(asList(createCommand("build", "mvn clean install"),
+                                                                     createCommand("run", "java -jar target/app.jar"),
+                                                                     createCommand("debug", "mvn jetty:run -Ddebug")));
+        WorkspaceRuntimeDto runtime = newDto(WorkspaceRuntimeDto.class).withActiveEnv("default")
+                                                                       .withRootFolder("/projects")
+                                                                       .withDevMachine(machine)
+                                                                       .withMachines(singletonList(machine));
+        return newDto(WorkspaceDto.class).withId("workspacey4l3nxbmr3hj2sod")
+                                         .withNamespace("che")
+                                         .withStatus(WorkspaceStatus.RUNNING)
+                                         .withTemporary(false)
+                                         .withConfig(config)
+                                         .withRuntime(runtime)
+                                         .withAttributes(ImmutableMap.of("created", "1493811836532",
+                                                                         "updated", "1493812035318",
+                                                                         "stackId", "java-default"))
+                                         .withLinks(asList(createLink("self", "/api/workspace/workspacey4l3nxbmr3hj2sod"),
+                                                           createLink("ide url", "/che/java-workspace"),
+                                                           createLink("get workspace events channel", "/api/ws")));
+    }
+
+    private static MachineDto createMachine() {
+        Map<String, ServerDto> servers = new HashMap<>();
+        for (String port : asList("4401/tcp", "4403/tcp", "4411/tcp", "4412/tcp", "8000/tcp", "8080/tcp", "22/tcp")) {
+            String address = "172.17.0.2:" + port.substring(0, port.indexOf('/'));
+            servers.put(port, newDto(ServerDto.class).withRef("server-" + port)
+                                                     .withProtocol("http")
+                                                     .withAddress(address)
+                                                     .withUrl("http://" + address + "/api")
+                                                     .withProperties(newDto(ServerPropertiesDto.class)
+                                                                             .withPath("/api")
+                                                                             .withInternalAddress(address)
+                                                                             .withInternalUrl("http://" + address + "/api")));
+        }
+        MachineConfigDto config =
+                newDto(MachineConfigDto.class).withName("dev-machine")
+                                              .withType("docker")
+                                              .withDev(true)
+                                              .withSource(newDto(MachineSourceDto.class).withType("image")
+                                                                                        .withLocation("eclipse/ubuntu_jdk8"))
+                                              .withLimits(newDto(MachineLimitsDto.class).withRam(2048))
+                                              .withServers(singletonList(newDto(ServerConfDto.class).withRef("tomcat8")
+                                                                                                    .withPort("8080/tcp")
+                                                                                                    .withProtocol("http")
+                                                                                                    .withPath("/")))
+                                              .withEnvVariables(ImmutableMap.of("CHE_MACHINE_TOKEN", "machine_token",
+                                                                                "CHE_API", "http://172.17.0.1:8080/api",
+                                                                                "JAVA_OPTS", "-Xms256m -Xmx1024m"));
+        MachineRuntimeInfoDto runtime =
+                newDto(MachineRuntimeInfoDto.class).withServers(servers)
+                                                   .withEnvVariables(ImmutableMap.of("CHE_PROJECTS_ROOT", "/projects",
+                                                                                     "CHE_WORKSPACE_ID", "workspacey4l3nxbmr3hj2sod"))
+                                                   .withProperties(ImmutableMap.of("config.image", "eclipse/ubuntu_jdk8",
+                                                                                   "config.hostname", "bc3c2d8ec08d",
+                                                                                   "state.running", "true",
+                                                                                   "state.startedAt", "2017-05-03T11:45:02Z"));
+        return newDto(MachineDto.class).withId("machine3fw5b0a9kbz0e8oc")
+                                       .withWorkspaceId("workspacey4l3nxbmr3hj2sod")
+                                       .withEnvName("default")
+                                       .withOwner("che")
+                                       .withStatus(MachineStatus.RUNNING)
+                                       .withConfig(config)
+                                       .withRuntime(runtime)
+                                       .withLinks(singletonList(createLink("get processes", "/api/machine/processes")));
+    }
+
+    private static ProjectConfigDto createProject(String name) {
+        return newDto(ProjectConfigDto.class).withName(name)
+                                             .withPath("/" + name)
+                                             .withDescription("A hello world Java application")
+                                             .withType("maven")
+                                             .withMixins(asList("git", "pullrequest"))
+                                             .withAttributes(ImmutableMap.of("maven.artifactId", singletonList(name),
+                                                                             "maven.groupId", singletonList("org.eclipse.che"),
+                                                                             "maven.version", singletonList("1.0-SNAPSHOT"),
+                                                                             "maven.source.folder", singletonList("src/main/java"),
+                                                                             "languageVersion", singletonList("1.8")))
+                                             .withSource(newDto(SourceStorageDto.class).withType("git")
+                                                                                       .withLocation("https://github.com/che-samples/" +
+                                                                                                     name + ".git")
+                                                                                       .withParameters(ImmutableMap.of("branch",
+                                                                                                                       "master")));
+    }
+
+    private static CommandDto createCommand(String name, String commandLine) {
+        return newDto(CommandDto.class).withName(name)
+                                       .withType("mvn")
+                                       .withCommandLine(commandLine)
+                                       .withAttributes(ImmutableMap.of("previewUrl", "http://${server.port.8080}/"));
+    }
+
+    private static Link createLink(String rel, String href) {
+        return newDto(Link.class).withRel(rel)
+                                 .withHref("http://localhost:8080" + href)
+                                 .withMethod("GET")
+                                 .withProduces("application/json");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DtoJsonBenchmark.class.getSimpleName())
+                                       .addProfiler(GCProfiler.class)
+                                       .build()).run();
+    }
+}
@@ -512,7 +512,7 @@ public class WorkspaceManagerTest {
         workspaceManager.stopWorkspace(workspace.getId(), true);
 
         captureRunAsyncCallsAndRunSynchronously();
-        verify(runtimes).snapshot(workspace.getId());
+        verify(runtimes).commitSnapshot(workspace.getId());
     }
 
     @Test(expectedExceptions = ConflictException.class,
@@ -529,7 +529,7 @@ public class WorkspaceManagerTest {
     public void shouldStopWorkspaceEventIfSnapshotCreationFailed() throws Exception {
         WorkspaceImpl workspace = createAndMockWorkspace();
         mockRuntime(workspace, RUNNING);
-        doThrow(new ServerException("Test")).when(runtimes).snapshot(workspace.getId());
+        doThrow(new ServerException("Test")).when(runtimes).commitSnapshot(workspace.getId());
 
         workspaceManager.stopWorkspace(workspace.getId(), true);
 
@@ -595,7 +595,7 @@ public class WorkspaceManagerTest {
         workspaceManager.stopWorkspace(workspace.getId());
 
         captureRunAsyncCallsAndRunSynchronously();
-        verify(runtimes, never()).snapshot(workspace.getId());
+        verify(runtimes, never()).commitSnapshot(workspace.getId());
         verify(runtimes).stop(workspace.getId());
     }
 
@@ -615,7 +615,7 @@ public class WorkspaceManagerTest {
         workspaceManager.stopWorkspace(workspace.getId());
 
         captureRunAsyncCallsAndRunSynchronously();
-        verify(runtimes, never()).snapshot(workspace.getId());
+        verify(runtimes, never()).commitSnapshot(workspace.getId());
         verify(runtimes).stop(workspace.getId());
     }
 
@@ -645,7 +645,7 @@ public class WorkspaceManagerTest {
 
         // then
         captureRunAsyncCallsAndRunSynchronously();
-        verify(runtimes).snapshot(workspace.getId());
+        verify(runtimes).commitSnapshot(workspace.getId());
         verify(runtimes).stop(workspace.getId());
     }
 
@@ -842,7 +842,7 @@ public class WorkspaceManagerTest {
         workspaceManager.stopWorkspace(workspace.getId(), false);
 
         captureRunAsyncCallsAndRunSynchronously();
-        verify(runtimes, never()).snapshot(workspace.getId());
+        verify(runtimes, never()).commitSnapshot(workspace.getId());
     }
 
     @Test
@@ -854,7 +854,7 @@ public class WorkspaceManagerTest {
         workspaceManager.stopWorkspace(workspace.getId(), null);
 
         captureRunAsyncCallsAndRunSynchronously();
-        verify(runtimes).snapshot(workspace.getId());
+        verify(runtimes).commitSnapshot(workspace.getId());
     }
 
     @Test
@@ -866,7 +866,7 @@ public class WorkspaceManagerTest {
         workspaceManager.stopWorkspace(workspace.getId(), false);
 
         captureRunAsyncCallsAndRunSynchronously();
-        verify(runtimes, never()).snapshot(workspace.getId());
+        verify(runtimes, never()).commitSnapshot(workspace.getId());
     }
 
     @Test
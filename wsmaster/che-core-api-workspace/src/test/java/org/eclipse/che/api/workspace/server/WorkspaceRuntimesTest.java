@@ -20,6 +20,7 @@ import org.eclipse.che.api.agent.server.launcher.AgentLauncherFactory;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
 import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.model.workspace.Environment;
@@ -28,6 +29,7 @@ import org.eclipse.che.api.core.model.workspace.Workspace;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.environment.server.CheEnvironmentEngine;
+import org.eclipse.che.api.environment.server.CommittedSnapshot;
 import org.eclipse.che.api.environment.server.NoOpMachineInstance;
 import org.eclipse.che.api.environment.server.exception.EnvironmentException;
 import org.eclipse.che.api.environment.server.exception.EnvironmentNotRunningException;
@@ -78,9 +80,11 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import static java.lang.String.format;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
@@ -146,6 +150,8 @@ public class WorkspaceRuntimesTest {
                                          agentRegistry,
                                          snapshotDao,
                                          sharedPool,
+                                         new ExecutorServiceRegistry(emptyMap()),
+                                         2,
                                          runtimeStates = new ConcurrentHashMap<>());
     }
 
@@ -718,7 +724,7 @@ public class WorkspaceRuntimesTest {
         WorkspaceImpl workspace = newWorkspace("workspace", "env-name");
         setRuntime(workspace.getId(), WorkspaceStatus.RUNNING);
         prepareMachines(workspace.getId(), "env-name");
-        when(envEngine.saveSnapshot(any(), any())).thenThrow(new ServerException("can't save"));
+        when(envEngine.commitSnapshot(any(), any())).thenThrow(new ServerException("can't save"));
 
         try {
             runtimes.snapshot(workspace.getId());
@@ -743,8 +749,8 @@ public class WorkspaceRuntimesTest {
         setRuntime(workspace.getId(), WorkspaceStatus.RUNNING, "env-name");
         doThrow(new SnapshotException("test")).when(snapshotDao)
                                               .replaceSnapshots(any(), any(), any());
-        SnapshotImpl snapshot = mock(SnapshotImpl.class);
-        when(envEngine.saveSnapshot(any(), any())).thenReturn(snapshot);
+        CommittedSnapshot committed = mock(CommittedSnapshot.class);
+        when(envEngine.commitSnapshot(any(), any())).thenReturn(committed);
 
         try {
             runtimes.snapshot(workspace.getId());
@@ -753,7 +759,7 @@ public class WorkspaceRuntimesTest {
         }
 
         verify(snapshotDao).replaceSnapshots(any(), any(), snapshotsCaptor.capture());
-        verify(envEngine, times(snapshotsCaptor.getValue().size())).removeSnapshot(snapshot);
+        verify(committed, times(snapshotsCaptor.getValue().size())).discard();
         verifyEventsSequence(event(workspace.getId(),
                                    WorkspaceStatus.RUNNING,
                                    WorkspaceStatus.SNAPSHOTTING,
@@ -766,6 +772,50 @@ public class WorkspaceRuntimesTest {
                                    "test"));
     }
 
+    @Test
+    public void discardsSubmittedCommitsWhenSnapshotCommitIsRejected() throws Exception {
+        ExecutorServiceRegistry executorRegistry = mock(ExecutorServiceRegistry.class);
+        ExecutorService snapshotExecutor = mock(ExecutorService.class);
+        when(executorRegistry.getOrCreate(eq("workspace_snapshot"), any())).thenReturn(snapshotExecutor);
+        CommittedSnapshot committed = mock(CommittedSnapshot.class);
+        when(snapshotExecutor.submit(any(Callable.class))).thenReturn(CompletableFuture.completedFuture(committed))
+                                                          .thenThrow(new RejectedExecutionException());
+        runtimes = new WorkspaceRuntimes(eventService,
+                                         envEngine,
+                                         agentSorter,
+                                         launcherFactory,
+                                         agentRegistry,
+                                         snapshotDao,
+                                         sharedPool,
+                                         executorRegistry,
+                                         2,
+                                         runtimeStates);
+        WorkspaceImpl workspace = newWorkspace("workspace", "env-name");
+        setRuntime(workspace.getId(), WorkspaceStatus.RUNNING, "env-name");
+        prepareMachines(workspace.getId(), "env-name");
+
+        try {
+            runtimes.snapshot(workspace.getId());
+            fail("Snapshot creation must be rejected");
+        } catch (ServerException x) {
+            assertEquals(x.getMessage(), "Snapshot creation is rejected, too many snapshots are being created");
+        }
+
+        verify(committed).discard();
+        verify(snapshotDao, never()).replaceSnapshots(any(), any(), any());
+        assertEquals(runtimes.getStatus(workspace.getId()), WorkspaceStatus.RUNNING);
+        verifyEventsSequence(event(workspace.getId(),
+                                   WorkspaceStatus.RUNNING,
+                                   WorkspaceStatus.SNAPSHOTTING,
+                                   EventType.SNAPSHOT_CREATING,
+                                   null),
+                             event(workspace.getId(),
+                                   WorkspaceStatus.SNAPSHOTTING,
+                                   WorkspaceStatus.RUNNING,
+                                   EventType.SNAPSHOT_CREATION_ERROR,
+                                   "Snapshot creation is rejected, too many snapshots are being created"));
+    }
+
     @Test
     public void removesOldSnapshotsWhenNewSnapshotsMetadataSuccessfullySaved() throws Exception {
         WorkspaceImpl workspace = newWorkspace("workspace", "env-name");
@@ -789,6 +839,86 @@ public class WorkspaceRuntimesTest {
                                    null));
     }
 
+    @Test
+    public void marksSnapshotAsCreatedWhenItIsPublished() throws Exception {
+        WorkspaceImpl workspace = newWorkspace("workspace", "env-name");
+        setRuntime(workspace.getId(), WorkspaceStatus.RUNNING, "env-name");
+        prepareMachines(workspace.getId(), singletonList(newMachine(workspace.getId(), "env-name", "machine1", true)));
+        when(snapshotDao.getSnapshot(any(), any(), any())).thenThrow(new NotFoundException("no snapshot"));
+        SnapshotImpl snapshot = newSnapshot(workspace.getId(), "machine1");
+        CommittedSnapshot committed = mockCommittedSnapshot(snapshot);
+        when(committed.publish()).thenAnswer(inv -> {
+            snapshot.setMachineSource(new MachineSourceImpl("type").setLocation("new-location"));
+            snapshot.setStatus(SnapshotImpl.Status.CREATED);
+            return snapshot;
+        });
+
+        runtimes.snapshot(workspace.getId());
+
+        verify(snapshotDao).updateSnapshot(snapshot);
+        assertEquals(snapshot.getStatus(), SnapshotImpl.Status.CREATED);
+        verify(committed, never()).discard();
+    }
+
+    @Test
+    public void keepsPreviousSnapshotSourceUntilNewSnapshotIsPublished() throws Exception {
+        WorkspaceImpl workspace = newWorkspace("workspace", "env-name");
+        setRuntime(workspace.getId(), WorkspaceStatus.RUNNING, "env-name");
+        prepareMachines(workspace.getId(), singletonList(newMachine(workspace.getId(), "env-name", "machine1", true)));
+        SnapshotImpl previous = newSnapshot(workspace.getId(), "machine1");
+        previous.setMachineSource(new MachineSourceImpl("type").setLocation("previous-location"));
+        when(snapshotDao.getSnapshot(workspace.getId(), "env-name", "machine1")).thenReturn(previous);
+        SnapshotImpl snapshot = newSnapshot(workspace.getId(), "machine1");
+        CommittedSnapshot committed = mockCommittedSnapshot(snapshot);
+        CompletableFuture<SnapshotImpl> publishing = new CompletableFuture<>();
+        when(committed.publish()).thenAnswer(inv -> publishing.get());
+
+        CompletableFuture<Void> result = runtimes.commitSnapshot(workspace.getId());
+
+        verify(snapshotDao).replaceSnapshots(any(), any(), snapshotsCaptor.capture());
+        SnapshotImpl saved = snapshotsCaptor.getValue().iterator().next();
+        assertEquals(saved.getStatus(), SnapshotImpl.Status.CREATING);
+        assertEquals(saved.getMachineSource().getLocation(), "previous-location");
+        assertEquals(runtimes.getStatus(workspace.getId()), WorkspaceStatus.RUNNING);
+        assertFalse(result.isDone());
+
+        publishing.complete(snapshot);
+        result.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void restoresPreviousSnapshotsWhenDevMachineSnapshotPublishingFailed() throws Exception {
+        WorkspaceImpl workspace = newWorkspace("workspace", "env-name");
+        setRuntime(workspace.getId(), WorkspaceStatus.RUNNING, "env-name");
+        prepareMachines(workspace.getId(), singletonList(newMachine(workspace.getId(), "env-name", "machine1", true)));
+        when(snapshotDao.getSnapshot(any(), any(), any())).thenThrow(new NotFoundException("no snapshot"));
+        List<SnapshotImpl> previous = singletonList(newSnapshot(workspace.getId(), "machine1"));
+        doReturn(previous).when(snapshotDao).replaceSnapshots(any(), any(), any());
+        CommittedSnapshot committed = mockCommittedSnapshot(newSnapshot(workspace.getId(), "machine1"));
+        when(committed.publish()).thenThrow(new ServerException("push failed"));
+
+        try {
+            runtimes.snapshot(workspace.getId());
+            fail("Snapshot publishing must fail");
+        } catch (ServerException x) {
+            assertEquals(x.getMessage(), "push failed");
+        }
+
+        verify(committed).discard();
+        verify(snapshotDao).replaceSnapshots(workspace.getId(), "env-name", previous);
+        verify(envEngine, never()).removeSnapshot(any());
+        verifyEventsSequence(event(workspace.getId(),
+                                   WorkspaceStatus.RUNNING,
+                                   WorkspaceStatus.SNAPSHOTTING,
+                                   EventType.SNAPSHOT_CREATING,
+                                   null),
+                             event(workspace.getId(),
+                                   WorkspaceStatus.SNAPSHOTTING,
+                                   WorkspaceStatus.RUNNING,
+                                   EventType.SNAPSHOT_CREATION_ERROR,
+                                   "push failed"));
+    }
+
     @Test
     public void getsRuntimesIds() {
         setRuntime("workspace1", WorkspaceStatus.STARTING);
@@ -995,6 +1125,27 @@ public class WorkspaceRuntimesTest {
         return new NoOpMachineInstance(machine);
     }
 
+    private CommittedSnapshot mockCommittedSnapshot(SnapshotImpl snapshot) throws Exception {
+        CommittedSnapshot committed = mock(CommittedSnapshot.class);
+        when(committed.getSnapshot()).thenReturn(snapshot);
+        when(envEngine.commitSnapshot(any(), any())).thenReturn(committed);
+        return committed;
+    }
+
+    private SnapshotImpl newSnapshot(String workspaceId, String machineName) {
+        SnapshotImpl snapshot = SnapshotImpl.builder()
+                                            .generateId()
+                                            .setType("docker")
+                                            .setWorkspaceId(workspaceId)
+                                            .setEnvName("env-name")
+                                            .setMachineName(machineName)
+                                            .setDev(true)
+                                            .useCurrentCreationDate()
+                                            .build();
+        snapshot.setStatus(SnapshotImpl.Status.CREATING);
+        return snapshot;
+    }
+
     private WorkspaceImpl newWorkspace(String workspaceId, String envName) {
         EnvironmentImpl environment = new EnvironmentImpl();
         Map<String, ExtendedMachineImpl> machines = environment.getMachines();
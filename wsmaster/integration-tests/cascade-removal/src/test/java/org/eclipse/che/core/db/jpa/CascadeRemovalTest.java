@@ -24,6 +24,7 @@ import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.executor.ExecutorServiceRegistry;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.machine.server.jpa.MachineJpaModule;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
@@ -81,6 +82,7 @@ import javax.persistence.EntityManagerFactory;
 import java.util.Map;
 import java.util.concurrent.Callable;
 
+import static java.util.Collections.emptyMap;
 import static org.eclipse.che.core.db.jpa.TestObjectsFactory.createAccount;
 import static org.eclipse.che.core.db.jpa.TestObjectsFactory.createPreferences;
 import static org.eclipse.che.core.db.jpa.TestObjectsFactory.createProfile;
@@ -192,7 +194,7 @@ public class CascadeRemovalTest {
                 bind(AccountManager.class);
                 bind(Boolean.class).annotatedWith(Names.named("che.workspace.auto_snapshot")).toInstance(false);
                 bind(Boolean.class).annotatedWith(Names.named("che.workspace.auto_restore")).toInstance(false);
-                bind(WorkspaceSharedPool.class).toInstance(new WorkspaceSharedPool("cached", null, null));
+                bind(WorkspaceSharedPool.class).toInstance(new WorkspaceSharedPool("cached", null, null, new ExecutorServiceRegistry(emptyMap())));
             }
         });
 